@@ -1,38 +1,81 @@
 package org.example;
 
-import io.cucumber.core.cli.Main;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.cucumber.core.options.CommandlineOptionsParser;
+import io.cucumber.core.options.CucumberProperties;
+import io.cucumber.core.options.CucumberPropertiesParser;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.options.RuntimeOptionsBuilder;
+import io.cucumber.core.order.PickleOrder;
+import io.cucumber.core.order.StandardPickleOrders;
+import io.cucumber.core.runtime.Runtime;
 import io.qameta.allure.Allure;
 import io.qameta.allure.AllureLifecycle;
-import io.qameta.allure.FileSystemResultsWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cucumber.context.RunAllureResultsWriter;
+import org.example.cucumber.context.RunControl;
 import org.example.cucumber.context.TestContext;
+import org.example.cucumber.feature.LongestFirstPickleOrder;
+import org.example.cucumber.feature.ScenarioDurations;
+import org.example.cucumber.plugin.FailFastPlugin;
+import org.example.cucumber.plugin.ProgressPlugin;
+import org.example.cucumber.reuse.ScenarioReuse;
+import org.example.hooks.AxeReportHook;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+@Slf4j
 @Service
 public class CucumberRunnerService {
 
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Cucumber version whose {@code Main.run} {@link #runMain} reproduces. */
+    static final String CUCUMBER_VERSION = "7.34.2";
+
+    /**
+     * Shared by all runs in this JVM. Replacing the JVM-global lifecycle per run would let
+     * concurrent runs write into each other's allure-results directory.
+     */
+    private static final AllureLifecycle ALLURE_LIFECYCLE = new AllureLifecycle(new RunAllureResultsWriter());
+
     public RunResult runByLabel(String label) throws Exception {
         String normalizedLabel = normalizeLabel(label);
         String runId = UUID.randomUUID().toString();
-        return executeRun(runId, normalizedLabel, null);
+        return executeRun(runId, normalizedLabel, null, RunOptions.defaults());
     }
 
     public RunResult runByLabel(String runId, String label) throws Exception {
         String normalizedLabel = normalizeLabel(label);
-        return executeRun(runId, normalizedLabel, null);
+        return executeRun(runId, normalizedLabel, null, RunOptions.defaults());
     }
 
     public RunResult run(String runId, String tags, String features) throws Exception {
+        return run(runId, tags, features, RunOptions.defaults());
+    }
+
+    public RunResult run(String runId, String tags, String features, RunOptions options) throws Exception {
         String normalizedTags = (tags != null && !tags.isBlank()) ? normalizeLabel(tags) : null;
-        return executeRun(runId, normalizedTags, features);
+        return executeRun(runId, normalizedTags, features, options);
     }
 
-    private RunResult executeRun(String runId, String tags, String features) throws Exception {
+    private RunResult executeRun(String runId, String tags, String features, RunOptions options) throws Exception {
         // Initialize per-run context (sets up isolated output directories)
         TestContext.init(runId);
+        // The service registers the control handle for its runs; standalone and worker runs need their own
+        boolean ownControl = RunControl.forRun(runId).isEmpty();
+        RunControl control = RunControl.register(runId);
         try {
             Path runRoot = TestContext.getOutputBase();
             Path allureResults = TestContext.getAllureResultsDir();
@@ -47,43 +90,270 @@ public class CucumberRunnerService {
             Files.createDirectories(screenshotsDir);
             Files.createDirectories(axeResultDir);
 
-            // Reset Allure lifecycle with the correct output directory for this run.
-            // The AllureLifecycle is a singleton that caches its writer on first init,
-            // so we must replace it before each run to write to the new runId directory.
-            System.setProperty("allure.results.directory", allureResults.toString());
-            Allure.setLifecycle(new AllureLifecycle(new FileSystemResultsWriter(allureResults)));
+            // One Allure lifecycle for all runs; its writer resolves the runId directory per thread
+            installAllureLifecycle();
 
-            // Build Cucumber CLI arguments
-            var argsList = new java.util.ArrayList<String>();
-            argsList.add("--glue");
-            argsList.add("org.example");
-            argsList.add("--plugin");
-            argsList.add("pretty");
-            argsList.add("--plugin");
-            argsList.add("json:" + cucumberReports.resolve("Cucumber.json"));
-            argsList.add("--plugin");
-            argsList.add("html:" + cucumberReports.resolve("Cucumber.html"));
+            // Incremental mode: scenarios with a passing result for this SUT version are not re-executed.
+            // Reuse is limited to the default feature path, explicit feature selections always run.
+            boolean defaultFeatures = features == null || features.isBlank();
+            ScenarioReuse reuse = options.sutVersion() != null ? new ScenarioReuse(runRoot.getParent(), options.sutVersion()) : null;
+            ScenarioReuse.Plan plan = reuse != null && options.reuseResults() && defaultFeatures
+                    ? reuse.plan(tags)
+                    : ScenarioReuse.Plan.NONE;
+
+            int exitCode = plan.allReused() ? 0 : runCucumber(runId, tags, features, plan, cucumberReports, options,
+                    pickleOrder(runRoot.getParent(), options), control);
+            if (reuse != null) {
+                reuse.complete(runId, cucumberReports.resolve("Cucumber.json"), allureResults, plan);
+            }
+            return new RunResult(runId, tags, exitCode, runRoot.toString(), control.getAbortReason());
+        } finally {
+            AxeReportHook.clearScannedUrls(TestContext.getAxeResultDir());
+            if (ownControl) {
+                RunControl.unregister(runId);
+            }
+            TestContext.clear();
+        }
+    }
+
+    private static synchronized void installAllureLifecycle() {
+        if (Allure.getLifecycle() != ALLURE_LIFECYCLE) {
+            Allure.setLifecycle(ALLURE_LIFECYCLE);
+        }
+    }
+
+    /**
+     * With parallel threads the longest scenarios (by duration in earlier runs) start first,
+     * so a slow scenario does not start last and stretch the run. Sequential runs keep
+     * Cucumber's lexical order.
+     */
+    private static PickleOrder pickleOrder(Path resultsBase, RunOptions options) {
+        if (options.threads() <= 1) {
+            return StandardPickleOrders.lexicalUriOrder();
+        }
+        ScenarioDurations durations = ScenarioDurations.load(resultsBase);
+        if (durations.isEmpty()) {
+            return StandardPickleOrders.lexicalUriOrder();
+        }
+        return new LongestFirstPickleOrder(durations);
+    }
+
+    /** Runs the selected scenarios and retries failed ones (unless the run was aborted). */
+    private int runCucumber(String runId, String tags, String features, ScenarioReuse.Plan plan, Path cucumberReports,
+                            RunOptions options, PickleOrder order, RunControl control) throws IOException {
+        // Build Cucumber CLI arguments
+        var argsList = baseArgs(options);
+        addAttemptPlugins(argsList, runId, cucumberReports, 0, options);
+
+        if (tags != null && !tags.isBlank()) {
+            argsList.add("--tags");
+            argsList.add(tags);
+        }
+
+        // Feature path: specific features (comma-separated, e.g. scenario selectors of a shard),
+        // the scenarios left after reuse or default classpath
+        if (features != null && !features.isBlank()) {
+            Arrays.stream(features.split(","))
+                    .map(String::trim)
+                    .filter(feature -> !feature.isEmpty())
+                    .forEach(argsList::add);
+        } else if (plan.hasReused()) {
+            argsList.addAll(plan.featureSelectors());
+        } else {
+            argsList.add("classpath:features");
+        }
+
+        int exitCode = runMain(argsList, order);
+
+        for (int attempt = 1; exitCode != 0 && attempt <= options.maxRetries() && !control.isAborted(); attempt++) {
+            Path failed = rerunFile(cucumberReports, attempt - 1);
+            if (!hasFailedScenarios(failed)) {
+                // Non-zero exit without failed scenarios (e.g. parse error): nothing to retry
+                break;
+            }
+            exitCode = retryFailed(runId, cucumberReports, failed, attempt, options, order);
+        }
+        return exitCode;
+    }
+
+    /** Glue, Allure and parallelism arguments shared by the initial run and all retries. */
+    private List<String> baseArgs(RunOptions options) {
+        var argsList = new ArrayList<String>();
+        argsList.add("--glue");
+        argsList.add("org.example");
+        argsList.add("--plugin");
+        argsList.add("io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm");
+
+        // Scenario-level parallelism: Cucumber's worker threads inherit TestContext
+        // (InheritableThreadLocal), glue instances - and with them the Playwright browser
+        // in DashboardSteps - are created per scenario.
+        argsList.add("--threads");
+        argsList.add(String.valueOf(options.threads()));
+        return argsList;
+    }
+
+    /**
+     * Report, progress and fail-fast plugins of one attempt. Retries write their own
+     * {@code Cucumber-retry-<attempt>} reports and continue the run's progress.
+     */
+    private static void addAttemptPlugins(List<String> argsList, String runId, Path cucumberReports, int attempt,
+                                          RunOptions options) {
+        String report = attempt == 0 ? "Cucumber" : "Cucumber-retry-" + attempt;
+        argsList.add("--plugin");
+        argsList.add("pretty");
+        argsList.add("--plugin");
+        argsList.add("json:" + cucumberReports.resolve(report + ".json"));
+        argsList.add("--plugin");
+        argsList.add("html:" + cucumberReports.resolve(report + ".html"));
+        argsList.add("--plugin");
+        argsList.add("rerun:" + rerunFile(cucumberReports, attempt));
+        argsList.add("--plugin");
+        argsList.add(ProgressPlugin.class.getName() + ":" + ProgressPlugin.argument(runId, attempt > 0));
+        if (options.failFast()) {
             argsList.add("--plugin");
-            argsList.add("io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm");
+            argsList.add(FailFastPlugin.class.getName() + ":"
+                    + FailFastPlugin.argument(runId, options.maxFailures(), options.maxConsecutiveFailures()));
+        }
+    }
+
+    /**
+     * Re-executes only the scenarios listed in the previous attempt's rerun file and merges
+     * their results into Cucumber.json. Allure needs no merge: the retry writes into the same
+     * allure-results directory and Allure groups attempts of a scenario by its history id.
+     *
+     * @return exit code of the retry attempt
+     */
+    private int retryFailed(String runId, Path cucumberReports, Path failed, int attempt, RunOptions options,
+                            PickleOrder order) throws IOException {
+        Path retryJson = cucumberReports.resolve("Cucumber-retry-" + attempt + ".json");
+        log.info("Retry {} for failed scenarios: {}", attempt, Files.readString(failed).trim().replace('\n', ' '));
 
-            if (tags != null && !tags.isBlank()) {
-                argsList.add("--tags");
-                argsList.add(tags);
+        var argsList = baseArgs(options);
+        addAttemptPlugins(argsList, runId, cucumberReports, attempt, options);
+        argsList.add("@" + failed);
+
+        int exitCode = runMain(argsList, order);
+        if (Files.exists(retryJson)) {
+            mergeRetryResults(cucumberReports.resolve("Cucumber.json"), retryJson, attempt);
+        }
+        return exitCode;
+    }
+
+    /**
+     * Equivalent of {@code io.cucumber.core.cli.Main.run} of Cucumber {@value #CUCUMBER_VERSION}
+     * with a pickle order the CLI's {@code --order} option cannot express. Compare with
+     * {@code Main.run} again before upgrading Cucumber; {@code CucumberRunnerServiceTest} fails
+     * on any other version.
+     */
+    static int runMain(List<String> args, PickleOrder order) {
+        CommandlineOptionsParser commandlineOptionsParser = new CommandlineOptionsParser(System.out);
+        RuntimeOptionsBuilder commandlineOptions = commandlineOptionsParser.parse(args.toArray(new String[0]));
+        Optional<Byte> exitStatus = commandlineOptionsParser.exitStatus();
+        if (exitStatus.isPresent()) {
+            return exitStatus.get();
+        }
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Runtime runtime = Runtime.builder()
+                .withRuntimeOptions(runtimeOptions(commandlineOptions, order))
+                .withClassLoader(() -> classLoader)
+                .build();
+        runtime.run();
+        return runtime.exitStatus();
+    }
+
+    /**
+     * Layers cucumber.properties, environment, system properties and CLI arguments, each
+     * overriding the previous ones, and adds the defaults, as {@code Main.run} does.
+     */
+    static RuntimeOptions runtimeOptions(RuntimeOptionsBuilder commandlineOptions, PickleOrder order) {
+        RuntimeOptions propertiesFileOptions = new CucumberPropertiesParser()
+                .parse(CucumberProperties.fromPropertiesFile())
+                .build();
+        RuntimeOptions environmentOptions = new CucumberPropertiesParser()
+                .parse(CucumberProperties.fromEnvironment())
+                .build(propertiesFileOptions);
+        RuntimeOptions systemOptions = new CucumberPropertiesParser()
+                .parse(CucumberProperties.fromSystemProperties())
+                .build(environmentOptions);
+        return commandlineOptions
+                .setPickleOrder(order)
+                .addDefaultGlueIfAbsent()
+                .addDefaultFeaturePathIfAbsent()
+                .addDefaultSummaryPrinterIfNotDisabled()
+                .enablePublishPlugin()
+                .build(systemOptions);
+    }
+
+    private static Path rerunFile(Path cucumberReports, int attempt) {
+        return cucumberReports.resolve(attempt == 0 ? "rerun.txt" : "rerun-" + attempt + ".txt");
+    }
+
+    private static boolean hasFailedScenarios(Path rerunFile) throws IOException {
+        return Files.exists(rerunFile) && !Files.readString(rerunFile).isBlank();
+    }
+
+    /**
+     * Replaces the scenarios of the retry attempt (and their background) in the run's
+     * Cucumber.json and tags them with {@code @retry-<attempt>}, so downstream consumers
+     * (report, Zephyr upload) see the final outcome of every scenario exactly once.
+     */
+    static void mergeRetryResults(Path cucumberJson, Path retryJson, int attempt) throws IOException {
+        JsonNode retried = MAPPER.readTree(retryJson.toFile());
+        ArrayNode features = Files.exists(cucumberJson)
+                ? (ArrayNode) MAPPER.readTree(cucumberJson.toFile())
+                : MAPPER.createArrayNode();
+
+        for (JsonNode retriedFeature : retried) {
+            ObjectNode feature = findFeature(features, retriedFeature.path("uri").asText());
+            if (feature == null) {
+                features.add(retriedFeature);
+                continue;
             }
+            ArrayNode elements = feature.has("elements") ? (ArrayNode) feature.get("elements") : feature.putArray("elements");
+            JsonNode background = null;
+            for (JsonNode element : retriedFeature.path("elements")) {
+                if ("background".equals(element.path("type").asText())) {
+                    background = element;
+                    continue;
+                }
+                ObjectNode marked = element.deepCopy();
+                ArrayNode tags = marked.has("tags") ? (ArrayNode) marked.get("tags") : marked.putArray("tags");
+                tags.addObject().put("name", "@retry-" + attempt).put("type", "Tag");
 
-            // Feature path: specific features or default classpath
-            if (features != null && !features.isBlank()) {
-                argsList.add(features);
-            } else {
-                argsList.add("classpath:features");
+                int index = indexOfScenario(elements, element.path("line").asInt());
+                if (index < 0) {
+                    elements.add(marked);
+                } else {
+                    elements.set(index, marked);
+                    if (background != null && index > 0
+                            && "background".equals(elements.get(index - 1).path("type").asText())) {
+                        elements.set(index - 1, background);
+                    }
+                }
+                background = null;
             }
+        }
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(cucumberJson.toFile(), features);
+    }
 
-            String[] args = argsList.toArray(new String[0]);
-            int exitCode = Main.run(args, Thread.currentThread().getContextClassLoader());
-            return new RunResult(runId, tags, exitCode, runRoot.toString());
-        } finally {
-            TestContext.clear();
+    private static ObjectNode findFeature(ArrayNode features, String uri) {
+        for (JsonNode feature : features) {
+            if (uri.equals(feature.path("uri").asText())) {
+                return (ObjectNode) feature;
+            }
+        }
+        return null;
+    }
+
+    private static int indexOfScenario(ArrayNode elements, int line) {
+        for (int i = 0; i < elements.size(); i++) {
+            JsonNode element = elements.get(i);
+            if (!"background".equals(element.path("type").asText()) && element.path("line").asInt() == line) {
+                return i;
+            }
         }
+        return -1;
     }
 
     private String normalizeLabel(String label) {
@@ -94,6 +364,63 @@ public class CucumberRunnerService {
         return trimmed.startsWith("@") ? trimmed : "@" + trimmed;
     }
 
-    public record RunResult(String runId, String label, int exitCode, String outputDir) {
+    /**
+     * @param abortReason why the run was stopped early (fail-fast, timeout, cancellation),
+     *                    {@code null} if it ran to the end
+     */
+    public record RunResult(String runId, String label, int exitCode, String outputDir, String abortReason) {
+
+        public RunResult(String runId, String label, int exitCode, String outputDir) {
+            this(runId, label, exitCode, outputDir, null);
+        }
+
+        public boolean failedFast() {
+            return abortReason != null && abortReason.startsWith(FailFastPlugin.ABORT_REASON_PREFIX);
+        }
+    }
+
+    /**
+     * Per-run execution options.
+     *
+     * @param threads      number of scenarios executed in parallel within the run (>= 1)
+     * @param maxRetries   how often failed scenarios are re-executed (0 = no retries)
+     * @param sutVersion   build version of the system under test; passing scenarios are recorded
+     *                     for it ({@code null} = not recorded)
+     * @param reuseResults reuse recorded passing results of {@code sutVersion} instead of executing
+     *                     unchanged scenarios again (requires {@code sutVersion})
+     * @param maxFailures  abort the run after this many failed scenarios (0 = no limit)
+     * @param maxConsecutiveFailures abort the run after this many failed scenarios in a row (0 = no limit)
+     */
+    public record RunOptions(int threads, int maxRetries, String sutVersion, boolean reuseResults,
+                             int maxFailures, int maxConsecutiveFailures) {
+
+        public RunOptions {
+            threads = Math.max(1, threads);
+            maxRetries = Math.max(0, maxRetries);
+            sutVersion = sutVersion != null && !sutVersion.isBlank() ? sutVersion.trim() : null;
+            reuseResults = reuseResults && sutVersion != null;
+            maxFailures = Math.max(0, maxFailures);
+            maxConsecutiveFailures = Math.max(0, maxConsecutiveFailures);
+        }
+
+        public RunOptions(int threads, int maxRetries, String sutVersion, boolean reuseResults) {
+            this(threads, maxRetries, sutVersion, reuseResults, 0, 0);
+        }
+
+        public RunOptions(int threads, int maxRetries) {
+            this(threads, maxRetries, null, false);
+        }
+
+        public RunOptions(int threads) {
+            this(threads, 0);
+        }
+
+        public boolean failFast() {
+            return maxFailures > 0 || maxConsecutiveFailures > 0;
+        }
+
+        public static RunOptions defaults() {
+            return new RunOptions(1, 0);
+        }
     }
 }
@@ -1,5 +1,6 @@
 package org.example.config;
 
+import org.example.cucumber.context.RunConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -25,11 +26,7 @@ public class BrowserConfig {
 
     @Value("${browser.extra.args:}")
     public void setExtraArgs(String args) {
-        if (args != null && !args.isBlank()) {
-            BrowserConfig.extraArgs = Arrays.asList(args.split(","));
-        } else {
-            BrowserConfig.extraArgs = List.of();
-        }
+        BrowserConfig.extraArgs = args != null ? parseArgs(args) : List.of();
     }
 
     /**
@@ -40,12 +37,28 @@ public class BrowserConfig {
         return executablePath;
     }
 
+    /** Headless-Modus; ein Wert aus der Run-Konfiguration (Request-Feld headless) hat Vorrang. */
     public static boolean isHeadless() {
-        return headless;
+        String runValue = RunConfig.get("browser.headless");
+        return runValue != null ? Boolean.parseBoolean(runValue.trim()) : headless;
     }
 
     /** Gibt zusätzliche Browser-Launch-Argumente zurück (z.B. für Container-Umgebungen). */
     public static List<String> getExtraArgs() {
-        return extraArgs;
+        String runValue = RunConfig.get("browser.extra.args");
+        return runValue != null ? parseArgs(runValue) : extraArgs;
+    }
+
+    /**
+     * Browser des aktuellen Runs. Priorität: Run-Konfiguration (Request-Feld browser)
+     * → System-Property {@code -Dbrowser} → {@code null} (Playwright-Default Chromium).
+     */
+    public static String getBrowser() {
+        String runValue = RunConfig.get("browser");
+        return runValue != null ? runValue : System.getProperty("browser");
+    }
+
+    private static List<String> parseArgs(String args) {
+        return args.isBlank() ? List.of() : Arrays.asList(args.split(","));
     }
 }
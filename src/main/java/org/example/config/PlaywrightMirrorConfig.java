@@ -84,13 +84,13 @@ public final class PlaywrightMirrorConfig {
 
     /**
      * Der Browser, der beim Start heruntergeladen wird. Priorität:
-     * System-Property {@code -Dbrowser} (wie von den Step-Definitionen verwendet)
-     * → Konfiguration {@code playwright.browser} → Default {@code chromium}.
+     * {@link BrowserConfig#getBrowser()} (Run-Konfiguration bzw. {@code -Dbrowser}, wie von
+     * den Step-Definitionen verwendet) → Konfiguration {@code playwright.browser} → Default {@code chromium}.
      */
     public static String startupBrowser() {
-        String sysProp = System.getProperty("browser");
-        if (sysProp != null && !sysProp.isBlank()) {
-            return sysProp.trim();
+        String browser = BrowserConfig.getBrowser();
+        if (browser != null && !browser.isBlank()) {
+            return browser.trim();
         }
         return ConfigReader.get("playwright.browser", "chromium");
     }
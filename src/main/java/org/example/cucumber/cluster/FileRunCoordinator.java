@@ -0,0 +1,411 @@
+package org.example.cucumber.cluster;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cucumber.model.TestStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * {@link RunCoordinator} on a directory shared by all instances, e.g. the test-results PVC
+ * (requires a volume that supports {@code ReadWriteMany} and POSIX file locks, such as NFS).
+ * <p>
+ * Layout below the cluster directory:
+ * <pre>
+ * queue/&lt;runId&gt;.json    published, unclaimed runs
+ * claims/&lt;runId&gt;        instance that claimed the run
+ * status/&lt;runId&gt;.json   latest status published by the owning instance
+ * cancel/&lt;runId&gt;        cancel request for the owning instance
+ * heartbeats/&lt;instance&gt; last heartbeat of an instance (modification time)
+ * .lock                   serializes claims across processes
+ * </pre>
+ * Files are written to a temporary file and moved into place, so readers never see partial
+ * content. Claims and take-overs are made while holding an exclusive {@link FileLock} on
+ * {@code .lock}. An owner counts as alive while its heartbeat or the claim itself is younger
+ * than the timeout. Status files are parsed again only when their modification time or size
+ * changes.
+ * <p>
+ * Enabled with {@code test.execution.cluster.backend=file}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "test.execution.cluster.backend", havingValue = "file")
+public class FileRunCoordinator implements RunCoordinator {
+
+    /** FileLock is held per JVM, so threads of the same JVM are serialized here first. */
+    private static final Object JVM_LOCK = new Object();
+
+    private static final Set<String> FINAL_STATUSES = Set.of("COMPLETED", "FAILED", "CANCELLED", "TIMEOUT");
+
+    private final Path queueDir;
+    private final Path claimsDir;
+    private final Path statusDir;
+    private final Path cancelDir;
+    private final Path heartbeatsDir;
+    private final Path lockFile;
+    private final String instanceId;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    /** Parsed status files by path; callers get copies, so they cannot change the cached ones. */
+    private final Map<Path, CachedStatus> statusCache = new ConcurrentHashMap<>();
+
+    private record CachedStatus(FileTime modified, long size, TestStatus status) {
+    }
+
+    @Autowired
+    public FileRunCoordinator(@Value("${test.execution.cluster.dir:}") String directory,
+                              @Value("${test.execution.cluster.instance-id:}") String instanceId) {
+        this(directory == null || directory.isBlank() ? defaultDirectory() : Path.of(directory),
+                instanceId == null || instanceId.isBlank() ? defaultInstanceId() : instanceId);
+    }
+
+    public FileRunCoordinator(Path directory, String instanceId) {
+        this.queueDir = directory.resolve("queue");
+        this.claimsDir = directory.resolve("claims");
+        this.statusDir = directory.resolve("status");
+        this.cancelDir = directory.resolve("cancel");
+        this.heartbeatsDir = directory.resolve("heartbeats");
+        this.lockFile = directory.resolve(".lock");
+        this.instanceId = instanceId;
+        try {
+            Files.createDirectories(queueDir);
+            Files.createDirectories(claimsDir);
+            Files.createDirectories(statusDir);
+            Files.createDirectories(cancelDir);
+            Files.createDirectories(heartbeatsDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create cluster directory " + directory, e);
+        }
+        log.info("Cluster coordination via {} as instance {}", directory.toAbsolutePath(), instanceId);
+    }
+
+    @Override
+    public String instanceId() {
+        return instanceId;
+    }
+
+    @Override
+    public void publish(ClusterRun run) {
+        writeAtomically(queueDir.resolve(run.runId() + ".json"), run);
+    }
+
+    @Override
+    public List<ClusterRun> pending() {
+        List<ClusterRun> runs = new ArrayList<>();
+        try (Stream<Path> files = Files.list(queueDir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".json")).toList()) {
+                read(file, ClusterRun.class)
+                        .filter(run -> !Files.exists(claimsDir.resolve(run.runId().toString())))
+                        .ifPresent(runs::add);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return runs;
+    }
+
+    @Override
+    public boolean claim(UUID runId) {
+        Path claim = claimsDir.resolve(runId.toString());
+        Path queued = queueDir.resolve(runId + ".json");
+        synchronized (JVM_LOCK) {
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                if (Files.exists(claim)) {
+                    return instanceId.equals(readOwner(claim).orElse(null));
+                }
+                if (!Files.exists(queued)) {
+                    return false;
+                }
+                Path tmp = claimsDir.resolve("." + runId + "." + instanceId + ".tmp");
+                Files.writeString(tmp, instanceId, StandardCharsets.UTF_8);
+                Files.move(tmp, claim, StandardCopyOption.ATOMIC_MOVE);
+                Files.deleteIfExists(queued);
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public Optional<String> owner(UUID runId) {
+        return readOwner(claimsDir.resolve(runId.toString()));
+    }
+
+    @Override
+    public void saveStatus(TestStatus status) {
+        writeAtomically(statusDir.resolve(status.getRunId() + ".json"), status);
+    }
+
+    @Override
+    public Optional<TestStatus> findStatus(UUID runId) {
+        return read(statusDir.resolve(runId + ".json"), TestStatus.class);
+    }
+
+    @Override
+    public List<TestStatus> findStatuses() {
+        List<Path> files = list(statusDir, ".json");
+        statusCache.keySet().retainAll(Set.copyOf(files));
+        return files.stream()
+                .map(this::readCachedStatus)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @Override
+    public void delete(UUID runId) {
+        try {
+            Files.deleteIfExists(statusDir.resolve(runId + ".json"));
+            Files.deleteIfExists(queueDir.resolve(runId + ".json"));
+            Files.deleteIfExists(cancelDir.resolve(runId.toString()));
+            Files.deleteIfExists(claimsDir.resolve(runId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void requestCancel(UUID runId) {
+        try {
+            Files.writeString(cancelDir.resolve(runId.toString()), instanceId, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean isCancelRequested(UUID runId) {
+        return Files.exists(cancelDir.resolve(runId.toString()));
+    }
+
+    @Override
+    public void heartbeat() {
+        try {
+            Files.writeString(heartbeatsDir.resolve(instanceId), Instant.now().toString(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<UUID> staleClaims(Duration timeout) {
+        List<UUID> stale = new ArrayList<>();
+        for (Path claim : list(claimsDir, "")) {
+            Optional<UUID> runId = runId(claim.getFileName().toString());
+            Optional<String> owner = readOwner(claim);
+            if (runId.isPresent() && owner.isPresent() && !instanceId.equals(owner.get())
+                    && isStale(owner.get(), claim, timeout)) {
+                stale.add(runId.get());
+            }
+        }
+        return stale;
+    }
+
+    @Override
+    public boolean takeOver(UUID runId, Duration timeout) {
+        Path claim = claimsDir.resolve(runId.toString());
+        synchronized (JVM_LOCK) {
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                Optional<String> owner = readOwner(claim);
+                if (owner.isEmpty()) {
+                    return false;
+                }
+                if (instanceId.equals(owner.get())) {
+                    return true;
+                }
+                // Checked again under the lock: another instance may have taken over meanwhile
+                if (!isStale(owner.get(), claim, timeout)) {
+                    return false;
+                }
+                Path tmp = claimsDir.resolve("." + runId + "." + instanceId + ".tmp");
+                Files.writeString(tmp, instanceId, StandardCharsets.UTF_8);
+                Files.move(tmp, claim, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.info("Took over run {} from instance {} without heartbeat", runId, owner.get());
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public int prune(Duration retention) {
+        Instant threshold = Instant.now().minus(retention);
+        Set<UUID> runIds = new HashSet<>();
+        for (Path dir : List.of(statusDir, claimsDir, cancelDir)) {
+            list(dir, "").forEach(file -> runId(file.getFileName().toString().replace(".json", ""))
+                    .ifPresent(runIds::add));
+        }
+        int pruned = 0;
+        for (UUID runId : runIds) {
+            Path statusFile = statusDir.resolve(runId + ".json");
+            boolean finished = readCachedStatus(statusFile)
+                    .map(status -> FINAL_STATUSES.contains(status.getStatus()))
+                    // A claim or cancel request without status belongs to no run any instance reports
+                    .orElse(!Files.exists(statusFile));
+            boolean unchanged = Stream.of(statusFile, claimsDir.resolve(runId.toString()),
+                            cancelDir.resolve(runId.toString()))
+                    .map(FileRunCoordinator::modified)
+                    .allMatch(modified -> modified.isBefore(threshold));
+            if (finished && unchanged && !Files.exists(queueDir.resolve(runId + ".json"))) {
+                delete(runId);
+                statusCache.remove(statusFile);
+                pruned++;
+            }
+        }
+        for (Path heartbeat : list(heartbeatsDir, "")) {
+            if (!heartbeat.getFileName().toString().equals(instanceId) && modified(heartbeat).isBefore(threshold)) {
+                try {
+                    Files.deleteIfExists(heartbeat);
+                } catch (IOException e) {
+                    log.debug("Could not remove heartbeat {}: {}", heartbeat, e.getMessage());
+                }
+            }
+        }
+        if (pruned > 0) {
+            log.info("Pruned shared state of {} finished run(s) older than {}", pruned, retention);
+        }
+        return pruned;
+    }
+
+    private boolean isStale(String owner, Path claim, Duration timeout) {
+        Instant threshold = Instant.now().minus(timeout);
+        return modified(heartbeatsDir.resolve(owner)).isBefore(threshold) && modified(claim).isBefore(threshold);
+    }
+
+    /** Modification time, {@link Instant#MIN} if the file does not exist. */
+    private static Instant modified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.MIN;
+        }
+    }
+
+    private Optional<TestStatus> readCachedStatus(Path file) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            statusCache.remove(file);
+            return Optional.empty();
+        }
+        CachedStatus cached = statusCache.get(file);
+        if (cached != null && cached.modified().equals(attributes.lastModifiedTime())
+                && cached.size() == attributes.size()) {
+            return Optional.of(cached.status().toBuilder().build());
+        }
+        Optional<TestStatus> status = read(file, TestStatus.class);
+        status.ifPresent(s -> statusCache.put(file, new CachedStatus(attributes.lastModifiedTime(), attributes.size(),
+                s.toBuilder().build())));
+        return status;
+    }
+
+    /** Files in a directory with the given suffix, without temporary files. */
+    private static List<Path> list(Path dir, String suffix) {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> !f.getFileName().toString().startsWith("."))
+                    .filter(f -> f.getFileName().toString().endsWith(suffix))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Optional<UUID> runId(String name) {
+        try {
+            return Optional.of(UUID.fromString(name));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Optional<String> readOwner(Path claim) {
+        try {
+            return Optional.of(Files.readString(claim, StandardCharsets.UTF_8).trim()).filter(s -> !s.isEmpty());
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> Optional<T> read(Path file, Class<T> type) {
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), type));
+        } catch (NoSuchFileException e) {
+            // Claimed or deleted by another instance in the meantime
+            return Optional.empty();
+        } catch (IOException e) {
+            if (!Files.exists(file)) {
+                return Optional.empty();
+            }
+            log.warn("Ignoring unreadable cluster file {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void writeAtomically(Path file, Object value) {
+        Path tmp = file.resolveSibling("." + file.getFileName() + "." + instanceId + ".tmp");
+        try {
+            objectMapper.writeValue(tmp.toFile(), value);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Pod name on OpenShift/Kubernetes, otherwise unique per process. */
+    private static String defaultInstanceId() {
+        String hostname = System.getenv("HOSTNAME");
+        if (hostname != null && !hostname.isBlank()) {
+            return hostname;
+        }
+        return "instance-" + ProcessHandle.current().pid() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static Path defaultDirectory() {
+        String envPath = System.getenv("TEST_RESULTS_PATH");
+        if (envPath != null && !envPath.isBlank()) {
+            return Path.of(envPath, "cluster");
+        }
+        String sysProp = System.getProperty("test.results.path");
+        if (sysProp != null && !sysProp.isBlank()) {
+            return Path.of(sysProp, "cluster");
+        }
+        return Path.of("test-results", "cluster");
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.cucumber.cluster;
+
+import org.example.cucumber.model.TestExecutionRequest;
+import org.example.cucumber.model.TestStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Shares the run queue and the run statuses between several service instances (pods).
+ * <p>
+ * Every instance publishes the runs it accepts. All instances offer published runs to their
+ * local scheduler; the instance whose scheduler dispatches a run first {@linkplain #claim claims}
+ * and executes it, the others drop it. Instances publish the statuses of their runs, so status,
+ * cancel and delete calls can be answered by any instance.
+ * <p>
+ * Implementations must make {@link #claim} atomic across processes.
+ */
+public interface RunCoordinator {
+
+    /** A queued run as published to the other instances. */
+    record ClusterRun(UUID runId, TestExecutionRequest request, String priority, Instant enqueuedAt,
+                      String publishedBy) {
+    }
+
+    /** Identifier of this instance, e.g. the pod name. */
+    String instanceId();
+
+    void publish(ClusterRun run);
+
+    /** Published runs that no instance has claimed yet. */
+    List<ClusterRun> pending();
+
+    /**
+     * Claims a published run for this instance. Idempotent for the claiming instance.
+     *
+     * @return {@code true} if this instance owns the run now, {@code false} if another
+     * instance claimed it first or the run is unknown
+     */
+    boolean claim(UUID runId);
+
+    /** Instance that claimed the run, empty while it is unclaimed. */
+    Optional<String> owner(UUID runId);
+
+    void saveStatus(TestStatus status);
+
+    Optional<TestStatus> findStatus(UUID runId);
+
+    List<TestStatus> findStatuses();
+
+    /** Removes all shared state of a finished run. */
+    void delete(UUID runId);
+
+    /** Asks the owning instance to cancel a run it executes. */
+    void requestCancel(UUID runId);
+
+    boolean isCancelRequested(UUID runId);
+
+    /** Signals that this instance is alive; called on every sync. */
+    void heartbeat();
+
+    /** Runs claimed by other instances that have not sent a heartbeat for {@code timeout}. */
+    List<UUID> staleClaims(Duration timeout);
+
+    /**
+     * Moves the claim of a run to this instance if its owner has not sent a heartbeat for
+     * {@code timeout}.
+     *
+     * @return {@code true} if this instance owns the run now
+     */
+    boolean takeOver(UUID runId, Duration timeout);
+
+    /**
+     * Removes the shared state of finished runs, and of instances, that has not changed for
+     * {@code retention}.
+     *
+     * @return number of runs removed
+     */
+    int prune(Duration retention);
+}
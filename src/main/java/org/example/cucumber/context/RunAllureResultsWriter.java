@@ -0,0 +1,56 @@
+package org.example.cucumber.context;
+
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.util.PropertiesUtils;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Allure results writer that writes into the allure-results directory of the run bound to
+ * the calling thread via {@link TestContext}.
+ * <p>
+ * {@code Allure}'s lifecycle is a JVM-wide singleton and its writer is fixed on creation, so
+ * replacing the lifecycle per run lets concurrent runs redirect each other's results. With
+ * this writer a single lifecycle serves all runs: the Allure Cucumber plugin and the
+ * {@code Allure.*} calls in hooks and steps write on the run's Cucumber worker threads, which
+ * inherit the run's context. Outside a run it falls back to {@code allure.results.directory}.
+ */
+public final class RunAllureResultsWriter implements AllureResultsWriter {
+
+    private final Path fallbackDirectory;
+
+    public RunAllureResultsWriter() {
+        this(Paths.get(PropertiesUtils.loadAllureProperties()
+                .getProperty("allure.results.directory", "allure-results")));
+    }
+
+    public RunAllureResultsWriter(Path fallbackDirectory) {
+        this.fallbackDirectory = fallbackDirectory;
+    }
+
+    @Override
+    public void write(TestResult testResult) {
+        current().write(testResult);
+    }
+
+    @Override
+    public void write(TestResultContainer testResultContainer) {
+        current().write(testResultContainer);
+    }
+
+    @Override
+    public void write(String source, InputStream attachment) {
+        current().write(source, attachment);
+    }
+
+    private AllureResultsWriter current() {
+        return new FileSystemResultsWriter(TestContext.isInitialized()
+                ? TestContext.getAllureResultsDir()
+                : fallbackDirectory);
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.cucumber.context;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Run-scoped configuration overlay.
+ * <p>
+ * Request-level settings (environmentVariables, browser, headless) are registered for the
+ * run instead of being written to the JVM-wide system properties. Configuration lookups
+ * ({@code ConfigReader}, {@code BrowserConfig}) consult the overlay of the run bound to the
+ * current thread via {@link TestContext} first, so a run's settings neither leak into later
+ * runs nor into other runs executing in the same JVM at the same time.
+ * <p>
+ * This covers configuration only. Other per-run state is isolated separately: run outputs
+ * (Allure results, Axe reports, screenshots) through {@link TestContext} and
+ * {@link RunAllureResultsWriter}. Values outside the overlay, such as a {@code -Dbrowser}
+ * given at JVM start, remain process-wide defaults for all runs.
+ */
+public final class RunConfig {
+
+    private static final Map<String, Map<String, String>> OVERLAYS = new ConcurrentHashMap<>();
+
+    private RunConfig() {
+    }
+
+    public static void register(String runId, Map<String, String> values) {
+        OVERLAYS.put(runId, Map.copyOf(values));
+    }
+
+    public static void unregister(String runId) {
+        OVERLAYS.remove(runId);
+    }
+
+    /**
+     * Looks up a key in the current run's overlay, either as given or in the environment
+     * variable form ({@code key.toUpperCase().replace('.', '_')}) used by {@code ConfigReader}.
+     *
+     * @return the run-specific value, or {@code null} outside a run or if the run does not set it
+     */
+    public static String get(String key) {
+        if (!TestContext.isInitialized()) {
+            return null;
+        }
+        Map<String, String> overlay = OVERLAYS.get(TestContext.getRunId());
+        if (overlay == null) {
+            return null;
+        }
+        String value = overlay.get(key);
+        return value != null ? value : overlay.get(key.toUpperCase().replace(".", "_"));
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.cucumber.context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Control handle for a running test run, shared between the service thread that started
+ * the run and the Cucumber threads executing it.
+ * <p>
+ * The service can {@link #abort(String) abort} a run (timeout, cancellation, fail-fast);
+ * the Cucumber hooks check the flag before every scenario and step and skip the rest of
+ * the run. Browser resources opened by the page objects are registered here so they can
+ * be closed from outside the scenario thread, e.g. when a Playwright wait hangs.
+ * Progress of the run is reported here by the Cucumber plugin and forwarded to the listener
+ * registered by whoever started the run.
+ */
+public final class RunControl {
+
+    private static final Logger log = LoggerFactory.getLogger(RunControl.class);
+
+    private static final Map<String, RunControl> REGISTRY = new ConcurrentHashMap<>();
+
+    private final String runId;
+    private final Set<AutoCloseable> resources = ConcurrentHashMap.newKeySet();
+    private volatile String abortReason;
+    private volatile Consumer<RunProgress> progressListener;
+    private volatile RunProgress lastProgress;
+
+    private RunControl(String runId) {
+        this.runId = runId;
+    }
+
+    /** Registers (or returns the already registered) control handle for a run. */
+    public static RunControl register(String runId) {
+        return REGISTRY.computeIfAbsent(runId, RunControl::new);
+    }
+
+    public static void unregister(String runId) {
+        REGISTRY.remove(runId);
+    }
+
+    public static Optional<RunControl> forRun(String runId) {
+        return Optional.ofNullable(REGISTRY.get(runId));
+    }
+
+    /** Control handle of the run bound to the current thread via {@link TestContext}. */
+    public static Optional<RunControl> current() {
+        return TestContext.isInitialized() ? forRun(TestContext.getRunId()) : Optional.empty();
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    /**
+     * Requests the run to stop. Remaining scenarios and steps are skipped.
+     * The first reason wins; later calls do not overwrite it.
+     */
+    public synchronized void abort(String reason) {
+        if (abortReason == null) {
+            abortReason = reason;
+            log.info("Run {} aborted: {}", runId, reason);
+        }
+    }
+
+    public boolean isAborted() {
+        return abortReason != null;
+    }
+
+    public String getAbortReason() {
+        return abortReason;
+    }
+
+    /** Sets the listener receiving the run's progress; replaces a previously set one. */
+    public void onProgress(Consumer<RunProgress> listener) {
+        this.progressListener = listener;
+    }
+
+    /** Forwards a progress snapshot to the listener, if any. Listener failures are logged. */
+    public void reportProgress(RunProgress progress) {
+        lastProgress = progress;
+        Consumer<RunProgress> listener = progressListener;
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.accept(progress);
+        } catch (RuntimeException e) {
+            log.warn("Progress listener of run {} failed: {}", runId, e.getMessage());
+        }
+    }
+
+    /** Most recently reported progress, e.g. to continue counting in a retry attempt. */
+    public Optional<RunProgress> lastProgress() {
+        return Optional.ofNullable(lastProgress);
+    }
+
+    public void registerResource(AutoCloseable resource) {
+        resources.add(resource);
+    }
+
+    public void unregisterResource(AutoCloseable resource) {
+        resources.remove(resource);
+    }
+
+    /**
+     * Closes all registered resources. Failures are logged and do not stop the remaining closes.
+     *
+     * @return number of resources that were closed
+     */
+    public int closeResources() {
+        int closed = 0;
+        for (AutoCloseable resource : Set.copyOf(resources)) {
+            resources.remove(resource);
+            try {
+                resource.close();
+                closed++;
+            } catch (Exception e) {
+                log.warn("Failed to close resource of run {}: {}", runId, e.getMessage());
+            }
+        }
+        return closed;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.cucumber.context;
+
+import org.example.cucumber.model.ScenarioResult;
+
+/**
+ * Snapshot of a run's progress, reported through {@link RunControl#reportProgress} while
+ * Cucumber executes the run.
+ *
+ * @param startedScenarios     scenarios started so far
+ * @param passedScenarios      finished scenarios that passed
+ * @param failedScenarios      finished scenarios that failed (including undefined/ambiguous steps)
+ * @param skippedScenarios     finished scenarios that were skipped or pending
+ * @param currentFeature       feature file of the most recently started scenario
+ * @param currentScenario      name of the most recently started scenario
+ * @param currentStep          steps of that scenario started so far
+ * @param currentScenarioSteps number of steps of that scenario
+ * @param finishedScenario     result of the scenario whose end triggered this snapshot, otherwise {@code null}
+ */
+public record RunProgress(int startedScenarios, int passedScenarios, int failedScenarios, int skippedScenarios,
+                          String currentFeature, String currentScenario, int currentStep,
+                          int currentScenarioSteps, ScenarioResult finishedScenario) {
+
+    public int finishedScenarios() {
+        return passedScenarios + failedScenarios + skippedScenarios;
+    }
+}
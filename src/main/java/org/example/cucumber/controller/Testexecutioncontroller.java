@@ -1,9 +1,19 @@
 package org.example.cucumber.controller;
 
+import org.example.cucumber.model.BatchExecutionRequest;
+import org.example.cucumber.model.BatchExecutionResponse;
+import org.example.cucumber.model.BatchStatus;
 import org.example.cucumber.model.CombinedReportRequest;
+import org.example.cucumber.model.FeatureResult;
+import org.example.cucumber.model.RunPage;
+import org.example.cucumber.model.ScenarioResult;
 import org.example.cucumber.model.TestExecutionRequest;
 import org.example.cucumber.model.TestExecutionResponse;
+import org.example.cucumber.model.TestStatistics;
 import org.example.cucumber.model.TestStatus;
+import org.example.cucumber.service.QueueFullException;
+import org.example.cucumber.service.RunEventStreams;
+import org.example.cucumber.service.RunIndex;
 import org.example.cucumber.service.TestExecutionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,17 +22,33 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * REST API Controller für Cucumber Test Execution
@@ -39,6 +65,8 @@ import java.util.UUID;
 public class TestExecutionController {
 
     private final TestExecutionService testExecutionService;
+    private final RunEventStreams runEventStreams;
+    private final Validator validator;
 
     /**
      * Startet eine neue Test-Ausführung
@@ -54,7 +82,7 @@ public class TestExecutionController {
     @ApiResponses({
             @ApiResponse(responseCode = "202", description = "Test wurde zur Ausführung eingeplant"),
             @ApiResponse(responseCode = "400", description = "Ungültige Request-Parameter"),
-            @ApiResponse(responseCode = "429", description = "Zu viele gleichzeitige Test-Läufe"),
+            @ApiResponse(responseCode = "429", description = "Warteschlange des Environments voll, Header Retry-After enthält die Wartezeit in Sekunden"),
             @ApiResponse(responseCode = "500", description = "Interner Serverfehler")
     })
     public ResponseEntity<TestExecutionResponse> executeTests(
@@ -71,9 +99,29 @@ public class TestExecutionController {
 
             return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
 
+        } catch (QueueFullException e) {
+            long retryAfterSeconds = Math.max(1, e.getRetryAfter().toSeconds());
+            log.warn("Test execution rejected: {} (Retry-After {}s)", e.getMessage(), retryAfterSeconds);
+
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(TestExecutionResponse.builder()
+                            .status("REJECTED")
+                            .environment(e.getEnvironment())
+                            .message(e.getMessage())
+                            .timestamp(LocalDateTime.now())
+                            .build());
+
         } catch (IllegalArgumentException e) {
-            log.error("Invalid request parameters: {}", e.getMessage());
-            throw e;
+            // e.g. an invalid tag expression when splitting into shards
+            log.warn("Invalid request parameters: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(TestExecutionResponse.builder()
+                            .status("REJECTED")
+                            .environment(request.getEnvironment())
+                            .message(e.getMessage())
+                            .timestamp(LocalDateTime.now())
+                            .build());
         }
     }
 
@@ -105,6 +153,32 @@ public class TestExecutionController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Streamt Status, Fortschritt und Szenario-Ergebnisse einer Test-Ausführung als Server-Sent Events
+     *
+     * @param runId Eindeutige Run ID
+     * @return Event-Stream, endet mit dem finalen Status
+     */
+    @GetMapping(value = "/status/{runId}/stream",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Test-Status streamen",
+            description = "Sendet den aktuellen Status und danach Status-Wechsel (status), Fortschritt (progress) "
+                    + "und beendete Szenarien (scenario) als Server-Sent Events. Der Stream endet mit dem finalen Status.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event-Stream geöffnet"),
+            @ApiResponse(responseCode = "404", description = "Test-Ausführung nicht gefunden")
+    })
+    public ResponseEntity<SseEmitter> streamTestStatus(
+            @Parameter(description = "Test Run ID", required = true)
+            @PathVariable("runId") UUID runId) {
+
+        log.debug("Opening status stream for runId: {}", runId);
+
+        return runEventStreams.subscribe(runId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Ruft alle aktiven Test-Ausführungen ab
      *
@@ -124,29 +198,90 @@ public class TestExecutionController {
     }
 
     /**
-     * Ruft den Cucumber Report einer Test-Ausführung ab
+     * Streamt die aktiven Test-Ausführungen als Server-Sent Events
      *
-     * @param runId Eindeutige Run ID
+     * @return Event-Stream aller aktiven Tests
+     */
+    @GetMapping(value = "/active/stream",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Aktive Tests streamen",
+            description = "Sendet die Liste der aktiven Test-Ausführungen (active) bei jeder Änderung sowie "
+                    + "Status, Fortschritt und Szenario-Ergebnisse aller Runs als Server-Sent Events")
+    public SseEmitter streamActiveTests() {
+
+        log.debug("Opening stream of active tests");
+
+        return runEventStreams.subscribeActive();
+    }
+
+    /**
+     * Ruft den Cucumber Report einer Test-Ausführung ab.
+     * Die Datei wird direkt von der Platte gestreamt; unterstützt gzip, ETag/If-None-Match und Range.
+     *
+     * @param runId          Eindeutige Run ID
+     * @param acceptEncoding Accept-Encoding des Clients
      * @return Cucumber JSON Report
      */
     @GetMapping(value = "/report/{runId}",
             produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Test-Report abrufen",
-            description = "Ruft den Cucumber JSON Report einer Test-Ausführung ab")
+            description = "Ruft den Cucumber JSON Report einer Test-Ausführung ab (gzip, ETag und Range werden unterstützt)")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Report erfolgreich abgerufen"),
+            @ApiResponse(responseCode = "206", description = "Angeforderter Byte-Bereich (Range)"),
+            @ApiResponse(responseCode = "304", description = "Report unverändert (If-None-Match)"),
             @ApiResponse(responseCode = "404", description = "Report nicht gefunden"),
+            @ApiResponse(responseCode = "416", description = "Byte-Bereich außerhalb des Reports"),
             @ApiResponse(responseCode = "425", description = "Test noch nicht abgeschlossen")
     })
-    public ResponseEntity<Object> getTestReport(
+    public ResponseEntity<Resource> getTestReport(
             @Parameter(description = "Test Run ID", required = true)
-            @PathVariable("runId") UUID runId) {
+            @PathVariable("runId") UUID runId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
         log.debug("Fetching report for runId: {}", runId);
 
-        return testExecutionService.getTestReport(runId)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        Optional<Path> report = testExecutionService.getTestReport(runId);
+        if (report.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<Path> compressed = acceptsGzip(acceptEncoding)
+                ? testExecutionService.getCompressedTestReport(runId)
+                : Optional.empty();
+        Path file = compressed.orElse(report.get());
+        try {
+            long lastModified = Files.getLastModifiedTime(report.get()).toMillis();
+            // Identifies the report version; the compressed copy is a separate representation
+            String eTag = "\"" + Long.toHexString(Files.size(report.get())) + "-" + Long.toHexString(lastModified)
+                    + (compressed.isPresent() ? "-gzip" : "") + "\"";
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(eTag)
+                    .lastModified(lastModified)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING);
+            if (compressed.isPresent()) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            // Spring answers If-None-Match with 304 and Range with 206, reading only the requested bytes
+            return response.body(new FileSystemResource(file));
+        } catch (IOException e) {
+            log.error("Failed to read report for runId={}", runId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return !(parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?"));
+            }
+        }
+        return false;
     }
 
     /**
@@ -259,7 +394,8 @@ public class TestExecutionController {
     @GetMapping(value = "/runs",
             produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Verfuegbare Runs auflisten",
-            description = "Listet alle Test-Runs auf, die Allure-Ergebnisse enthalten")
+            description = "Listet alle Test-Runs auf, die Allure-Ergebnisse enthalten. "
+                    + "Gefiltert und seitenweise: GET /runs/page")
     @ApiResponse(responseCode = "200", description = "Liste erfolgreich abgerufen")
     public ResponseEntity<List<UUID>> listAvailableRuns() {
 
@@ -269,6 +405,116 @@ public class TestExecutionController {
         return ResponseEntity.ok(runs);
     }
 
+    /**
+     * Listet Test-Runs seitenweise auf, neueste zuerst
+     *
+     * @param environment Optional: Filter nach Environment
+     * @param status      Optional: Filter nach Status (mehrere kommagetrennt)
+     * @param tags        Optional: Tags, die alle in der Tag-Expression des Runs vorkommen
+     * @param initiator   Optional: Filter nach Ausloeser
+     * @param from        Optional: Startzeit ab (inklusive)
+     * @param to          Optional: Startzeit bis (exklusive)
+     * @param cursor      Optional: nextCursor der vorherigen Seite
+     * @param limit       Maximale Anzahl Runs pro Seite (1-500)
+     * @return Seite der Run-Liste
+     */
+    @GetMapping(value = "/runs/page",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Runs seitenweise auflisten",
+            description = "Listet Test-Runs aus dem Run-Index seitenweise auf, absteigend nach Startzeit")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Liste erfolgreich abgerufen"),
+            @ApiResponse(responseCode = "400", description = "Ungueltiger Cursor oder ungueltiges Limit")
+    })
+    public ResponseEntity<RunPage> listRuns(
+            @RequestParam(required = false) String environment,
+            @Parameter(description = "Status, z.B. FAILED,TIMEOUT")
+            @RequestParam(required = false) List<String> status,
+            @Parameter(description = "Tags, z.B. @smoke,@login")
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(required = false) String initiator,
+            @Parameter(description = "Startzeit ab (ISO, inklusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Startzeit bis (ISO, exklusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "nextCursor der vorherigen Seite")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        log.debug("Listing test runs: environment={}, status={}, tags={}, initiator={}, from={}, to={}, limit={}",
+                environment, status, tags, initiator, from, to, limit);
+
+        if (limit < 1 || limit > 500) {
+            return ResponseEntity.badRequest().build();
+        }
+        RunPage page;
+        try {
+            page = testExecutionService.listRuns(
+                    new RunIndex.Query(environment, status, tags, initiator, from, to), cursor, limit);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid run listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        page.getRuns().forEach(run -> run.setStatusUrl(toAbsoluteUrl("/api/v1/test/status/" + run.getRunId())));
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Ruft die Ergebnisse pro Feature einer Test-Ausführung ab
+     *
+     * @param runId  Eindeutige Run ID
+     * @param status Optional: nur Features mit diesem Status (mehrere kommagetrennt)
+     * @return Feature-Ergebnisse
+     */
+    @GetMapping(value = "/runs/{runId}/features",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Feature-Ergebnisse abrufen",
+            description = "Ergebnisse pro Feature, aus dem Cucumber Report extrahiert")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Ergebnisse erfolgreich abgerufen"),
+            @ApiResponse(responseCode = "404", description = "Kein Report für diesen Run")
+    })
+    public ResponseEntity<List<FeatureResult>> getFeatureResults(
+            @Parameter(description = "Test Run ID", required = true)
+            @PathVariable("runId") UUID runId,
+            @Parameter(description = "Status, z.B. failed")
+            @RequestParam(required = false) List<String> status) {
+
+        log.debug("Fetching feature results for runId: {}, status: {}", runId, status);
+
+        return testExecutionService.getFeatureResults(runId, status)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Ruft die Ergebnisse pro Szenario einer Test-Ausführung ab
+     *
+     * @param runId  Eindeutige Run ID
+     * @param status Optional: nur Szenarien mit diesem Status (mehrere kommagetrennt)
+     * @return Szenario-Ergebnisse
+     */
+    @GetMapping(value = "/runs/{runId}/scenarios",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Szenario-Ergebnisse abrufen",
+            description = "Ergebnisse pro Szenario mit Fehlermeldung, aus dem Cucumber Report extrahiert")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Ergebnisse erfolgreich abgerufen"),
+            @ApiResponse(responseCode = "404", description = "Kein Report für diesen Run")
+    })
+    public ResponseEntity<List<ScenarioResult>> getScenarioResults(
+            @Parameter(description = "Test Run ID", required = true)
+            @PathVariable("runId") UUID runId,
+            @Parameter(description = "Status, z.B. failed,undefined,ambiguous")
+            @RequestParam(required = false) List<String> status) {
+
+        log.debug("Fetching scenario results for runId: {}, status: {}", runId, status);
+
+        return testExecutionService.getScenarioResults(runId, status)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Generiert einen kombinierten Allure-Report ueber mehrere Runs
      *
@@ -298,6 +544,155 @@ public class TestExecutionController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Startet eine Test-Matrix: ein Run je Umgebung, Browser und Tag-Set unter einer gemeinsamen Batch ID
+     *
+     * @param request Matrix und gemeinsame Einstellungen der Runs
+     * @return Batch ID und die Antworten der einzelnen Runs
+     */
+    @PostMapping(value = "/batches",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Test-Matrix starten",
+            description = "Startet für jede Kombination aus environments, browsers und tagSets einen Run. "
+                    + "Der Batch wird als Ganzes angenommen oder abgelehnt.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Runs wurden zur Ausführung eingeplant"),
+            @ApiResponse(responseCode = "400", description = "Ungültige Request-Parameter oder mehr als 50 Runs"),
+            @ApiResponse(responseCode = "429", description = "Warteschlange eines Environments voll, Header Retry-After enthält die Wartezeit in Sekunden")
+    })
+    public ResponseEntity<BatchExecutionResponse> executeBatch(
+            @Valid @RequestBody BatchExecutionRequest request) {
+
+        log.info("Received batch execution request: environments={}, browsers={}, tagSets={}",
+                request.getEnvironments(), request.getBrowsers(), request.getTagSets());
+
+        // environment, tags and browser of the runs come from the matrix
+        if (request.getRun() != null) {
+            Set<ConstraintViolation<TestExecutionRequest>> violations = validator.validate(request.getRun()).stream()
+                    .filter(v -> !Set.of("environment", "tags").contains(v.getPropertyPath().toString()))
+                    .collect(Collectors.toSet());
+            if (!violations.isEmpty()) {
+                return rejectBatch(HttpStatus.BAD_REQUEST, violations.stream()
+                        .map(v -> "run." + v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            }
+        }
+
+        try {
+            BatchExecutionResponse response = testExecutionService.queueBatch(request);
+            response.setStatusUrl(toAbsoluteUrl(response.getStatusUrl()));
+            response.getRuns().forEach(run ->
+                    run.setStatusUrl(toAbsoluteUrl("/api/v1/test/status/" + run.getRunId())));
+
+            log.info("Batch queued successfully: batchId={}", response.getBatchId());
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+
+        } catch (QueueFullException e) {
+            long retryAfterSeconds = Math.max(1, e.getRetryAfter().toSeconds());
+            log.warn("Batch rejected: {} (Retry-After {}s)", e.getMessage(), retryAfterSeconds);
+
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(BatchExecutionResponse.builder()
+                            .status("REJECTED")
+                            .message(e.getMessage())
+                            .timestamp(LocalDateTime.now())
+                            .build());
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid batch request: {}", e.getMessage());
+            return rejectBatch(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Ruft den zusammengefassten Status einer Test-Matrix ab
+     *
+     * @param batchId Batch ID
+     * @return Gesamtstatus und Status der einzelnen Runs
+     */
+    @GetMapping(value = "/batches/{batchId}",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Batch-Status abrufen",
+            description = "Ruft den Gesamtstatus, die summierten Ergebnisse und den Status aller Runs einer Test-Matrix ab")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Status erfolgreich abgerufen"),
+            @ApiResponse(responseCode = "404", description = "Batch nicht gefunden")
+    })
+    public ResponseEntity<BatchStatus> getBatchStatus(
+            @Parameter(description = "Batch ID", required = true)
+            @PathVariable("batchId") UUID batchId) {
+
+        log.debug("Fetching status for batchId: {}", batchId);
+
+        return testExecutionService.getBatchStatus(batchId)
+                .map(status -> {
+                    if (status.getReportUrl() != null) {
+                        status.setReportUrl(toAbsoluteUrl(status.getReportUrl()));
+                    }
+                    status.getRuns().forEach(this::resolveReportUrls);
+                    return ResponseEntity.ok(status);
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Streamt den Gesamtstatus einer Test-Matrix als Server-Sent Events
+     *
+     * @param batchId Batch ID
+     * @return Event-Stream, endet, sobald alle Runs beendet sind
+     */
+    @GetMapping(value = "/batches/{batchId}/stream",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Batch-Status streamen",
+            description = "Sendet den Gesamtstatus (batch) bei jeder Änderung sowie die beendeten Szenarien (scenario) "
+                    + "aller Runs als Server-Sent Events. Der Stream endet, sobald alle Runs beendet sind.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event-Stream geöffnet"),
+            @ApiResponse(responseCode = "404", description = "Batch nicht gefunden")
+    })
+    public ResponseEntity<SseEmitter> streamBatchStatus(
+            @Parameter(description = "Batch ID", required = true)
+            @PathVariable("batchId") UUID batchId) {
+
+        log.debug("Opening status stream for batchId: {}", batchId);
+
+        return runEventStreams.subscribeBatch(batchId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Generiert den kombinierten Allure-Report über alle Runs einer Test-Matrix
+     *
+     * @param batchId Batch ID
+     * @return URL zum generierten Report
+     */
+    @PostMapping(value = "/batches/{batchId}/report/generate",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Batch-Report generieren",
+            description = "Generiert einen Allure-Report über alle Runs einer Test-Matrix")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Report erfolgreich generiert"),
+            @ApiResponse(responseCode = "404", description = "Batch nicht gefunden oder noch keine Ergebnisse")
+    })
+    public ResponseEntity<Map<String, String>> generateBatchReport(
+            @Parameter(description = "Batch ID", required = true)
+            @PathVariable("batchId") UUID batchId) {
+
+        log.info("Generating Allure report for batchId: {}", batchId);
+
+        return testExecutionService.generateBatchReport(batchId)
+                .map(url -> ResponseEntity.ok(Map.of(
+                        "reportUrl", toAbsoluteUrl(url),
+                        "message", "Batch Allure report successfully generated"
+                )))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Health Check Endpoint
      */
@@ -313,22 +708,38 @@ public class TestExecutionController {
      * Ruft Statistiken über Test-Ausführungen ab
      *
      * @param environment Optional: Filter nach Environment
+     * @param hours       Optional: nur Runs der letzten N Stunden (1-720)
      * @return Statistiken
      */
     @GetMapping(value = "/statistics",
             produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Test-Statistiken abrufen",
-            description = "Ruft Statistiken über Test-Ausführungen ab")
-    public ResponseEntity<Object> getStatistics(
-            @RequestParam(required = false) String environment) {
+            description = "Ruft Statistiken über Test-Ausführungen ab, optional für ein Zeitfenster")
+    public ResponseEntity<TestStatistics> getStatistics(
+            @RequestParam(required = false) String environment,
+            @Parameter(description = "Nur Runs, die in den letzten N Stunden eingeplant wurden (1-720)")
+            @RequestParam(required = false) Integer hours) {
 
-        log.debug("Fetching statistics for environment: {}", environment);
+        log.debug("Fetching statistics for environment: {}, hours: {}", environment, hours);
 
-        Object statistics = testExecutionService.getStatistics(environment);
+        if (hours != null && (hours < 1 || hours > 720)) {
+            return ResponseEntity.badRequest().build();
+        }
+        TestStatistics statistics = testExecutionService.getStatistics(environment,
+                hours != null ? Duration.ofHours(hours) : null);
 
         return ResponseEntity.ok(statistics);
     }
 
+    private ResponseEntity<BatchExecutionResponse> rejectBatch(HttpStatus httpStatus, String message) {
+        return ResponseEntity.status(httpStatus)
+                .body(BatchExecutionResponse.builder()
+                        .status("REJECTED")
+                        .message(message)
+                        .timestamp(LocalDateTime.now())
+                        .build());
+    }
+
     private void resolveReportUrls(TestStatus status) {
         if (status.getReportUrls() != null) {
             status.getReportUrls().replaceAll((key, value) ->
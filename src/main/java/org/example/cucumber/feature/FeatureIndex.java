@@ -0,0 +1,318 @@
+package org.example.cucumber.feature;
+
+import io.cucumber.gherkin.GherkinParser;
+import io.cucumber.messages.types.Envelope;
+import io.cucumber.messages.types.Examples;
+import io.cucumber.messages.types.FeatureChild;
+import io.cucumber.messages.types.GherkinDocument;
+import io.cucumber.messages.types.Pickle;
+import io.cucumber.messages.types.PickleTag;
+import io.cucumber.messages.types.Scenario;
+import io.cucumber.messages.types.Source;
+import io.cucumber.messages.types.SourceMediaType;
+import io.cucumber.messages.types.TableRow;
+import io.cucumber.tagexpressions.Expression;
+import io.cucumber.tagexpressions.TagExpressionException;
+import io.cucumber.tagexpressions.TagExpressionParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Scenarios of the feature files below {@code classpath:features}, parsed with the Gherkin
+ * parser Cucumber itself uses. Every scenario (and every example row of a scenario outline)
+ * is one {@link FeatureScenario} with the URI and line Cucumber reports in Cucumber.json.
+ * <p>
+ * {@link #current()} keeps the parsed index for the whole application: the feature files are
+ * parsed once and afterwards only re-parsed when they have changed.
+ */
+@Slf4j
+public final class FeatureIndex {
+
+    public static final String FEATURES_ROOT = "classpath:features";
+
+    /**
+     * A single executable scenario.
+     *
+     * @param uri         feature URI as used by Cucumber, e.g. {@code classpath:features/API-Test.feature}
+     * @param line        line of the scenario or of the example row
+     * @param featureHash SHA-256 of the feature file content
+     */
+    public record FeatureScenario(String uri, long line, String name, List<String> tags, String featureHash) {
+
+        /** Cucumber feature selector of this scenario ({@code uri:line}). */
+        public String id() {
+            return uri + ":" + line;
+        }
+    }
+
+    private static final GherkinParser PARSER = GherkinParser.builder()
+            .includeSource(false)
+            .build();
+
+    /** Minimum time between two checks of the feature files for changes. */
+    static final Duration CHANGE_CHECK_INTERVAL = Duration.ofSeconds(30);
+
+    /** Parsed feature file together with the attributes used to detect changes. */
+    private record ParsedFeature(long lastModified, long contentLength, List<FeatureScenario> scenarios) {
+    }
+
+    private static final Object CACHE_LOCK = new Object();
+    private static Map<String, ParsedFeature> parsedFeatures = Map.of();
+    private static volatile FeatureIndex current;
+    private static volatile long checkedAtNanos;
+
+    private final List<FeatureScenario> scenarios;
+    private final Map<String, Integer> counts = new ConcurrentHashMap<>();
+
+    public FeatureIndex(List<FeatureScenario> scenarios) {
+        this.scenarios = List.copyOf(scenarios);
+    }
+
+    /** Parses all feature files found below {@code features/} on the classpath. */
+    public static FeatureIndex scanClasspath() throws IOException {
+        Map<String, List<FeatureScenario>> byUri = new LinkedHashMap<>();
+        featureResources().forEach((uri, feature) -> byUri.put(uri, parseQuietly(uri, feature)));
+        return new FeatureIndex(byUri.values().stream().flatMap(List::stream).toList());
+    }
+
+    /**
+     * The shared index of the feature files below {@code features/} on the classpath. Parsed on
+     * first use; afterwards the files are checked for changes at most every
+     * {@link #CHANGE_CHECK_INTERVAL} (modification time and size) and only changed files are
+     * parsed again. Unchanged files return the same instance, so its memoized counts stay valid.
+     */
+    public static FeatureIndex current() throws IOException {
+        FeatureIndex index = current;
+        if (index != null && System.nanoTime() - checkedAtNanos < CHANGE_CHECK_INTERVAL.toNanos()) {
+            return index;
+        }
+        synchronized (CACHE_LOCK) {
+            if (current != null && System.nanoTime() - checkedAtNanos < CHANGE_CHECK_INTERVAL.toNanos()) {
+                return current;
+            }
+            Map<String, ParsedFeature> parsed = new LinkedHashMap<>();
+            boolean changed = current == null;
+            for (Map.Entry<String, Resource> entry : featureResources().entrySet()) {
+                String uri = entry.getKey();
+                Resource feature = entry.getValue();
+                long lastModified = lastModified(feature);
+                long contentLength = contentLength(feature);
+                ParsedFeature previous = parsedFeatures.get(uri);
+                if (previous != null && lastModified > 0
+                        && previous.lastModified() == lastModified && previous.contentLength() == contentLength) {
+                    parsed.put(uri, previous);
+                } else {
+                    parsed.put(uri, new ParsedFeature(lastModified, contentLength, parseQuietly(uri, feature)));
+                    changed = true;
+                }
+            }
+            changed |= !parsed.keySet().equals(parsedFeatures.keySet());
+            if (changed) {
+                parsedFeatures = parsed;
+                current = new FeatureIndex(parsed.values().stream()
+                        .flatMap(feature -> feature.scenarios().stream())
+                        .toList());
+                log.info("Feature index updated: {} feature files, {} scenarios",
+                        parsed.size(), current.scenarios().size());
+            }
+            checkedAtNanos = System.nanoTime();
+            return current;
+        }
+    }
+
+    /** Feature files below {@code features/} on the classpath by Cucumber URI. */
+    private static Map<String, Resource> featureResources() throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        Map<String, Resource> features = new LinkedHashMap<>();
+        for (Resource root : resolver.getResources("classpath*:features/")) {
+            String rootUrl = root.getURL().toString();
+            for (Resource feature : resolver.getResources(rootUrl + "**/*.feature")) {
+                features.putIfAbsent(FEATURES_ROOT + "/" + feature.getURL().toString().substring(rootUrl.length()),
+                        feature);
+            }
+        }
+        return features;
+    }
+
+    public List<FeatureScenario> scenarios() {
+        return scenarios;
+    }
+
+    /**
+     * Number of scenarios matching a Cucumber tag expression, memoized per expression.
+     *
+     * @param tagExpression expression such as {@code @smoke and not @wip}; {@code null} or blank counts all
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public int count(String tagExpression) {
+        String key = tagExpression != null ? tagExpression.trim() : "";
+        return counts.computeIfAbsent(key, expression -> select(expression).size());
+    }
+
+    /**
+     * Number of scenarios matching a tag expression within the given feature selectors, i.e. the
+     * scenarios Cucumber executes for {@code --tags} and these features.
+     *
+     * @param featureSelectors feature URIs ({@code classpath:features/API-Test.feature}), scenarios
+     *                         ({@code uri:line}), directories ({@code classpath:features}) or file
+     *                         names; {@code null} or empty selects all features
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public int count(String tagExpression, List<String> featureSelectors) {
+        if (featureSelectors == null || featureSelectors.stream().allMatch(String::isBlank)) {
+            return count(tagExpression);
+        }
+        List<Predicate<FeatureScenario>> selectors = featureSelectors.stream()
+                .filter(selector -> !selector.isBlank())
+                .map(FeatureIndex::selector)
+                .toList();
+        return (int) select(tagExpression).stream()
+                .filter(scenario -> selectors.stream().anyMatch(selector -> selector.test(scenario)))
+                .count();
+    }
+
+    /**
+     * Scenarios matching a Cucumber tag expression.
+     *
+     * @param tagExpression expression such as {@code @smoke and not @wip}; {@code null} or blank selects all
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public List<FeatureScenario> select(String tagExpression) {
+        if (tagExpression == null || tagExpression.isBlank()) {
+            return scenarios;
+        }
+        Expression expression;
+        try {
+            expression = TagExpressionParser.parse(tagExpression);
+        } catch (TagExpressionException e) {
+            throw new IllegalArgumentException("Invalid tag expression '" + tagExpression + "': " + e.getMessage(), e);
+        }
+        return scenarios.stream()
+                .filter(scenario -> expression.evaluate(scenario.tags()))
+                .toList();
+    }
+
+    /** SHA-256 of the feature file per URI. */
+    public Map<String, String> featureHashes() {
+        Map<String, String> hashes = new HashMap<>();
+        scenarios.forEach(scenario -> hashes.put(scenario.uri(), scenario.featureHash()));
+        return hashes;
+    }
+
+    private static Predicate<FeatureScenario> selector(String selector) {
+        String path = selector.trim();
+        long line = -1;
+        int colon = path.lastIndexOf(':');
+        if (colon > 0 && colon < path.length() - 1
+                && path.substring(colon + 1).chars().allMatch(Character::isDigit)) {
+            line = Long.parseLong(path.substring(colon + 1));
+            path = path.substring(0, colon);
+        }
+        String uri = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        long scenarioLine = line;
+        return scenario -> (scenarioLine < 0 || scenario.line() == scenarioLine)
+                && (scenario.uri().equals(uri)
+                || scenario.uri().endsWith("/" + uri)
+                || scenario.uri().startsWith(uri + "/"));
+    }
+
+    private static long lastModified(Resource feature) {
+        try {
+            return feature.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long contentLength(Resource feature) {
+        try {
+            return feature.contentLength();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static List<FeatureScenario> parseQuietly(String uri, Resource feature) {
+        try {
+            return parse(uri, feature.getContentAsByteArray());
+        } catch (IOException e) {
+            log.warn("Could not read feature file {}: {}", uri, e.getMessage());
+            return List.of();
+        }
+    }
+
+    static List<FeatureScenario> parse(String uri, byte[] content) {
+        String featureHash = sha256(content);
+        Envelope source = Envelope.of(new Source(uri, new String(content, StandardCharsets.UTF_8),
+                SourceMediaType.TEXT_X_CUCUMBER_GHERKIN_PLAIN));
+        List<Envelope> envelopes = PARSER.parse(source).toList();
+
+        envelopes.stream()
+                .map(Envelope::getParseError)
+                .flatMap(Optional::stream)
+                .forEach(error -> log.warn("Gherkin parse error in {}: {}", uri, error.getMessage()));
+
+        // Pickles only reference AST node ids; resolve the lines via the document
+        Map<String, Long> lines = new HashMap<>();
+        envelopes.stream()
+                .map(Envelope::getGherkinDocument)
+                .flatMap(Optional::stream)
+                .map(GherkinDocument::getFeature)
+                .flatMap(Optional::stream)
+                .forEach(feature -> {
+                    for (FeatureChild child : feature.getChildren()) {
+                        child.getScenario().ifPresent(scenario -> collectLines(scenario, lines));
+                        child.getRule().ifPresent(rule -> rule.getChildren().forEach(ruleChild ->
+                                ruleChild.getScenario().ifPresent(scenario -> collectLines(scenario, lines))));
+                    }
+                });
+
+        List<FeatureScenario> scenarios = new ArrayList<>();
+        envelopes.stream()
+                .map(Envelope::getPickle)
+                .flatMap(Optional::stream)
+                .forEach(pickle -> scenarios.add(new FeatureScenario(uri, line(pickle, lines), pickle.getName(),
+                        pickle.getTags().stream().map(PickleTag::getName).toList(), featureHash)));
+        return scenarios;
+    }
+
+    private static void collectLines(Scenario scenario, Map<String, Long> lines) {
+        lines.put(scenario.getId(), scenario.getLocation().getLine());
+        for (Examples examples : scenario.getExamples()) {
+            for (TableRow row : examples.getTableBody()) {
+                lines.put(row.getId(), row.getLocation().getLine());
+            }
+        }
+    }
+
+    /** Outline pickles reference the scenario and the example row; the row's line identifies them. */
+    private static long line(Pickle pickle, Map<String, Long> lines) {
+        List<String> astNodeIds = pickle.getAstNodeIds();
+        Long line = astNodeIds.isEmpty() ? null : lines.get(astNodeIds.get(astNodeIds.size() - 1));
+        return line != null ? line : 0;
+    }
+
+    static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
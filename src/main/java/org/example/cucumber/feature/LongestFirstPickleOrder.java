@@ -0,0 +1,39 @@
+package org.example.cucumber.feature;
+
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.order.PickleOrder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Executes the scenarios with the longest historical duration first. With {@code --threads}
+ * Cucumber hands pickles to its worker threads in this order, so a slow scenario no longer
+ * starts last and determines the run's wall-clock time.
+ */
+public final class LongestFirstPickleOrder implements PickleOrder {
+
+    private final ScenarioDurations durations;
+
+    public LongestFirstPickleOrder(ScenarioDurations durations) {
+        this.durations = durations;
+    }
+
+    @Override
+    public List<Pickle> orderPickles(List<Pickle> pickles) {
+        Map<Pickle, Long> estimates = new IdentityHashMap<>();
+        for (Pickle pickle : pickles) {
+            estimates.put(pickle, durations.estimateNanos(pickle.getUri().toString(),
+                    pickle.getLocation().getLine(), pickle.getName()));
+        }
+        // Lexical order (Cucumber's default) as tie-breaker for scenarios without history
+        List<Pickle> ordered = new ArrayList<>(pickles);
+        ordered.sort(Comparator.comparing((Pickle pickle) -> estimates.get(pickle)).reversed()
+                .thenComparing(Pickle::getUri)
+                .thenComparingInt(pickle -> pickle.getLocation().getLine()));
+        return ordered;
+    }
+}
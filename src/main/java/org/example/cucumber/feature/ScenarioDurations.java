@@ -0,0 +1,334 @@
+package org.example.cucumber.feature;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cucumber.feature.FeatureIndex.FeatureScenario;
+import org.example.cucumber.reuse.ScenarioReuse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Historical scenario durations, read from the Cucumber.json reports of the most recent runs
+ * below the results base directory. Used to start long scenarios first and to split a run into
+ * shards of similar duration.
+ * <p>
+ * A scenario's duration is the sum of its hooks and steps plus the background executed for it.
+ * Scenarios are matched by {@code uri:line}, falling back to feature URI and name if the line
+ * moved. Scenarios without history are estimated with the median of all known durations.
+ * <p>
+ * Reports are read with a streaming parser that skips embedded screenshots and step output.
+ * The result is cached per results directory until a run finishes ({@link #invalidate}) or
+ * {@link #MAX_AGE} has passed (runs finished on other instances); a refresh only parses
+ * reports that are new or changed since the last one.
+ */
+@Slf4j
+public final class ScenarioDurations {
+
+    /** Number of most recent reports considered. */
+    static final int MAX_REPORTS = 20;
+
+    /** Upper bound for serving a cached result, for runs finished by other instances. */
+    static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final Map<Path, Snapshot> CACHE = new ConcurrentHashMap<>();
+
+    /** Durations of the executed scenarios of one report. */
+    private record Report(long lastModified, List<Sample> samples) {
+    }
+
+    private record Sample(String id, String nameKey, long duration) {
+    }
+
+    private record Snapshot(ScenarioDurations durations, Map<Path, Report> reports, long loadedAt, boolean stale) {
+
+        boolean isFresh() {
+            return !stale && System.nanoTime() - loadedAt < MAX_AGE.toNanos();
+        }
+    }
+
+    private final Map<String, Long> byId;
+    private final Map<String, Long> byName;
+    private final long fallback;
+
+    ScenarioDurations(Map<String, Long> byId, Map<String, Long> byName) {
+        this.byId = Map.copyOf(byId);
+        this.byName = Map.copyOf(byName);
+        long[] known = byId.values().stream().mapToLong(Long::longValue).sorted().toArray();
+        this.fallback = known.length > 0 ? known[known.length / 2] : 0;
+    }
+
+    public static ScenarioDurations empty() {
+        return new ScenarioDurations(Map.of(), Map.of());
+    }
+
+    /**
+     * Durations from the reports of the {@value #MAX_REPORTS} most recent runs below
+     * {@code resultsBase}, served from the cache while it is fresh.
+     */
+    public static ScenarioDurations load(Path resultsBase) {
+        if (resultsBase == null || !Files.isDirectory(resultsBase)) {
+            return empty();
+        }
+        Path key = resultsBase.toAbsolutePath().normalize();
+        Snapshot cached = CACHE.get(key);
+        if (cached != null && cached.isFresh()) {
+            return cached.durations();
+        }
+        synchronized (CACHE) {
+            cached = CACHE.get(key);
+            if (cached != null && cached.isFresh()) {
+                return cached.durations();
+            }
+            Snapshot refreshed = refresh(key, cached != null ? cached.reports() : Map.of());
+            if (refreshed == null) {
+                return empty();
+            }
+            CACHE.put(key, refreshed);
+            return refreshed.durations();
+        }
+    }
+
+    /** Marks the cached durations of {@code resultsBase} as outdated, e.g. after a run finished. */
+    public static void invalidate(Path resultsBase) {
+        if (resultsBase == null) {
+            return;
+        }
+        CACHE.computeIfPresent(resultsBase.toAbsolutePath().normalize(),
+                (key, snapshot) -> new Snapshot(snapshot.durations(), snapshot.reports(), snapshot.loadedAt(), true));
+    }
+
+    private static Snapshot refresh(Path resultsBase, Map<Path, Report> previous) {
+        List<Path> paths;
+        try (Stream<Path> runDirs = Files.list(resultsBase)) {
+            paths = runDirs
+                    .map(dir -> dir.resolve("cucumber-reports").resolve("Cucumber.json"))
+                    .filter(Files::isRegularFile)
+                    .sorted(Comparator.comparing(ScenarioDurations::lastModified).reversed())
+                    .limit(MAX_REPORTS)
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Could not list results in {}: {}", resultsBase, e.getMessage());
+            return null;
+        }
+        // Only the reports still among the most recent ones are kept, so the cache stays bounded
+        Map<Path, Report> reports = new HashMap<>();
+        for (Path path : paths) {
+            long modified = lastModified(path);
+            Report report = previous.get(path);
+            if (report == null || report.lastModified() != modified) {
+                report = readReport(path, modified);
+            }
+            if (report != null) {
+                reports.put(path, report);
+            }
+        }
+        return new Snapshot(aggregate(reports.values()), Map.copyOf(reports), System.nanoTime(), false);
+    }
+
+    private static ScenarioDurations aggregate(Iterable<Report> reports) {
+        Map<String, long[]> idTotals = new HashMap<>();
+        Map<String, long[]> nameTotals = new HashMap<>();
+        for (Report report : reports) {
+            for (Sample sample : report.samples()) {
+                add(idTotals, sample.id(), sample.duration());
+                add(nameTotals, sample.nameKey(), sample.duration());
+            }
+        }
+        return new ScenarioDurations(means(idTotals), means(nameTotals));
+    }
+
+    private static Report readReport(Path report, long lastModified) {
+        List<Sample> samples = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(report.toFile())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                // Empty (run aborted before the report was written) or not a Cucumber report
+                return new Report(lastModified, samples);
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                readFeature(parser, samples);
+            }
+        } catch (IOException e) {
+            log.debug("Skipping unreadable report {}: {}", report, e.getMessage());
+            return null;
+        }
+        return new Report(lastModified, samples);
+    }
+
+    private static void readFeature(JsonParser parser, List<Sample> samples) throws IOException {
+        String uri = null;
+        List<Element> elements = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "uri" -> uri = parser.getValueAsString();
+                case "elements" -> {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        elements.add(readElement(parser));
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        long background = 0;
+        for (Element element : elements) {
+            if ("background".equals(element.type)) {
+                background = element.duration;
+                continue;
+            }
+            long duration = element.duration + background;
+            background = 0;
+            if (element.reused || duration <= 0) {
+                continue;
+            }
+            samples.add(new Sample(uri + ":" + element.line, nameKey(uri, element.name), duration));
+        }
+    }
+
+    /** The fields of a Cucumber.json element needed here; hooks and steps reduced to their total duration. */
+    private static final class Element {
+        String type;
+        long line;
+        String name;
+        long duration;
+        boolean reused;
+    }
+
+    private static Element readElement(JsonParser parser) throws IOException {
+        Element element = new Element();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "type" -> element.type = parser.getValueAsString();
+                case "line" -> element.line = parser.getValueAsLong();
+                case "name" -> element.name = parser.getValueAsString();
+                case "before", "steps", "after" -> element.duration += readDurations(parser);
+                default -> {
+                    if (ScenarioReuse.REUSED_FROM_FIELD.equals(field)) {
+                        element.reused = true;
+                    }
+                    parser.skipChildren();
+                }
+            }
+        }
+        return element;
+    }
+
+    /** Sums {@code result.duration} of the hooks or steps in the array at the current token. */
+    private static long readDurations(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return 0;
+        }
+        long total = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("result".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String resultField = parser.currentName();
+                        parser.nextToken();
+                        if ("duration".equals(resultField)) {
+                            total += parser.getValueAsLong(0);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    // embeddings, output, match, rows, doc_string
+                    parser.skipChildren();
+                }
+            }
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return byId.isEmpty();
+    }
+
+    /** Expected duration of a scenario in nanoseconds. */
+    public long estimateNanos(String uri, long line, String name) {
+        Long duration = byId.get(uri + ":" + line);
+        if (duration == null) {
+            duration = byName.get(nameKey(uri, name));
+        }
+        return duration != null ? duration : fallback;
+    }
+
+    public long estimateNanos(FeatureScenario scenario) {
+        return estimateNanos(scenario.uri(), scenario.line(), scenario.name());
+    }
+
+    /** Scenarios sorted by expected duration, longest first; ties keep their order. */
+    public List<FeatureScenario> longestFirst(List<FeatureScenario> scenarios) {
+        List<FeatureScenario> ordered = new ArrayList<>(scenarios);
+        ordered.sort(Comparator.comparingLong(this::estimateNanos).reversed());
+        return ordered;
+    }
+
+    /**
+     * Splits scenarios into at most {@code count} shards of similar total duration: longest
+     * scenario first, each into the shard with the smallest total so far (LPT bin packing).
+     * Never returns empty shards.
+     */
+    public List<List<FeatureScenario>> shards(List<FeatureScenario> scenarios, int count) {
+        int shardCount = Math.min(Math.max(1, count), scenarios.size());
+        List<List<FeatureScenario>> shards = new ArrayList<>();
+        long[] totals = new long[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        for (FeatureScenario scenario : longestFirst(scenarios)) {
+            int target = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (totals[i] < totals[target]) {
+                    target = i;
+                }
+            }
+            shards.get(target).add(scenario);
+            totals[target] += estimateNanos(scenario);
+        }
+        return shards;
+    }
+
+    private static void add(Map<String, long[]> totals, String key, long duration) {
+        long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+        total[0] += duration;
+        total[1]++;
+    }
+
+    private static Map<String, Long> means(Map<String, long[]> totals) {
+        Map<String, Long> means = new HashMap<>();
+        totals.forEach((key, total) -> means.put(key, total[0] / total[1]));
+        return means;
+    }
+
+    private static String nameKey(String uri, String name) {
+        return uri + "|" + name;
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
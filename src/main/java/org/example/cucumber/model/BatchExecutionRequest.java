@@ -0,0 +1,47 @@
+package org.example.cucumber.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request-Model fuer eine Test-Matrix (Batch)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Batch Execution Request")
+public class BatchExecutionRequest {
+
+    @NotEmpty(message = "Mindestens ein Environment muss angegeben werden")
+    @Schema(description = "Ziel-Umgebungen; fuer jede Kombination aus Umgebung, Browser und Tag-Set wird ein Run gestartet",
+            example = "[\"dev\", \"staging\"]",
+            required = true)
+    private List<@NotBlank(message = "Environment darf nicht leer sein")
+    @Pattern(regexp = "dev|staging|prod|performance",
+            message = "Environment muss dev, staging, prod oder performance sein") String> environments;
+
+    @Schema(description = "Browser (optional); ohne Angabe gilt der Browser aus run bzw. der Standard-Browser",
+            example = "[\"chromium\", \"firefox\"]")
+    private List<@NotBlank(message = "Browser darf nicht leer sein") String> browsers;
+
+    @NotEmpty(message = "Mindestens ein Tag-Set muss angegeben werden")
+    @Schema(description = "Tag-Sets; jedes Tag-Set entspricht den tags eines einzelnen Requests",
+            example = "[[\"@smoke\"], [\"@regression\", \"@critical\"]]",
+            required = true)
+    private List<@NotEmpty(message = "Ein Tag-Set darf nicht leer sein") List<String>> tagSets;
+
+    @Schema(description = "Weitere Einstellungen fuer alle Runs wie bei /execute (z.B. priority, parallelCount, "
+            + "initiator, webhookUrl). environment, tags und browser werden aus der Matrix gesetzt.")
+    private TestExecutionRequest run;
+}
@@ -0,0 +1,45 @@
+package org.example.cucumber.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response-Model fuer eine Test-Matrix (Batch)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Batch Execution Response")
+public class BatchExecutionResponse {
+
+    @Schema(description = "Eindeutige Batch ID (Parent der Runs)",
+            example = "7c9e6679-7425-40de-944b-e07fc1f90ae7")
+    private UUID batchId;
+
+    @Schema(description = "Aktueller Status",
+            example = "QUEUED")
+    private String status;
+
+    @Schema(description = "Nachricht",
+            example = "Batch queued as 4 runs")
+    private String message;
+
+    @Schema(description = "Zeitstempel der Erstellung")
+    private LocalDateTime timestamp;
+
+    @Schema(description = "URL zum Batch-Status-Endpoint")
+    private String statusUrl;
+
+    @Schema(description = "Antworten der einzelnen Runs in Matrix-Reihenfolge (Umgebung, Browser, Tag-Set)")
+    private List<TestExecutionResponse> runs;
+}
@@ -0,0 +1,66 @@
+package org.example.cucumber.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Zusammengefasster Status einer Test-Matrix (Batch)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Batch Status")
+public class BatchStatus {
+
+    @Schema(description = "Batch ID")
+    private UUID batchId;
+
+    @Schema(description = "Gesamtstatus: QUEUED, solange kein Run gestartet ist; RUNNING, solange ein Run aktiv ist; "
+            + "danach COMPLETED (alle Runs erfolgreich), CANCELLED (alle abgebrochen) oder FAILED",
+            allowableValues = {"QUEUED", "RUNNING", "COMPLETED", "FAILED", "CANCELLED"})
+    private String status;
+
+    @Schema(description = "Fortschritt ueber alle Runs in Prozent (0-100)")
+    private Integer progress;
+
+    @Schema(description = "Zeitpunkt der Einplanung")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Initiator der Test-Ausfuehrung")
+    private String initiator;
+
+    @Schema(description = "Anzahl Runs")
+    private Integer totalRuns;
+
+    @Schema(description = "Beendete Runs")
+    private Integer finishedRuns;
+
+    @Schema(description = "Anzahl Szenarien ueber alle Runs")
+    private Integer totalTests;
+
+    @Schema(description = "Erfolgreiche Szenarien ueber alle Runs")
+    private Integer passedTests;
+
+    @Schema(description = "Fehlgeschlagene Szenarien ueber alle Runs")
+    private Integer failedTests;
+
+    @Schema(description = "Uebersprungene Szenarien ueber alle Runs")
+    private Integer skippedTests;
+
+    @Schema(description = "URL des kombinierten Allure-Reports, sobald er generiert wurde")
+    private String reportUrl;
+
+    @Schema(description = "Status der einzelnen Runs in Matrix-Reihenfolge; metadata enthaelt batch, browser "
+            + "und tags. Geloeschte Runs haben den Status UNKNOWN.")
+    private List<TestStatus> runs;
+}
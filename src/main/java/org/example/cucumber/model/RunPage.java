@@ -0,0 +1,31 @@
+package org.example.cucumber.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Seite der Run-Liste, neueste Runs zuerst
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Page of Test Runs")
+public class RunPage {
+
+    @Schema(description = "Runs dieser Seite, absteigend nach Startzeit (wartende Runs nach Einplanungszeit)")
+    private List<RunSummary> runs;
+
+    @Schema(description = "Cursor fuer die naechste Seite (Parameter cursor); fehlt auf der letzten Seite")
+    private String nextCursor;
+
+    @Schema(description = "Maximale Anzahl Runs pro Seite", example = "50")
+    private Integer limit;
+}
@@ -0,0 +1,71 @@
+package org.example.cucumber.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Kurzfassung eines Runs fuer die Run-Liste
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Run Summary")
+public class RunSummary {
+
+    @Schema(description = "Eindeutige Run ID",
+            example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID runId;
+
+    @Schema(description = "Letzter bekannter Status",
+            example = "COMPLETED")
+    private String status;
+
+    @Schema(description = "Umgebung",
+            example = "dev")
+    private String environment;
+
+    @Schema(description = "Cucumber Tag-Expression",
+            example = "@smoke and not @wip")
+    private String tags;
+
+    @Schema(description = "Ausloeser des Runs",
+            example = "jenkins")
+    private String initiator;
+
+    @Schema(description = "Prioritaet",
+            example = "NORMAL")
+    private String priority;
+
+    @Schema(description = "Zeitpunkt der Einplanung")
+    private LocalDateTime queuedAt;
+
+    @Schema(description = "Startzeit der Ausfuehrung")
+    private LocalDateTime startTime;
+
+    @Schema(description = "Endzeit der Ausfuehrung")
+    private LocalDateTime endTime;
+
+    @Schema(description = "Anzahl Szenarien")
+    private Integer totalTests;
+
+    @Schema(description = "Erfolgreiche Szenarien")
+    private Integer passedTests;
+
+    @Schema(description = "Fehlgeschlagene Szenarien")
+    private Integer failedTests;
+
+    @Schema(description = "Uebersprungene Szenarien")
+    private Integer skippedTests;
+
+    @Schema(description = "URL zum Status-Endpoint")
+    private String statusUrl;
+}
@@ -2,6 +2,8 @@ package org.example.cucumber.model;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
@@ -42,11 +44,23 @@ public class TestExecutionRequest {
             example = "[\"login.feature\", \"checkout.feature\"]")
     private List<String> features;
 
-    @Schema(description = "Anzahl paralleler Test-Threads",
-            example = "5",
-            defaultValue = "5")
+    @Min(value = 1, message = "parallelCount muss mindestens 1 sein")
+    @Max(value = 10, message = "parallelCount darf hoechstens 10 sein")
+    @Schema(description = "Anzahl paralleler Szenario-Threads innerhalb des Runs (Cucumber --threads); "
+            + "jeder Thread startet einen eigenen Browser",
+            example = "3",
+            defaultValue = "1")
     @Builder.Default
-    private Integer parallelCount = 5;
+    private Integer parallelCount = 1;
+
+    @Min(value = 1, message = "shards muss mindestens 1 sein")
+    @Max(value = 10, message = "shards darf hoechstens 10 sein")
+    @Schema(description = "Aufteilung in mehrere unabhaengige Runs (Shards), die parallel auf Slots, "
+            + "Worker-JVMs oder Pods laufen. Die Szenarien werden anhand ihrer Laufzeit in frueheren Runs "
+            + "auf Shards mit moeglichst gleicher Gesamtdauer verteilt. Nur ohne features.",
+            example = "3",
+            defaultValue = "1")
+    private Integer shards;
 
     @Schema(description = "Browser fuer UI-Tests (optional)",
             example = "chrome")
@@ -72,21 +86,64 @@ public class TestExecutionRequest {
     @Builder.Default
     private Integer maxRetries = 2;
 
+    @Min(value = 1, message = "maxFailures muss mindestens 1 sein")
+    @Schema(description = "Fail-Fast: Run nach dieser Anzahl fehlgeschlagener Szenarien abbrechen, die "
+            + "restlichen Szenarien werden uebersprungen. Reports und Zephyr/Jira-Upload werden trotzdem erstellt. "
+            + "Ohne Angabe kein Limit.",
+            example = "10")
+    private Integer maxFailures;
+
+    @Min(value = 1, message = "maxConsecutiveFailures muss mindestens 1 sein")
+    @Schema(description = "Fail-Fast: Run nach dieser Anzahl direkt aufeinanderfolgender fehlgeschlagener "
+            + "Szenarien abbrechen (z.B. SUT nicht erreichbar). Ohne Angabe kein Limit.",
+            example = "3")
+    private Integer maxConsecutiveFailures;
+
     @Schema(description = "Timeout fuer gesamte Test-Ausfuehrung in Minuten",
             example = "30",
             defaultValue = "30")
     @Builder.Default
     private Integer timeoutMinutes = 30;
 
-    @Schema(description = "Webhook-URL fuer Benachrichtigungen (optional)")
+    @Pattern(regexp = "https?://\\S+",
+            message = "webhookUrl muss eine http- oder https-URL sein")
+    @Schema(description = "Webhook-URL fuer Benachrichtigungen (optional). Erhaelt per POST die Ereignisse "
+            + "run.queued, run.started, run.progress, run.report-ready und run.finished.",
+            example = "https://ci.example.com/hooks/cucumber")
     private String webhookUrl;
 
-    @Schema(description = "Prioritaet der Test-Ausfuehrung",
+    @Pattern(regexp = "(?i)\\s*(LOW|NORMAL|HIGH|CRITICAL)\\s*",
+            message = "Prioritaet muss LOW, NORMAL, HIGH oder CRITICAL sein")
+    @Schema(description = "Prioritaet der Test-Ausfuehrung (Gross-/Kleinschreibung egal). Wartende Runs werden "
+            + "nach Prioritaet gestartet; lange wartende Runs steigen schrittweise auf (Aging).",
             example = "HIGH",
             allowableValues = {"LOW", "NORMAL", "HIGH", "CRITICAL"})
     @Builder.Default
     private String priority = "NORMAL";
 
+    @Pattern(regexp = "[A-Za-z0-9._+-]{1,100}",
+            message = "sutVersion darf nur Buchstaben, Ziffern und . _ + - enthalten")
+    @Schema(description = "Build-Version des getesteten Systems. Erfolgreiche Szenarien werden fuer diese "
+            + "Version gespeichert.",
+            example = "2.14.0-build.381")
+    private String sutVersion;
+
+    @Schema(description = "Inkrementeller Modus: Szenarien, die fuer dieselbe sutVersion bereits erfolgreich "
+            + "waren und deren Feature-Datei und Glue-Code unveraendert sind, werden nicht erneut ausgefuehrt, "
+            + "sondern mit dem frueheren Ergebnis als wiederverwendet (@reused) uebernommen. Erfordert sutVersion.",
+            example = "false",
+            defaultValue = "false")
+    @Builder.Default
+    private Boolean reuseResults = false;
+
+    @Schema(description = "Gleichwertigen wartenden oder gerade startenden Run wiederverwenden, statt einen "
+            + "neuen zu starten. Gleichwertig sind Runs mit identischer Umgebung, Tags, Features, Browser, "
+            + "Headless-Modus, Umgebungsvariablen, Retry-Einstellungen, Projekt-Schluessel, SUT-Version und Fail-Fast-Grenzen.",
+            example = "true",
+            defaultValue = "true")
+    @Builder.Default
+    private Boolean coalesce = true;
+
     @Schema(description = "Initiator der Test-Ausfuehrung",
             example = "jenkins-pipeline")
     private String initiator;
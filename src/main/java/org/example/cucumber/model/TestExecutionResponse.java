@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -51,4 +52,14 @@ public class TestExecutionResponse {
 
     @Schema(description = "Cucumber Tags")
     private String tags;
+
+    @Schema(description = "Anzahl der Szenarien, die Tags und Features auswaehlen (Beispielzeilen einzeln gezaehlt); "
+            + "0, wenn kein Szenario passt", example = "12")
+    private Integer expectedScenarios;
+
+    @Schema(description = "true, wenn die Anfrage einem gleichwertigen, bereits angelegten Run zugeordnet wurde")
+    private Boolean coalesced;
+
+    @Schema(description = "Run IDs aller Shards bei Aufteilung (shards > 1); runId ist der erste Shard")
+    private List<UUID> shardRunIds;
 }
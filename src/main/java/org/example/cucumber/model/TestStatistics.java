@@ -1,5 +1,8 @@
 package org.example.cucumber.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,21 +18,89 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Test Execution Statistics")
 public class TestStatistics {
 
+    @Schema(description = "Umgebung (fehlt = alle Umgebungen)")
     private String environment;
+
+    @Schema(description = "Beginn des Zeitfensters (fehlt = alle Runs)")
     private LocalDateTime periodStart;
+
+    @Schema(description = "Ende des Zeitfensters (Zeitpunkt der Abfrage)")
     private LocalDateTime periodEnd;
+
+    @Schema(description = "Anzahl Runs im Zeitfenster")
     private Long totalRuns;
+
+    @Schema(description = "Runs mit Status COMPLETED")
     private Long successfulRuns;
+
+    @Schema(description = "Runs mit Status FAILED")
     private Long failedRuns;
+
+    @Schema(description = "Runs mit Status CANCELLED")
     private Long cancelledRuns;
+
+    @Schema(description = "Runs mit Status TIMEOUT")
+    private Long timedOutRuns;
+
+    @Schema(description = "Aktuell wartende Runs")
+    private Long queuedRuns;
+
+    @Schema(description = "Aktuell laufende Runs (inkl. CANCELLING)")
+    private Long runningRuns;
+
+    @Schema(description = "Runs in der Nachbearbeitung (Reports, Uploads)")
+    private Long postProcessingRuns;
+
+    @Schema(description = "Durchschnittliche Ausfuehrungsdauer beendeter Runs in Minuten")
     private Double averageDurationMinutes;
+
+    @Schema(description = "Anteil COMPLETED an COMPLETED, FAILED und TIMEOUT in Prozent")
     private Double successRate;
+
+    @Schema(description = "Ausgefuehrte Szenarien beendeter Runs")
     private Integer totalTestsExecuted;
+
+    @Schema(description = "Erfolgreiche Szenarien beendeter Runs")
     private Integer totalTestsPassed;
+
+    @Schema(description = "Fehlgeschlagene Szenarien beendeter Runs")
     private Integer totalTestsFailed;
+
+    @Schema(description = "Am haeufigsten fehlgeschlagene Szenarien mit Anzahl, z.B. \"Login (3)\"")
     private List<String> mostFrequentFailures;
+
+    @Schema(description = "Durchschnittliche Anzahl paralleler Pods")
     private Double averageParallelPods;
+
+    @Schema(description = "Hoechste Anzahl gleichzeitig laufender Runs")
     private Long peakConcurrentRuns;
+
+    @Schema(description = "Maximale Anzahl gleichzeitiger Runs pro Instanz")
+    private Integer maxConcurrentRuns;
+
+    /**
+     * Frueherer Name von {@link #successfulRuns}; wird fuer bestehende Clients noch ein Release
+     * lang mit ausgegeben.
+     *
+     * @deprecated {@code successfulRuns} verwenden
+     */
+    @Deprecated
+    @JsonProperty("completedRuns")
+    @Schema(description = "Veraltet, identisch mit successfulRuns", deprecated = true)
+    public Long getCompletedRuns() {
+        return successfulRuns;
+    }
+
+    /**
+     * @deprecated {@link #setSuccessfulRuns(Long)} verwenden
+     */
+    @Deprecated
+    @JsonProperty("completedRuns")
+    public void setCompletedRuns(Long completedRuns) {
+        this.successfulRuns = completedRuns;
+    }
 }
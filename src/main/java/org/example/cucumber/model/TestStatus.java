@@ -16,7 +16,7 @@ import java.util.UUID;
  * Status-Model fuer laufende Tests
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -27,12 +27,22 @@ public class TestStatus {
     private UUID runId;
 
     @Schema(description = "Status",
-            allowableValues = {"QUEUED", "RUNNING", "COMPLETED", "FAILED", "CANCELLED", "TIMEOUT"})
+            allowableValues = {"QUEUED", "RUNNING", "CANCELLING", "POSTPROCESSING", "COMPLETED", "FAILED", "CANCELLED", "TIMEOUT"})
     private String status;
 
     @Schema(description = "Umgebung")
     private String environment;
 
+    @Schema(description = "Prioritaet der Ausfuehrung",
+            allowableValues = {"LOW", "NORMAL", "HIGH", "CRITICAL"})
+    private String priority;
+
+    @Schema(description = "Position in der Warteschlange (nur bei QUEUED)")
+    private Integer queuePosition;
+
+    @Schema(description = "Geschaetzte Startzeit (nur bei QUEUED)")
+    private LocalDateTime estimatedStartTime;
+
     @Schema(description = "Fortschritt in Prozent (0-100)")
     private Integer progress;
 
@@ -63,6 +73,12 @@ public class TestStatus {
     @Schema(description = "Aktuelle Feature-Datei")
     private String currentFeature;
 
+    @Schema(description = "Aktuelles Szenario (bei parallelen Threads das zuletzt gestartete)")
+    private String currentScenario;
+
+    @Schema(description = "Fortschritt im aktuellen Szenario als gestartete/gesamte Steps, z.B. 3/7")
+    private String currentStep;
+
     @Schema(description = "Pod Name (falls auf Kubernetes)")
     private String podName;
 
@@ -81,6 +97,9 @@ public class TestStatus {
     @Schema(description = "Metadata")
     private Map<String, Object> metadata;
 
+    @Schema(description = "Version des Status; steigt mit jeder im Cluster veroeffentlichten Aenderung")
+    private Long version;
+
     @JsonIgnore
     public double getSuccessRate() {
         if (totalTests == null || totalTests == 0) {
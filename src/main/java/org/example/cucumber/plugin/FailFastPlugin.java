@@ -0,0 +1,89 @@
+package org.example.cucumber.plugin;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import org.example.cucumber.context.RunControl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aborts a run once too many scenarios have failed, e.g. because the system under test is
+ * down and every further scenario would only wait for its timeouts.
+ * <p>
+ * Registered per run with {@code --plugin org.example.cucumber.plugin.FailFastPlugin:<argument>}
+ * (see {@link #argument}). When a threshold is reached the run's {@link RunControl} is aborted;
+ * the Cucumber hooks then skip all remaining scenarios, so Cucumber finishes early and the
+ * reports, the Zephyr upload and the Jira ticket are produced from the results so far.
+ * <p>
+ * Only passed and failed scenarios count; skipped ones neither fail nor reset the streak.
+ * With parallel threads "consecutive" refers to the order in which scenarios finish.
+ */
+public final class FailFastPlugin implements ConcurrentEventListener {
+
+    /** Prefix of the {@link RunControl#getAbortReason() abort reason} set by this plugin. */
+    public static final String ABORT_REASON_PREFIX = "FAIL_FAST";
+
+    private final String runId;
+    private final int maxFailures;
+    private final int maxConsecutiveFailures;
+    private int failures;
+    private int consecutiveFailures;
+
+    /**
+     * @param argument plugin argument created by {@link #argument}
+     */
+    public FailFastPlugin(String argument) {
+        Map<String, String> values = new HashMap<>();
+        for (String pair : argument.split(",")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                values.put(pair.substring(0, separator).trim(), pair.substring(separator + 1).trim());
+            }
+        }
+        this.runId = values.get("runId");
+        this.maxFailures = Integer.parseInt(values.getOrDefault("maxFailures", "0"));
+        this.maxConsecutiveFailures = Integer.parseInt(values.getOrDefault("maxConsecutiveFailures", "0"));
+    }
+
+    /**
+     * Plugin argument for a run.
+     *
+     * @param maxFailures            abort after this many failed scenarios ({@code 0} = no limit)
+     * @param maxConsecutiveFailures abort after this many failed scenarios in a row ({@code 0} = no limit)
+     */
+    public static String argument(String runId, int maxFailures, int maxConsecutiveFailures) {
+        return "runId=" + runId + ",maxFailures=" + maxFailures + ",maxConsecutiveFailures=" + maxConsecutiveFailures;
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        String reason = record(event.getResult().getStatus());
+        if (reason != null) {
+            RunControl.forRun(runId).ifPresent(control -> control.abort(reason));
+        }
+    }
+
+    /** Counts a finished scenario; returns the abort reason once a threshold is reached. */
+    synchronized String record(Status status) {
+        if (status == Status.FAILED) {
+            failures++;
+            consecutiveFailures++;
+        } else if (status == Status.PASSED) {
+            consecutiveFailures = 0;
+        }
+        if (maxConsecutiveFailures > 0 && consecutiveFailures >= maxConsecutiveFailures) {
+            return ABORT_REASON_PREFIX + ": " + consecutiveFailures + " consecutive failed scenarios";
+        }
+        if (maxFailures > 0 && failures >= maxFailures) {
+            return ABORT_REASON_PREFIX + ": " + failures + " failed scenarios";
+        }
+        return null;
+    }
+}
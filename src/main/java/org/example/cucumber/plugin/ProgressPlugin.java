@@ -0,0 +1,142 @@
+package org.example.cucumber.plugin;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStepStarted;
+import org.example.cucumber.context.RunControl;
+import org.example.cucumber.context.RunProgress;
+import org.example.cucumber.model.ScenarioResult;
+
+/**
+ * Reports the progress of a run from Cucumber's events: every started and finished scenario
+ * (with its result) and every started step is forwarded as {@link RunProgress} to the run's
+ * {@link RunControl}, where the service (or a worker JVM, which passes it on to the service)
+ * updates the run status.
+ * <p>
+ * Registered per run with {@code --plugin org.example.cucumber.plugin.ProgressPlugin:<argument>}
+ * (see {@link #argument}). With parallel threads "current" scenario and step refer to the most
+ * recently started scenario.
+ * <p>
+ * In a retry attempt the plugin continues from the run's last reported progress: retried
+ * scenarios were already started and counted as failed, so a retry only replaces their
+ * failure with the new result.
+ */
+public final class ProgressPlugin implements ConcurrentEventListener {
+
+    /** Suffix of the plugin argument marking a retry attempt. */
+    private static final String RETRY_SUFFIX = ",retry";
+
+    private final String runId;
+    private final boolean retry;
+    private int started;
+    private int passed;
+    private int failed;
+    private int skipped;
+    private TestCase currentTestCase;
+    private String currentFeature;
+    private int currentStep;
+    private int currentScenarioSteps;
+
+    /**
+     * @param argument plugin argument created by {@link #argument}; a plain run id is the initial attempt
+     */
+    public ProgressPlugin(String argument) {
+        this.retry = argument.endsWith(RETRY_SUFFIX);
+        this.runId = retry ? argument.substring(0, argument.length() - RETRY_SUFFIX.length()) : argument;
+        if (retry) {
+            RunControl.forRun(runId).flatMap(RunControl::lastProgress).ifPresent(progress -> {
+                started = progress.startedScenarios();
+                passed = progress.passedScenarios();
+                failed = progress.failedScenarios();
+                skipped = progress.skippedScenarios();
+            });
+        }
+    }
+
+    /**
+     * Plugin argument for a run.
+     *
+     * @param retry whether the attempt re-executes failed scenarios of the run
+     */
+    public static String argument(String runId, boolean retry) {
+        return retry ? runId + RETRY_SUFFIX : runId;
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> report(started(event.getTestCase())));
+        publisher.registerHandlerFor(TestStepStarted.class, event -> {
+            if (event.getTestStep() instanceof PickleStepTestStep) {
+                report(stepStarted(event.getTestCase()));
+            }
+        });
+        publisher.registerHandlerFor(TestCaseFinished.class,
+                event -> report(finished(event.getTestCase(), event.getResult())));
+    }
+
+    private void report(RunProgress progress) {
+        if (progress != null) {
+            RunControl.forRun(runId).ifPresent(control -> control.reportProgress(progress));
+        }
+    }
+
+    synchronized RunProgress started(TestCase testCase) {
+        if (!retry) {
+            started++;
+        }
+        currentTestCase = testCase;
+        currentFeature = featureName(testCase);
+        currentStep = 0;
+        currentScenarioSteps = (int) testCase.getTestSteps().stream()
+                .filter(PickleStepTestStep.class::isInstance)
+                .count();
+        return snapshot(null);
+    }
+
+    /** Counts a started step of the current scenario; steps of other (parallel) scenarios are not reported. */
+    synchronized RunProgress stepStarted(TestCase testCase) {
+        if (testCase != currentTestCase) {
+            return null;
+        }
+        currentStep++;
+        return snapshot(null);
+    }
+
+    synchronized RunProgress finished(TestCase testCase, Result result) {
+        if (retry && failed > 0) {
+            // Counted as failed by the previous attempt
+            failed--;
+        }
+        switch (result.getStatus()) {
+            case PASSED -> passed++;
+            case FAILED, UNDEFINED, AMBIGUOUS -> failed++;
+            default -> skipped++;
+        }
+        Throwable error = result.getError();
+        return snapshot(ScenarioResult.builder()
+                .scenarioName(testCase.getName())
+                .featureName(featureName(testCase))
+                .line(testCase.getLocation().getLine())
+                .status(result.getStatus().name().toLowerCase())
+                .durationMs(result.getDuration().toMillis())
+                .errorMessage(error != null ? error.getMessage() : null)
+                .build());
+    }
+
+    private RunProgress snapshot(ScenarioResult finishedScenario) {
+        return new RunProgress(started, passed, failed, skipped, currentFeature,
+                currentTestCase != null ? currentTestCase.getName() : null, currentStep, currentScenarioSteps,
+                finishedScenario);
+    }
+
+    /** File name of the feature, e.g. {@code API-Test.feature} for {@code classpath:features/API-Test.feature}. */
+    private static String featureName(TestCase testCase) {
+        String uri = testCase.getUri().toString();
+        return uri.substring(uri.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.cucumber.reuse;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Passing scenario results of one SUT version, stored as
+ * {@code <results>/scenario-cache/<sutVersion>.json} next to the run directories.
+ * <p>
+ * Maps the scenario id ({@code uri:line}) to the run that last executed it successfully,
+ * together with the feature file hash and glue version that run was executed with.
+ * Updates are serialized with a file lock, so runs in worker JVMs can record concurrently.
+ */
+public class ScenarioResultCache {
+
+    public static final String CACHE_DIR = "scenario-cache";
+
+    /** Last passing execution of a scenario. */
+    public record Entry(String featureHash, String glueVersion, String runId) {
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    /** FileLock is held per JVM, so threads of the same JVM are serialized here first. */
+    private static final Object JVM_LOCK = new Object();
+
+    private final Path file;
+
+    public ScenarioResultCache(Path resultsBase, String sutVersion) {
+        this.file = resultsBase.resolve(CACHE_DIR).resolve(fileName(sutVersion) + ".json");
+    }
+
+    public Map<String, Entry> load() throws IOException {
+        if (!Files.exists(file)) {
+            return Map.of();
+        }
+        return MAPPER.readValue(file.toFile(), new TypeReference<Map<String, Entry>>() {});
+    }
+
+    /**
+     * Records passing scenarios and forgets scenarios that failed in this version.
+     */
+    public void update(Map<String, Entry> passed, Collection<String> failed) throws IOException {
+        if (passed.isEmpty() && failed.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(file.getParent());
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        synchronized (JVM_LOCK) {
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                Map<String, Entry> entries = new HashMap<>(load());
+                entries.putAll(passed);
+                failed.forEach(entries::remove);
+
+                Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                MAPPER.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), entries);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    static String fileName(String sutVersion) {
+        return sutVersion.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
@@ -0,0 +1,389 @@
+package org.example.cucumber.reuse;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cucumber.feature.FeatureIndex;
+import org.example.cucumber.feature.FeatureIndex.FeatureScenario;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Incremental execution: reuses passing scenario results of earlier runs against the same
+ * SUT version instead of executing the scenarios again.
+ * <p>
+ * A scenario is reused if a run with the same SUT version executed it successfully and
+ * neither its feature file (content hash) nor the glue code ({@link #glueVersion()}) has
+ * changed since. Only the remaining scenarios are passed to Cucumber; the reused results are
+ * copied from the earlier run's Cucumber.json into this run's report, tagged with
+ * {@value #REUSED_TAG} and {@value #REUSED_FROM_FIELD}, and written as Allure results
+ * labelled {@code reused}.
+ * <p>
+ * Every run with a SUT version records its passing scenarios, whether or not it reused any.
+ */
+@Slf4j
+public class ScenarioReuse {
+
+    public static final String REUSED_TAG = "@reused";
+    /** Cucumber.json element field naming the run a reused result was taken from. */
+    public static final String REUSED_FROM_FIELD = "reusedFrom";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static volatile String glueVersion;
+
+    /** A reused scenario with the Cucumber.json nodes it is copied from. */
+    public record ReusedScenario(FeatureScenario scenario, String sourceRunId, ObjectNode feature,
+                                 JsonNode background, JsonNode element) {
+    }
+
+    /**
+     * Split of the selected scenarios into reused results and scenarios Cucumber has to run.
+     */
+    public record Plan(List<ReusedScenario> reused, List<FeatureScenario> toRun) {
+
+        public static final Plan NONE = new Plan(List.of(), List.of());
+
+        public boolean hasReused() {
+            return !reused.isEmpty();
+        }
+
+        public boolean allReused() {
+            return hasReused() && toRun.isEmpty();
+        }
+
+        /** Cucumber feature arguments ({@code uri:line:line}) selecting the scenarios to run. */
+        public List<String> featureSelectors() {
+            Map<String, List<String>> linesByUri = new LinkedHashMap<>();
+            for (FeatureScenario scenario : toRun) {
+                linesByUri.computeIfAbsent(scenario.uri(), uri -> new ArrayList<>()).add(String.valueOf(scenario.line()));
+            }
+            return linesByUri.entrySet().stream()
+                    .map(e -> e.getKey() + ":" + String.join(":", e.getValue()))
+                    .toList();
+        }
+    }
+
+    private final Path resultsBase;
+    private final String sutVersion;
+    private final ScenarioResultCache cache;
+    private FeatureIndex index;
+
+    public ScenarioReuse(Path resultsBase, String sutVersion) {
+        this(resultsBase, sutVersion, null);
+    }
+
+    /** @param index feature index to use, {@code null} to scan the classpath on first use */
+    ScenarioReuse(Path resultsBase, String sutVersion, FeatureIndex index) {
+        this.resultsBase = resultsBase;
+        this.sutVersion = sutVersion;
+        this.cache = new ScenarioResultCache(resultsBase, sutVersion);
+        this.index = index;
+    }
+
+    /**
+     * Determines which of the scenarios selected by the tag expression can be reused.
+     */
+    public Plan plan(String tagExpression) throws IOException {
+        Map<String, ScenarioResultCache.Entry> entries = cache.load();
+        String currentGlue = glueVersion();
+        Map<String, JsonNode> sourceReports = new HashMap<>();
+        List<ReusedScenario> reused = new ArrayList<>();
+        List<FeatureScenario> toRun = new ArrayList<>();
+
+        for (FeatureScenario scenario : index().select(tagExpression)) {
+            ScenarioResultCache.Entry entry = entries.get(scenario.id());
+            ReusedScenario result = null;
+            if (entry != null && scenario.featureHash().equals(entry.featureHash())
+                    && currentGlue.equals(entry.glueVersion())) {
+                JsonNode report = sourceReports.computeIfAbsent(entry.runId(), this::readCucumberJson);
+                result = findPassed(report, scenario, entry.runId());
+            }
+            if (result != null) {
+                reused.add(result);
+            } else {
+                toRun.add(scenario);
+            }
+        }
+        log.info("SUT version {}: {} scenario(s) reused, {} to execute", sutVersion, reused.size(), toRun.size());
+        return new Plan(reused, toRun);
+    }
+
+    /**
+     * Completes a run: adds the reused results to its Cucumber.json and Allure results and
+     * records the scenarios it executed successfully.
+     */
+    public void complete(String runId, Path cucumberJson, Path allureResults, Plan plan) throws IOException {
+        if (plan.hasReused()) {
+            mergeReusedResults(cucumberJson, plan.reused());
+            writeAllureResults(allureResults, plan.reused());
+        }
+        record(runId, cucumberJson);
+    }
+
+    /** Appends the reused scenarios (with their background) to the run's Cucumber.json. */
+    void mergeReusedResults(Path cucumberJson, List<ReusedScenario> reused) throws IOException {
+        ArrayNode features = Files.exists(cucumberJson)
+                ? (ArrayNode) MAPPER.readTree(cucumberJson.toFile())
+                : MAPPER.createArrayNode();
+        for (ReusedScenario scenario : reused) {
+            ObjectNode feature = findFeature(features, scenario.scenario().uri());
+            if (feature == null) {
+                feature = scenario.feature().deepCopy();
+                feature.putArray("elements");
+                features.add(feature);
+            }
+            ArrayNode elements = feature.has("elements") ? (ArrayNode) feature.get("elements") : feature.putArray("elements");
+            if (scenario.background() != null) {
+                elements.add(scenario.background());
+            }
+            ObjectNode marked = scenario.element().deepCopy();
+            ArrayNode tags = marked.has("tags") ? (ArrayNode) marked.get("tags") : marked.putArray("tags");
+            tags.addObject().put("name", REUSED_TAG).put("type", "Tag");
+            marked.put(REUSED_FROM_FIELD, scenario.sourceRunId());
+            elements.add(marked);
+        }
+        Files.createDirectories(cucumberJson.getParent());
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(cucumberJson.toFile(), features);
+    }
+
+    /** Writes a passed Allure result per reused scenario, labelled as reused. */
+    void writeAllureResults(Path allureResults, List<ReusedScenario> reused) {
+        FileSystemResultsWriter writer = new FileSystemResultsWriter(allureResults);
+        long now = System.currentTimeMillis();
+        for (ReusedScenario scenario : reused) {
+            String fullName = scenario.scenario().uri().replaceFirst("^classpath:", "") + ":" + scenario.scenario().line();
+            List<StepResult> steps = new ArrayList<>();
+            long durationMillis = 0;
+            for (JsonNode step : scenario.element().path("steps")) {
+                long stepMillis = step.path("result").path("duration").asLong() / 1_000_000;
+                StepResult stepResult = new StepResult();
+                stepResult.setName(step.path("keyword").asText() + step.path("name").asText());
+                stepResult.setStatus(Status.PASSED);
+                stepResult.setStage(Stage.FINISHED);
+                stepResult.setStart(now - stepMillis);
+                stepResult.setStop(now);
+                steps.add(stepResult);
+                durationMillis += stepMillis;
+            }
+
+            List<Label> labels = new ArrayList<>();
+            labels.add(label("feature", scenario.feature().path("name").asText()));
+            labels.add(label("tag", REUSED_TAG.substring(1)));
+            scenario.scenario().tags().forEach(tag -> labels.add(label("tag", tag.substring(1))));
+
+            Parameter source = new Parameter();
+            source.setName(REUSED_FROM_FIELD);
+            source.setValue(scenario.sourceRunId());
+
+            TestResult result = new TestResult();
+            result.setUuid(UUID.randomUUID().toString());
+            result.setHistoryId(UUID.nameUUIDFromBytes(fullName.getBytes(StandardCharsets.UTF_8)).toString());
+            result.setName(scenario.scenario().name());
+            result.setFullName(fullName);
+            result.setDescription("Reused result of run " + scenario.sourceRunId() + " (SUT version " + sutVersion
+                    + "); not executed in this run.");
+            result.setStatus(Status.PASSED);
+            result.setStage(Stage.FINISHED);
+            result.setStart(now - durationMillis);
+            result.setStop(now);
+            result.setLabels(labels);
+            result.setParameters(List.of(source));
+            result.setSteps(steps);
+            writer.write(result);
+        }
+    }
+
+    /** Records passing executed scenarios of the run and drops failed ones from the cache. */
+    void record(String runId, Path cucumberJson) throws IOException {
+        if (!Files.exists(cucumberJson)) {
+            return;
+        }
+        Map<String, String> featureHashes = index().featureHashes();
+        String currentGlue = glueVersion();
+        Map<String, ScenarioResultCache.Entry> passed = new HashMap<>();
+        List<String> failed = new ArrayList<>();
+        for (JsonNode feature : MAPPER.readTree(cucumberJson.toFile())) {
+            String uri = feature.path("uri").asText();
+            String featureHash = featureHashes.get(uri);
+            if (featureHash == null) {
+                continue;
+            }
+            for (JsonNode element : feature.path("elements")) {
+                if (!"scenario".equals(element.path("type").asText()) || element.has(REUSED_FROM_FIELD)) {
+                    continue;
+                }
+                String id = uri + ":" + element.path("line").asLong();
+                if (isPassed(element)) {
+                    passed.put(id, new ScenarioResultCache.Entry(featureHash, currentGlue, runId));
+                } else {
+                    failed.add(id);
+                }
+            }
+        }
+        cache.update(passed, failed);
+    }
+
+    /** Number of reused scenarios in a run's Cucumber.json. */
+    public static int countReused(Path cucumberJson) {
+        if (!Files.exists(cucumberJson)) {
+            return 0;
+        }
+        try {
+            int count = 0;
+            for (JsonNode feature : MAPPER.readTree(cucumberJson.toFile())) {
+                for (JsonNode element : feature.path("elements")) {
+                    if (element.has(REUSED_FROM_FIELD)) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        } catch (IOException e) {
+            log.warn("Could not read {}: {}", cucumberJson, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Hash over all classes of the glue package ({@code org.example}). Any code change
+     * invalidates reused results; the hash is computed once per JVM.
+     */
+    public static String glueVersion() {
+        if (glueVersion == null) {
+            synchronized (ScenarioReuse.class) {
+                if (glueVersion == null) {
+                    glueVersion = computeGlueVersion();
+                }
+            }
+        }
+        return glueVersion;
+    }
+
+    private static String computeGlueVersion() {
+        try {
+            Resource[] classes = new PathMatchingResourcePatternResolver().getResources("classpath*:org/example/**/*.class");
+            Map<String, Resource> byName = Arrays.stream(classes)
+                    .collect(Collectors.toMap(ScenarioReuse::relativeName, r -> r, (a, b) -> a));
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String name : byName.keySet().stream().sorted(Comparator.naturalOrder()).toList()) {
+                digest.update(name.getBytes(StandardCharsets.UTF_8));
+                digest.update(byName.get(name).getContentAsByteArray());
+            }
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            // Without a glue version nothing can be reused safely
+            log.warn("Could not compute glue version: {}", e.getMessage());
+            return "unknown-" + UUID.randomUUID();
+        }
+    }
+
+    private static String relativeName(Resource resource) {
+        try {
+            String url = resource.getURL().toString();
+            return url.substring(url.indexOf("org/example/"));
+        } catch (IOException e) {
+            return String.valueOf(resource.getFilename());
+        }
+    }
+
+    private FeatureIndex index() throws IOException {
+        if (index == null) {
+            index = FeatureIndex.current();
+        }
+        return index;
+    }
+
+    private JsonNode readCucumberJson(String runId) {
+        Path report = resultsBase.resolve(runId).resolve("cucumber-reports").resolve("Cucumber.json");
+        try {
+            return Files.exists(report) ? MAPPER.readTree(report.toFile()) : null;
+        } catch (IOException e) {
+            log.warn("Could not read {}: {}", report, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Looks up the scenario's passing result (and preceding background) in an earlier run's report. */
+    private static ReusedScenario findPassed(JsonNode report, FeatureScenario scenario, String runId) {
+        if (report == null) {
+            return null;
+        }
+        for (JsonNode feature : report) {
+            if (!scenario.uri().equals(feature.path("uri").asText())) {
+                continue;
+            }
+            JsonNode background = null;
+            for (JsonNode element : feature.path("elements")) {
+                if ("background".equals(element.path("type").asText())) {
+                    background = element;
+                    continue;
+                }
+                if (element.path("line").asLong() == scenario.line()) {
+                    if (!isPassed(element) || (background != null && !isPassed(background))) {
+                        return null;
+                    }
+                    ObjectNode featureHeader = ((ObjectNode) feature).deepCopy();
+                    featureHeader.remove("elements");
+                    return new ReusedScenario(scenario, runId, featureHeader, background, element);
+                }
+                background = null;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isPassed(JsonNode element) {
+        JsonNode steps = element.path("steps");
+        if (steps.isEmpty()) {
+            return false;
+        }
+        for (JsonNode step : steps) {
+            if (!"passed".equals(step.path("result").path("status").asText())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ObjectNode findFeature(ArrayNode features, String uri) {
+        for (JsonNode feature : features) {
+            if (uri.equals(feature.path("uri").asText())) {
+                return (ObjectNode) feature;
+            }
+        }
+        return null;
+    }
+
+    private static Label label(String name, String value) {
+        Label label = new Label();
+        label.setName(name);
+        label.setValue(value);
+        return label;
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.cucumber.service;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the run queue of an environment has reached its configured limit.
+ * Carries the time after which a retry is expected to be accepted.
+ */
+public class QueueFullException extends RuntimeException {
+
+    private final String environment;
+    private final Duration retryAfter;
+
+    public QueueFullException(String environment, int limit, Duration retryAfter) {
+        super("Queue for environment '" + environment + "' is full (" + limit + " queued runs)");
+        this.environment = environment;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.cucumber.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.cucumber.model.TestExecutionRequest;
+import org.example.cucumber.model.TestStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Admission of new runs to the {@link RunScheduler}: per-environment queue limits
+ * (backpressure), coalescing of equivalent requests and the queue information of waiting runs.
+ * <p>
+ * The coalescing registry is guarded by the caller's queue lock, see
+ * {@link TestExecutionService#queueTestExecution}.
+ */
+@Slf4j
+class RunAdmission {
+
+    static final int DEFAULT_QUEUE_LIMIT = 20;
+    /** A RUNNING run still accepts coalesced requests this long after its start. */
+    static final Duration COALESCE_START_WINDOW = Duration.ofSeconds(30);
+
+    private final RunScheduler runScheduler;
+    private final RunStatusStore statusStore;
+    private volatile int defaultQueueLimit = DEFAULT_QUEUE_LIMIT;
+    private volatile Map<String, Integer> queueLimits = Map.of();
+    /** Coalesce key of a run to its runId; stale entries are dropped on lookup. */
+    private final Map<String, UUID> coalescableRuns = new HashMap<>();
+
+    RunAdmission(RunScheduler runScheduler, RunStatusStore statusStore) {
+        this.runScheduler = runScheduler;
+        this.statusStore = statusStore;
+    }
+
+    /** Maximum number of queued (not yet running) runs per environment; {@code <= 0} = unlimited. */
+    void setDefaultQueueLimit(int limit) {
+        this.defaultQueueLimit = limit;
+    }
+
+    /** Per-environment queue limits overriding the default, e.g. {@code staging=10,prod=5}. */
+    void setQueueLimits(String limits) {
+        Map<String, Integer> parsed = new HashMap<>();
+        if (limits != null && !limits.isBlank()) {
+            for (String entry : limits.split(",")) {
+                String[] parts = entry.split("=", 2);
+                if (parts.length != 2) {
+                    log.warn("Ignoring invalid queue limit entry: '{}'", entry);
+                    continue;
+                }
+                try {
+                    parsed.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring invalid queue limit entry: '{}'", entry);
+                }
+            }
+        }
+        this.queueLimits = Map.copyOf(parsed);
+    }
+
+    /**
+     * Applies backpressure: rejects a new run if its environment already has {@code limit}
+     * runs waiting. Retry-After is the predicted time until the environment's next queued
+     * run gets a slot, i.e. until its queue has room again.
+     */
+    void rejectIfQueueFull(String environment) {
+        rejectIfQueueFull(environment, 1);
+    }
+
+    /**
+     * Rejects unless the environment's queue has room for {@code runs} more runs. Counts the
+     * runs of the environment waiting in the scheduler, without looking at any status.
+     */
+    void rejectIfQueueFull(String environment, int runs) {
+        int limit = queueLimits.getOrDefault(environment, defaultQueueLimit);
+        if (limit <= 0) {
+            return;
+        }
+        int queued = runScheduler.queuedCount(environment);
+        if (queued + runs <= limit) {
+            return;
+        }
+        int nextPosition = Math.max(1, runScheduler.firstPositionOf(environment));
+        Duration retryAfter = Duration.between(Instant.now(), runScheduler.estimateStartTime(nextPosition));
+        if (retryAfter.compareTo(Duration.ofSeconds(1)) < 0) {
+            retryAfter = Duration.ofSeconds(1);
+        }
+        log.warn("Rejecting run for environment {}: {} runs queued (limit {}), retry after {}s",
+                environment, queued, limit, retryAfter.toSeconds());
+        throw new QueueFullException(environment, limit, retryAfter);
+    }
+
+    /** Refreshes queue position and predicted start time of a waiting run. */
+    void updateQueueInfo(TestStatus status) {
+        if (!"QUEUED".equals(status.getStatus())) {
+            return;
+        }
+        int position = runScheduler.positionOf(status.getRunId());
+        if (position > 0) {
+            status.setQueuePosition(position);
+            status.setEstimatedStartTime(LocalDateTime.ofInstant(
+                    runScheduler.estimateStartTime(position), ZoneId.systemDefault()));
+        }
+    }
+
+    /**
+     * Identifies requests that would execute the same run. Scheduling-only settings
+     * (priority, parallelCount, timeout, initiator, webhook) are not part of the key;
+     * see {@link TestExecutionService} for how priority and webhook of an attached request apply.
+     */
+    static String coalesceKey(TestExecutionRequest request, String tagsExpression) {
+        List<String> features = request.getFeatures() != null
+                ? request.getFeatures().stream().sorted().toList()
+                : List.of();
+        Map<String, String> variables = request.getEnvironmentVariables() != null
+                ? new TreeMap<>(request.getEnvironmentVariables())
+                : Map.of();
+        return String.join("|",
+                String.valueOf(request.getEnvironment()),
+                tagsExpression,
+                String.join(",", features),
+                String.valueOf(request.getBrowser()),
+                String.valueOf(request.getHeadless()),
+                variables.toString(),
+                String.valueOf(request.getRetryFailedTests()),
+                String.valueOf(request.getMaxRetries()),
+                String.valueOf(request.getProjectKey()),
+                String.valueOf(request.getSutVersion()),
+                String.valueOf(request.getReuseResults()),
+                String.valueOf(request.getMaxFailures()),
+                String.valueOf(request.getMaxConsecutiveFailures()));
+    }
+
+    /** Registers a newly queued run for later equivalent requests. Must be called with the queue lock held. */
+    void registerCoalescable(String coalesceKey, UUID runId) {
+        if (coalesceKey != null) {
+            coalescableRuns.put(coalesceKey, runId);
+        }
+    }
+
+    /**
+     * Returns the run registered under the key if it is still QUEUED or RUNNING for less than
+     * {@link #COALESCE_START_WINDOW}; later callers would miss part of the run (or a fresh SUT
+     * deploy), so they get a new one. Must be called with the queue lock held.
+     */
+    TestStatus findCoalescableRun(String coalesceKey) {
+        if (coalesceKey == null) {
+            return null;
+        }
+        UUID runId = coalescableRuns.get(coalesceKey);
+        TestStatus status = runId != null ? statusStore.get(runId) : null;
+        if (status == null) {
+            coalescableRuns.remove(coalesceKey);
+            return null;
+        }
+        synchronized (status) {
+            if ("QUEUED".equals(status.getStatus())) {
+                return status;
+            }
+            LocalDateTime started = status.getStartTime();
+            if ("RUNNING".equals(status.getStatus()) && started != null
+                    && started.isAfter(LocalDateTime.now().minus(COALESCE_START_WINDOW))) {
+                return status;
+            }
+        }
+        coalescableRuns.remove(coalesceKey);
+        return null;
+    }
+}
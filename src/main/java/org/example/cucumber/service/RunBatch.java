@@ -0,0 +1,62 @@
+package org.example.cucumber.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs queued together from one matrix request, see {@link TestExecutionService#queueBatch}.
+ * <p>
+ * The batch only records which runs belong to it; their status stays with the runs. It is
+ * stored as {@value #BATCH_FILE} in the batch's directory on the results volume, so every
+ * instance and a restarted process can answer for it.
+ *
+ * @param batchId   parent id of the runs
+ * @param createdAt when the batch was queued
+ * @param initiator initiator of the request, if given
+ * @param runs      the runs in matrix order (environment, then browser, then tag set)
+ */
+public record RunBatch(UUID batchId, LocalDateTime createdAt, String initiator, List<Member> runs) {
+
+    public static final String BATCH_FILE = "batch.json";
+
+    /**
+     * One cell of the matrix.
+     *
+     * @param browser requested browser, {@code null} for the default
+     * @param tags    Cucumber tag expression of the run
+     */
+    public record Member(UUID runId, String environment, String browser, String tags) {
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    public List<UUID> runIds() {
+        return runs.stream().map(Member::runId).toList();
+    }
+
+    /** Reads a stored batch. */
+    public static RunBatch read(Path file) throws IOException {
+        return OBJECT_MAPPER.readValue(file.toFile(), RunBatch.class);
+    }
+
+    /** Stores the batch atomically, so other instances never see a partial file. */
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling("." + file.getFileName() + ".tmp");
+        OBJECT_MAPPER.writeValue(tmp.toFile(), this);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.cucumber.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cucumber.model.BatchExecutionRequest;
+import org.example.cucumber.model.BatchStatus;
+import org.example.cucumber.model.TestExecutionRequest;
+import org.example.cucumber.model.TestStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Batches of runs queued from one matrix request: expanding the matrix, storing the
+ * {@link RunBatch} on the results volume and aggregating the status of its runs.
+ * Queuing the runs themselves is left to {@link TestExecutionService#queueBatch}.
+ */
+@Slf4j
+class RunBatches {
+
+    /** Upper bound of runs per batch, i.e. environments x browsers x tag sets. */
+    static final int MAX_BATCH_RUNS = 50;
+
+    private final Supplier<Path> resultsDirectory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    /** Batches read from or written to the results volume; immutable once queued. */
+    private final Map<UUID, RunBatch> batches = new ConcurrentHashMap<>();
+
+    /**
+     * @param resultsDirectory current results directory, read on every access
+     */
+    RunBatches(Supplier<Path> resultsDirectory) {
+        this.resultsDirectory = resultsDirectory;
+    }
+
+    /**
+     * One request per cell of the matrix, nested environment, browser, tag set. The settings
+     * of {@link BatchExecutionRequest#getRun()} apply to all of them.
+     *
+     * @throws IllegalArgumentException if the matrix has more than {@value #MAX_BATCH_RUNS} runs
+     */
+    List<TestExecutionRequest> expand(BatchExecutionRequest request) {
+        List<String> browsers = request.getBrowsers() == null || request.getBrowsers().isEmpty()
+                ? Collections.singletonList(null)
+                : request.getBrowsers();
+        int size = request.getEnvironments().size() * browsers.size() * request.getTagSets().size();
+        if (size > MAX_BATCH_RUNS) {
+            throw new IllegalArgumentException("Batch has " + size + " runs, at most " + MAX_BATCH_RUNS + " allowed");
+        }
+        TestExecutionRequest template = request.getRun() != null ? request.getRun() : TestExecutionRequest.builder().build();
+        List<TestExecutionRequest> runs = new ArrayList<>(size);
+        for (String environment : request.getEnvironments()) {
+            for (String browser : browsers) {
+                for (List<String> tags : request.getTagSets()) {
+                    TestExecutionRequest run = objectMapper.convertValue(template, TestExecutionRequest.class);
+                    run.setEnvironment(environment);
+                    run.setTags(List.copyOf(tags));
+                    if (browser != null) {
+                        run.setBrowser(browser);
+                    }
+                    runs.add(run);
+                }
+            }
+        }
+        return runs;
+    }
+
+    /** Registers a queued batch and stores it for other instances and restarts. */
+    void add(RunBatch batch) {
+        batches.put(batch.batchId(), batch);
+        try {
+            batch.write(directory(batch.batchId()).resolve(RunBatch.BATCH_FILE));
+        } catch (IOException e) {
+            // Still answered by this instance until it restarts
+            log.warn("Failed to store batch {}: {}", batch.batchId(), e.getMessage());
+        }
+    }
+
+    Optional<RunBatch> find(UUID batchId) {
+        RunBatch batch = batches.get(batchId);
+        if (batch != null) {
+            return Optional.of(batch);
+        }
+        // Queued by another instance or an earlier process
+        Path file = directory(batchId).resolve(RunBatch.BATCH_FILE);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            batch = RunBatch.read(file);
+            batches.put(batchId, batch);
+            return Optional.of(batch);
+        } catch (IOException e) {
+            log.warn("Failed to read batch {}: {}", batchId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Aggregate status of a batch from the current status of its runs.
+     *
+     * @param runStatus current status of a run, empty if it is unknown (e.g. deleted)
+     */
+    BatchStatus status(RunBatch batch, Function<UUID, Optional<TestStatus>> runStatus) {
+        List<TestStatus> runs = new ArrayList<>();
+        int started = 0;
+        int finished = 0;
+        int completed = 0;
+        int cancelled = 0;
+        int progress = 0;
+        int total = 0;
+        int passed = 0;
+        int failed = 0;
+        int skipped = 0;
+        for (RunBatch.Member member : batch.runs()) {
+            // A deleted run counts as finished, so the batch still ends
+            TestStatus status = runStatus.apply(member.runId()).orElseGet(() -> TestStatus.builder()
+                    .runId(member.runId())
+                    .status("UNKNOWN")
+                    .environment(member.environment())
+                    .build());
+            runs.add(status);
+            String value = status.getStatus();
+            if (TestExecutionService.ACTIVE_STATUSES.contains(value)) {
+                started += "QUEUED".equals(value) ? 0 : 1;
+                progress += status.getProgress() != null ? status.getProgress() : 0;
+            } else {
+                finished++;
+                progress += 100;
+                completed += "COMPLETED".equals(value) ? 1 : 0;
+                cancelled += "CANCELLED".equals(value) ? 1 : 0;
+            }
+            total += status.getTotalTests() != null ? status.getTotalTests() : 0;
+            passed += status.getPassedTests() != null ? status.getPassedTests() : 0;
+            failed += status.getFailedTests() != null ? status.getFailedTests() : 0;
+            skipped += status.getSkippedTests() != null ? status.getSkippedTests() : 0;
+        }
+        int count = runs.size();
+        String status;
+        if (finished < count) {
+            status = started + finished == 0 ? "QUEUED" : "RUNNING";
+        } else if (completed == count) {
+            status = "COMPLETED";
+        } else if (cancelled == count) {
+            status = "CANCELLED";
+        } else {
+            status = "FAILED";
+        }
+        boolean hasReport = Files.exists(directory(batch.batchId()).resolve("allure-report").resolve("index.html"));
+        return BatchStatus.builder()
+                .batchId(batch.batchId())
+                .status(status)
+                .progress(count > 0 ? progress / count : 100)
+                .createdAt(batch.createdAt())
+                .initiator(batch.initiator())
+                .totalRuns(count)
+                .finishedRuns(finished)
+                .totalTests(total)
+                .passedTests(passed)
+                .failedTests(failed)
+                .skippedTests(skipped)
+                .reportUrl(hasReport ? reportUrl(batch.batchId()) : null)
+                .runs(runs)
+                .build();
+    }
+
+    /** Directory of a batch; served below {@code /reports/batches/}. */
+    Path directory(UUID batchId) {
+        return resultsDirectory.get().resolve("batches").resolve(batchId.toString());
+    }
+
+    static String reportUrl(UUID batchId) {
+        return "/reports/batches/" + batchId + "/allure-report/index.html";
+    }
+}
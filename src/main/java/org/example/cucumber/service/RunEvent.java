@@ -0,0 +1,24 @@
+package org.example.cucumber.service;
+
+import java.util.UUID;
+
+/**
+ * Change of a run executed on this instance, published to the listeners registered with
+ * {@link TestExecutionService#addRunListener}.
+ *
+ * @param type {@link #STATUS}, {@link #PROGRESS}, {@link #SCENARIO} or {@link #REPORT}
+ * @param data the run's {@link org.example.cucumber.model.TestStatus} for status and progress
+ *             events, the {@link org.example.cucumber.model.ScenarioResult} for scenario events,
+ *             the report URLs (name to URL) for report events
+ */
+public record RunEvent(UUID runId, String type, Object data) {
+
+    /** The status value changed (QUEUED, RUNNING, ..., COMPLETED). */
+    public static final String STATUS = "status";
+    /** Counters, current scenario or current step changed while the run executes. */
+    public static final String PROGRESS = "progress";
+    /** A scenario has finished. */
+    public static final String SCENARIO = "scenario";
+    /** The reports of a finished run have been generated. */
+    public static final String REPORT = "report";
+}
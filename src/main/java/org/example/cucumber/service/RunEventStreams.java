@@ -0,0 +1,344 @@
+package org.example.cucumber.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cucumber.model.BatchStatus;
+import org.example.cucumber.model.TestStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-Sent Event streams of run status, replacing status polling by clients.
+ * <p>
+ * A run stream sends the current status on connect, then {@code status} events on status
+ * changes, {@code progress} events when counters, current scenario or step change and
+ * {@code scenario} events for every finished scenario. It is completed once the run has
+ * reached a final status. The active stream sends the list of active runs ({@code active})
+ * whenever it changes, plus the events of all runs. A batch stream sends the aggregate batch
+ * status ({@code batch}) whenever it changes, plus the {@code scenario} events of the batch's
+ * runs, and is completed once all runs have finished.
+ * <p>
+ * Events of runs executed on this instance are pushed as they happen (see
+ * {@link TestExecutionService#addRunListener}). In addition the streamed statuses are
+ * refreshed every {@link #REFRESH_INTERVAL}, which covers runs executed by other instances
+ * and changes such as the queue position. Idle streams get a comment every
+ * {@link #HEARTBEAT_INTERVAL} so proxies and routers keep the connection open.
+ * <p>
+ * All sends happen on a single thread, so listeners never block the run they report on.
+ */
+@Slf4j
+@Component
+public class RunEventStreams {
+
+    static final Duration REFRESH_INTERVAL = Duration.ofSeconds(2);
+    static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+    static final String ACTIVE = "active";
+    static final String BATCH = "batch";
+    private static final Set<String> FINAL_STATUSES = Set.of("COMPLETED", "FAILED", "CANCELLED", "TIMEOUT");
+
+    private final TestExecutionService testExecutionService;
+    private final long timeoutMillis;
+    private final ScheduledExecutorService sender;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final Map<UUID, Set<Subscriber>> runSubscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> activeSubscribers = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Set<Subscriber>> batchSubscribers = new ConcurrentHashMap<>();
+
+    /** An open stream; only accessed on the sender thread apart from registration. */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private Runnable unsubscribe = () -> { };
+        private String lastJson;
+        private String lastStatus;
+        private long lastSentNanos = System.nanoTime();
+        /** Runs of a batch stream; empty for other streams. */
+        private Set<UUID> runIds = Set.of();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    @Autowired
+    public RunEventStreams(TestExecutionService testExecutionService,
+                           @Value("${test.execution.stream.timeout-minutes:60}") long timeoutMinutes) {
+        this(testExecutionService, Duration.ofMinutes(timeoutMinutes), REFRESH_INTERVAL);
+    }
+
+    RunEventStreams(TestExecutionService testExecutionService, Duration timeout, Duration refreshInterval) {
+        this.testExecutionService = testExecutionService;
+        this.timeoutMillis = timeout.toMillis();
+        this.sender = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "run-event-streams");
+            t.setDaemon(true);
+            return t;
+        });
+        sender.scheduleWithFixedDelay(this::refresh, refreshInterval.toMillis(), refreshInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        testExecutionService.addRunListener(this::onRunEvent);
+    }
+
+    /**
+     * Opens the event stream of a run.
+     *
+     * @return the stream, empty if the run is unknown
+     */
+    public Optional<SseEmitter> subscribe(UUID runId) {
+        Optional<TestStatus> status = testExecutionService.getTestStatus(runId);
+        if (status.isEmpty()) {
+            return Optional.empty();
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis));
+        String json = toJson(status.get());
+        String value = status.get().getStatus();
+        register(subscriber, () -> runSubscribers.computeIfPresent(runId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        }));
+        // Initial status first; events queued after registration are sent after it
+        sender.execute(() -> sendStatus(subscriber, json, value));
+        if (!FINAL_STATUSES.contains(value)) {
+            runSubscribers.computeIfAbsent(runId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        log.debug("Event stream opened for runId={}", runId);
+        return Optional.of(subscriber.emitter);
+    }
+
+    /** Opens the stream of all active runs. */
+    public SseEmitter subscribeActive() {
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis));
+        String json = toJson(testExecutionService.getActiveTests());
+        register(subscriber, () -> activeSubscribers.remove(subscriber));
+        sender.execute(() -> sendActive(subscriber, json));
+        activeSubscribers.add(subscriber);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Opens the event stream of a batch.
+     *
+     * @return the stream, empty if the batch is unknown
+     */
+    public Optional<SseEmitter> subscribeBatch(UUID batchId) {
+        Optional<BatchStatus> status = testExecutionService.getBatchStatus(batchId);
+        if (status.isEmpty()) {
+            return Optional.empty();
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis));
+        subscriber.runIds = new HashSet<>(status.get().getRuns().stream().map(TestStatus::getRunId).toList());
+        String json = toJson(status.get());
+        String value = status.get().getStatus();
+        register(subscriber, () -> batchSubscribers.computeIfPresent(batchId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        }));
+        sender.execute(() -> sendBatch(subscriber, json, value));
+        if (!FINAL_STATUSES.contains(value)) {
+            batchSubscribers.computeIfAbsent(batchId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        log.debug("Event stream opened for batchId={}", batchId);
+        return Optional.of(subscriber.emitter);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        runSubscribers.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        activeSubscribers.forEach(s -> s.emitter.complete());
+        batchSubscribers.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    private void register(Subscriber subscriber, Runnable unsubscribe) {
+        subscriber.unsubscribe = unsubscribe;
+        subscriber.emitter.onCompletion(unsubscribe);
+        subscriber.emitter.onTimeout(() -> {
+            unsubscribe.run();
+            subscriber.emitter.complete();
+        });
+        subscriber.emitter.onError(error -> unsubscribe.run());
+    }
+
+    /**
+     * Called by the service while it changes the run, often holding the status lock: the
+     * payload is serialized here as a consistent snapshot and sent on the sender thread.
+     */
+    private void onRunEvent(RunEvent event) {
+        if (!batchSubscribers.isEmpty()) {
+            onBatchRunEvent(event);
+        }
+        Set<Subscriber> subscribers = runSubscribers.getOrDefault(event.runId(), Set.of());
+        if (subscribers.isEmpty() && activeSubscribers.isEmpty()) {
+            return;
+        }
+        if (event.data() instanceof TestStatus status) {
+            String json = toJson(status);
+            String value = status.getStatus();
+            sender.execute(() -> {
+                subscribers.forEach(s -> sendStatus(s, json, value));
+                activeSubscribers.forEach(s -> send(s, event.type(), json));
+            });
+        } else {
+            String json = toJson(Map.of("runId", event.runId(), event.type(), event.data()));
+            sender.execute(() -> {
+                subscribers.forEach(s -> send(s, event.type(), json));
+                activeSubscribers.forEach(s -> send(s, event.type(), json));
+            });
+        }
+    }
+
+    /**
+     * Scenario events of a batch's runs are forwarded; a status change of one of its runs
+     * recomputes the batch status. Progress reaches batch streams with the periodic refresh.
+     */
+    private void onBatchRunEvent(RunEvent event) {
+        boolean statusChange = RunEvent.STATUS.equals(event.type());
+        if (!statusChange && !RunEvent.SCENARIO.equals(event.type())) {
+            return;
+        }
+        String json = statusChange ? null : toJson(Map.of("runId", event.runId(), event.type(), event.data()));
+        batchSubscribers.forEach((batchId, subscribers) -> {
+            Set<Subscriber> affected = Set.copyOf(subscribers.stream()
+                    .filter(s -> s.runIds.contains(event.runId()))
+                    .toList());
+            if (affected.isEmpty()) {
+                return;
+            }
+            sender.execute(() -> {
+                if (json != null) {
+                    affected.forEach(s -> send(s, event.type(), json));
+                } else {
+                    refreshBatch(batchId, affected);
+                }
+            });
+        });
+    }
+
+    /** Sends a batch status unless it is unchanged; completes the stream once the batch has finished. */
+    private void sendBatch(Subscriber subscriber, String json, String status) {
+        if (json.equals(subscriber.lastJson)) {
+            return;
+        }
+        subscriber.lastJson = json;
+        if (send(subscriber, BATCH, json) && FINAL_STATUSES.contains(status)) {
+            subscriber.emitter.complete();
+            subscriber.unsubscribe.run();
+        }
+    }
+
+    private void refreshBatch(UUID batchId, Set<Subscriber> subscribers) {
+        Optional<BatchStatus> status = testExecutionService.getBatchStatus(batchId);
+        if (status.isEmpty()) {
+            subscribers.forEach(s -> {
+                s.emitter.complete();
+                s.unsubscribe.run();
+            });
+            return;
+        }
+        String json = toJson(status.get());
+        subscribers.forEach(s -> sendBatch(s, json, status.get().getStatus()));
+    }
+
+    /** Sends a run status unless it is unchanged; completes the stream once the run has finished. */
+    private void sendStatus(Subscriber subscriber, String json, String status) {
+        if (json.equals(subscriber.lastJson)) {
+            return;
+        }
+        String name = status.equals(subscriber.lastStatus) ? RunEvent.PROGRESS : RunEvent.STATUS;
+        subscriber.lastJson = json;
+        subscriber.lastStatus = status;
+        if (send(subscriber, name, json) && FINAL_STATUSES.contains(status)) {
+            subscriber.emitter.complete();
+            subscriber.unsubscribe.run();
+        }
+    }
+
+    private void sendActive(Subscriber subscriber, String json) {
+        if (!json.equals(subscriber.lastJson)) {
+            subscriber.lastJson = json;
+            send(subscriber, ACTIVE, json);
+        }
+    }
+
+    private boolean send(Subscriber subscriber, String name, String json) {
+        try {
+            subscriber.emitter.send(SseEmitter.event().name(name).data(json, MediaType.APPLICATION_JSON));
+            subscriber.lastSentNanos = System.nanoTime();
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected or stream already completed
+            log.debug("Dropping event stream: {}", e.getMessage());
+            subscriber.unsubscribe.run();
+            return false;
+        }
+    }
+
+    private void refresh() {
+        try {
+            runSubscribers.forEach((runId, subscribers) -> {
+                Optional<TestStatus> status = testExecutionService.getTestStatus(runId);
+                if (status.isEmpty()) {
+                    // Run deleted
+                    Set.copyOf(subscribers).forEach(s -> {
+                        s.emitter.complete();
+                        s.unsubscribe.run();
+                    });
+                    return;
+                }
+                String json = toJson(status.get());
+                Set.copyOf(subscribers).forEach(s -> sendStatus(s, json, status.get().getStatus()));
+            });
+            if (!activeSubscribers.isEmpty()) {
+                String json = toJson(testExecutionService.getActiveTests());
+                Set.copyOf(activeSubscribers).forEach(s -> sendActive(s, json));
+            }
+            batchSubscribers.forEach((batchId, subscribers) -> refreshBatch(batchId, Set.copyOf(subscribers)));
+            long idleSince = System.nanoTime() - HEARTBEAT_INTERVAL.toNanos();
+            runSubscribers.values().forEach(subscribers -> Set.copyOf(subscribers).forEach(s -> heartbeat(s, idleSince)));
+            Set.copyOf(activeSubscribers).forEach(s -> heartbeat(s, idleSince));
+            batchSubscribers.values().forEach(subscribers -> Set.copyOf(subscribers).forEach(s -> heartbeat(s, idleSince)));
+        } catch (RuntimeException e) {
+            log.warn("Refreshing event streams failed: {}", e.getMessage());
+        }
+    }
+
+    private void heartbeat(Subscriber subscriber, long idleSince) {
+        if (subscriber.lastSentNanos - idleSince > 0) {
+            return;
+        }
+        try {
+            subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+            subscriber.lastSentNanos = System.nanoTime();
+        } catch (IOException | IllegalStateException e) {
+            subscriber.unsubscribe.run();
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,521 @@
+package org.example.cucumber.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cucumber.model.TestStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only index of all runs on the results volume ({@value #INDEX_FILE}), so listing runs
+ * and answering for runs of earlier service processes needs neither a directory scan nor the
+ * in-memory statuses.
+ * <p>
+ * Every line is the JSON summary of a run ({@link Entry}); a later line of the same run
+ * replaces the earlier one, fields it leaves empty keep their previous value. Deleted runs
+ * get a tombstone. On {@link #load} the file is read once; afterwards only the lines appended
+ * since the last read are parsed, which also picks up runs recorded by other instances sharing
+ * the volume. The file is compacted on load and by {@link #compactIfOutdated} once most of its
+ * lines are outdated.
+ * <p>
+ * Appends and compaction hold an exclusive {@link FileLock} on {@value #LOCK_FILE}. If no
+ * index exists yet it is built once from the run directories, like the previous scan.
+ * <p>
+ * A {@link Listener} sees every change of an entry as it is read, including the initial load,
+ * so aggregates can be maintained incrementally. The entries are also kept sorted by
+ * {@link Position}, newest first, so a {@link #page} of the run listing does not sort.
+ */
+@Slf4j
+public class RunIndex {
+
+    public static final String INDEX_FILE = "run-index.jsonl";
+    static final String LOCK_FILE = ".run-index.lock";
+
+    /** Compaction is only worth it beyond this number of lines. */
+    private static final int COMPACT_MIN_LINES = 1000;
+
+    /** FileLock is held per JVM, so threads of the same JVM are serialized here first. */
+    private static final Object JVM_LOCK = new Object();
+
+    private static final Pattern TAG = Pattern.compile("@[^\\s()]+");
+
+    /**
+     * Summary of a run as stored in the index.
+     *
+     * @param tags     tag expression of the run
+     * @param queuedAt time the run was queued
+     * @param deleted  {@code true} for the tombstone of a deleted run
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Entry(UUID runId, String status, String environment, String tags, String initiator,
+                        String priority, LocalDateTime queuedAt, LocalDateTime startTime, LocalDateTime endTime,
+                        Integer totalTests, Integer passedTests, Integer failedTests, Integer skippedTests,
+                        Boolean deleted) {
+
+        /** Summary of the current state of a run; tags and initiator are only known when queuing. */
+        public static Entry of(TestStatus status, String tags, String initiator, LocalDateTime queuedAt) {
+            return new Entry(status.getRunId(), status.getStatus(), status.getEnvironment(), tags, initiator,
+                    status.getPriority(), queuedAt, status.getStartTime(), status.getEndTime(),
+                    status.getTotalTests(), status.getPassedTests(), status.getFailedTests(),
+                    status.getSkippedTests(), null);
+        }
+
+        /** Copy with another status, e.g. for runs interrupted by a restart. */
+        public Entry withStatus(String newStatus) {
+            return new Entry(runId, newStatus, environment, tags, initiator, priority, queuedAt, startTime, endTime,
+                    totalTests, passedTests, failedTests, skippedTests, deleted);
+        }
+
+        /** Whether the run has been executed, i.e. has (or had) results on the volume. */
+        public boolean executed() {
+            return startTime != null;
+        }
+
+        /** Position of the run in the listing: start time, or queue time while it waits. */
+        public Position position() {
+            LocalDateTime time = startTime != null ? startTime : queuedAt;
+            return new Position(time != null ? time : LocalDateTime.MIN, runId);
+        }
+
+        /** Status built from the summary, for runs whose full status is no longer available. */
+        public TestStatus toStatus() {
+            return TestStatus.builder()
+                    .runId(runId)
+                    .status(status)
+                    .environment(environment)
+                    .priority(priority)
+                    .startTime(startTime)
+                    .endTime(endTime)
+                    .totalTests(totalTests)
+                    .passedTests(passedTests)
+                    .failedTests(failedTests)
+                    .skippedTests(skippedTests)
+                    .build();
+        }
+
+        private Entry mergedOnto(Entry previous) {
+            if (previous == null || Boolean.TRUE.equals(deleted)) {
+                return this;
+            }
+            return new Entry(runId,
+                    status != null ? status : previous.status,
+                    environment != null ? environment : previous.environment,
+                    tags != null ? tags : previous.tags,
+                    initiator != null ? initiator : previous.initiator,
+                    priority != null ? priority : previous.priority,
+                    queuedAt != null ? queuedAt : previous.queuedAt,
+                    startTime != null ? startTime : previous.startTime,
+                    endTime != null ? endTime : previous.endTime,
+                    totalTests != null ? totalTests : previous.totalTests,
+                    passedTests != null ? passedTests : previous.passedTests,
+                    failedTests != null ? failedTests : previous.failedTests,
+                    skippedTests != null ? skippedTests : previous.skippedTests,
+                    null);
+        }
+    }
+
+    /**
+     * Sort key of the run listing, newest first; ties are broken by run ID so that every run
+     * has a distinct position. A position serves as the pagination cursor, since it stays
+     * valid while runs are added or deleted.
+     */
+    public record Position(LocalDateTime time, UUID runId) implements Comparable<Position> {
+
+        private static final Comparator<Position> NEWEST_FIRST = Comparator
+                .comparing(Position::time, Comparator.reverseOrder())
+                .thenComparing(Position::runId, Comparator.reverseOrder());
+
+        @Override
+        public int compareTo(Position other) {
+            return NEWEST_FIRST.compare(this, other);
+        }
+
+        /** Opaque, URL-safe form for clients. */
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((time + "|" + runId).getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Parses an {@link #encode() encoded} position.
+         *
+         * @throws IllegalArgumentException if the cursor was not issued by {@link #encode()}
+         */
+        public static Position decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+                return new Position(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+    }
+
+    /**
+     * Filter of the run listing; empty fields match every run.
+     *
+     * @param statuses any of these statuses
+     * @param tags     all of these tags occur in the run's tag expression ({@code @} optional)
+     * @param from     position (start or queue time) at or after this time
+     * @param to       position before this time
+     */
+    public record Query(String environment, Collection<String> statuses, Collection<String> tags, String initiator,
+                        LocalDateTime from, LocalDateTime to) {
+
+        public boolean matches(Entry entry) {
+            LocalDateTime time = entry.position().time();
+            return (environment == null || environment.equals(entry.environment()))
+                    && (statuses == null || statuses.isEmpty() || statuses.contains(entry.status()))
+                    && (initiator == null || initiator.equals(entry.initiator()))
+                    && (from == null || !time.isBefore(from))
+                    && (to == null || time.isBefore(to))
+                    && (tags == null || tags.isEmpty() || tagsOf(entry.tags()).containsAll(normalized(tags)));
+        }
+
+        private static Set<String> tagsOf(String expression) {
+            Set<String> found = new HashSet<>();
+            if (expression != null) {
+                Matcher matcher = TAG.matcher(expression);
+                while (matcher.find()) {
+                    found.add(matcher.group());
+                }
+            }
+            return found;
+        }
+
+        private static Set<String> normalized(Collection<String> tags) {
+            Set<String> result = new HashSet<>();
+            for (String tag : tags) {
+                result.add(tag.startsWith("@") ? tag : "@" + tag);
+            }
+            return result;
+        }
+    }
+
+    /** Notified of every entry read from the index, with the index locked. */
+    public interface Listener {
+
+        /**
+         * An entry was added or replaced.
+         *
+         * @param previous the run's entry before, {@code null} for a new run
+         * @param current  the new entry; {@link Entry#deleted()} for a deleted run
+         */
+        void changed(Entry previous, Entry current);
+
+        /** All entries are read again from the start (after loading or compaction). */
+        void cleared();
+    }
+
+    private final Path directory;
+    private final Path file;
+    private final Path lockFile;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    /** Latest entry per run in order of first appearance, including tombstones; guarded by {@code this}. */
+    private final Map<UUID, Entry> entries = new LinkedHashMap<>();
+    /** Entries that have not been deleted, newest first; guarded by {@code this}. */
+    private final NavigableMap<Position, Entry> byPosition = new TreeMap<>();
+    /** Bytes of the index file parsed so far. */
+    private long position;
+    private int lines;
+
+    private final Listener listener;
+
+    private RunIndex(Path directory, Listener listener) {
+        this.directory = directory;
+        this.listener = listener;
+        this.file = directory.resolve(INDEX_FILE);
+        this.lockFile = directory.resolve(LOCK_FILE);
+    }
+
+    /**
+     * Reads the index of a results directory, building it from the run directories if there
+     * is none yet.
+     */
+    public static RunIndex load(Path directory) {
+        return load(directory, null);
+    }
+
+    /**
+     * Reads the index like {@link #load(Path)}, passing every entry to the listener.
+     */
+    public static RunIndex load(Path directory, Listener listener) {
+        RunIndex index = new RunIndex(directory, listener);
+        long start = System.nanoTime();
+        synchronized (index) {
+            index.clear();
+            if (Files.exists(index.file)) {
+                index.refresh();
+                index.compactIfOutdated();
+            } else if (Files.isDirectory(directory)) {
+                index.bootstrap();
+            }
+        }
+        log.info("Run index loaded: {} runs in {} ms", index.entries.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /** Latest summary of a run; empty if unknown or deleted. */
+    public synchronized Optional<Entry> find(UUID runId) {
+        refresh();
+        return Optional.ofNullable(entries.get(runId)).filter(entry -> !Boolean.TRUE.equals(entry.deleted()));
+    }
+
+    /** Summaries of all runs that have not been deleted, in the order they were first recorded. */
+    public synchronized List<Entry> entries() {
+        refresh();
+        return entries.values().stream()
+                .filter(entry -> !Boolean.TRUE.equals(entry.deleted()))
+                .toList();
+    }
+
+    /**
+     * Runs matching the query that come after a position in the listing, newest first.
+     *
+     * @param after position of the last run of the previous page; {@code null} for the first page
+     * @param limit maximum number of runs
+     */
+    public synchronized List<Entry> page(Query query, Position after, int limit) {
+        refresh();
+        List<Entry> page = new ArrayList<>();
+        for (Entry entry : (after != null ? byPosition.tailMap(after, false) : byPosition).values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            if (query.matches(entry)) {
+                page.add(entry);
+            }
+        }
+        return page;
+    }
+
+    /** Records the current state of a run; empty fields keep their previous value. */
+    public void record(Entry entry) {
+        append(List.of(entry));
+    }
+
+    public void delete(UUID runId) {
+        append(List.of(new Entry(runId, null, null, null, null, null, null, null, null,
+                null, null, null, null, true)));
+    }
+
+    private synchronized void append(List<Entry> appended) {
+        StringBuilder lines = new StringBuilder();
+        for (Entry entry : appended) {
+            lines.append(toJson(entry)).append('\n');
+        }
+        try {
+            Files.createDirectories(directory);
+            withFileLock(() -> {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not update run index: {}", e.getMessage());
+        }
+        // Also applies lines other instances appended in the meantime
+        refresh();
+    }
+
+    private void clear() {
+        entries.clear();
+        byPosition.clear();
+        position = 0;
+        lines = 0;
+        if (listener != null) {
+            listener.cleared();
+        }
+    }
+
+    /** Applies the lines appended since the last read; re-reads everything after a compaction. */
+    public synchronized void refresh() {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < position) {
+                clear();
+            }
+            if (size == position) {
+                return;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(size - position));
+            while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) >= 0) {
+                // read until the current end of the file
+            }
+            byte[] bytes = Arrays.copyOf(buffer.array(), buffer.position());
+            int consumed = 0;
+            for (int i = 0; i < bytes.length; i++) {
+                if (bytes[i] == '\n') {
+                    apply(new String(bytes, consumed, i - consumed, StandardCharsets.UTF_8));
+                    consumed = i + 1;
+                }
+            }
+            // An incomplete last line is read again once it has been completed
+            position += consumed;
+        } catch (NoSuchFileException e) {
+            clear();
+        } catch (IOException e) {
+            log.warn("Could not read run index: {}", e.getMessage());
+        }
+    }
+
+    private void apply(String line) {
+        if (line.isBlank()) {
+            return;
+        }
+        lines++;
+        try {
+            Entry entry = objectMapper.readValue(line, Entry.class);
+            Entry previous = entries.get(entry.runId());
+            Entry current = entry.mergedOnto(previous);
+            entries.put(entry.runId(), current);
+            if (previous != null) {
+                byPosition.remove(previous.position());
+            }
+            if (!Boolean.TRUE.equals(current.deleted())) {
+                byPosition.put(current.position(), current);
+            }
+            if (listener != null) {
+                listener.changed(previous, current);
+            }
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable run index line: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Compacts the index if most of its lines are outdated, so a long-running service does not
+     * re-read an ever-growing file after another instance's compaction.
+     *
+     * @return whether the index was compacted
+     */
+    public synchronized boolean compactIfOutdated() {
+        refresh();
+        if (lines > COMPACT_MIN_LINES && lines > 2 * entries.size()) {
+            compact();
+            return true;
+        }
+        return false;
+    }
+
+    /** Rewrites the index with one line per run, dropping deleted runs. */
+    private void compact() {
+        try {
+            withFileLock(() -> {
+                refresh();
+                Path tmp = directory.resolve("." + INDEX_FILE + ".tmp");
+                StringBuilder content = new StringBuilder();
+                entries.values().stream()
+                        .filter(entry -> !Boolean.TRUE.equals(entry.deleted()))
+                        .forEach(entry -> content.append(toJson(entry)).append('\n'));
+                Files.writeString(tmp, content, StandardCharsets.UTF_8);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            });
+            int before = lines;
+            clear();
+            refresh();
+            log.info("Run index compacted from {} to {} lines", before, lines);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not compact run index: {}", e.getMessage());
+        }
+    }
+
+    /** Builds the index from the run directories (with their evicted status, if any). */
+    private void bootstrap() {
+        List<Entry> found = new ArrayList<>();
+        try (Stream<Path> dirs = Files.list(directory)) {
+            dirs.filter(dir -> Files.isDirectory(dir.resolve("allure-results")))
+                    .forEach(dir -> runId(dir).ifPresent(runId -> found.add(bootstrapEntry(runId, dir))));
+        } catch (IOException e) {
+            log.warn("Could not scan {} for runs: {}", directory, e.getMessage());
+            return;
+        }
+        found.sort(Comparator.comparing(Entry::startTime));
+        append(found);
+        log.info("Run index built from {} run directories", found.size());
+    }
+
+    private Entry bootstrapEntry(UUID runId, Path dir) {
+        Path statusFile = dir.resolve(RunStatusStore.STATUS_FILE);
+        if (Files.exists(statusFile)) {
+            try {
+                TestStatus status = objectMapper.readValue(statusFile.toFile(), TestStatus.class);
+                if (status.getStartTime() != null) {
+                    return Entry.of(status, null, null, null);
+                }
+            } catch (IOException e) {
+                log.debug("Ignoring unreadable {}: {}", statusFile, e.getMessage());
+            }
+        }
+        LocalDateTime modified;
+        try {
+            modified = LocalDateTime.ofInstant(Files.getLastModifiedTime(dir).toInstant(), ZoneId.systemDefault());
+        } catch (IOException e) {
+            modified = LocalDateTime.now();
+        }
+        return new Entry(runId, null, null, null, null, null, null, modified, null,
+                null, null, null, null, null);
+    }
+
+    private static Optional<UUID> runId(Path dir) {
+        try {
+            return Optional.of(UUID.fromString(dir.getFileName().toString()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private void withFileLock(IoAction action) throws IOException {
+        synchronized (JVM_LOCK) {
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                action.run();
+            }
+        }
+    }
+
+    private String toJson(Entry entry) {
+        try {
+            return objectMapper.writeValueAsString(entry);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.cucumber.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.cucumber.model.TestStatus;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the {@link RunIndex} of the results directory and the {@link RunStatistics} aggregated
+ * from it up to date.
+ * <p>
+ * All writes go through a single writer thread: appends take a file lock on the (possibly
+ * shared) results volume and must not run while the queue or a run's status is locked. The
+ * writer keeps the order of the writes and compacts the index every
+ * {@link #COMPACTION_INTERVAL}. Readers use {@link #awaitWrites()} to see their own changes.
+ */
+@Slf4j
+class RunIndexRecorder {
+
+    static final Duration COMPACTION_INTERVAL = Duration.ofMinutes(10);
+    /** How long a reader waits for pending writes before answering from the index as it is. */
+    static final Duration WRITE_WAIT = Duration.ofSeconds(5);
+
+    private final Supplier<Path> resultsDirectory;
+    /** Aggregated from the run index as it changes. */
+    private final RunStatistics statistics = new RunStatistics();
+    private final ScheduledExecutorService writer;
+    /** Loaded once; reloaded only if the results directory changes (e.g. in tests). */
+    private RunIndex index;
+    private final Object indexLock = new Object();
+
+    /**
+     * @param resultsDirectory current results directory, read on every access
+     */
+    RunIndexRecorder(Supplier<Path> resultsDirectory) {
+        this.resultsDirectory = resultsDirectory;
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "run-index-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        writer.scheduleWithFixedDelay(this::compact, COMPACTION_INTERVAL.toMillis(),
+                COMPACTION_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    RunStatistics statistics() {
+        return statistics;
+    }
+
+    /** Index of the current results directory, without waiting for pending writes. */
+    RunIndex index() {
+        Path directory = resultsDirectory.get().toAbsolutePath().normalize();
+        synchronized (indexLock) {
+            if (index == null || !index.directory().equals(directory)) {
+                index = RunIndex.load(directory, statistics);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Records the run's current state; tags, initiator and queue time only when queuing. The
+     * summary is taken now, the write happens on the writer thread.
+     */
+    void record(TestStatus status, String tags, String initiator, LocalDateTime queuedAt) {
+        RunIndex.Entry entry = RunIndex.Entry.of(status, tags, initiator, queuedAt);
+        onWriter(() -> {
+            try {
+                index().record(entry);
+            } catch (RuntimeException e) {
+                log.warn("Could not index run {}: {}", entry.runId(), e.getMessage());
+            }
+        });
+    }
+
+    void delete(UUID runId) {
+        onWriter(() -> {
+            try {
+                index().delete(runId);
+            } catch (RuntimeException e) {
+                log.warn("Could not remove run {} from the index: {}", runId, e.getMessage());
+            }
+        });
+    }
+
+    /** Runs a task on the writer thread, after the writes submitted so far. */
+    void onWriter(Runnable task) {
+        try {
+            writer.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Run index write dropped: service is shutting down");
+        }
+    }
+
+    /**
+     * Waits until the writes submitted so far are done, so a reader sees its own changes.
+     * Must not be called on the writer thread.
+     *
+     * @return the index of the current results directory
+     */
+    RunIndex awaitWrites() {
+        try {
+            writer.submit(() -> { }).get(WRITE_WAIT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | RejectedExecutionException e) {
+            log.debug("Reading run index without pending writes: {}", e.toString());
+        }
+        return index();
+    }
+
+    private void compact() {
+        try {
+            index().compactIfOutdated();
+        } catch (RuntimeException e) {
+            log.warn("Could not compact run index: {}", e.getMessage());
+        }
+    }
+
+    /** Lets the pending writes finish, they carry the final states of the runs. */
+    void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(WRITE_WAIT.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Run index writes still pending at shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package org.example.cucumber.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.cucumber.model.FeatureResult;
+import org.example.cucumber.model.ScenarioResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-feature and per-scenario results of a run, extracted from its Cucumber JSON report.
+ * <p>
+ * The report is read with a streaming parser that skips everything but names, lines,
+ * timestamps and step results, so embedded screenshots are never materialized. The
+ * extracted results are stored as {@value #RESULTS_FILE} in the run's results directory,
+ * typically a few kilobytes, and answer "what failed" without the report.
+ *
+ * @param features  one result per feature, in report order
+ * @param scenarios one result per scenario (each example row separately), in report order
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RunResults(List<FeatureResult> features, List<ScenarioResult> scenarios) {
+
+    public static final String RESULTS_FILE = "results.json";
+
+    /** Error messages are kept up to this length as stack trace. */
+    static final int MAX_STACK_TRACE = 4000;
+
+    /** Scenario statuses from best to worst; the worst step or hook status wins. */
+    private static final List<String> STATUS_ORDER = List.of(
+            "passed", "skipped", "pending", "undefined", "ambiguous", "failed");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private static final JsonFactory JSON_FACTORY = OBJECT_MAPPER.getFactory();
+
+    /** Reads stored results. */
+    public static RunResults read(Path file) throws IOException {
+        return OBJECT_MAPPER.readValue(file.toFile(), RunResults.class);
+    }
+
+    /** Stores the results atomically, so readers never see a partial file. */
+    public void write(Path file) throws IOException {
+        Path tmp = file.resolveSibling("." + file.getFileName() + ".tmp");
+        OBJECT_MAPPER.writeValue(tmp.toFile(), this);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Extracts the results from a Cucumber JSON report. Background steps count towards the
+     * scenario that follows them, hooks towards their scenario.
+     */
+    public static RunResults parse(Path cucumberJson) throws IOException {
+        List<FeatureResult> features = new ArrayList<>();
+        List<ScenarioResult> scenarios = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(cucumberJson.toFile())) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                // Run aborted before the report plugin wrote anything
+                return new RunResults(features, scenarios);
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new IOException("Not a Cucumber JSON report: " + cucumberJson);
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                features.add(parseFeature(parser, scenarios));
+            }
+        }
+        return new RunResults(features, scenarios);
+    }
+
+    private static FeatureResult parseFeature(JsonParser parser, List<ScenarioResult> scenarios) throws IOException {
+        String name = null;
+        String uri = null;
+        List<ScenarioResult> featureScenarios = new ArrayList<>();
+        List<LocalDateTime> startTimes = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "name" -> name = parser.getValueAsString();
+                case "uri" -> uri = parser.getValueAsString();
+                case "elements" -> {
+                    Element background = null;
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        Element element = parseElement(parser);
+                        if ("background".equals(element.type)) {
+                            background = element;
+                            continue;
+                        }
+                        if (background != null) {
+                            element.add(background);
+                            background = null;
+                        }
+                        featureScenarios.add(element.toResult());
+                        startTimes.add(element.startTime);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        // The feature name may follow its elements
+        for (ScenarioResult scenario : featureScenarios) {
+            scenario.setFeatureName(name);
+        }
+        scenarios.addAll(featureScenarios);
+        return summarize(name, uri, featureScenarios, startTimes);
+    }
+
+    private static FeatureResult summarize(String name, String uri, List<ScenarioResult> scenarios,
+                                           List<LocalDateTime> startTimes) {
+        int passed = 0;
+        int failed = 0;
+        long durationMs = 0;
+        String errorMessage = null;
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        for (int i = 0; i < scenarios.size(); i++) {
+            ScenarioResult scenario = scenarios.get(i);
+            switch (scenario.getStatus()) {
+                case "passed" -> passed++;
+                case "failed", "undefined", "ambiguous" -> {
+                    failed++;
+                    if (errorMessage == null) {
+                        errorMessage = scenario.getErrorMessage();
+                    }
+                }
+                default -> {
+                    // skipped or pending
+                }
+            }
+            durationMs += scenario.getDurationMs();
+            LocalDateTime scenarioStart = startTimes.get(i);
+            if (scenarioStart != null) {
+                LocalDateTime scenarioEnd = scenarioStart.plusNanos(scenario.getDurationMs() * 1_000_000);
+                start = start == null || scenarioStart.isBefore(start) ? scenarioStart : start;
+                end = end == null || scenarioEnd.isAfter(end) ? scenarioEnd : end;
+            }
+        }
+        int total = scenarios.size();
+        return FeatureResult.builder()
+                .featureName(name)
+                .featurePath(uri)
+                .startTime(start)
+                .endTime(end)
+                .durationMs(durationMs)
+                .totalScenarios(total)
+                .passedScenarios(passed)
+                .failedScenarios(failed)
+                .skippedScenarios(total - passed - failed)
+                .status(failed > 0 ? "failed" : passed == total ? "passed" : "skipped")
+                .errorMessage(errorMessage)
+                .build();
+    }
+
+    /** Scenario or background while its steps and hooks are read. */
+    private static final class Element {
+        String type;
+        String name;
+        Integer line;
+        LocalDateTime startTime;
+        String status = "passed";
+        long durationNanos;
+        String error;
+
+        void addStep(String stepStatus, long nanos, String stepError) {
+            if (stepStatus != null && STATUS_ORDER.indexOf(stepStatus) > STATUS_ORDER.indexOf(status)) {
+                status = stepStatus;
+            }
+            durationNanos += nanos;
+            if (error == null && stepError != null) {
+                error = stepError;
+            }
+        }
+
+        void add(Element background) {
+            addStep(background.status, background.durationNanos, background.error);
+        }
+
+        ScenarioResult toResult() {
+            return ScenarioResult.builder()
+                    .scenarioName(name)
+                    .line(line)
+                    .status(status)
+                    .durationMs(durationNanos / 1_000_000)
+                    .errorMessage(error != null ? error.lines().findFirst().orElse(error) : null)
+                    .stackTrace(error != null && error.length() > MAX_STACK_TRACE
+                            ? error.substring(0, MAX_STACK_TRACE) : error)
+                    .build();
+        }
+    }
+
+    private static Element parseElement(JsonParser parser) throws IOException {
+        Element element = new Element();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "type" -> element.type = parser.getValueAsString();
+                case "name" -> element.name = parser.getValueAsString();
+                case "line" -> element.line = parser.getIntValue();
+                case "start_timestamp" -> element.startTime = timestamp(parser.getValueAsString());
+                case "steps", "before", "after" -> {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        parseStep(parser, element);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return element;
+    }
+
+    /** Reads a step or hook, skipping its embeddings, doc strings and data tables. */
+    private static void parseStep(JsonParser parser, Element element) throws IOException {
+        String status = null;
+        long duration = 0;
+        String error = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("result".equals(field)) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String resultField = parser.currentName();
+                    parser.nextToken();
+                    switch (resultField) {
+                        case "status" -> status = parser.getValueAsString();
+                        case "duration" -> duration = parser.getValueAsLong();
+                        case "error_message" -> error = parser.getValueAsString();
+                        default -> parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        element.addStep(status, duration, error);
+    }
+
+    private static LocalDateTime timestamp(String value) {
+        try {
+            return value != null ? LocalDateTime.ofInstant(Instant.parse(value), ZoneId.systemDefault()) : null;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package org.example.cucumber.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Priority-aware dispatcher for queued test runs.
+ * <p>
+ * Runs wait in a pending list until one of the {@code slots} execution slots becomes free.
+ * The slot is handed to the waiting run with the highest <em>effective</em> priority:
+ * its base priority (LOW=0 … CRITICAL=3) plus one level per {@code agingInterval} spent
+ * waiting. Aging guarantees that LOW runs still progress while a flood of NORMAL runs
+ * is queued; ties are resolved FIFO.
+ * <p>
+ * A slot is held from dispatch until {@link #releaseSlot(UUID)} is called or the run's
+ * task returns, whichever happens first. Releasing is idempotent. A task that is cancelled
+ * keeps its slot until it has actually returned, so a hung run can never run next to the
+ * run that replaces it.
+ */
+@Slf4j
+public class RunScheduler {
+
+    public enum Priority {
+        LOW, NORMAL, HIGH, CRITICAL;
+
+        /** Parses a request priority; unknown or missing values fall back to NORMAL. */
+        public static Priority parse(String value) {
+            if (value == null || value.isBlank()) {
+                return NORMAL;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return NORMAL;
+            }
+        }
+    }
+
+    /** Default waiting time after which a queued run gains one priority level. */
+    public static final Duration DEFAULT_AGING_INTERVAL = Duration.ofMinutes(10);
+
+    /** Assumed slot hold time until the first runs have finished. */
+    static final Duration DEFAULT_RUN_DURATION = Duration.ofMinutes(5);
+
+    /** Weight of the latest run in the moving average of slot hold times. */
+    private static final double DURATION_SMOOTHING = 0.3;
+
+    private record QueuedRun(UUID runId, Priority priority, String group, Instant enqueuedAt, long sequence,
+                             Runnable task) {
+    }
+
+    private final int slots;
+    private final Duration agingInterval;
+    private final Clock clock;
+    private final Semaphore slotLimiter;
+    private final ExecutorService workers;
+    private final Thread dispatcher;
+
+    private final Object lock = new Object();
+    private final List<QueuedRun> pending = new ArrayList<>();
+    private final Map<UUID, Future<?>> running = new ConcurrentHashMap<>();
+    private final Map<UUID, Instant> heldSlots = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long averageRunMillis = DEFAULT_RUN_DURATION.toMillis();
+    private volatile boolean shutdown;
+
+    public RunScheduler(int slots, Duration agingInterval) {
+        this(slots, agingInterval, Clock.systemDefaultZone());
+    }
+
+    RunScheduler(int slots, Duration agingInterval, Clock clock) {
+        if (slots < 1) {
+            throw new IllegalArgumentException("slots must be >= 1");
+        }
+        this.slots = slots;
+        this.agingInterval = agingInterval;
+        this.clock = clock;
+        this.slotLimiter = new Semaphore(slots);
+        AtomicInteger workerCount = new AtomicInteger();
+        // Concurrency is bounded by the slot semaphore. A task that has released its slot early
+        // only finishes up, so twice the slots leaves a thread for the run that replaces it.
+        this.workers = Executors.newFixedThreadPool(2 * slots, r -> {
+            Thread t = new Thread(r);
+            t.setName("test-executor-" + workerCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.dispatcher = new Thread(this::dispatchLoop, "run-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /** Queues a run; the task is executed on a worker thread once a slot is assigned to it. */
+    public void submit(UUID runId, Priority priority, Runnable task) {
+        submit(runId, priority, null, clock.instant(), task);
+    }
+
+    /**
+     * Queues a run that has already been waiting since {@code enqueuedAt} (e.g. on another
+     * instance); aging counts from that time.
+     */
+    public void submit(UUID runId, Priority priority, Instant enqueuedAt, Runnable task) {
+        submit(runId, priority, null, enqueuedAt, task);
+    }
+
+    /**
+     * Queues a run in a group, e.g. its environment, whose waiting runs are counted by
+     * {@link #queuedCount(String)}. The group does not affect the dispatch order.
+     */
+    public void submit(UUID runId, Priority priority, String group, Instant enqueuedAt, Runnable task) {
+        synchronized (lock) {
+            pending.add(new QueuedRun(runId, priority, group, enqueuedAt, sequence.incrementAndGet(), task));
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Raises the priority of a waiting run, e.g. when a more urgent request is attached to it.
+     * Its waiting time (aging) and its place among runs of the same priority are kept.
+     *
+     * @return {@code true} if the run was queued with a lower priority and has been raised
+     */
+    public boolean raisePriority(UUID runId, Priority priority) {
+        synchronized (lock) {
+            for (int i = 0; i < pending.size(); i++) {
+                QueuedRun run = pending.get(i);
+                if (run.runId().equals(runId)) {
+                    if (run.priority().compareTo(priority) >= 0) {
+                        return false;
+                    }
+                    pending.set(i, new QueuedRun(runId, priority, run.group(), run.enqueuedAt(), run.sequence(),
+                            run.task()));
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /** Whether the run is waiting for a slot. */
+    public boolean isQueued(UUID runId) {
+        synchronized (lock) {
+            return pending.stream().anyMatch(run -> run.runId().equals(runId));
+        }
+    }
+
+    /**
+     * Removes a run that is still waiting for a slot.
+     *
+     * @return {@code true} if the run was queued and has been removed
+     */
+    public boolean remove(UUID runId) {
+        synchronized (lock) {
+            return pending.removeIf(run -> run.runId().equals(runId));
+        }
+    }
+
+    /** Whether the run has been dispatched and its task has not returned yet. */
+    public boolean isRunning(UUID runId) {
+        return running.containsKey(runId);
+    }
+
+    /**
+     * Interrupts a dispatched run. Last resort for runs that do not stop cooperatively; the
+     * run keeps its slot until its task has returned (or released the slot itself).
+     *
+     * @return {@code true} if the run was executing and has been interrupted
+     */
+    public boolean cancelRunning(UUID runId) {
+        Future<?> future = running.get(runId);
+        if (future == null) {
+            return false;
+        }
+        future.cancel(true);
+        return true;
+    }
+
+    /** Returns the slot held by the given run to the pool. Idempotent. */
+    public void releaseSlot(UUID runId) {
+        Instant acquiredAt = heldSlots.remove(runId);
+        if (acquiredAt == null) {
+            return;
+        }
+        long heldMillis = Duration.between(acquiredAt, clock.instant()).toMillis();
+        averageRunMillis = Math.round(averageRunMillis * (1 - DURATION_SMOOTHING) + heldMillis * DURATION_SMOOTHING);
+        slotLimiter.release();
+    }
+
+    /** 1-based position of a waiting run in current dispatch order, or 0 if it is not queued. */
+    public int positionOf(UUID runId) {
+        List<QueuedRun> ordered = orderedSnapshot();
+        for (int i = 0; i < ordered.size(); i++) {
+            if (ordered.get(i).runId().equals(runId)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Predicts when the run at the given queue position will get a slot.
+     * <p>
+     * Simulates list scheduling: every busy slot frees up after the average hold time minus
+     * its elapsed time, each run ahead in the queue then occupies the earliest free slot for
+     * one average hold time.
+     */
+    public Instant estimateStartTime(int position) {
+        Instant now = clock.instant();
+        if (position <= 0) {
+            return now;
+        }
+        long average = averageRunMillis;
+        PriorityQueue<Long> slotFreeAt = new PriorityQueue<>();
+        for (Instant acquiredAt : heldSlots.values()) {
+            long elapsed = Duration.between(acquiredAt, now).toMillis();
+            slotFreeAt.add(Math.max(0L, average - elapsed));
+        }
+        while (slotFreeAt.size() < slots) {
+            slotFreeAt.add(0L);
+        }
+        for (int ahead = 1; ahead < position; ahead++) {
+            slotFreeAt.add(slotFreeAt.poll() + average);
+        }
+        return now.plusMillis(slotFreeAt.peek());
+    }
+
+    /**
+     * 1-based position of the group's first waiting run in current dispatch order, or 0 if
+     * none of its runs is queued.
+     */
+    public int firstPositionOf(String group) {
+        List<QueuedRun> ordered = orderedSnapshot();
+        for (int i = 0; i < ordered.size(); i++) {
+            if (Objects.equals(ordered.get(i).group(), group)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    public int queuedCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /** Number of waiting runs submitted in the given group. */
+    public int queuedCount(String group) {
+        synchronized (lock) {
+            int count = 0;
+            for (QueuedRun run : pending) {
+                if (Objects.equals(run.group(), group)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    public int runningCount() {
+        return heldSlots.size();
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        dispatcher.interrupt();
+        workers.shutdownNow();
+    }
+
+    private void dispatchLoop() {
+        while (!shutdown) {
+            try {
+                // Take the slot first, then pick the run: priority is decided at the moment
+                // a slot frees up, not when the run was submitted.
+                slotLimiter.acquire();
+                QueuedRun next;
+                try {
+                    next = takeNext();
+                } catch (InterruptedException e) {
+                    slotLimiter.release();
+                    throw e;
+                }
+                dispatch(next);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RejectedExecutionException e) {
+                log.debug("Run dispatcher stopped: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private QueuedRun takeNext() throws InterruptedException {
+        synchronized (lock) {
+            while (pending.isEmpty()) {
+                lock.wait();
+            }
+            QueuedRun next = Collections.min(pending, dispatchOrder(clock.instant()));
+            pending.remove(next);
+            return next;
+        }
+    }
+
+    private void dispatch(QueuedRun run) {
+        heldSlots.put(run.runId(), clock.instant());
+        log.debug("Dispatching run {} (priority={}, waited={}s)", run.runId(), run.priority(),
+                Duration.between(run.enqueuedAt(), clock.instant()).toSeconds());
+        // Whoever flips the flag first frees the slot: the task when it returns, or done() if
+        // the task was cancelled before a worker picked it up. done() also fires right after a
+        // cancel of a task that is still executing; that task keeps its slot until it returns.
+        AtomicBoolean started = new AtomicBoolean();
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            if (!started.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                run.task().run();
+            } finally {
+                finished(run.runId());
+            }
+            return null;
+        }) {
+            @Override
+            protected void done() {
+                if (started.compareAndSet(false, true)) {
+                    finished(run.runId());
+                }
+            }
+        };
+        running.put(run.runId(), task);
+        workers.execute(task);
+    }
+
+    private void finished(UUID runId) {
+        releaseSlot(runId);
+        running.remove(runId);
+    }
+
+    private List<QueuedRun> orderedSnapshot() {
+        List<QueuedRun> snapshot;
+        synchronized (lock) {
+            snapshot = new ArrayList<>(pending);
+        }
+        snapshot.sort(dispatchOrder(clock.instant()));
+        return snapshot;
+    }
+
+    private Comparator<QueuedRun> dispatchOrder(Instant now) {
+        return Comparator.<QueuedRun>comparingDouble(run -> -effectivePriority(run, now))
+                .thenComparingLong(QueuedRun::sequence);
+    }
+
+    private double effectivePriority(QueuedRun run, Instant now) {
+        double waited = Duration.between(run.enqueuedAt(), now).toMillis();
+        return run.priority().ordinal() + waited / agingInterval.toMillis();
+    }
+}
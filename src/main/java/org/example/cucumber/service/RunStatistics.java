@@ -0,0 +1,247 @@
+package org.example.cucumber.service;
+
+import org.example.cucumber.model.TestStatistics;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Run statistics maintained incrementally from the {@link RunIndex}, so a query costs a map
+ * lookup (all time) or a sum over at most one bucket per hour (time window) instead of a pass
+ * over all statuses.
+ * <p>
+ * Every index change removes the run's previous contribution and adds the new one, to the
+ * counters of its environment and of all environments, both all-time and in the hourly bucket
+ * of the time the run was queued. Hourly buckets are kept for {@link #RETENTION}. Failed
+ * scenarios are counted per hour from the scenario results of this instance.
+ */
+public class RunStatistics implements RunIndex.Listener {
+
+    /** Hourly buckets older than this are dropped. */
+    static final Duration RETENTION = Duration.ofDays(30);
+
+    /** Number of scenarios listed in {@link TestStatistics#getMostFrequentFailures()}. */
+    static final int MOST_FREQUENT_FAILURES = 5;
+
+    /** Key of the counters over all environments. */
+    private static final String ALL = "";
+
+    private static final Set<String> FINAL_STATUSES = Set.of("COMPLETED", "FAILED", "CANCELLED", "TIMEOUT");
+
+    /** Counters of a group of runs. */
+    private static final class Counters {
+        long runs;
+        long successful;
+        long failed;
+        long cancelled;
+        long timedOut;
+        long queued;
+        long running;
+        long postProcessing;
+        long durationMillis;
+        long durations;
+        long testsExecuted;
+        long testsPassed;
+        long testsFailed;
+        long peakRunning;
+
+        /** Adds ({@code sign = 1}) or removes ({@code sign = -1}) the contribution of a run. */
+        void apply(RunIndex.Entry entry, int sign) {
+            runs += sign;
+            switch (String.valueOf(entry.status())) {
+                case "COMPLETED" -> successful += sign;
+                case "FAILED" -> failed += sign;
+                case "CANCELLED" -> cancelled += sign;
+                case "TIMEOUT" -> timedOut += sign;
+                case "QUEUED" -> queued += sign;
+                case "RUNNING", "CANCELLING" -> running += sign;
+                case "POSTPROCESSING" -> postProcessing += sign;
+                default -> {
+                    // Runs indexed from their directory only
+                }
+            }
+            if (!FINAL_STATUSES.contains(entry.status())) {
+                return;
+            }
+            if (entry.startTime() != null && entry.endTime() != null) {
+                durationMillis += sign * Duration.between(entry.startTime(), entry.endTime()).toMillis();
+                durations += sign;
+            }
+            int passed = valueOf(entry.passedTests());
+            int failedTests = valueOf(entry.failedTests());
+            testsPassed += sign * passed;
+            testsFailed += sign * failedTests;
+            testsExecuted += sign * (passed + failedTests + valueOf(entry.skippedTests()));
+        }
+
+        void add(Counters other) {
+            runs += other.runs;
+            successful += other.successful;
+            failed += other.failed;
+            cancelled += other.cancelled;
+            timedOut += other.timedOut;
+            durationMillis += other.durationMillis;
+            durations += other.durations;
+            testsExecuted += other.testsExecuted;
+            testsPassed += other.testsPassed;
+            testsFailed += other.testsFailed;
+            peakRunning = Math.max(peakRunning, other.peakRunning);
+        }
+
+        private static int valueOf(Integer value) {
+            return value != null ? value : 0;
+        }
+    }
+
+    private final Clock clock;
+    private final Map<String, Counters> allTime = new HashMap<>();
+    private final Map<String, TreeMap<LocalDateTime, Counters>> hourly = new HashMap<>();
+    private final Map<String, TreeMap<LocalDateTime, Map<String, Integer>>> failures = new HashMap<>();
+
+    public RunStatistics() {
+        this(Clock.systemDefaultZone());
+    }
+
+    RunStatistics(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized void changed(RunIndex.Entry previous, RunIndex.Entry current) {
+        if (previous != null && !Boolean.TRUE.equals(previous.deleted())) {
+            apply(previous, -1);
+        }
+        if (!Boolean.TRUE.equals(current.deleted())) {
+            apply(current, 1);
+            boolean started = (previous == null || !isRunning(previous)) && isRunning(current);
+            if (started) {
+                recordPeak(current);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void cleared() {
+        allTime.clear();
+        hourly.clear();
+        failures.clear();
+    }
+
+    /** Counts a failed scenario of a run executed on this instance. */
+    public synchronized void recordFailure(String environment, String scenarioName) {
+        LocalDateTime hour = LocalDateTime.now(clock).truncatedTo(ChronoUnit.HOURS);
+        for (String key : keys(environment)) {
+            TreeMap<LocalDateTime, Map<String, Integer>> buckets = failures.computeIfAbsent(key, k -> new TreeMap<>());
+            buckets.computeIfAbsent(hour, h -> new HashMap<>()).merge(scenarioName, 1, Integer::sum);
+            buckets.headMap(hour.minus(RETENTION)).clear();
+        }
+    }
+
+    /**
+     * Statistics of an environment.
+     *
+     * @param environment {@code null} for all environments
+     * @param window      only runs queued within this time before now; {@code null} for all
+     *                    runs (failed scenarios: within {@link #RETENTION})
+     */
+    public synchronized TestStatistics snapshot(String environment, Duration window) {
+        String key = environment != null ? environment : ALL;
+        LocalDateTime now = LocalDateTime.now(clock);
+        Counters current = allTime.getOrDefault(key, new Counters());
+        Counters counters;
+        LocalDateTime periodStart = null;
+        if (window == null) {
+            counters = current;
+        } else {
+            periodStart = now.minus(window);
+            counters = new Counters();
+            hourly.getOrDefault(key, new TreeMap<>())
+                    .tailMap(periodStart.truncatedTo(ChronoUnit.HOURS), true)
+                    .values()
+                    .forEach(counters::add);
+        }
+        long scored = counters.successful + counters.failed + counters.timedOut;
+        return TestStatistics.builder()
+                .environment(environment)
+                .periodStart(periodStart)
+                .periodEnd(now)
+                .totalRuns(counters.runs)
+                .successfulRuns(counters.successful)
+                .failedRuns(counters.failed)
+                .cancelledRuns(counters.cancelled)
+                .timedOutRuns(counters.timedOut)
+                .queuedRuns(current.queued)
+                .runningRuns(current.running)
+                .postProcessingRuns(current.postProcessing)
+                .averageDurationMinutes(counters.durations > 0
+                        ? round(counters.durationMillis / 60_000.0 / counters.durations)
+                        : null)
+                .successRate(scored > 0 ? round(counters.successful * 100.0 / scored) : 0.0)
+                .totalTestsExecuted(Math.toIntExact(counters.testsExecuted))
+                .totalTestsPassed(Math.toIntExact(counters.testsPassed))
+                .totalTestsFailed(Math.toIntExact(counters.testsFailed))
+                .mostFrequentFailures(mostFrequentFailures(key, periodStart))
+                .peakConcurrentRuns(counters.peakRunning)
+                .build();
+    }
+
+    private void apply(RunIndex.Entry entry, int sign) {
+        LocalDateTime hour = hourOf(entry);
+        LocalDateTime retained = LocalDateTime.now(clock).minus(RETENTION).truncatedTo(ChronoUnit.HOURS);
+        for (String key : keys(entry.environment())) {
+            allTime.computeIfAbsent(key, k -> new Counters()).apply(entry, sign);
+            if (hour != null && !hour.isBefore(retained)) {
+                TreeMap<LocalDateTime, Counters> buckets = hourly.computeIfAbsent(key, k -> new TreeMap<>());
+                buckets.computeIfAbsent(hour, h -> new Counters()).apply(entry, sign);
+                buckets.headMap(retained).clear();
+            }
+        }
+    }
+
+    /** Records the number of runs executing when a run starts, all-time and in the run's bucket. */
+    private void recordPeak(RunIndex.Entry entry) {
+        LocalDateTime hour = hourOf(entry);
+        for (String key : keys(entry.environment())) {
+            Counters counters = allTime.get(key);
+            counters.peakRunning = Math.max(counters.peakRunning, counters.running);
+            Counters bucket = hour != null ? hourly.getOrDefault(key, new TreeMap<>()).get(hour) : null;
+            if (bucket != null) {
+                bucket.peakRunning = Math.max(bucket.peakRunning, counters.running);
+            }
+        }
+    }
+
+    private List<String> mostFrequentFailures(String key, LocalDateTime periodStart) {
+        Map<String, Integer> counts = new HashMap<>();
+        TreeMap<LocalDateTime, Map<String, Integer>> buckets = failures.getOrDefault(key, new TreeMap<>());
+        (periodStart != null ? buckets.tailMap(periodStart.truncatedTo(ChronoUnit.HOURS), true) : buckets)
+                .values()
+                .forEach(bucket -> bucket.forEach((name, count) -> counts.merge(name, count, Integer::sum)));
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(MOST_FREQUENT_FAILURES)
+                .map(entry -> entry.getKey() + " (" + entry.getValue() + ")")
+                .toList();
+    }
+
+    /** Hour the run was queued (or started, for runs indexed from their directory). */
+    private static LocalDateTime hourOf(RunIndex.Entry entry) {
+        LocalDateTime time = entry.queuedAt() != null ? entry.queuedAt() : entry.startTime();
+        return time != null ? time.truncatedTo(ChronoUnit.HOURS) : null;
+    }
+
+    private static boolean isRunning(RunIndex.Entry entry) {
+        return "RUNNING".equals(entry.status()) || "CANCELLING".equals(entry.status());
+    }
+
+    private static List<String> keys(String environment) {
+        return environment != null && !environment.equals(ALL) ? List.of(environment, ALL) : List.of(ALL);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
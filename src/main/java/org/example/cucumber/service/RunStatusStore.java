@@ -0,0 +1,186 @@
+package org.example.cucumber.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cucumber.model.TestStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Statuses of the runs known to this instance, with bounded heap use.
+ * <p>
+ * Queued, running and recently finished runs are kept in memory. {@link #evict()} moves
+ * finished runs out of memory once more than {@code maxInMemory} statuses are held (oldest
+ * first) or once they finished longer than {@code ttl} ago. An evicted status is written to
+ * {@value #STATUS_FILE} in the run's results directory and read back from there by
+ * {@link #load(UUID)}; deleting the run's directory deletes it as well.
+ * <p>
+ * Runs are never evicted within {@link #MIN_AGE} of finishing, so the cluster sync and event
+ * streams still see their final status in memory.
+ */
+@Slf4j
+public class RunStatusStore {
+
+    public static final String STATUS_FILE = "status.json";
+
+    /** Finished runs younger than this stay in memory regardless of the limits. */
+    static final Duration MIN_AGE = Duration.ofMinutes(1);
+
+    private static final Set<String> FINAL_STATUSES = Set.of("COMPLETED", "FAILED", "CANCELLED", "TIMEOUT");
+
+    private final Map<UUID, TestStatus> statuses = new ConcurrentHashMap<>();
+    private final Function<UUID, Path> runDirectory;
+    private final Clock clock;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private volatile int maxInMemory;
+    private volatile Duration ttl;
+
+    /**
+     * @param runDirectory results directory of a run
+     * @param maxInMemory  statuses kept in memory before finished runs are evicted
+     * @param ttl          time after which finished runs are evicted
+     */
+    public RunStatusStore(Function<UUID, Path> runDirectory, int maxInMemory, Duration ttl) {
+        this(runDirectory, maxInMemory, ttl, Clock.systemDefaultZone());
+    }
+
+    RunStatusStore(Function<UUID, Path> runDirectory, int maxInMemory, Duration ttl, Clock clock) {
+        this.runDirectory = runDirectory;
+        this.maxInMemory = maxInMemory;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public void setMaxInMemory(int maxInMemory) {
+        this.maxInMemory = maxInMemory;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    /** Status held in memory, {@code null} if unknown or evicted. */
+    public TestStatus get(UUID runId) {
+        return statuses.get(runId);
+    }
+
+    public boolean containsKey(UUID runId) {
+        return statuses.containsKey(runId);
+    }
+
+    public void put(UUID runId, TestStatus status) {
+        statuses.put(runId, status);
+    }
+
+    public TestStatus putIfAbsent(UUID runId, TestStatus status) {
+        return statuses.putIfAbsent(runId, status);
+    }
+
+    /** Removes the status from memory; an evicted status is removed with the run's directory. */
+    public void remove(UUID runId) {
+        statuses.remove(runId);
+    }
+
+    /** Statuses held in memory, i.e. all active runs and the recently finished ones. */
+    public Collection<TestStatus> values() {
+        return statuses.values();
+    }
+
+    public void forEach(BiConsumer<UUID, TestStatus> action) {
+        statuses.forEach(action);
+    }
+
+    /** Status of an evicted run, read from its results directory. */
+    public Optional<TestStatus> load(UUID runId) {
+        Path file = runDirectory.apply(runId).resolve(STATUS_FILE);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), TestStatus.class));
+        } catch (IOException e) {
+            log.warn("Could not read status history of runId={}: {}", runId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Rewrites the history file of a status that was changed after it had been evicted, e.g.
+     * by post-processing that finishes after a timed out run. Call with the status locked.
+     */
+    public void saveIfEvicted(TestStatus status) {
+        if (!statuses.containsKey(status.getRunId())) {
+            write(status);
+        }
+    }
+
+    /**
+     * Moves finished runs over the count limit or past the TTL out of memory.
+     *
+     * @return number of evicted statuses
+     */
+    public int evict() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime expired = now.minus(ttl);
+        LocalDateTime settled = now.minus(MIN_AGE);
+        List<TestStatus> finished = statuses.values().stream()
+                .filter(status -> FINAL_STATUSES.contains(status.getStatus()))
+                .sorted(Comparator.comparing(RunStatusStore::finishedAt))
+                .toList();
+        int excess = statuses.size() - maxInMemory;
+        int evicted = 0;
+        for (TestStatus status : finished) {
+            LocalDateTime finishedAt = finishedAt(status);
+            if (!finishedAt.isBefore(settled) || (evicted >= excess && !finishedAt.isBefore(expired))) {
+                // Sorted oldest first: all following runs are younger
+                break;
+            }
+            synchronized (status) {
+                if (write(status)) {
+                    statuses.remove(status.getRunId(), status);
+                    evicted++;
+                }
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} finished run status(es), {} kept in memory", evicted, statuses.size());
+        }
+        return evicted;
+    }
+
+    private static LocalDateTime finishedAt(TestStatus status) {
+        return status.getEndTime() != null ? status.getEndTime() : LocalDateTime.MIN;
+    }
+
+    private boolean write(TestStatus status) {
+        Path directory = runDirectory.apply(status.getRunId());
+        Path file = directory.resolve(STATUS_FILE);
+        Path tmp = directory.resolve("." + STATUS_FILE + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            objectMapper.writeValue(tmp.toFile(), status);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            // Kept in memory; retried on the next eviction
+            log.warn("Could not write status history of runId={}: {}", status.getRunId(), e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.cucumber.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.cucumber.context.RunControl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers of the run lifecycle on a single watchdog thread: the per-run deadline, the grace
+ * period of a stopped run and periodic housekeeping. Also remembers when the cancellation
+ * of a run was requested, to report how long the run took to stop.
+ * <p>
+ * What happens on a timeout or a cancellation is decided by {@link TestExecutionService};
+ * this class only interrupts a stopped run that has not returned within {@link #CANCEL_GRACE}.
+ */
+@Slf4j
+class RunWatchdog {
+
+    /** Time a stopped run gets to return cooperatively before its thread is interrupted. */
+    static final Duration CANCEL_GRACE = Duration.ofSeconds(60);
+
+    private final RunScheduler runScheduler;
+    private final ScheduledExecutorService executor;
+    /** When cancellation of a still running run was requested. */
+    private final Map<UUID, Instant> cancelRequests = new ConcurrentHashMap<>();
+
+    RunWatchdog(RunScheduler runScheduler) {
+        this.runScheduler = runScheduler;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "run-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Calls {@code onTimeout} once the run has been running for the given minutes. */
+    ScheduledFuture<?> scheduleTimeout(int minutes, Runnable onTimeout) {
+        return executor.schedule(onTimeout, minutes, TimeUnit.MINUTES);
+    }
+
+    /** Calls {@code action} once the run had {@link #CANCEL_GRACE} to stop. */
+    void afterGrace(Runnable action) {
+        executor.schedule(action, CANCEL_GRACE.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void every(Duration interval, Runnable action) {
+        executor.scheduleWithFixedDelay(action, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Interrupts a stopped run whose thread has not returned after {@link #CANCEL_GRACE}. Its
+     * slot stays held until it does.
+     */
+    void interruptAfterGrace(UUID runId) {
+        afterGrace(() -> {
+            if (runScheduler.isRunning(runId)) {
+                log.warn("Run still executing {}s after it was stopped, interrupting it: runId={}",
+                        CANCEL_GRACE.toSeconds(), runId);
+                RunControl.forRun(runId.toString()).ifPresent(RunControl::closeResources);
+                runScheduler.cancelRunning(runId);
+            }
+        });
+    }
+
+    void cancelRequested(UUID runId) {
+        cancelRequests.put(runId, Instant.now());
+    }
+
+    /**
+     * Forgets the cancel request of a run that has stopped.
+     *
+     * @return time from the request until now; empty if no cancellation was requested
+     */
+    Optional<Duration> cancelCompleted(UUID runId) {
+        return Optional.ofNullable(cancelRequests.remove(runId))
+                .map(requestedAt -> Duration.between(requestedAt, Instant.now()));
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,346 @@
+package org.example.cucumber.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cucumber.model.TestStatus;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * POSTs the lifecycle events of runs to the {@code webhookUrl} of their request.
+ * <p>
+ * A run can have several webhooks, one per distinct URL, e.g. when further requests are
+ * coalesced into it. Each webhook receives the events from its registration on.
+ * <p>
+ * Events: {@value #QUEUED}, {@value #STARTED}, {@value #PROGRESS}, {@value #REPORT_READY} and
+ * {@value #FINISHED}. Each body is a JSON object with {@code event}, {@code runId},
+ * {@code timestamp} and the run's {@code status} (or {@code reportUrls}), serialized when the
+ * event happens. Progress events are coalesced: at most one per run and
+ * {@code progressInterval}, carrying the latest progress.
+ * <p>
+ * Deliveries of a run are sent in order, one at a time, on a single sender thread with
+ * asynchronous HTTP, so neither the run nor other webhooks wait for a slow receiver. Network
+ * errors, 408, 429 and 5xx are retried with exponential backoff up to {@code maxAttempts};
+ * other responses are final. Every delivery carries a {@value #DELIVERY_HEADER} ID that stays
+ * the same across retries, and, if a secret is configured, an HMAC-SHA256 signature of
+ * {@code <timestamp>.<body>} in {@value #SIGNATURE_HEADER} ({@code sha256=<hex>}) with the
+ * timestamp in {@value #TIMESTAMP_HEADER}.
+ */
+@Slf4j
+public class RunWebhookNotifier {
+
+    public static final String QUEUED = "run.queued";
+    public static final String STARTED = "run.started";
+    public static final String PROGRESS = "run.progress";
+    public static final String REPORT_READY = "run.report-ready";
+    public static final String FINISHED = "run.finished";
+
+    public static final String EVENT_HEADER = "X-Webhook-Event";
+    public static final String DELIVERY_HEADER = "X-Webhook-Delivery";
+    public static final String TIMESTAMP_HEADER = "X-Webhook-Timestamp";
+    public static final String SIGNATURE_HEADER = "X-Webhook-Signature";
+
+    static final int DEFAULT_MAX_ATTEMPTS = 5;
+    static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(2);
+    static final Duration DEFAULT_PROGRESS_INTERVAL = Duration.ofSeconds(10);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(2);
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final Set<String> FINAL_STATUSES = Set.of("COMPLETED", "FAILED", "CANCELLED", "TIMEOUT");
+
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService sender;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final Map<UUID, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private volatile SecretKeySpec secret;
+    private volatile int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private volatile Duration initialBackoff = DEFAULT_INITIAL_BACKOFF;
+    private volatile Duration progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
+    private record Delivery(String id, String event, String body) {
+    }
+
+    /**
+     * Webhook of a run. Its mutable fields ({@code pending}, {@code sending}, {@code progress}
+     * and the flags) are confined to the single sender thread: they are only read and written
+     * by tasks passed to {@link #submit} or {@code sender.schedule}, and HttpClient completion
+     * callbacks hand over to the sender via {@code submit} as well. Code running on any other
+     * thread must do the same and never touch these fields directly.
+     */
+    private static final class Subscription {
+        private final UUID runId;
+        private final URI uri;
+        private final Deque<Delivery> pending = new ArrayDeque<>();
+        private boolean sending;
+        /** Latest progress not yet queued for delivery. */
+        private String progress;
+        private boolean progressScheduled;
+        private boolean finished;
+
+        private Subscription(UUID runId, URI uri) {
+            this.runId = runId;
+            this.uri = uri;
+        }
+    }
+
+    public RunWebhookNotifier() {
+        this(HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).build());
+    }
+
+    RunWebhookNotifier(HttpClient httpClient) {
+        this.httpClient = httpClient;
+        this.sender = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "run-webhooks");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Key for the HMAC signature; blank sends unsigned deliveries. */
+    public void setSecret(String secret) {
+        this.secret = secret != null && !secret.isBlank()
+                ? new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256")
+                : null;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public void setProgressInterval(Duration progressInterval) {
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Sends the events of a run to a webhook, in addition to webhooks registered before.
+     * Ignored if the run already has a webhook with the same URL or the URL is not an
+     * absolute http(s) URL.
+     */
+    public void register(UUID runId, String webhookUrl) {
+        if (webhookUrl == null || webhookUrl.isBlank()) {
+            return;
+        }
+        URI uri;
+        try {
+            uri = URI.create(webhookUrl.trim());
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalid webhook URL for runId={}: {}", runId, e.getMessage());
+            return;
+        }
+        if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+            log.warn("Ignoring webhook URL without http(s) scheme for runId={}", runId);
+            return;
+        }
+        subscriptions.compute(runId, (id, list) -> {
+            List<Subscription> updated = list != null ? list : new CopyOnWriteArrayList<>();
+            if (updated.stream().noneMatch(subscription -> subscription.uri.equals(uri))) {
+                updated.add(new Subscription(runId, uri));
+            }
+            return updated;
+        });
+    }
+
+    /** Stops sending events of a run to all of its webhooks, e.g. because another instance executes it. */
+    public void unregister(UUID runId) {
+        subscriptions.remove(runId);
+    }
+
+    /**
+     * Run listener of the service. Called while the run's status may be locked: the body is
+     * serialized here and everything else happens on the sender thread.
+     */
+    public void onRunEvent(RunEvent event) {
+        List<Subscription> runSubscriptions = subscriptions.get(event.runId());
+        if (runSubscriptions == null || runSubscriptions.isEmpty()) {
+            return;
+        }
+        if (RunEvent.REPORT.equals(event.type())) {
+            String body = body(REPORT_READY, event.runId(), "reportUrls", event.data());
+            for (Subscription subscription : runSubscriptions) {
+                submit(() -> enqueue(subscription, new Delivery(UUID.randomUUID().toString(), REPORT_READY, body)));
+            }
+        } else if (event.data() instanceof TestStatus status) {
+            String name = RunEvent.PROGRESS.equals(event.type()) ? PROGRESS : lifecycleEvent(status.getStatus());
+            if (name == null) {
+                return;
+            }
+            String body = body(name, event.runId(), "status", status);
+            for (Subscription subscription : runSubscriptions) {
+                if (PROGRESS.equals(name)) {
+                    submit(() -> offerProgress(subscription, body));
+                } else {
+                    boolean finished = FINISHED.equals(name);
+                    submit(() -> {
+                        // The lifecycle event carries the complete status, newer than any pending progress
+                        subscription.progress = null;
+                        subscription.pending.removeIf(delivery -> PROGRESS.equals(delivery.event()));
+                        enqueue(subscription, new Delivery(UUID.randomUUID().toString(), name, body));
+                        subscription.finished |= finished;
+                    });
+                }
+            }
+        }
+    }
+
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private static String lifecycleEvent(String status) {
+        if ("QUEUED".equals(status)) {
+            return QUEUED;
+        }
+        if ("RUNNING".equals(status)) {
+            return STARTED;
+        }
+        return FINAL_STATUSES.contains(status) ? FINISHED : null;
+    }
+
+    private void offerProgress(Subscription subscription, String body) {
+        if (subscription.finished) {
+            return;
+        }
+        subscription.progress = body;
+        if (!subscription.progressScheduled) {
+            subscription.progressScheduled = true;
+            sender.schedule(() -> flushProgress(subscription), progressInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushProgress(Subscription subscription) {
+        subscription.progressScheduled = false;
+        if (subscription.progress != null) {
+            String body = subscription.progress;
+            subscription.progress = null;
+            // A progress delivery still waiting behind a retry is replaced, not followed
+            subscription.pending.removeIf(delivery -> PROGRESS.equals(delivery.event()));
+            enqueue(subscription, new Delivery(UUID.randomUUID().toString(), PROGRESS, body));
+        }
+    }
+
+    private void enqueue(Subscription subscription, Delivery delivery) {
+        subscription.pending.add(delivery);
+        if (!subscription.sending) {
+            sendNext(subscription);
+        }
+    }
+
+    private void sendNext(Subscription subscription) {
+        Delivery delivery = subscription.pending.poll();
+        if (delivery == null) {
+            subscription.sending = false;
+            if (subscription.finished) {
+                subscriptions.computeIfPresent(subscription.runId, (id, list) -> {
+                    list.remove(subscription);
+                    return list.isEmpty() ? null : list;
+                });
+            }
+            return;
+        }
+        subscription.sending = true;
+        attempt(subscription, delivery, 1);
+    }
+
+    private void attempt(Subscription subscription, Delivery delivery, int attempt) {
+        HttpRequest request;
+        try {
+            request = request(subscription.uri, delivery);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            log.warn("Cannot send webhook for runId={}: {}", subscription.runId, e.getMessage());
+            sendNext(subscription);
+            return;
+        }
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> submit(() ->
+                        completed(subscription, delivery, attempt, response != null ? response.statusCode() : -1, error)));
+    }
+
+    private void completed(Subscription subscription, Delivery delivery, int attempt, int statusCode, Throwable error) {
+        if (error == null && statusCode >= 200 && statusCode < 300) {
+            log.debug("Webhook delivered: runId={}, event={}, attempt={}", subscription.runId, delivery.event(), attempt);
+            sendNext(subscription);
+            return;
+        }
+        String reason = error != null ? String.valueOf(error.getMessage()) : "HTTP " + statusCode;
+        boolean retryable = error != null || statusCode == 408 || statusCode == 429 || statusCode >= 500;
+        if (retryable && attempt < maxAttempts) {
+            long delay = Math.min(initialBackoff.toMillis() << Math.min(attempt - 1, 16), MAX_BACKOFF.toMillis());
+            log.debug("Webhook delivery failed ({}), retrying in {} ms: runId={}, event={}",
+                    reason, delay, subscription.runId, delivery.event());
+            sender.schedule(() -> attempt(subscription, delivery, attempt + 1), delay, TimeUnit.MILLISECONDS);
+            return;
+        }
+        log.warn("Webhook delivery failed after {} attempt(s) ({}): runId={}, event={}",
+                attempt, reason, subscription.runId, delivery.event());
+        sendNext(subscription);
+    }
+
+    private HttpRequest request(URI uri, Delivery delivery) throws GeneralSecurityException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header(EVENT_HEADER, delivery.event())
+                .header(DELIVERY_HEADER, delivery.id())
+                .POST(HttpRequest.BodyPublishers.ofString(delivery.body(), StandardCharsets.UTF_8));
+        SecretKeySpec key = secret;
+        if (key != null) {
+            // Signed per attempt, so the timestamp tells receivers how old a retried delivery is
+            String timestamp = String.valueOf(Instant.now().getEpochSecond());
+            builder.header(TIMESTAMP_HEADER, timestamp)
+                    .header(SIGNATURE_HEADER, "sha256=" + sign(key, timestamp + "." + delivery.body()));
+        }
+        return builder.build();
+    }
+
+    static String sign(SecretKeySpec key, String content) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(key);
+        return HexFormat.of().formatHex(mac.doFinal(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String body(String event, UUID runId, String field, Object data) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("event", event);
+        body.put("runId", runId);
+        body.put("timestamp", Instant.now());
+        body.put(field, data);
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize webhook event " + event, e);
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            sender.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+}
@@ -1,20 +1,46 @@
 package org.example.cucumber.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.qameta.allure.ConfigurationBuilder;
 import io.qameta.allure.ReportGenerator;
 import org.example.CucumberRunnerService;
+import org.example.cucumber.cluster.RunCoordinator;
+import org.example.cucumber.context.RunConfig;
+import org.example.cucumber.context.RunControl;
+import org.example.cucumber.context.RunProgress;
 import org.example.cucumber.context.TestContext;
+import org.example.cucumber.feature.FeatureIndex;
+import org.example.cucumber.feature.FeatureIndex.FeatureScenario;
+import org.example.cucumber.feature.ScenarioDurations;
+import org.example.cucumber.model.BatchExecutionRequest;
+import org.example.cucumber.model.BatchExecutionResponse;
+import org.example.cucumber.model.BatchStatus;
+import org.example.cucumber.model.FeatureResult;
+import org.example.cucumber.model.RunPage;
+import org.example.cucumber.model.RunSummary;
+import org.example.cucumber.model.ScenarioResult;
 import org.example.cucumber.model.TestExecutionRequest;
 import org.example.cucumber.model.TestExecutionResponse;
+import org.example.cucumber.model.TestStatistics;
 import org.example.cucumber.model.TestStatus;
+import org.example.cucumber.reuse.ScenarioReuse;
+import org.example.cucumber.worker.RunWorkerPool;
+import org.example.hooks.AxeReportHook;
 import org.example.integration.zephyr.ZephyrScaleService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -22,56 +48,311 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @Service
 public class TestExecutionService {
 
     private static final int MAX_CONCURRENT_RUNS = 5;
+    private static final int DEFAULT_TIMEOUT_MINUTES = 30;
+    private static final int POST_PROCESSING_THREADS = 4;
+    private static final Duration CLUSTER_SYNC_INTERVAL = Duration.ofSeconds(2);
+    private static final Duration CLUSTER_PRUNE_INTERVAL = Duration.ofMinutes(10);
+    private static final int DEFAULT_STATUS_MAX_IN_MEMORY = 500;
+    private static final Duration DEFAULT_STATUS_TTL = Duration.ofHours(1);
+    private static final Duration STATUS_EVICTION_INTERVAL = Duration.ofMinutes(1);
+    static final Set<String> ACTIVE_STATUSES = Set.of("QUEUED", "RUNNING", "CANCELLING", "POSTPROCESSING");
 
     private final CucumberRunnerService cucumberRunnerService;
     private final ZephyrScaleService zephyrScaleService;
-    private final ExecutorService executor;
-    private final Map<UUID, TestStatus> statusMap = new ConcurrentHashMap<>();
-    private final Map<UUID, Future<?>> runningFutures = new ConcurrentHashMap<>();
-    private final Semaphore concurrencyLimiter = new Semaphore(MAX_CONCURRENT_RUNS);
+    /** Executes runs in isolated worker JVMs; {@code null} runs them inside the service JVM. */
+    private final RunWorkerPool workerPool;
+    /** Shares queue and statuses with other instances; {@code null} in single-instance mode. */
+    private final RunCoordinator coordinator;
+    /** Runs claimed by this instance with the JSON of their last published status. */
+    private final Map<UUID, String> ownedRuns = new ConcurrentHashMap<>();
+    /** Serializes statuses to detect changes since their last publication. */
+    private final ObjectMapper clusterMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private volatile Duration heartbeatTimeout = Duration.ofSeconds(60);
+    private volatile Duration clusterRetention = Duration.ofHours(24);
+    /** Only accessed by the cluster sync thread. */
+    private Instant lastPrune = Instant.MIN;
+    private final RunScheduler runScheduler;
+    /** Run deadlines, grace periods of stopped runs and cancel request times. */
+    private final RunWatchdog watchdog;
+    /** Report generation and uploads after Cucumber has finished; does not hold a run slot. */
+    private final ExecutorService postProcessor;
+    private final ScheduledExecutorService clusterSync;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    /** Active and recent statuses in memory, older finished ones in the run's results directory. */
+    private final RunStatusStore statusStore;
+    /** Summaries of all runs on the results volume and the statistics aggregated from them. */
+    private final RunIndexRecorder indexRecorder;
+    private final Object queueLock = new Object();
+    /** Queue limits and coalescing; its coalescing registry is guarded by {@link #queueLock}. */
+    private final RunAdmission admission;
+    private final List<Consumer<RunEvent>> runListeners = new CopyOnWriteArrayList<>();
+    /** Sends run events to the webhook of the run's request. */
+    private final RunWebhookNotifier webhooks = new RunWebhookNotifier();
+    private final RunBatches batches;
 
     public TestExecutionService(CucumberRunnerService cucumberRunnerService,
                                 ZephyrScaleService zephyrScaleService) {
+        this(cucumberRunnerService, zephyrScaleService, Optional.empty());
+    }
+
+    public TestExecutionService(CucumberRunnerService cucumberRunnerService,
+                                ZephyrScaleService zephyrScaleService,
+                                Optional<RunWorkerPool> workerPool) {
+        this(cucumberRunnerService, zephyrScaleService, workerPool, Optional.empty());
+    }
+
+    @Autowired
+    public TestExecutionService(CucumberRunnerService cucumberRunnerService,
+                                ZephyrScaleService zephyrScaleService,
+                                Optional<RunWorkerPool> workerPool,
+                                Optional<RunCoordinator> coordinator) {
         this.cucumberRunnerService = cucumberRunnerService;
         this.zephyrScaleService = zephyrScaleService;
-        this.executor = Executors.newFixedThreadPool(MAX_CONCURRENT_RUNS, r -> {
-            Thread t = new Thread(r);
-            t.setName("test-executor-" + t.getId());
+        this.workerPool = workerPool.orElse(null);
+        this.coordinator = coordinator.orElse(null);
+        this.runScheduler = new RunScheduler(MAX_CONCURRENT_RUNS, RunScheduler.DEFAULT_AGING_INTERVAL);
+        this.statusStore = new RunStatusStore(this::getResultsPath, DEFAULT_STATUS_MAX_IN_MEMORY, DEFAULT_STATUS_TTL);
+        this.watchdog = new RunWatchdog(runScheduler);
+        this.indexRecorder = new RunIndexRecorder(this::getBaseResultsPath);
+        this.admission = new RunAdmission(runScheduler, statusStore);
+        this.batches = new RunBatches(this::getBaseResultsPath);
+        addRunListener(webhooks::onRunEvent);
+        watchdog.every(STATUS_EVICTION_INTERVAL, this::evictStatuses);
+        AtomicInteger postProcessorCount = new AtomicInteger();
+        this.postProcessor = Executors.newFixedThreadPool(POST_PROCESSING_THREADS, r -> {
+            Thread t = new Thread(r, "post-processor-" + postProcessorCount.incrementAndGet());
             t.setDaemon(true);
             return t;
         });
+        // Parse the feature files and load the run index at startup rather than on the first request
+        postProcessor.execute(() -> {
+            try {
+                FeatureIndex.current();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not index feature files: {}", e.getMessage());
+            }
+        });
+        indexRecorder.onWriter(this::recoverRunIndex);
+        if (this.coordinator != null) {
+            this.clusterSync = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "cluster-sync");
+                t.setDaemon(true);
+                return t;
+            });
+            clusterSync.scheduleWithFixedDelay(this::syncCluster, CLUSTER_SYNC_INTERVAL.toMillis(),
+                    CLUSTER_SYNC_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.clusterSync = null;
+        }
+    }
+
+    /** Maximum number of queued (not yet running) runs per environment; {@code <= 0} = unlimited. */
+    @Value("${test.execution.queue.default-limit:" + RunAdmission.DEFAULT_QUEUE_LIMIT + "}")
+    public void setDefaultQueueLimit(int limit) {
+        admission.setDefaultQueueLimit(limit);
+    }
+
+    /** Number of run statuses kept in memory before finished runs are moved to disk. */
+    @Value("${test.execution.status.max-in-memory:" + DEFAULT_STATUS_MAX_IN_MEMORY + "}")
+    public void setStatusMaxInMemory(int maxInMemory) {
+        statusStore.setMaxInMemory(maxInMemory);
+    }
+
+    /** Minutes after which finished runs are moved to disk regardless of their number. */
+    @Value("${test.execution.status.ttl-minutes:60}")
+    public void setStatusTtlMinutes(long ttlMinutes) {
+        statusStore.setTtl(Duration.ofMinutes(ttlMinutes));
+    }
+
+    /** Key for the HMAC signature of webhook deliveries; empty sends them unsigned. */
+    @Value("${test.execution.webhook.secret:}")
+    public void setWebhookSecret(String secret) {
+        webhooks.setSecret(secret);
+    }
+
+    /** Attempts per webhook delivery, including the first. */
+    @Value("${test.execution.webhook.max-attempts:" + RunWebhookNotifier.DEFAULT_MAX_ATTEMPTS + "}")
+    public void setWebhookMaxAttempts(int maxAttempts) {
+        webhooks.setMaxAttempts(maxAttempts);
     }
 
+    /** Minimum seconds between two progress deliveries of a run. */
+    @Value("${test.execution.webhook.progress-interval-seconds:10}")
+    public void setWebhookProgressIntervalSeconds(long seconds) {
+        webhooks.setProgressInterval(Duration.ofSeconds(seconds));
+    }
+
+    /** Seconds without heartbeat after which another instance takes over an instance's runs. */
+    @Value("${test.execution.cluster.heartbeat-timeout-seconds:60}")
+    public void setHeartbeatTimeoutSeconds(long seconds) {
+        this.heartbeatTimeout = Duration.ofSeconds(seconds);
+    }
+
+    /** Hours after which the shared state of finished runs is removed from the cluster directory. */
+    @Value("${test.execution.cluster.retention-hours:24}")
+    public void setClusterRetentionHours(long hours) {
+        this.clusterRetention = Duration.ofHours(hours);
+    }
+
+    /** Per-environment queue limits overriding the default, e.g. {@code staging=10,prod=5}. */
+    @Value("${test.execution.queue.limits:}")
+    public void setQueueLimits(String limits) {
+        admission.setQueueLimits(limits);
+    }
+
+    /**
+     * Queues a run.
+     * <p>
+     * If an equivalent run (see {@link RunAdmission#coalesceKey}) is still queued or has only just started,
+     * the request is attached to it instead and the response carries that run's id.
+     * A request with {@code shards > 1} is split into several runs, see {@link #queueShards}.
+     *
+     * @throws QueueFullException if the environment's queue limit is reached
+     */
     public TestExecutionResponse queueTestExecution(TestExecutionRequest request) {
-        UUID runId = UUID.randomUUID();
+        PreparedRun run = prepare(request);
+        synchronized (queueLock) {
+            return enqueue(run);
+        }
+    }
+
+    /**
+     * A request with everything that reads the feature files or the results volume already
+     * computed, so that queuing it under {@link #queueLock} only checks capacity and submits.
+     *
+     * @param coalesceKey {@code null} if the request must not be attached to an equivalent run
+     * @param shards      requests of the shards; empty if the request runs as a single run
+     */
+    private record PreparedRun(TestExecutionRequest request, String tagsExpression, String coalesceKey,
+                               int expectedScenarios, List<PreparedShard> shards) {
+
+        int runs() {
+            return shards.isEmpty() ? 1 : shards.size();
+        }
+    }
+
+    private record PreparedShard(TestExecutionRequest request, int expectedScenarios) {
+    }
+
+    /** Computes tags, coalesce key, shards and expected scenarios of a request without holding a lock. */
+    private PreparedRun prepare(TestExecutionRequest request) {
         String tagsExpression = buildTagsExpression(request.getTags());
+        if (request.getShards() != null && request.getShards() > 1
+                && (request.getFeatures() == null || request.getFeatures().isEmpty())) {
+            // The number of shards is known only after the selection, but a full queue rejects even one
+            admission.rejectIfQueueFull(request.getEnvironment());
+            return prepareShards(request, tagsExpression);
+        }
+        // Across instances the run may be executed elsewhere, where an attached webhook is unknown
+        boolean coalesce = !Boolean.FALSE.equals(request.getCoalesce())
+                && !(coordinator != null && request.getWebhookUrl() != null && !request.getWebhookUrl().isBlank());
+        String coalesceKey = coalesce ? RunAdmission.coalesceKey(request, tagsExpression) : null;
+        if (coalesceKey == null) {
+            // Before anything is computed for the run, so a full queue rejects cheaply; checked again when queuing
+            admission.rejectIfQueueFull(request.getEnvironment());
+        }
+        String features = request.getFeatures() != null ? String.join(",", request.getFeatures()) : null;
+        int expectedScenarios = expectedScenarios(tagsExpression, features);
+        if (expectedScenarios == 0) {
+            log.warn("No scenario matches tags={} features={}", tagsExpression, features);
+        }
+        return new PreparedRun(request, tagsExpression, coalesceKey, expectedScenarios, List.of());
+    }
+
+    /**
+     * Splits the selected scenarios into shards of similar expected duration (longest first
+     * into the shard with the least work, based on earlier runs). Every shard is restricted to
+     * its scenarios and queued as a run of its own, see {@link #queueShards}.
+     */
+    private PreparedRun prepareShards(TestExecutionRequest request, String tagsExpression) {
+        List<FeatureScenario> scenarios;
+        try {
+            scenarios = FeatureIndex.current().select(tagsExpression);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read feature files", e);
+        }
+        List<List<FeatureScenario>> split = ScenarioDurations.load(getBaseResultsPath())
+                .shards(scenarios, request.getShards());
+        if (split.size() <= 1) {
+            // Nothing to split: a single run with the request's own tags
+            return new PreparedRun(request, tagsExpression, null, scenarios.size(), List.of());
+        }
+        List<PreparedShard> shards = new ArrayList<>();
+        for (List<FeatureScenario> shard : split) {
+            TestExecutionRequest shardRequest = objectMapper.convertValue(request, TestExecutionRequest.class);
+            shardRequest.setShards(null);
+            shardRequest.setFeatures(shard.stream().map(FeatureScenario::id).toList());
+            shards.add(new PreparedShard(shardRequest, shard.size()));
+        }
+        return new PreparedRun(request, tagsExpression, null, scenarios.size(), List.copyOf(shards));
+    }
+
+    /** Attaches a prepared request to an equivalent run or queues its runs; the caller holds {@link #queueLock}. */
+    private TestExecutionResponse enqueue(PreparedRun run) {
+        TestStatus equivalent = admission.findCoalescableRun(run.coalesceKey());
+        if (equivalent != null) {
+            return attachToRun(equivalent, run.request(), run.tagsExpression());
+        }
+        admission.rejectIfQueueFull(run.request().getEnvironment(), run.runs());
+        if (run.shards().isEmpty()) {
+            return queueNewRun(run.request(), run.tagsExpression(), run.expectedScenarios(), run.coalesceKey());
+        }
+        return queueShards(run);
+    }
+
+    private TestExecutionResponse queueNewRun(TestExecutionRequest request, String tagsExpression,
+                                              int expectedScenarios, String coalesceKey) {
+        UUID runId = UUID.randomUUID();
         String features = request.getFeatures() != null
                 ? String.join(",", request.getFeatures())
                 : null;
+        RunScheduler.Priority priority = RunScheduler.Priority.parse(request.getPriority());
 
         // Initial status: QUEUED
         TestStatus status = TestStatus.builder()
                 .runId(runId)
                 .status("QUEUED")
                 .environment(request.getEnvironment())
+                .priority(priority.name())
                 .progress(0)
+                .totalTests(expectedScenarios)
                 .build();
-        statusMap.put(runId, status);
+        statusStore.put(runId, status);
+        indexRun(status, tagsExpression, request.getInitiator(), LocalDateTime.now());
+        admission.registerCoalescable(coalesceKey, runId);
+
+        if (coordinator != null) {
+            // Published before the local submit, so the dispatched task finds the run to claim;
+            // status first, so other instances can answer for the run as soon as they see it
+            publishStatus(status);
+            coordinator.publish(new RunCoordinator.ClusterRun(runId, request, priority.name(), Instant.now(),
+                    coordinator.instanceId()));
+        }
+
+        // Before the submit, so the queued event precedes the run's start
+        webhooks.register(runId, request.getWebhookUrl());
+        fireRunEvent(new RunEvent(runId, RunEvent.STATUS, status));
 
-        // Submit async execution
-        Future<?> future = executor.submit(() -> executeTest(runId, tagsExpression, features, request));
-        runningFutures.put(runId, future);
+        // Submit async execution; the scheduler dispatches by priority once a slot is free
+        runScheduler.submit(runId, priority, request.getEnvironment(), Instant.now(),
+                () -> executeIfClaimed(runId, tagsExpression, features, request));
+        admission.updateQueueInfo(status);
 
-        log.info("Test execution queued: runId={}, tags={}, environment={}",
-                runId, tagsExpression, request.getEnvironment());
+        log.info("Test execution queued: runId={}, tags={}, environment={}, priority={}, position={}",
+                runId, tagsExpression, request.getEnvironment(), priority, status.getQueuePosition());
 
         return TestExecutionResponse.builder()
                 .runId(runId)
@@ -79,151 +360,897 @@ public class TestExecutionService {
                 .environment(request.getEnvironment())
                 .message("Test execution queued successfully")
                 .timestamp(LocalDateTime.now())
+                .queuePosition(status.getQueuePosition())
+                .estimatedStartTime(status.getEstimatedStartTime())
                 .tags(tagsExpression)
+                .expectedScenarios(expectedScenarios)
                 .statusUrl("/api/v1/test/status/" + runId)
                 .build();
     }
 
-    private void executeTest(UUID runId, String tags, String features, TestExecutionRequest request) {
-        try {
-            // Acquire concurrency permit (blocks if at max)
-            concurrencyLimiter.acquire();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            updateStatus(runId, "CANCELLED", "Interrupted while waiting in queue");
-            return;
+    /**
+     * Queues every shard of a prepared request as a run of its own. The shards run in parallel
+     * on free slots, worker JVMs or other instances. The response is the first shard's, listing
+     * all shards.
+     */
+    private TestExecutionResponse queueShards(PreparedRun run) {
+        List<TestExecutionResponse> responses = new ArrayList<>();
+        for (PreparedShard shard : run.shards()) {
+            responses.add(queueNewRun(shard.request(), run.tagsExpression(), shard.expectedScenarios(), null));
         }
+        List<UUID> runIds = responses.stream().map(TestExecutionResponse::getRunId).toList();
+        for (int i = 0; i < runIds.size(); i++) {
+            TestStatus status = statusStore.get(runIds.get(i));
+            if (status != null) {
+                addMetadata(status, "shard", (i + 1) + "/" + runIds.size());
+                addMetadata(status, "shardGroup", runIds.get(0).toString());
+            }
+        }
+        log.info("Test execution split into {} shards: {} scenarios, runIds={}",
+                runIds.size(), run.expectedScenarios(), runIds);
+
+        TestExecutionResponse first = responses.get(0);
+        first.setShardRunIds(runIds);
+        first.setExpectedScenarios(run.expectedScenarios());
+        first.setMessage("Test execution queued as " + runIds.size() + " shards");
+        return first;
+    }
 
-        try {
-            updateStatus(runId, "RUNNING", null);
-            statusMap.get(runId).setStartTime(LocalDateTime.now());
-            statusMap.get(runId).setCurrentPhase("EXECUTING");
-
-            // Set environment variables from request
-            if (request.getEnvironmentVariables() != null) {
-                request.getEnvironmentVariables().forEach(System::setProperty);
+    /**
+     * Queues one run per environment, browser and tag set of a matrix request under a common
+     * batch id. Every run is queued like a request of its own (coalescing, shards, webhook),
+     * but the batch is accepted or rejected as a whole.
+     *
+     * @throws IllegalArgumentException if the matrix has more than {@value RunBatches#MAX_BATCH_RUNS} runs
+     * @throws QueueFullException       if an environment's queue has no room for its runs
+     */
+    public BatchExecutionResponse queueBatch(BatchExecutionRequest request) {
+        List<TestExecutionRequest> runs = batches.expand(request);
+        // Feature selection, shard split and scenario counts before the queue is locked
+        List<PreparedRun> prepared = runs.stream().map(this::prepare).toList();
+        UUID batchId = UUID.randomUUID();
+        List<TestExecutionResponse> responses = new ArrayList<>();
+        List<RunBatch.Member> members = new ArrayList<>();
+        synchronized (queueLock) {
+            // Checked up front for all environments, so no run is queued for a rejected batch
+            Map<String, Integer> runsPerEnvironment = new LinkedHashMap<>();
+            for (PreparedRun run : prepared) {
+                runsPerEnvironment.merge(run.request().getEnvironment(), run.runs(), Integer::sum);
             }
-            if (request.getBrowser() != null) {
-                System.setProperty("browser", request.getBrowser());
+            runsPerEnvironment.forEach(admission::rejectIfQueueFull);
+
+            for (PreparedRun run : prepared) {
+                TestExecutionResponse response = enqueue(run);
+                responses.add(response);
+                List<UUID> runIds = response.getShardRunIds() != null
+                        ? response.getShardRunIds()
+                        : List.of(response.getRunId());
+                for (UUID runId : runIds) {
+                    members.add(new RunBatch.Member(runId, run.request().getEnvironment(),
+                            run.request().getBrowser(), response.getTags()));
+                    TestStatus status = statusStore.get(runId);
+                    if (status != null && !Boolean.TRUE.equals(response.getCoalesced())) {
+                        // The run may already have started
+                        synchronized (status) {
+                            addMetadata(status, "batch", batchId.toString());
+                            addMetadata(status, "tags", response.getTags());
+                            if (run.request().getBrowser() != null) {
+                                addMetadata(status, "browser", run.request().getBrowser());
+                            }
+                        }
+                    }
+                }
             }
-            if (request.getHeadless() != null) {
-                System.setProperty("browser.headless", request.getHeadless().toString());
+        }
+
+        RunBatch batch = new RunBatch(batchId, LocalDateTime.now(),
+                request.getRun() != null ? request.getRun().getInitiator() : null, List.copyOf(members));
+        batches.add(batch);
+        log.info("Batch queued: batchId={}, runs={}", batchId, batch.runIds());
+
+        return BatchExecutionResponse.builder()
+                .batchId(batchId)
+                .status("QUEUED")
+                .message("Batch queued as " + members.size() + " runs")
+                .timestamp(LocalDateTime.now())
+                .statusUrl("/api/v1/test/batches/" + batchId)
+                .runs(responses)
+                .build();
+    }
+
+    /**
+     * Aggregate status of a batch from the current status of its runs.
+     *
+     * @return the status, empty if the batch is unknown
+     */
+    public Optional<BatchStatus> getBatchStatus(UUID batchId) {
+        return batches.find(batchId).map(batch -> batches.status(batch, this::getTestStatus));
+    }
+
+    /**
+     * Attaches a request to an equivalent run. Its webhook is notified of the run's further
+     * events and a waiting run is raised to the request's priority if that is higher.
+     */
+    private TestExecutionResponse attachToRun(TestStatus status, TestExecutionRequest request, String tagsExpression) {
+        UUID runId = status.getRunId();
+        RunScheduler.Priority priority = RunScheduler.Priority.parse(request.getPriority());
+        webhooks.register(runId, request.getWebhookUrl());
+        synchronized (status) {
+            Map<String, Object> metadata = status.getMetadata();
+            int attached = metadata != null && metadata.get("coalescedRequests") instanceof Integer count ? count : 0;
+            addMetadata(status, "coalescedRequests", attached + 1);
+            if ("QUEUED".equals(status.getStatus()) && runScheduler.raisePriority(runId, priority)) {
+                log.info("Raised priority of run {} from {} to {} for a coalesced request",
+                        runId, status.getPriority(), priority);
+                status.setPriority(priority.name());
+                if (coordinator != null) {
+                    publishStatus(status);
+                }
             }
+        }
+        admission.updateQueueInfo(status);
 
-            // Count expected scenarios for progress tracking (best-effort, tag-unaware)
-            int totalScenarios = countScenariosInFeatures();
-            Path allureResultsPath = getResultsPath(runId).resolve("allure-results");
-            ScheduledExecutorService progressTracker = Executors.newSingleThreadScheduledExecutor(r -> {
-                Thread t = new Thread(r, "progress-tracker-" + runId.toString().substring(0, 8));
-                t.setDaemon(true);
-                return t;
-            });
-            progressTracker.scheduleAtFixedRate(() -> {
-                try {
-                    if (!Files.exists(allureResultsPath)) return;
-                    long completed;
-                    try (Stream<Path> files = Files.list(allureResultsPath)) {
-                        completed = files.filter(p -> p.getFileName().toString().endsWith("-result.json")).count();
+        log.info("Test execution coalesced: runId={}, tags={}, environment={}, initiator={}",
+                runId, tagsExpression, request.getEnvironment(), request.getInitiator());
+
+        return TestExecutionResponse.builder()
+                .runId(runId)
+                .status(status.getStatus())
+                .environment(status.getEnvironment())
+                .message("Attached to equivalent run " + runId)
+                .timestamp(LocalDateTime.now())
+                .queuePosition(status.getQueuePosition())
+                .estimatedStartTime(status.getEstimatedStartTime())
+                .tags(tagsExpression)
+                .statusUrl("/api/v1/test/status/" + runId)
+                .coalesced(true)
+                .build();
+    }
+
+    /**
+     * Scheduler task. With a coordinator the run is offered to all instances; it is executed
+     * only by the instance that claims it first.
+     */
+    private void executeIfClaimed(UUID runId, String tags, String features, TestExecutionRequest request) {
+        if (coordinator != null && !claim(runId)) {
+            log.info("Run claimed by another instance, dropping local queue entry: runId={}", runId);
+            statusStore.remove(runId);
+            webhooks.unregister(runId);
+            return;
+        }
+        // Runs adopted from another instance notify the webhook from here
+        webhooks.register(runId, request.getWebhookUrl());
+        executeTest(runId, tags, features, request);
+    }
+
+    private boolean claim(UUID runId) {
+        try {
+            if (!coordinator.claim(runId)) {
+                return false;
+            }
+        } catch (RuntimeException e) {
+            log.error("Claiming run failed: runId={}", runId, e);
+            return false;
+        }
+        ownedRuns.put(runId, "");
+        TestStatus status = statusStore.get(runId);
+        if (status != null) {
+            status.setPodName(coordinator.instanceId());
+        }
+        return true;
+    }
+
+    /**
+     * Periodic exchange with the other instances: sends this instance's heartbeat, adopts runs
+     * they published, drops queued runs another instance has claimed, applies cancel requests
+     * and publishes the statuses of owned runs that changed since the last sync. Runs of
+     * instances without heartbeat are taken over and finished as FAILED, and the shared state
+     * of old finished runs is pruned.
+     */
+    private void syncCluster() {
+        try {
+            coordinator.heartbeat();
+            for (RunCoordinator.ClusterRun run : coordinator.pending()) {
+                if (!statusStore.containsKey(run.runId())) {
+                    adopt(run);
+                }
+            }
+            String self = coordinator.instanceId();
+            for (TestStatus status : List.copyOf(statusStore.values())) {
+                UUID runId = status.getRunId();
+                String published = ownedRuns.get(runId);
+                if (published == null) {
+                    if ("QUEUED".equals(status.getStatus())
+                            && coordinator.owner(runId).filter(owner -> !owner.equals(self)).isPresent()) {
+                        runScheduler.remove(runId);
+                        statusStore.remove(runId);
                     }
-                    TestStatus s = statusMap.get(runId);
-                    if (s != null) {
-                        int pct = totalScenarios > 0
-                                ? (int) Math.min(95, completed * 100 / totalScenarios)
-                                : (int) Math.min(95, completed * 5);
-                        s.setProgress(pct);
+                    continue;
+                }
+                if (ACTIVE_STATUSES.contains(status.getStatus())
+                        && coordinator.owner(runId).filter(owner -> !owner.equals(self)).isPresent()) {
+                    // Taken over after this instance missed its heartbeats; the new owner's status counts
+                    log.warn("Run {} was taken over by another instance, stopping it here", runId);
+                    ownedRuns.remove(runId);
+                    if ("RUNNING".equals(status.getStatus())) {
+                        requestCancellation(runId);
                     }
-                } catch (IOException ignored) {}
-            }, 1, 2, TimeUnit.SECONDS);
-
-            CucumberRunnerService.RunResult result;
-            try {
-                result = cucumberRunnerService.run(runId.toString(), tags, features);
-            } finally {
-                progressTracker.shutdownNow();
+                    continue;
+                }
+                if ("RUNNING".equals(status.getStatus()) && coordinator.isCancelRequested(runId)) {
+                    cancelTestExecution(runId);
+                }
+                synchronized (status) {
+                    if (!toJson(status).equals(published)) {
+                        publishStatus(status);
+                        ownedRuns.put(runId, toJson(status));
+                    }
+                }
             }
+            failStaleRuns();
+            Instant now = Instant.now();
+            if (Duration.between(lastPrune, now).compareTo(CLUSTER_PRUNE_INTERVAL) >= 0) {
+                lastPrune = now;
+                coordinator.prune(clusterRetention);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cluster sync failed: {}", e.getMessage());
+        }
+    }
 
-            TestStatus status = statusMap.get(runId);
+    /**
+     * Takes over the unfinished runs of instances without heartbeat and records them as
+     * FAILED; their test execution ended with the instance.
+     */
+    private void failStaleRuns() {
+        for (UUID runId : coordinator.staleClaims(heartbeatTimeout)) {
+            Optional<TestStatus> shared = coordinator.findStatus(runId);
+            if (shared.map(s -> !ACTIVE_STATUSES.contains(s.getStatus())).orElse(false)
+                    || !coordinator.takeOver(runId, heartbeatTimeout)) {
+                continue;
+            }
+            String owner = shared.map(TestStatus::getPodName).orElse("unknown");
+            TestStatus status = shared.orElseGet(() -> TestStatus.builder().runId(runId).build());
+            status.setStatus("FAILED");
+            status.setErrorMessage("Instance " + owner + " stopped responding");
             status.setEndTime(LocalDateTime.now());
-            Duration elapsed = Duration.between(status.getStartTime(), status.getEndTime());
-            status.setDuration(String.format("%02d:%02d", elapsed.toMinutes(), elapsed.toSecondsPart()));
-            status.setProgress(100);
-            status.setCurrentPhase("COMPLETED");
+            status.setQueuePosition(null);
+            status.setEstimatedStartTime(null);
+            runScheduler.remove(runId);
+            statusStore.remove(runId);
+            publishStatus(status);
+            indexRun(status, null, null, null);
+            log.warn("Run {} of instance {} without heartbeat recorded as FAILED", runId, owner);
+        }
+    }
 
-            // Build report URLs – einheitlich als /reports/** Direktpfade
-            Map<String, String> reportUrls = new HashMap<>();
-            reportUrls.put("cucumber-report", "/reports/" + runId + "/cucumber-reports/Cucumber.html");
+    /** Saves a status for the other instances with the next version. */
+    private void publishStatus(TestStatus status) {
+        status.setVersion(status.getVersion() == null ? 1 : status.getVersion() + 1);
+        coordinator.saveStatus(status);
+    }
 
-            // Accessibility report only for runs that include Frontend/UI tests
-            boolean isBackendOnly = request.getTags() != null && !request.getTags().isEmpty()
-                    && request.getTags().stream().allMatch(t -> {
-                        String tag = t.startsWith("@") ? t.substring(1) : t;
-                        return tag.equalsIgnoreCase("Backend") || tag.equalsIgnoreCase("API-Test");
-                    });
-            if (!isBackendOnly) {
-                reportUrls.put("accessibility", "/reports/" + runId + "/axe-result/index.html");
+    private String toJson(TestStatus status) {
+        try {
+            return clusterMapper.writeValueAsString(status);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Queues a run published by another instance in the local scheduler. */
+    private void adopt(RunCoordinator.ClusterRun run) {
+        UUID runId = run.runId();
+        TestExecutionRequest request = run.request();
+        String tagsExpression = buildTagsExpression(request.getTags());
+        String features = request.getFeatures() != null
+                ? String.join(",", request.getFeatures())
+                : null;
+        TestStatus status = coordinator.findStatus(runId)
+                .filter(s -> "QUEUED".equals(s.getStatus()))
+                .orElseGet(() -> TestStatus.builder()
+                        .runId(runId)
+                        .status("QUEUED")
+                        .environment(request.getEnvironment())
+                        .priority(run.priority())
+                        .progress(0)
+                        .build());
+        synchronized (queueLock) {
+            if (statusStore.putIfAbsent(runId, status) != null) {
+                return;
             }
+            runScheduler.submit(runId, RunScheduler.Priority.parse(run.priority()), request.getEnvironment(),
+                    run.enqueuedAt(), () -> executeIfClaimed(runId, tagsExpression, features, request));
+        }
+        log.debug("Adopted run {} published by {}", runId, run.publishedBy());
+    }
 
-            status.setReportUrls(reportUrls);
+    private void executeTest(UUID runId, String tags, String features, TestExecutionRequest request) {
+        // Called by the RunScheduler once a concurrency slot has been assigned to this run
+        RunControl.register(runId.toString());
+        ScheduledFuture<?> timeoutTask = scheduleWatchdog(runId, request.getTimeoutMinutes());
+        boolean postProcessing = false;
+        try {
+            statusStore.get(runId).setStartTime(LocalDateTime.now());
+            updateStatus(runId, "RUNNING", null);
+            statusStore.get(runId).setCurrentPhase("EXECUTING");
+            statusStore.get(runId).setQueuePosition(null);
+            statusStore.get(runId).setEstimatedStartTime(null);
 
-            if (result.exitCode() == 0) {
-                updateStatus(runId, "COMPLETED", null);
-            } else {
-                updateStatus(runId, "FAILED", "Tests finished with exit code: " + result.exitCode());
+            // Request-level settings apply to this run only (worker JVMs receive them with the job)
+            if (workerPool == null) {
+                RunConfig.register(runId.toString(), runProperties(request));
             }
 
-            // Write executor.json for Allure (enables executor widget and trends in combined reports)
-            writeExecutorJson(runId, request);
+            // Expected scenarios for progress tracking; runs may start more (e.g. retries)
+            int totalScenarios = expectedScenarios(tags, features);
+            RunControl.forRun(runId.toString())
+                    .ifPresent(control -> control.onProgress(progress -> applyProgress(runId, totalScenarios, progress)));
+
+            CucumberRunnerService.RunResult result = runCucumber(runId, tags, features, request);
 
-            // Auto-generate Allure report so the URL is immediately accessible
-            generateAllureReport(runId).ifPresent(url -> reportUrls.put("allure", url));
-            status.setReportUrls(reportUrls);
+            timeoutTask.cancel(false);
 
-            // Upload results to Zephyr Scale / create Jira ticket (no-op if disabled)
-            zephyrScaleService.uploadRunResults(runId, request, result.exitCode(), status);
+            TestStatus status = statusStore.get(runId);
+            boolean timedOut;
+            synchronized (status) {
+                // The watchdog already recorded TIMEOUT with end time and partial results
+                timedOut = "TIMEOUT".equals(status.getStatus());
+                if ("CANCELLING".equals(status.getStatus())) {
+                    applyPartialResults(runId, status);
+                    completeCancellation(runId, status);
+                }
+                status.setCurrentScenario(null);
+                status.setCurrentStep(null);
+                if (!isStoppedByService(status.getStatus())) {
+                    finishTiming(status);
+                    status.setProgress(100);
+                    updateStatus(runId, "POSTPROCESSING", null);
+                    status.setCurrentPhase("POSTPROCESSING");
+                }
+            }
+            // Cucumber is done: the next queued run may start while reports are generated
+            runScheduler.releaseSlot(runId);
+
+            status.setReportUrls(reportUrls(runId, request, false));
+            synchronized (status) {
+                if (status.getMetadata() == null) {
+                    status.setMetadata(new ConcurrentHashMap<>());
+                }
+                if (result.failedFast()) {
+                    status.getMetadata().put("failFast", result.abortReason());
+                }
+                if (request.getSutVersion() != null) {
+                    status.getMetadata().put("sutVersion", request.getSutVersion());
+                    status.getMetadata().put("reusedScenarios", ScenarioReuse.countReused(
+                            getResultsPath(runId).resolve("cucumber-reports").resolve("Cucumber.json")));
+                }
+            }
 
-            log.info("Test execution finished: runId={}, exitCode={}", runId, result.exitCode());
+            if (timedOut) {
+                log.info("Timed out run returned, generating reports from partial results: runId={}", runId);
+            } else if ("CANCELLED".equals(status.getStatus())) {
+                log.info("Cancelled run returned, generating reports from partial results: runId={}", runId);
+            } else if (result.failedFast()) {
+                log.info("Run stopped early ({}), generating reports from results so far: runId={}",
+                        result.abortReason(), runId);
+            }
+            postProcessing = true;
+            startPostProcessing(runId, request, result.exitCode(), isStoppedByService(status.getStatus()),
+                    result.failedFast(), null);
 
         } catch (Exception e) {
             log.error("Test execution error: runId={}", runId, e);
-            updateStatus(runId, "FAILED", e.getMessage());
-            statusMap.get(runId).setEndTime(LocalDateTime.now());
+            TestStatus status = statusStore.get(runId);
+            if (postProcessing) {
+                // Post-processing could not be started (e.g. pool shut down): no second attempt
+                synchronized (status) {
+                    if (!isStoppedByService(status.getStatus())) {
+                        updateStatus(runId, "FAILED", e.getMessage());
+                    }
+                }
+                return;
+            }
+            synchronized (status) {
+                if ("CANCELLING".equals(status.getStatus())) {
+                    // e.g. the worker JVM was killed by the cancellation
+                    applyPartialResults(runId, status);
+                    completeCancellation(runId, status);
+                } else if (!isStoppedByService(status.getStatus())) {
+                    applyPartialResults(runId, status);
+                    finishTiming(status);
+                    updateStatus(runId, "POSTPROCESSING", null);
+                    status.setCurrentPhase("POSTPROCESSING");
+                }
+                status.setCurrentScenario(null);
+                status.setCurrentStep(null);
+            }
+            runScheduler.releaseSlot(runId);
+
+            // Reports from whatever the run wrote before it failed, so clients still get report-ready
+            status.setReportUrls(reportUrls(runId, request, true));
+            startPostProcessing(runId, request, 1, isStoppedByService(status.getStatus()), false,
+                    e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
         } finally {
-            concurrencyLimiter.release();
-            runningFutures.remove(runId);
+            timeoutTask.cancel(false);
+            RunControl.unregister(runId.toString());
+            RunConfig.unregister(runId.toString());
+            runScheduler.releaseSlot(runId);
+        }
+    }
+
+    /**
+     * Report URLs of a run – einheitlich als /reports/** Direktpfade (concurrent map:
+     * post-processing phases add their URLs in parallel).
+     *
+     * @param onlyExisting only reports the run has actually written, for runs that failed
+     */
+    private Map<String, String> reportUrls(UUID runId, TestExecutionRequest request, boolean onlyExisting) {
+        Map<String, String> reportUrls = new ConcurrentHashMap<>();
+        Path runDir = getResultsPath(runId);
+        if (!onlyExisting || Files.isRegularFile(runDir.resolve("cucumber-reports").resolve("Cucumber.html"))) {
+            reportUrls.put("cucumber-report", "/reports/" + runId + "/cucumber-reports/Cucumber.html");
+        }
+
+        // Accessibility report only for runs that include Frontend/UI tests
+        boolean isBackendOnly = request.getTags() != null && !request.getTags().isEmpty()
+                && request.getTags().stream().allMatch(t -> {
+                    String tag = t.startsWith("@") ? t.substring(1) : t;
+                    return tag.equalsIgnoreCase("Backend") || tag.equalsIgnoreCase("API-Test");
+                });
+        if (!isBackendOnly && (!onlyExisting || Files.isDirectory(runDir.resolve("axe-result")))) {
+            reportUrls.put("accessibility", "/reports/" + runId + "/axe-result/index.html");
+        }
+        return reportUrls;
+    }
+
+    /**
+     * Runs the post-run phases on the post-processing pool. executor.json has to exist before
+     * the Allure report is generated; the report, the Zephyr/Jira upload and the accessibility
+     * index are independent and run concurrently. The final status is set when all are done.
+     *
+     * @param failure error of a run that ended with an exception, {@code null} if Cucumber returned
+     */
+    private void startPostProcessing(UUID runId, TestExecutionRequest request, int cucumberExitCode, boolean stoppedEarly,
+                                     boolean failedFast, String failure) {
+        TestStatus status = statusStore.get(runId);
+        // The run's report is final (also for worker JVMs): the next sharded or parallel run sees it
+        ScenarioDurations.invalidate(getBaseResultsPath());
+        // Skipped scenarios do not fail a Cucumber run; a timeout must still count as failure
+        int exitCode = stoppedEarly && cucumberExitCode == 0 ? 1 : cucumberExitCode;
+
+        // Write executor.json for Allure (enables executor widget and trends in combined reports),
+        // then auto-generate the Allure report so the URL is immediately accessible
+        CompletableFuture<Void> allure = CompletableFuture
+                .runAsync(() -> writeExecutorJson(runId, request), postProcessor)
+                .thenRunAsync(() -> {
+                    generateAllureReport(runId).ifPresent(url -> status.getReportUrls().put("allure", url));
+                    if (!status.getReportUrls().isEmpty()) {
+                        fireRunEvent(new RunEvent(runId, RunEvent.REPORT, Map.copyOf(status.getReportUrls())));
+                    }
+                }, postProcessor);
+
+        // Upload results to Zephyr Scale / create Jira ticket (no-op if disabled).
+        // A run cancelled by the user is no test result: reports only.
+        CompletableFuture<Void> integrations = "CANCELLED".equals(status.getStatus())
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.runAsync(
+                        () -> zephyrScaleService.uploadRunResults(runId, request, exitCode, status), postProcessor);
+
+        CompletableFuture<Void> accessibility = CompletableFuture.runAsync(
+                () -> writeAccessibilityIndex(runId), postProcessor);
+
+        CompletableFuture<Void> results = CompletableFuture.runAsync(
+                () -> writeRunResults(runId), postProcessor);
+
+        CompletableFuture.allOf(allure, integrations, accessibility, results).whenComplete((ignored, error) -> {
+            if (error != null) {
+                log.warn("Post-processing step failed: runId={}", runId, error);
+            }
+            synchronized (status) {
+                if (!isStoppedByService(status.getStatus())) {
+                    if (failure != null) {
+                        updateStatus(runId, "FAILED", failure);
+                    } else if (cucumberExitCode == 0) {
+                        updateStatus(runId, "COMPLETED", null);
+                    } else if (failedFast) {
+                        updateStatus(runId, "FAILED", "Run aborted by fail-fast: "
+                                + status.getMetadata().get("failFast") + ", remaining scenarios skipped");
+                    } else {
+                        updateStatus(runId, "FAILED", "Tests finished with exit code: " + cucumberExitCode);
+                    }
+                    status.setCurrentPhase("COMPLETED");
+                }
+                // A timed out or cancelled run may have been evicted while its reports were generated
+                statusStore.saveIfEvicted(status);
+            }
+            log.info("Test execution finished: runId={}, exitCode={}", runId, cucumberExitCode);
+        });
+    }
+
+    private void writeAccessibilityIndex(UUID runId) {
+        Path axeResultDir = getResultsPath(runId).resolve("axe-result");
+        if (!Files.isDirectory(axeResultDir)) return;
+        try {
+            AxeReportHook.generateIndexHtml(axeResultDir);
+        } catch (IOException e) {
+            log.warn("Failed to write accessibility index for runId={}: {}", runId, e.getMessage());
+        }
+    }
+
+    /** Extracts the per-feature and per-scenario results from the Cucumber report. */
+    private Optional<RunResults> writeRunResults(UUID runId) {
+        Optional<Path> report = getTestReport(runId);
+        if (report.isEmpty()) return Optional.empty();
+        try {
+            long start = System.nanoTime();
+            RunResults results = RunResults.parse(report.get());
+            results.write(getResultsPath(runId).resolve(RunResults.RESULTS_FILE));
+            log.debug("Run results extracted: runId={}, {} scenarios in {} ms", runId, results.scenarios().size(),
+                    (System.nanoTime() - start) / 1_000_000);
+            return Optional.of(results);
+        } catch (IOException e) {
+            log.warn("Failed to extract run results for runId={}: {}", runId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private ScheduledFuture<?> scheduleWatchdog(UUID runId, Integer timeoutMinutes) {
+        int minutes = timeoutMinutes != null && timeoutMinutes > 0 ? timeoutMinutes : DEFAULT_TIMEOUT_MINUTES;
+        return watchdog.scheduleTimeout(minutes, () -> onRunTimeout(runId, minutes));
+    }
+
+    /**
+     * Enforces the per-run deadline: skips the remaining scenarios, closes the run's browsers
+     * (unblocking hung Playwright waits) and records TIMEOUT with the results collected so far.
+     * The run keeps its concurrency slot until Cucumber has actually returned; a run that is
+     * still executing after {@link RunWatchdog#CANCEL_GRACE} is interrupted.
+     */
+    private void onRunTimeout(UUID runId, int timeoutMinutes) {
+        TestStatus status = statusStore.get(runId);
+        if (status == null) return;
+        synchronized (status) {
+            if (!"RUNNING".equals(status.getStatus())) return;
+            log.warn("Test execution exceeded timeout of {} min: runId={}", timeoutMinutes, runId);
+
+            RunControl.forRun(runId.toString()).ifPresent(control -> {
+                control.abort("TIMEOUT");
+                int closed = control.closeResources();
+                log.info("Closed {} browser resource(s) of timed out run {}", closed, runId);
+            });
+
+            applyPartialResults(runId, status);
+            updateStatus(runId, "TIMEOUT", "Run exceeded timeout of " + timeoutMinutes + " minutes");
+            status.setCurrentPhase("TIMEOUT");
+            finishTiming(status);
         }
+        watchdog.interruptAfterGrace(runId);
+    }
+
+    /**
+     * Updates the status of a running run from the progress reported by the Cucumber plugin.
+     * Progress stays below 100% until Cucumber has returned; once the run has been stopped by
+     * the watchdog its partial results are kept.
+     */
+    private void applyProgress(UUID runId, int expectedScenarios, RunProgress progress) {
+        TestStatus status = statusStore.get(runId);
+        if (status == null) return;
+        synchronized (status) {
+            if (!"RUNNING".equals(status.getStatus()) && !"CANCELLING".equals(status.getStatus())) {
+                return;
+            }
+            int total = Math.max(expectedScenarios, progress.startedScenarios());
+            status.setTotalTests(total);
+            status.setPassedTests(progress.passedScenarios());
+            status.setFailedTests(progress.failedScenarios());
+            status.setSkippedTests(progress.skippedScenarios());
+            status.setProgress(total > 0 ? Math.min(95, progress.finishedScenarios() * 100 / total) : 0);
+            status.setCurrentFeature(progress.currentFeature());
+            status.setCurrentScenario(progress.currentScenario());
+            status.setCurrentStep(progress.currentScenarioSteps() > 0
+                    ? progress.currentStep() + "/" + progress.currentScenarioSteps()
+                    : null);
+            fireRunEvent(new RunEvent(runId, RunEvent.PROGRESS, status));
+            ScenarioResult finished = progress.finishedScenario();
+            if (finished != null) {
+                if (Set.of("failed", "undefined", "ambiguous").contains(finished.getStatus())) {
+                    indexRecorder.statistics().recordFailure(status.getEnvironment(), finished.getScenarioName());
+                }
+                fireRunEvent(new RunEvent(runId, RunEvent.SCENARIO, finished));
+            }
+        }
+    }
+
+    /** Counts the scenario results Allure has written so far (used for interrupted runs). */
+    private void applyPartialResults(UUID runId, TestStatus status) {
+        Path allureResultsDir = getResultsPath(runId).resolve("allure-results");
+        if (!Files.exists(allureResultsDir)) return;
+        int passed = 0, failed = 0, skipped = 0;
+        try (Stream<Path> files = Files.list(allureResultsDir)) {
+            List<Path> results = files
+                    .filter(p -> p.getFileName().toString().endsWith("-result.json"))
+                    .toList();
+            for (Path result : results) {
+                switch (readAllureStatus(result)) {
+                    case "passed" -> passed++;
+                    case "failed", "broken" -> failed++;
+                    default -> skipped++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to collect partial results for runId={}", runId, e);
+            return;
+        }
+        status.setTotalTests(passed + failed + skipped);
+        status.setPassedTests(passed);
+        status.setFailedTests(failed);
+        status.setSkippedTests(skipped);
+        addMetadata(status, "partialResults", true);
+    }
+
+    private String readAllureStatus(Path resultFile) {
+        try {
+            return objectMapper.readTree(resultFile.toFile()).path("status").asText("unknown");
+        } catch (IOException e) {
+            // File may still be written by Allure
+            return "unknown";
+        }
+    }
+
+    private void finishTiming(TestStatus status) {
+        status.setEndTime(LocalDateTime.now());
+        if (status.getStartTime() != null) {
+            Duration elapsed = Duration.between(status.getStartTime(), status.getEndTime());
+            status.setDuration(String.format("%02d:%02d", elapsed.toMinutes(), elapsed.toSecondsPart()));
+        }
+    }
+
+    /** Statuses set by the watchdog or a cancel request that a returning run must not overwrite. */
+    private static boolean isStoppedByService(String status) {
+        return "TIMEOUT".equals(status) || "CANCELLED".equals(status) || "CANCELLING".equals(status);
+    }
+
+    private void addMetadata(TestStatus status, String key, Object value) {
+        Map<String, Object> metadata = status.getMetadata();
+        if (metadata == null) {
+            metadata = new ConcurrentHashMap<>();
+            status.setMetadata(metadata);
+        }
+        metadata.put(key, value);
     }
 
     private void updateStatus(UUID runId, String newStatus, String errorMessage) {
-        TestStatus status = statusMap.get(runId);
+        TestStatus status = statusStore.get(runId);
         if (status != null) {
+            boolean changed = !newStatus.equals(status.getStatus());
             status.setStatus(newStatus);
             if (errorMessage != null) {
                 status.setErrorMessage(errorMessage);
             }
+            if (changed) {
+                indexRun(status, null, null, null);
+                fireRunEvent(new RunEvent(runId, RunEvent.STATUS, status));
+            }
+        }
+    }
+
+    /** Records the run's current state in the run index; tags, initiator and queue time only when queuing. */
+    private void indexRun(TestStatus status, String tags, String initiator, LocalDateTime queuedAt) {
+        indexRecorder.record(status, tags, initiator, queuedAt);
+    }
+
+    /**
+     * Loads the run index at startup. Without other instances, runs that a previous process
+     * left queued or running can no longer finish and are recorded as FAILED. With other
+     * instances the shared status decides: a finished run is recorded with its final status,
+     * an active one is left to its owner or, once the owner misses its heartbeats, to
+     * {@link #failStaleRuns}, and a run unknown to the cluster is recorded as FAILED.
+     */
+    private void recoverRunIndex() {
+        try {
+            RunIndex index = indexRecorder.index();
+            for (RunIndex.Entry entry : index.entries()) {
+                if (!ACTIVE_STATUSES.contains(entry.status()) || statusStore.containsKey(entry.runId())) {
+                    continue;
+                }
+                if (coordinator == null) {
+                    index.record(entry.withStatus("FAILED"));
+                    log.info("Run {} was interrupted by a restart, recorded as FAILED", entry.runId());
+                    continue;
+                }
+                Optional<TestStatus> shared = findSharedStatus(entry.runId());
+                if (shared.isPresent()) {
+                    if (!ACTIVE_STATUSES.contains(shared.get().getStatus())) {
+                        index.record(entry.withStatus(shared.get().getStatus()));
+                    }
+                } else if (coordinator.owner(entry.runId()).isEmpty()) {
+                    index.record(entry.withStatus("FAILED"));
+                    log.info("Run {} is unknown to the cluster, recorded as FAILED", entry.runId());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not load run index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Registers a listener for status changes, progress and scenario results of the runs
+     * executed on this instance. Listeners are called on the thread making the change, often
+     * while the run's status is locked, and must therefore return quickly.
+     */
+    public void addRunListener(Consumer<RunEvent> listener) {
+        runListeners.add(listener);
+    }
+
+    private void fireRunEvent(RunEvent event) {
+        for (Consumer<RunEvent> listener : runListeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Run listener failed for runId={}: {}", event.runId(), e.getMessage());
+            }
         }
     }
 
     public Optional<TestStatus> getTestStatus(UUID runId) {
-        return Optional.ofNullable(statusMap.get(runId));
+        TestStatus status = statusStore.get(runId);
+        if (status != null && (coordinator == null || ownedRuns.containsKey(runId))) {
+            admission.updateQueueInfo(status);
+            return Optional.of(status);
+        }
+        // Not executed here: the owning instance's status is authoritative
+        Optional<TestStatus> shared = findSharedStatus(runId);
+        if (shared.isPresent()) {
+            return shared;
+        }
+        if (status == null) {
+            // Finished run evicted from memory, or a run of an earlier process
+            return statusStore.load(runId).or(() -> indexRecorder.awaitWrites().find(runId).map(RunIndex.Entry::toStatus));
+        }
+        admission.updateQueueInfo(status);
+        return Optional.of(status);
+    }
+
+    /** Moves old finished runs out of memory; their statuses remain available from disk. */
+    private void evictStatuses() {
+        try {
+            if (statusStore.evict() > 0) {
+                ownedRuns.keySet().removeIf(runId -> !statusStore.containsKey(runId));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Status eviction failed: {}", e.getMessage());
+        }
+    }
+
+    private Optional<TestStatus> findSharedStatus(UUID runId) {
+        if (coordinator == null) {
+            return Optional.empty();
+        }
+        try {
+            return coordinator.findStatus(runId);
+        } catch (RuntimeException e) {
+            log.warn("Reading shared status failed: runId={}: {}", runId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Local statuses, merged with the shared statuses of all instances when coordinated.
+     * Runs owned by this instance and runs not (yet) published use the local status.
+     */
+    private Collection<TestStatus> allStatuses() {
+        if (coordinator == null) {
+            return statusStore.values();
+        }
+        Map<UUID, TestStatus> all = new HashMap<>();
+        try {
+            coordinator.findStatuses().forEach(s -> all.put(s.getRunId(), s));
+        } catch (RuntimeException e) {
+            log.warn("Reading shared statuses failed: {}", e.getMessage());
+        }
+        statusStore.forEach((runId, status) -> {
+            if (ownedRuns.containsKey(runId) || !all.containsKey(runId)) {
+                all.put(runId, status);
+            }
+        });
+        return all.values();
     }
 
     public List<TestStatus> getActiveTests() {
-        return statusMap.values().stream()
-                .filter(s -> "QUEUED".equals(s.getStatus()) || "RUNNING".equals(s.getStatus()))
+        return allStatuses().stream()
+                .filter(s -> "QUEUED".equals(s.getStatus()) || "RUNNING".equals(s.getStatus())
+                        || "CANCELLING".equals(s.getStatus()) || "POSTPROCESSING".equals(s.getStatus()))
+                .peek(admission::updateQueueInfo)
                 .collect(Collectors.toList());
     }
 
-    public Optional<Object> getTestReport(UUID runId) {
+    /**
+     * Feature results of a run, optionally only those with one of the given statuses
+     * (case-insensitive). Empty if the run has no Cucumber report.
+     */
+    public Optional<List<FeatureResult>> getFeatureResults(UUID runId, Collection<String> statuses) {
+        return getRunResults(runId).map(results -> results.features().stream()
+                .filter(feature -> hasStatus(feature.getStatus(), statuses))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Scenario results of a run, optionally only those with one of the given statuses
+     * (case-insensitive). Empty if the run has no Cucumber report.
+     */
+    public Optional<List<ScenarioResult>> getScenarioResults(UUID runId, Collection<String> statuses) {
+        return getRunResults(runId).map(results -> results.scenarios().stream()
+                .filter(scenario -> hasStatus(scenario.getStatus(), statuses))
+                .collect(Collectors.toList()));
+    }
+
+    private static boolean hasStatus(String status, Collection<String> statuses) {
+        return statuses == null || statuses.isEmpty()
+                || statuses.stream().anyMatch(wanted -> wanted.equalsIgnoreCase(status));
+    }
+
+    /**
+     * Results stored when the run finished; extracted now for runs finished before results
+     * were stored or whose report changed since.
+     */
+    private Optional<RunResults> getRunResults(UUID runId) {
+        Optional<Path> report = getTestReport(runId);
+        if (report.isEmpty()) {
+            return Optional.empty();
+        }
+        Path resultsFile = getResultsPath(runId).resolve(RunResults.RESULTS_FILE);
+        try {
+            if (Files.exists(resultsFile)
+                    && Files.getLastModifiedTime(resultsFile).compareTo(Files.getLastModifiedTime(report.get())) >= 0) {
+                return Optional.of(RunResults.read(resultsFile));
+            }
+        } catch (IOException e) {
+            log.warn("Could not read {}: {}", resultsFile, e.getMessage());
+        }
+        return writeRunResults(runId);
+    }
+
+    /** Cucumber JSON report of a run, to be streamed from disk; empty if there is none (yet). */
+    public Optional<Path> getTestReport(UUID runId) {
         Path reportPath = getResultsPath(runId).resolve("cucumber-reports").resolve("Cucumber.json");
-        if (Files.exists(reportPath)) {
+        return Files.isRegularFile(reportPath) ? Optional.of(reportPath) : Optional.empty();
+    }
+
+    /**
+     * Gzip-compressed copy of the Cucumber JSON report, stored next to it and recreated when
+     * the report is newer. Compressed once per report instead of once per request; reports
+     * with embedded screenshots shrink considerably. Empty if there is no report or the copy
+     * cannot be written, in which case the report is sent uncompressed.
+     */
+    public Optional<Path> getCompressedTestReport(UUID runId) {
+        Optional<Path> report = getTestReport(runId);
+        if (report.isEmpty()) {
+            return Optional.empty();
+        }
+        Path reportPath = report.get();
+        Path compressed = reportPath.resolveSibling(reportPath.getFileName() + ".gz");
+        try {
+            if (Files.exists(compressed)
+                    && Files.getLastModifiedTime(compressed).compareTo(Files.getLastModifiedTime(reportPath)) >= 0) {
+                return Optional.of(compressed);
+            }
+            // Concurrent requests may compress in parallel; each moves a complete copy in place
+            Path tmp = Files.createTempFile(reportPath.getParent(), "." + compressed.getFileName(), ".tmp");
             try {
-                String json = Files.readString(reportPath);
-                return Optional.of(json);
-            } catch (IOException e) {
-                log.error("Failed to read report for runId={}", runId, e);
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+                    Files.copy(reportPath, out);
+                }
+                Files.move(tmp, compressed, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
             }
+            log.debug("Compressed report for runId={}: {} -> {} bytes", runId, Files.size(reportPath),
+                    Files.size(compressed));
+            return Optional.of(compressed);
+        } catch (IOException e) {
+            log.warn("Could not compress report for runId={}: {}", runId, e.getMessage());
+            return Optional.empty();
         }
-        return Optional.empty();
     }
 
     public Optional<String> generateAllureReport(UUID runId) {
@@ -272,28 +1299,152 @@ public class TestExecutionService {
     }
 
     public Optional<TestStatus> cancelTestExecution(UUID runId) {
-        Future<?> future = runningFutures.get(runId);
-        if (future != null && !future.isDone()) {
-            future.cancel(true);
+        // A queued run is claimed first, so no other instance starts it in the meantime
+        boolean removable = coordinator == null || !runScheduler.isQueued(runId) || claim(runId);
+        if (removable && runScheduler.remove(runId)) {
             updateStatus(runId, "CANCELLED", "Cancelled by user");
-            statusMap.get(runId).setEndTime(LocalDateTime.now());
-            runningFutures.remove(runId);
+            statusStore.get(runId).setEndTime(LocalDateTime.now());
+            statusStore.get(runId).setQueuePosition(null);
+            statusStore.get(runId).setEstimatedStartTime(null);
             log.info("Test execution cancelled: runId={}", runId);
-            return Optional.ofNullable(statusMap.get(runId));
+            return Optional.ofNullable(statusStore.get(runId));
+        }
+        if (runScheduler.isRunning(runId)) {
+            return Optional.ofNullable(requestCancellation(runId));
+        }
+        return cancelRemote(runId);
+    }
+
+    /**
+     * Stops a running run cooperatively: the hooks skip the remaining scenarios and steps, and
+     * the run's browsers (or its worker JVM) are closed so hung Playwright waits return. The
+     * run stays CANCELLING and keeps its slot until Cucumber has actually returned; a run that
+     * has not stopped after {@link RunWatchdog#CANCEL_GRACE} is interrupted.
+     *
+     * @return the CANCELLING status, or {@code null} if the run is past test execution
+     */
+    private TestStatus requestCancellation(UUID runId) {
+        TestStatus status = statusStore.get(runId);
+        if (status == null) {
+            return null;
+        }
+        synchronized (status) {
+            if ("CANCELLING".equals(status.getStatus())) {
+                return status;
+            }
+            if (!"RUNNING".equals(status.getStatus())) {
+                return null;
+            }
+            watchdog.cancelRequested(runId);
+            updateStatus(runId, "CANCELLING", "Cancelled by user");
+            status.setCurrentPhase("CANCELLING");
+        }
+        RunControl.forRun(runId.toString()).ifPresent(control -> {
+            control.abort("CANCELLED");
+            int closed = control.closeResources();
+            log.info("Closed {} browser resource(s) of cancelled run {}", closed, runId);
+        });
+        watchdog.afterGrace(() -> forceCancellation(runId));
+        log.info("Cancellation requested, waiting for the run to stop: runId={}", runId);
+        return status;
+    }
+
+    /** Records CANCELLED once the run has stopped, with the time it took to shut down. */
+    private void completeCancellation(UUID runId, TestStatus status) {
+        Optional<Duration> shutdown = watchdog.cancelCompleted(runId);
+        updateStatus(runId, "CANCELLED", "Cancelled by user");
+        status.setCurrentPhase("CANCELLED");
+        finishTiming(status);
+        shutdown.ifPresent(duration -> {
+            addMetadata(status, "shutdownMillis", duration.toMillis());
+            log.info("Test execution cancelled: runId={}, stopped {} ms after the request", runId, duration.toMillis());
+        });
+    }
+
+    /**
+     * Last resort for a run that ignored the cancellation: closes the resources it opened
+     * since the request, interrupts it and only then reports CANCELLED. Its slot stays held
+     * until the interrupted thread has returned.
+     */
+    private void forceCancellation(UUID runId) {
+        TestStatus status = statusStore.get(runId);
+        if (status == null) {
+            return;
+        }
+        synchronized (status) {
+            if (!"CANCELLING".equals(status.getStatus())) {
+                return;
+            }
+            log.warn("Run did not stop within {}s after cancellation, interrupting it: runId={}",
+                    RunWatchdog.CANCEL_GRACE.toSeconds(), runId);
+        }
+        int closed = RunControl.forRun(runId.toString()).map(RunControl::closeResources).orElse(0);
+        runScheduler.cancelRunning(runId);
+        synchronized (status) {
+            // The run may have stopped and completed the cancellation itself in the meantime
+            if (!"CANCELLING".equals(status.getStatus())) {
+                return;
+            }
+            log.info("Closed {} browser resource(s) of run {} before forcing its cancellation", closed, runId);
+            addMetadata(status, "forcedCancel", true);
+            applyPartialResults(runId, status);
+            completeCancellation(runId, status);
+        }
+    }
+
+    /**
+     * Cancels a run this instance does not execute: a run still waiting in the shared queue is
+     * claimed and marked CANCELLED, a run executed elsewhere gets a cancel request that the
+     * owning instance applies on its next sync.
+     */
+    private Optional<TestStatus> cancelRemote(UUID runId) {
+        Optional<TestStatus> shared = findSharedStatus(runId);
+        if (shared.isEmpty()) {
+            return Optional.empty();
+        }
+        TestStatus status = shared.get();
+        if ("QUEUED".equals(status.getStatus()) && coordinator.claim(runId)) {
+            statusStore.remove(runId);
+            status.setStatus("CANCELLED");
+            status.setErrorMessage("Cancelled by user");
+            status.setEndTime(LocalDateTime.now());
+            status.setQueuePosition(null);
+            status.setEstimatedStartTime(null);
+            publishStatus(status);
+            indexRun(status, null, null, null);
+            log.info("Queued cluster run cancelled: runId={}", runId);
+            return Optional.of(status);
+        }
+        if ("QUEUED".equals(status.getStatus()) || "RUNNING".equals(status.getStatus())) {
+            coordinator.requestCancel(runId);
+            log.info("Cancel requested from owning instance: runId={}, owner={}", runId, status.getPodName());
+            return Optional.of(status);
         }
         return Optional.empty();
     }
 
     public boolean deleteTestExecution(UUID runId) {
-        TestStatus status = statusMap.get(runId);
+        TestStatus status = statusStore.get(runId);
+        if (status == null) {
+            status = findSharedStatus(runId)
+                    .or(() -> statusStore.load(runId))
+                    .or(() -> indexRecorder.awaitWrites().find(runId).map(RunIndex.Entry::toStatus))
+                    .orElse(null);
+        }
         if (status == null) return false;
 
         // Don't delete running tests
-        if ("RUNNING".equals(status.getStatus()) || "QUEUED".equals(status.getStatus())) {
+        if ("RUNNING".equals(status.getStatus()) || "QUEUED".equals(status.getStatus())
+                || "CANCELLING".equals(status.getStatus()) || "POSTPROCESSING".equals(status.getStatus())) {
             return false;
         }
 
-        statusMap.remove(runId);
+        statusStore.remove(runId);
+        ownedRuns.remove(runId);
+        indexRecorder.delete(runId);
+        if (coordinator != null) {
+            coordinator.delete(runId);
+        }
 
         // Clean up files
         Path resultsPath = getResultsPath(runId);
@@ -307,50 +1458,65 @@ public class TestExecutionService {
         return true;
     }
 
-    public Object getStatistics(String environment) {
-        var allStatuses = statusMap.values().stream()
-                .filter(s -> environment == null || environment.equals(s.getEnvironment()))
-                .toList();
-
-        long total = allStatuses.size();
-        long completed = allStatuses.stream().filter(s -> "COMPLETED".equals(s.getStatus())).count();
-        long failed = allStatuses.stream().filter(s -> "FAILED".equals(s.getStatus())).count();
-        long running = allStatuses.stream().filter(s -> "RUNNING".equals(s.getStatus())).count();
-        long queued = allStatuses.stream().filter(s -> "QUEUED".equals(s.getStatus())).count();
-
-        return Map.of(
-                "totalRuns", total,
-                "completedRuns", completed,
-                "failedRuns", failed,
-                "runningRuns", running,
-                "queuedRuns", queued,
-                "successRate", total > 0 ? (completed * 100.0 / total) : 0.0,
-                "maxConcurrentRuns", MAX_CONCURRENT_RUNS
-        );
+    /**
+     * Statistics of all runs in the run index, including those of other instances.
+     *
+     * @param environment {@code null} for all environments
+     * @param window      only runs queued within this time; {@code null} for all runs
+     */
+    public TestStatistics getStatistics(String environment, Duration window) {
+        // Applies index lines other instances appended since the last read
+        indexRecorder.awaitWrites().refresh();
+        TestStatistics result = indexRecorder.statistics().snapshot(environment, window);
+        result.setMaxConcurrentRuns(MAX_CONCURRENT_RUNS);
+        return result;
     }
 
+    /** Runs with results on the volume, in the order they were queued, from the run index. */
     public List<UUID> listAvailableRuns() {
-        Path basePath = getBaseResultsPath();
-        if (!Files.exists(basePath)) {
-            return List.of();
-        }
-        try (Stream<Path> dirs = Files.list(basePath)) {
-            return dirs
-                    .filter(Files::isDirectory)
-                    .filter(dir -> Files.exists(dir.resolve("allure-results")))
-                    .map(dir -> {
-                        try {
-                            return UUID.fromString(dir.getFileName().toString());
-                        } catch (IllegalArgumentException e) {
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
-        } catch (IOException e) {
-            log.error("Failed to list available runs", e);
-            return List.of();
+        return indexRecorder.awaitWrites().entries().stream()
+                .filter(RunIndex.Entry::executed)
+                .map(RunIndex.Entry::runId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * One page of the run listing, newest first, from the sorted run index.
+     *
+     * @param cursor {@link RunPage#getNextCursor()} of the previous page; {@code null} for the first page
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public RunPage listRuns(RunIndex.Query query, String cursor, int limit) {
+        RunIndex.Position after = cursor != null && !cursor.isBlank() ? RunIndex.Position.decode(cursor) : null;
+        // One more than requested tells whether there is a next page
+        List<RunIndex.Entry> entries = indexRecorder.awaitWrites().page(query, after, limit + 1);
+        boolean more = entries.size() > limit;
+        if (more) {
+            entries = entries.subList(0, limit);
         }
+        return RunPage.builder()
+                .runs(entries.stream().map(TestExecutionService::toSummary).collect(Collectors.toList()))
+                .nextCursor(more ? entries.get(limit - 1).position().encode() : null)
+                .limit(limit)
+                .build();
+    }
+
+    private static RunSummary toSummary(RunIndex.Entry entry) {
+        return RunSummary.builder()
+                .runId(entry.runId())
+                .status(entry.status())
+                .environment(entry.environment())
+                .tags(entry.tags())
+                .initiator(entry.initiator())
+                .priority(entry.priority())
+                .queuedAt(entry.queuedAt())
+                .startTime(entry.startTime())
+                .endTime(entry.endTime())
+                .totalTests(entry.totalTests())
+                .passedTests(entry.passedTests())
+                .failedTests(entry.failedTests())
+                .skippedTests(entry.skippedTests())
+                .build();
     }
 
     public Optional<String> generateCombinedAllureReport(List<UUID> runIds) {
@@ -362,7 +1528,23 @@ public class TestExecutionService {
             log.warn("No runs available for combined report");
             return Optional.empty();
         }
+        return generateCombinedAllureReport(effectiveRunIds,
+                getBaseResultsPath().resolve("combined").resolve("allure-report"),
+                "/reports/combined/allure-report/index.html");
+    }
 
+    /**
+     * Combined Allure report over the runs of a batch, in the batch's directory.
+     *
+     * @return the report URL, empty if the batch is unknown or none of its runs has results
+     */
+    public Optional<String> generateBatchReport(UUID batchId) {
+        return batches.find(batchId).flatMap(batch -> generateCombinedAllureReport(batch.runIds(),
+                batches.directory(batchId).resolve("allure-report"), RunBatches.reportUrl(batchId)));
+    }
+
+    private Optional<String> generateCombinedAllureReport(List<UUID> effectiveRunIds, Path combinedReportDir,
+                                                          String reportUrl) {
         // Filter to runs that actually have allure-results
         List<UUID> validRunIds = effectiveRunIds.stream()
                 .filter(id -> Files.exists(getResultsPath(id).resolve("allure-results")))
@@ -375,7 +1557,6 @@ public class TestExecutionService {
 
         Path tempDir = null;
         try {
-            Path combinedReportDir = getBaseResultsPath().resolve("combined").resolve("allure-report");
             Files.createDirectories(combinedReportDir);
 
             // Read timestamps and sort runs ascending by time (oldest = buildOrder 1, newest = N)
@@ -409,7 +1590,6 @@ public class TestExecutionService {
 
             Path indexHtml = combinedReportDir.resolve("index.html");
             if (Files.exists(indexHtml)) {
-                String reportUrl = "/reports/combined/allure-report/index.html";
                 log.info("Combined Allure report generated successfully from {} runs at URL: {}",
                         validRunIds.size(), reportUrl);
                 return Optional.of(reportUrl);
@@ -623,30 +1803,63 @@ public class TestExecutionService {
         }
     }
 
-    private int countScenariosInFeatures() {
+    /**
+     * Number of scenarios a run with these tags and features executes, answered from the cached
+     * {@link FeatureIndex}: tag-aware, language-independent and with every example row counted.
+     * Returns 0 if the feature files cannot be read or the tag expression is invalid.
+     */
+    private int expectedScenarios(String tagsExpression, String features) {
         try {
-            java.net.URL featuresUrl = getClass().getClassLoader().getResource("features");
-            if (featuresUrl == null) return 0;
-            Path featuresDir = Path.of(featuresUrl.toURI());
-            try (Stream<Path> walk = Files.walk(featuresDir)) {
-                return (int) walk
-                        .filter(p -> p.toString().endsWith(".feature"))
-                        .flatMap(p -> {
-                            try { return Files.lines(p); }
-                            catch (IOException e) { return Stream.empty(); }
-                        })
-                        .filter(line -> {
-                            String t = line.trim();
-                            return t.startsWith("Scenario:") || t.startsWith("Scenario Outline:");
-                        })
-                        .count();
-            }
-        } catch (Exception e) {
+            List<String> selectors = features != null ? Arrays.asList(features.split(",")) : List.of();
+            return FeatureIndex.current().count(tagsExpression, selectors);
+        } catch (IOException e) {
             log.debug("Could not count scenarios in feature files: {}", e.getMessage());
             return 0;
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid tag expression {}: {}", tagsExpression, e.getMessage());
+            return 0;
         }
     }
 
+    private CucumberRunnerService.RunResult runCucumber(UUID runId, String tags, String features,
+                                                        TestExecutionRequest request) throws Exception {
+        CucumberRunnerService.RunOptions options = runOptions(request);
+        if (workerPool == null) {
+            return cucumberRunnerService.run(runId.toString(), tags, features, options);
+        }
+        Map<String, String> properties = new HashMap<>(runProperties(request));
+        // The worker must write into the same results directory the service reads from
+        properties.put("test.results.path", getBaseResultsPath().toAbsolutePath().toString());
+        RunWorkerPool.WorkerJob job = new RunWorkerPool.WorkerJob(runId.toString(), tags, features, options, properties);
+        return workerPool.execute(job, RunControl.forRun(runId.toString()).orElse(null));
+    }
+
+    /** Request-level settings, read by the test code through ConfigReader/BrowserConfig. */
+    private Map<String, String> runProperties(TestExecutionRequest request) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        if (request.getEnvironmentVariables() != null) {
+            properties.putAll(request.getEnvironmentVariables());
+        }
+        if (request.getBrowser() != null) {
+            properties.put("browser", request.getBrowser());
+        }
+        if (request.getHeadless() != null) {
+            properties.put("browser.headless", request.getHeadless().toString());
+        }
+        return properties;
+    }
+
+    private CucumberRunnerService.RunOptions runOptions(TestExecutionRequest request) {
+        int threads = request.getParallelCount() != null ? request.getParallelCount() : 1;
+        int maxRetries = Boolean.TRUE.equals(request.getRetryFailedTests()) && request.getMaxRetries() != null
+                ? request.getMaxRetries()
+                : 0;
+        return new CucumberRunnerService.RunOptions(threads, maxRetries,
+                request.getSutVersion(), Boolean.TRUE.equals(request.getReuseResults()),
+                request.getMaxFailures() != null ? request.getMaxFailures() : 0,
+                request.getMaxConsecutiveFailures() != null ? request.getMaxConsecutiveFailures() : 0);
+    }
+
     private String buildTagsExpression(List<String> tags) {
         if (tags == null || tags.isEmpty()) return null;
         return tags.stream()
@@ -656,6 +1869,13 @@ public class TestExecutionService {
 
     @PreDestroy
     public void shutdown() {
-        executor.shutdownNow();
+        runScheduler.shutdown();
+        webhooks.shutdown();
+        watchdog.shutdown();
+        postProcessor.shutdownNow();
+        if (clusterSync != null) {
+            clusterSync.shutdownNow();
+        }
+        indexRecorder.shutdown();
     }
 }
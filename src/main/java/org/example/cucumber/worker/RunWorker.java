@@ -0,0 +1,129 @@
+package org.example.cucumber.worker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cucumber.context.RunProgress;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Handle for one child worker JVM. Reads the worker's protocol messages on a dedicated
+ * thread; closing the handle kills the process (and its browser/driver subprocesses).
+ */
+@Slf4j
+class RunWorker implements AutoCloseable {
+
+    private final int id;
+    private final Process process;
+    private final ObjectMapper objectMapper;
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+    private final CompletableFuture<RunWorkerPool.WorkerMessage> outcome = new CompletableFuture<>();
+    private volatile Consumer<RunProgress> progressListener = progress -> { };
+
+    RunWorker(int id, Process process, ObjectMapper objectMapper) {
+        this.id = id;
+        this.process = process;
+        this.objectMapper = objectMapper;
+        Thread reader = new Thread(this::readProtocol, "run-worker-" + id + "-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    int getId() {
+        return id;
+    }
+
+    boolean isAlive() {
+        return process.isAlive() && !ready.isCompletedExceptionally();
+    }
+
+    void awaitReady(Duration timeout) throws IOException, InterruptedException {
+        try {
+            ready.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IOException("Run worker " + id + " failed during warm-up", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IOException("Run worker " + id + " not ready after " + timeout.toSeconds() + "s");
+        }
+    }
+
+    /**
+     * Sends the job and blocks until the worker reports its outcome or exits. Progress messages
+     * received in the meantime are passed to {@code progressListener} on the reader thread.
+     *
+     * @return the worker's RESULT/ERROR message, or {@code null} if the process ended without one
+     *         (crash or killed via {@link #close()})
+     */
+    RunWorkerPool.WorkerMessage execute(RunWorkerPool.WorkerJob job, Consumer<RunProgress> progressListener)
+            throws IOException, InterruptedException {
+        this.progressListener = progressListener;
+        Writer stdin = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+        stdin.write(objectMapper.writeValueAsString(job));
+        stdin.write('\n');
+        stdin.flush();
+        try {
+            return outcome.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Run worker " + id + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /** Exit code of the process; waits briefly for it to terminate. */
+    int exitCode() throws InterruptedException {
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            close();
+            process.waitFor(5, TimeUnit.SECONDS);
+        }
+        return process.isAlive() ? -1 : process.exitValue();
+    }
+
+    @Override
+    public void close() {
+        if (process.isAlive()) {
+            log.debug("Killing run worker {} (pid {})", id, process.pid());
+        }
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    private void readProtocol() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith(RunWorkerMain.PROTOCOL_PREFIX)) {
+                    log.debug("[worker-{}] {}", id, line);
+                    continue;
+                }
+                RunWorkerPool.WorkerMessage message = objectMapper.readValue(
+                        line.substring(RunWorkerMain.PROTOCOL_PREFIX.length()), RunWorkerPool.WorkerMessage.class);
+                if (RunWorkerPool.WorkerMessage.READY.equals(message.type())) {
+                    ready.complete(null);
+                } else if (RunWorkerPool.WorkerMessage.PROGRESS.equals(message.type())) {
+                    progressListener.accept(message.progress());
+                } else {
+                    outcome.complete(message);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Protocol stream of run worker {} closed: {}", id, e.getMessage());
+        } finally {
+            ready.completeExceptionally(new IOException("Run worker " + id + " exited"));
+            outcome.complete(null);
+        }
+    }
+}
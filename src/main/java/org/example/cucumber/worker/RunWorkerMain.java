@@ -0,0 +1,125 @@
+package org.example.cucumber.worker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.CucumberRunnerService;
+import org.example.cucumber.context.RunControl;
+import org.example.hooks.CucumberHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.TestContextManager;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Entry point of a child worker JVM started by {@link RunWorkerPool}.
+ * <p>
+ * Protocol (line based, UTF-8):
+ * <ol>
+ *   <li>The worker warms up (loads Cucumber/Allure/Playwright classes and the cucumber-spring
+ *       application context) and writes {@code READY} on stdout.</li>
+ *   <li>The parent sends exactly one {@link RunWorkerPool.WorkerJob} as a JSON line on stdin.</li>
+ *   <li>While the run executes, the worker reports its progress with {@code PROGRESS} messages.</li>
+ *   <li>The worker answers with {@code RESULT} (or {@code ERROR}), then exits.</li>
+ * </ol>
+ * Protocol messages are prefixed with {@link #PROTOCOL_PREFIX}. All other console output
+ * (Spring logging, Cucumber's pretty plugin) is redirected to stderr so it cannot corrupt
+ * the protocol stream.
+ * <p>
+ * A worker executes a single run: system properties, the Allure lifecycle and other global
+ * state are therefore isolated per run without any cleanup.
+ */
+public final class RunWorkerMain {
+
+    static final String PROTOCOL_PREFIX = "@@worker ";
+
+    private static final Logger log = LoggerFactory.getLogger(RunWorkerMain.class);
+
+    /** Classes loaded during warm-up so the first scenario does not pay for class loading. */
+    private static final String[] WARM_UP_CLASSES = {
+            "io.cucumber.core.cli.Main",
+            "io.cucumber.core.plugin.JsonFormatter",
+            "io.cucumber.core.plugin.HtmlFormatter",
+            "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm",
+            "com.microsoft.playwright.Playwright",
+            "io.restassured.RestAssured"
+    };
+
+    private RunWorkerMain() {
+    }
+
+    public static void main(String[] args) {
+        PrintStream protocol = new PrintStream(new FileOutputStream(FileDescriptor.out), true, StandardCharsets.UTF_8);
+        System.setOut(System.err);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        int status = 0;
+        try {
+            warmUp();
+            send(protocol, objectMapper, RunWorkerPool.WorkerMessage.ready());
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            String line = in.readLine();
+            if (line == null || line.isBlank()) {
+                // Pool shut down before a job was assigned
+                return;
+            }
+            RunWorkerPool.WorkerJob job = objectMapper.readValue(line, RunWorkerPool.WorkerJob.class);
+            if (job.systemProperties() != null) {
+                job.systemProperties().forEach(System::setProperty);
+            }
+            RunControl.register(job.runId()).onProgress(progress -> {
+                try {
+                    send(protocol, objectMapper, RunWorkerPool.WorkerMessage.progress(progress));
+                } catch (Exception e) {
+                    log.debug("Could not report progress: {}", e.getMessage());
+                }
+            });
+
+            CucumberRunnerService.RunResult result = new CucumberRunnerService().run(job.runId(), job.tags(),
+                    job.features(), job.options());
+            send(protocol, objectMapper, RunWorkerPool.WorkerMessage.result(result));
+        } catch (Exception e) {
+            log.error("Run worker failed", e);
+            status = 1;
+            try {
+                send(protocol, objectMapper, RunWorkerPool.WorkerMessage.error(e.toString()));
+            } catch (Exception ignored) {
+                // parent falls back to the process exit code
+            }
+        } finally {
+            protocol.flush();
+            // The cucumber-spring context keeps non-daemon threads alive
+            System.exit(status);
+        }
+    }
+
+    private static void warmUp() {
+        long start = System.currentTimeMillis();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        for (String className : WARM_UP_CLASSES) {
+            try {
+                Class.forName(className, true, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                log.debug("Warm-up class not available: {}", className);
+            }
+        }
+        try {
+            // cucumber-spring resolves its context through the Spring test context cache,
+            // so the context created here is reused by the run instead of being built again
+            new TestContextManager(CucumberHooks.class).getTestContext().getApplicationContext();
+        } catch (Exception e) {
+            log.warn("Spring context warm-up failed, run will start cold: {}", e.getMessage());
+        }
+        log.info("Run worker warmed up in {} ms", System.currentTimeMillis() - start);
+    }
+
+    private static void send(PrintStream protocol, ObjectMapper objectMapper,
+                             RunWorkerPool.WorkerMessage message) throws Exception {
+        protocol.println(PROTOCOL_PREFIX + objectMapper.writeValueAsString(message));
+    }
+}
@@ -0,0 +1,277 @@
+package org.example.cucumber.worker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.CucumberRunnerService;
+import org.example.cucumber.context.RunControl;
+import org.example.cucumber.context.RunProgress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * Pool of pre-warmed child JVMs that execute test runs in process isolation.
+ * <p>
+ * Runs executed in the service JVM share process-wide state (system properties, the Allure
+ * lifecycle singleton, static browser configuration). In worker mode every run gets its own
+ * JVM from this pool instead. Workers are started ahead of time and warm up while idle
+ * (see {@link RunWorkerMain}), so a run only pays the JVM startup cost when the pool is
+ * exhausted. Each worker executes exactly one run and is then replaced.
+ * <p>
+ * Results are written by the worker into the shared results directory, so report generation
+ * in the service works unchanged; the run's progress is passed on to its {@link RunControl}.
+ * <p>
+ * Enabled with {@code test.execution.worker.enabled=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "test.execution.worker.enabled", havingValue = "true")
+public class RunWorkerPool {
+
+    /** Job sent to a worker on stdin. */
+    public record WorkerJob(String runId, String tags, String features, CucumberRunnerService.RunOptions options,
+                            Map<String, String> systemProperties) {
+    }
+
+    /** Protocol message sent by a worker on stdout. */
+    public record WorkerMessage(String type, String label, Integer exitCode, String outputDir, String abortReason,
+                                String error, RunProgress progress) {
+
+        static final String READY = "READY";
+        static final String PROGRESS = "PROGRESS";
+        static final String RESULT = "RESULT";
+        static final String ERROR = "ERROR";
+
+        static WorkerMessage ready() {
+            return new WorkerMessage(READY, null, null, null, null, null, null);
+        }
+
+        static WorkerMessage progress(RunProgress progress) {
+            return new WorkerMessage(PROGRESS, null, null, null, null, null, progress);
+        }
+
+        static WorkerMessage result(CucumberRunnerService.RunResult result) {
+            return new WorkerMessage(RESULT, result.label(), result.exitCode(), result.outputDir(),
+                    result.abortReason(), null, null);
+        }
+
+        static WorkerMessage error(String error) {
+            return new WorkerMessage(ERROR, null, null, null, null, error, null);
+        }
+    }
+
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+    /** Launcher of Spring Boot executable jars that accepts another main class via {@code loader.main}. */
+    static final String PROPERTIES_LAUNCHER = "org.springframework.boot.loader.launch.PropertiesLauncher";
+    /** Manifest attribute only present in Spring Boot executable jars. */
+    private static final String SPRING_BOOT_CLASSES = "Spring-Boot-Classes";
+
+    private final int size;
+    private final List<String> command;
+    private final Duration readyTimeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<RunWorker> idle = new LinkedBlockingQueue<>();
+    private final AtomicInteger workerIds = new AtomicInteger();
+    private final ExecutorService spawner = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "run-worker-spawner");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile boolean shutdown;
+
+    @Autowired
+    public RunWorkerPool(@Value("${test.execution.worker.pool-size:2}") int size,
+                         @Value("${test.execution.worker.jvm-args:}") String jvmArgs,
+                         @Value("${test.execution.worker.classpath:}") String classpath,
+                         @Value("${spring.profiles.active:}") String activeProfiles) {
+        this(size, workerCommand(jvmArgs, classpath, activeProfiles), READY_TIMEOUT);
+    }
+
+    RunWorkerPool(int size, List<String> command, Duration readyTimeout) {
+        this.size = Math.max(0, size);
+        this.command = List.copyOf(command);
+        this.readyTimeout = readyTimeout;
+    }
+
+    @PostConstruct
+    public void start() {
+        log.info("Starting run worker pool with {} warm worker(s)", size);
+        for (int i = 0; i < size; i++) {
+            refill();
+        }
+    }
+
+    /**
+     * Executes a run in a worker JVM and blocks until it has finished.
+     * <p>
+     * The worker is registered as resource of the run's {@link RunControl}: closing the run's
+     * resources (timeout, cancellation) kills the worker, and the run returns with the
+     * worker's non-zero exit code. Progress reported by the worker is passed on to the control.
+     */
+    public CucumberRunnerService.RunResult execute(WorkerJob job, RunControl control) throws Exception {
+        RunWorker worker = acquire();
+        refill();
+        if (control != null) {
+            control.registerResource(worker);
+        }
+        try {
+            log.info("Executing run {} in worker {}", job.runId(), worker.getId());
+            WorkerMessage outcome = worker.execute(job, control != null ? control::reportProgress : progress -> { });
+            if (outcome != null && WorkerMessage.RESULT.equals(outcome.type())) {
+                return new CucumberRunnerService.RunResult(job.runId(), outcome.label(),
+                        outcome.exitCode(), outcome.outputDir(), outcome.abortReason());
+            }
+            if (outcome != null && WorkerMessage.ERROR.equals(outcome.type())) {
+                throw new IOException("Run worker failed: " + outcome.error());
+            }
+            int exitCode = worker.exitCode();
+            log.warn("Run worker {} for run {} ended without result (exit code {})", worker.getId(), job.runId(), exitCode);
+            return new CucumberRunnerService.RunResult(job.runId(), job.tags(), exitCode == 0 ? 1 : exitCode, null);
+        } finally {
+            if (control != null) {
+                control.unregisterResource(worker);
+            }
+            worker.close();
+        }
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shutdown = true;
+        spawner.shutdownNow();
+        RunWorker worker;
+        while ((worker = idle.poll()) != null) {
+            worker.close();
+        }
+    }
+
+    /** Takes a warm (or still warming) worker from the pool, starting a cold one if none is left. */
+    private RunWorker acquire() throws IOException, InterruptedException {
+        RunWorker worker;
+        while ((worker = idle.poll()) != null) {
+            if (worker.isAlive()) {
+                break;
+            }
+            worker.close();
+        }
+        if (worker == null) {
+            log.info("Run worker pool exhausted, starting a cold worker");
+            worker = spawn();
+        }
+        try {
+            worker.awaitReady(readyTimeout);
+        } catch (IOException | InterruptedException e) {
+            worker.close();
+            throw e;
+        }
+        return worker;
+    }
+
+    private void refill() {
+        if (shutdown) {
+            return;
+        }
+        try {
+            spawner.execute(() -> {
+                try {
+                    RunWorker worker = spawn();
+                    if (shutdown) {
+                        worker.close();
+                    } else {
+                        idle.add(worker);
+                    }
+                } catch (IOException e) {
+                    log.error("Failed to start run worker: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Run worker pool shut down, not refilling");
+        }
+    }
+
+    private RunWorker spawn() throws IOException {
+        int id = workerIds.incrementAndGet();
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        log.debug("Started run worker {} (pid {})", id, process.pid());
+        return new RunWorker(id, process, objectMapper);
+    }
+
+    /**
+     * Command line of a worker JVM. The service normally runs as Spring Boot executable jar
+     * ({@code java -jar app.jar}), whose classes live under {@code BOOT-INF/} and cannot be
+     * loaded with a plain {@code -cp}; such a jar is started through Spring Boot's
+     * {@code PropertiesLauncher} with {@link RunWorkerMain} as {@code loader.main}. Any other
+     * classpath (exploded classes, IDE, tests) starts the main class directly.
+     *
+     * @param classpath classpath of the worker; empty uses the service's own classpath
+     */
+    static List<String> workerCommand(String jvmArgs, String classpath, String activeProfiles) {
+        String effectiveClasspath = classpath != null && !classpath.isBlank()
+                ? classpath
+                : System.getProperty("java.class.path");
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (jvmArgs != null && !jvmArgs.isBlank()) {
+            Arrays.stream(jvmArgs.split(","))
+                    .map(String::trim)
+                    .filter(arg -> !arg.isEmpty())
+                    .forEach(command::add);
+        }
+        command.add("-cp");
+        command.add(effectiveClasspath);
+        // The worker's own application context must not start another pool
+        command.add("-Dtest.execution.worker.enabled=false");
+        if (activeProfiles != null && !activeProfiles.isBlank()) {
+            command.add("-Dspring.profiles.active=" + activeProfiles);
+        }
+        if (isExecutableJar(effectiveClasspath)) {
+            command.add("-Dloader.main=" + RunWorkerMain.class.getName());
+            command.add(PROPERTIES_LAUNCHER);
+        } else {
+            command.add(RunWorkerMain.class.getName());
+        }
+        return command;
+    }
+
+    /** Whether the classpath is a single Spring Boot executable jar. */
+    static boolean isExecutableJar(String classpath) {
+        if (classpath == null || classpath.contains(File.pathSeparator) || !classpath.endsWith(".jar")
+                || !Files.isRegularFile(Path.of(classpath))) {
+            return false;
+        }
+        try (JarFile jar = new JarFile(classpath)) {
+            Manifest manifest = jar.getManifest();
+            return manifest != null && manifest.getMainAttributes().getValue(SPRING_BOOT_CLASSES) != null;
+        } catch (IOException e) {
+            log.warn("Cannot read worker classpath {}: {}", classpath, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.microsoft.playwright.Page;
 import io.qameta.allure.Allure;
+import org.example.cucumber.context.RunControl;
 import org.example.cucumber.context.TestContext;
 import org.example.utils.ConfigReader;
 
@@ -50,6 +51,13 @@ public class AxeReportHook {
         return Paths.get(ConfigReader.get("axe.reportPath", "target/axe-result/"));
     }
 
+    /**
+     * Vergisst die gescannten URLs eines beendeten Runs, damit die Map nicht mit jedem Run waechst.
+     */
+    public static void clearScannedUrls(Path reportDir) {
+        scannedUrlsByRun.remove(reportDir.toAbsolutePath().toString());
+    }
+
     /**
      * Fuehrt den Axe Scan aus und speichert das Ergebnis sofort als JSON + HTML.
      * Aktualisiert danach die Uebersichtsseite (index.html) im Report-Verzeichnis.
@@ -81,7 +89,10 @@ public class AxeReportHook {
             System.out.println("Axe-Report generiert: " + baseName + ".json");
 
             generateSimpleHtml(results, baseName, reportDir);
-            generateIndexHtml(reportDir);
+            // Service-Runs erzeugen die index.html einmalig in der Nachbearbeitung
+            if (RunControl.current().isEmpty()) {
+                generateIndexHtml(reportDir);
+            }
 
             Allure.addAttachment(
                     "Accessibility Scan - " + fileName,
@@ -101,8 +112,9 @@ public class AxeReportHook {
     /**
      * Liest alle JSON-Dateien im Report-Verzeichnis ein und erzeugt eine
      * index.html mit Gesamtstatistik und Verlinkung zu den Einzelberichten.
+     * Synchronisiert, da parallele Szenarien eines Runs dieselbe index.html schreiben.
      */
-    static void generateIndexHtml(Path reportDir) throws IOException {
+    public static synchronized void generateIndexHtml(Path reportDir) throws IOException {
         List<ScanSummary> scans = collectScans(reportDir);
 
         int totalViolations = scans.stream().mapToInt(s -> s.violations).sum();
@@ -2,9 +2,12 @@ package org.example.hooks;
 
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeStep;
 import io.cucumber.java.Scenario;
 import io.cucumber.spring.CucumberContextConfiguration;
 import io.qameta.allure.Allure;
+import org.example.cucumber.context.RunControl;
+import org.opentest4j.TestAbortedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -15,7 +18,8 @@ import java.time.LocalDateTime;
  * Cucumber Hooks fuer Setup und Teardown
  */
 @CucumberContextConfiguration
-@SpringBootTest
+// Der Kontext eines Cucumber-Runs nimmt weder an der Cluster-Koordination teil noch startet er Worker
+@SpringBootTest(properties = {"test.execution.cluster.backend=none", "test.execution.worker.enabled=false"})
 public class CucumberHooks {
 
     private static final Logger log = LoggerFactory.getLogger(CucumberHooks.class);
@@ -27,6 +31,7 @@ public class CucumberHooks {
     public void beforeScenario(Scenario scenario) {
         scenarioName.set(scenario.getName());
         scenarioStartTime.set(LocalDateTime.now());
+        skipIfRunAborted();
 
         log.info("========================================");
         log.info("Starting Scenario: {}", scenario.getName());
@@ -39,6 +44,27 @@ public class CucumberHooks {
         });
     }
 
+    /**
+     * Prueft vor jedem Step, ob der Run abgebrochen wurde (Timeout, Abbruch, Fail-Fast).
+     * Dadurch stoppt ein Run zwischen zwei Steps statt erst nach dem Szenario.
+     */
+    @BeforeStep(order = 0)
+    public void beforeStep() {
+        skipIfRunAborted();
+    }
+
+    /**
+     * Cucumber wertet {@link TestAbortedException} als SKIPPED: das Szenario bzw. die
+     * restlichen Steps werden uebersprungen, After-Hooks (Browser schliessen) laufen weiter.
+     */
+    private void skipIfRunAborted() {
+        RunControl.current()
+                .filter(RunControl::isAborted)
+                .ifPresent(control -> {
+                    throw new TestAbortedException("Run abgebrochen: " + control.getAbortReason());
+                });
+    }
+
     @After(order = 100)
     public void afterScenario(Scenario scenario) {
         LocalDateTime endTime = LocalDateTime.now();
@@ -21,6 +21,7 @@ import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -191,6 +192,9 @@ public class ZephyrScaleService {
                     executions.add(ZephyrTestExecution.builder()
                             .testCaseKey(testCaseKey)
                             .statusName(allPassed ? "Pass" : "Fail")
+                            .comment(element.getReusedFrom() != null
+                                    ? "Reused result of run " + element.getReusedFrom() + " (not re-executed)"
+                                    : null)
                             .build());
                 }
             }
@@ -266,7 +270,7 @@ public class ZephyrScaleService {
         if (status == null) return;
         Map<String, String> reportUrls = status.getReportUrls();
         if (reportUrls == null) {
-            reportUrls = new LinkedHashMap<>();
+            reportUrls = new ConcurrentHashMap<>();
             status.setReportUrls(reportUrls);
         }
         reportUrls.put(key, url);
@@ -276,7 +280,7 @@ public class ZephyrScaleService {
         if (status == null) return;
         Map<String, Object> metadata = status.getMetadata();
         if (metadata == null) {
-            metadata = new HashMap<>();
+            metadata = new ConcurrentHashMap<>();
             status.setMetadata(metadata);
         }
         metadata.put(key, value);
@@ -312,6 +316,8 @@ public class ZephyrScaleService {
         private List<CucumberTag> tags;
         @JsonProperty("steps")
         private List<CucumberStep> steps;
+        @JsonProperty("reusedFrom")
+        private String reusedFrom;
     }
 
     @Data
@@ -4,8 +4,10 @@ import com.microsoft.playwright.Browser;
 import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
 import org.example.config.BrowserConfig;
 import org.example.config.PlaywrightMirrorConfig;
+import org.example.cucumber.context.RunControl;
 import org.example.utils.ConfigReader;
 
 import java.nio.file.Path;
@@ -14,6 +16,7 @@ import java.util.Map;
 
 public abstract class BasePage {
 
+    protected Playwright playwright;
     protected Browser browser;
     protected Page page;
 
@@ -44,7 +47,10 @@ public abstract class BasePage {
             createOptions.setEnv(env);
         }
 
-        Playwright playwright = Playwright.create(createOptions);
+        playwright = Playwright.create(createOptions);
+        // Beim Run registrieren, damit Watchdog/Abbruch den Browser auch von außen schließen können
+        Playwright created = playwright;
+        RunControl.current().ifPresent(control -> control.registerResource(created));
         BrowserType browserType = switch (normalized) {
             case "firefox" -> playwright.firefox();
             case "chromium", "chrome" -> playwright.chromium();
@@ -73,4 +79,30 @@ public abstract class BasePage {
         return page;
     }
 
+    /**
+     * Schließt Browser und Playwright-Treiber dieses Szenarios.
+     * Idempotent; ein bereits von außen (Watchdog/Abbruch) geschlossener Browser wird ignoriert.
+     */
+    public void closeBrowser() {
+        try {
+            if (browser != null) {
+                browser.close();
+            }
+        } catch (PlaywrightException e) {
+            // Browser wurde bereits über RunControl geschlossen
+        } finally {
+            browser = null;
+        }
+        if (playwright != null) {
+            Playwright current = playwright;
+            playwright = null;
+            RunControl.current().ifPresent(control -> control.unregisterResource(current));
+            try {
+                current.close();
+            } catch (PlaywrightException e) {
+                // Treiber wurde bereits über RunControl beendet
+            }
+        }
+    }
+
 }
\ No newline at end of file
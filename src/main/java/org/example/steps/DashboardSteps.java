@@ -8,6 +8,7 @@ import io.cucumber.java.de.Gegebensei;
 import io.cucumber.java.de.Dann;
 import io.cucumber.java.de.Wenn;
 import io.cucumber.java.de.Und;
+import org.example.config.BrowserConfig;
 import org.example.config.PlaywrightBrowserInstaller;
 import org.example.hooks.AxeReportHook;
 import org.example.pages.BasePage;
@@ -33,7 +34,7 @@ public class DashboardSteps extends BasePage {
     @Before
     public void setUp(Scenario scenario) {
         this.currentScenario = scenario;
-        String browserName = System.getProperty("browser");
+        String browserName = BrowserConfig.getBrowser();
         browserInstaller.ensureInstalled(browserName);
         page = createPlaywrightPageInstance(browserName);
     }
@@ -47,9 +48,7 @@ public class DashboardSteps extends BasePage {
             captureScreenshot(page, label, scenario);
             page.close();
         }
-        if (browser != null) {
-            browser.close();
-        }
+        closeBrowser();
     }
 
     @Gegebensei("ich öffne die Login-Seite")
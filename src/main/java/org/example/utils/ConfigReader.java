@@ -1,6 +1,7 @@
 package org.example.utils;
 
 import io.github.cdimascio.dotenv.Dotenv;
+import org.example.cucumber.context.RunConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,6 +83,7 @@ public class ConfigReader {
     /**
      * Liest einen Konfigurationswert mit folgender Priorität:
      * <ol>
+     *   <li>Run-Konfiguration des aktuellen Test-Runs ({@link RunConfig}, z.B. environmentVariables des Requests)</li>
      *   <li>Umgebungsvariable (UPPER_SNAKE_CASE, z.B. von OpenShift ConfigMap/Secret)</li>
      *   <li>System-Property (-Dkey=value)</li>
      *   <li>.env-Datei (lokale Entwicklung)</li>
@@ -93,6 +95,12 @@ public class ConfigReader {
     public static String get(String key, String defaultValue) {
         String envKey = key.toUpperCase().replace(".", "_");
 
+        String runValue = RunConfig.get(key);
+        if (runValue != null) {
+            log.debug("Key '{}' bezogen aus: Run-Konfiguration", key);
+            return runValue;
+        }
+
         String envValue = System.getenv(envKey);
         if (envValue != null) {
             log.debug("Key '{}' bezogen aus: Umgebungsvariable ({})", key, envKey);
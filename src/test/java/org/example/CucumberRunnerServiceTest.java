@@ -1,5 +1,11 @@
 package org.example;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cucumber.core.options.CommandlineOptionsParser;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.order.PickleOrder;
+import io.cucumber.core.order.StandardPickleOrders;
 import io.qameta.allure.Allure;
 import io.qameta.allure.AllureLifecycle;
 import io.qameta.allure.FileSystemResultsWriter;
@@ -7,10 +13,13 @@ import io.qameta.allure.model.TestResult;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -192,4 +201,84 @@ class CucumberRunnerServiceTest {
             assertEquals(0, run2Count, "Without reset: run2 directory stays empty");
         }
     }
+
+    @Test
+    void runOptions_NegativeValues_Clamped() {
+        var options = new CucumberRunnerService.RunOptions(0, -1);
+
+        assertEquals(1, options.threads());
+        assertEquals(0, options.maxRetries());
+        assertEquals(new CucumberRunnerService.RunOptions(4, 0), new CucumberRunnerService.RunOptions(4));
+    }
+
+    @Test
+    void mergeRetryResults_ReplacesRetriedScenarioAndMarksAttempt(@TempDir Path tempDir) throws Exception {
+        Path cucumberJson = tempDir.resolve("Cucumber.json");
+        Path retryJson = tempDir.resolve("Cucumber-retry-1.json");
+        Files.writeString(cucumberJson, """
+                [{"uri": "classpath:features/login.feature", "elements": [
+                  {"type": "background", "line": 3, "name": "bg-original"},
+                  {"type": "scenario", "line": 6, "name": "flaky", "status": "failed", "tags": [{"name": "@smoke"}]},
+                  {"type": "background", "line": 3, "name": "bg-original"},
+                  {"type": "scenario", "line": 10, "name": "stable", "status": "passed"}
+                ]}]
+                """);
+        Files.writeString(retryJson, """
+                [{"uri": "classpath:features/login.feature", "elements": [
+                  {"type": "background", "line": 3, "name": "bg-retry"},
+                  {"type": "scenario", "line": 6, "name": "flaky", "status": "passed", "tags": [{"name": "@smoke"}]}
+                ]}]
+                """);
+
+        CucumberRunnerService.mergeRetryResults(cucumberJson, retryJson, 1);
+
+        JsonNode elements = new ObjectMapper().readTree(cucumberJson.toFile()).get(0).get("elements");
+        assertEquals(4, elements.size());
+        assertEquals("bg-retry", elements.get(0).get("name").asText());
+        assertEquals("passed", elements.get(1).get("status").asText());
+        assertEquals("@retry-1", elements.get(1).get("tags").get(1).get("name").asText());
+        assertEquals("bg-original", elements.get(2).get("name").asText());
+        assertEquals("stable", elements.get(3).get("name").asText());
+    }
+
+    /**
+     * runMain reproduces Main.run on Cucumber's internal API; an upgrade may change either.
+     */
+    @Test
+    void cucumberVersion_IsTheOneRunMainWasComparedWith() throws Exception {
+        Properties pom = new Properties();
+        try (InputStream in = RuntimeOptions.class.getResourceAsStream(
+                "/META-INF/maven/io.cucumber/cucumber-core/pom.properties")) {
+            assertNotNull(in, "cucumber-core pom.properties not on the classpath");
+            pom.load(in);
+        }
+        assertEquals(CucumberRunnerService.CUCUMBER_VERSION, pom.getProperty("version"),
+                "Cucumber upgraded: compare CucumberRunnerService.runMain with io.cucumber.core.cli.Main.run, "
+                        + "then update CUCUMBER_VERSION");
+    }
+
+    @Test
+    void runtimeOptions_CommandLineOverridesSystemProperties() {
+        PickleOrder order = StandardPickleOrders.lexicalUriOrder();
+        String previous = System.getProperty("cucumber.filter.tags");
+        System.setProperty("cucumber.filter.tags", "@system");
+        try {
+            RuntimeOptions fromSystem = CucumberRunnerService.runtimeOptions(
+                    new CommandlineOptionsParser(System.out).parse(), order);
+            RuntimeOptions fromCommandLine = CucumberRunnerService.runtimeOptions(
+                    new CommandlineOptionsParser(System.out).parse("--tags", "@cli"), order);
+
+            assertEquals(List.of("@system"), fromSystem.getTagExpressions().stream().map(Object::toString).toList());
+            assertEquals(List.of("@cli"), fromCommandLine.getTagExpressions().stream().map(Object::toString).toList());
+            assertSame(order, fromCommandLine.getPickleOrder());
+            assertFalse(fromCommandLine.getGlue().isEmpty(), "default glue added");
+            assertFalse(fromCommandLine.getFeaturePaths().isEmpty(), "default feature path added");
+        } finally {
+            if (previous != null) {
+                System.setProperty("cucumber.filter.tags", previous);
+            } else {
+                System.clearProperty("cucumber.filter.tags");
+            }
+        }
+    }
 }
@@ -1,11 +1,14 @@
 package org.example.config;
 
+import org.example.cucumber.context.RunConfig;
+import org.example.cucumber.context.TestContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,6 +22,8 @@ class BrowserConfigTest {
         config.setExecutablePath("");
         config.setHeadless(true);
         config.setExtraArgs("");
+        RunConfig.unregister("run-1");
+        TestContext.clear();
     }
 
     @Test
@@ -93,4 +98,27 @@ class BrowserConfigTest {
         new BrowserConfig().setExtraArgs("--no-sandbox");
         assertEquals(List.of("--no-sandbox"), BrowserConfig.getExtraArgs());
     }
+
+    @Test
+    void runOverlay_OverridesHeadlessBrowserAndArgsWithinRun() {
+        new BrowserConfig().setHeadless(true);
+        RunConfig.register("run-1", Map.of(
+                "browser.headless", "false",
+                "browser", "firefox",
+                "browser.extra.args", "--no-zygote"));
+
+        TestContext.init("run-1");
+
+        assertFalse(BrowserConfig.isHeadless());
+        assertEquals("firefox", BrowserConfig.getBrowser());
+        assertEquals(List.of("--no-zygote"), BrowserConfig.getExtraArgs());
+    }
+
+    @Test
+    void runOverlay_NotAppliedOutsideRun() {
+        new BrowserConfig().setHeadless(true);
+        RunConfig.register("run-1", Map.of("browser.headless", "false"));
+
+        assertTrue(BrowserConfig.isHeadless());
+    }
 }
@@ -0,0 +1,222 @@
+package org.example.cucumber.cluster;
+
+import org.example.cucumber.model.TestExecutionRequest;
+import org.example.cucumber.model.TestStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileRunCoordinatorTest {
+
+    @TempDir
+    Path clusterDir;
+
+    private FileRunCoordinator podA;
+    private FileRunCoordinator podB;
+
+    @BeforeEach
+    void setUp() {
+        podA = new FileRunCoordinator(clusterDir, "pod-a");
+        podB = new FileRunCoordinator(clusterDir, "pod-b");
+    }
+
+    private UUID publish(FileRunCoordinator coordinator) {
+        UUID runId = UUID.randomUUID();
+        TestExecutionRequest request = TestExecutionRequest.builder()
+                .environment("dev")
+                .tags(List.of("@smoke"))
+                .build();
+        coordinator.publish(new RunCoordinator.ClusterRun(runId, request, "HIGH", Instant.now(), coordinator.instanceId()));
+        return runId;
+    }
+
+    @Test
+    void pending_PublishedRunVisibleToOtherInstance() {
+        UUID runId = publish(podA);
+
+        List<RunCoordinator.ClusterRun> pending = podB.pending();
+
+        assertEquals(1, pending.size());
+        assertEquals(runId, pending.get(0).runId());
+        assertEquals("HIGH", pending.get(0).priority());
+        assertEquals(List.of("@smoke"), pending.get(0).request().getTags());
+        assertEquals("pod-a", pending.get(0).publishedBy());
+    }
+
+    @Test
+    void claim_OnlyFirstInstanceWins() {
+        UUID runId = publish(podA);
+
+        assertTrue(podB.claim(runId));
+        assertFalse(podA.claim(runId));
+        assertTrue(podB.claim(runId), "claim is idempotent for the owner");
+        assertEquals("pod-b", podA.owner(runId).orElseThrow());
+        assertTrue(podA.pending().isEmpty());
+    }
+
+    @Test
+    void claim_UnknownRun_ReturnsFalse() {
+        assertFalse(podA.claim(UUID.randomUUID()));
+    }
+
+    @Test
+    void status_SavedByOwnerReadableByOtherInstance() {
+        UUID runId = publish(podA);
+        podB.claim(runId);
+        podB.saveStatus(TestStatus.builder().runId(runId).status("RUNNING").podName("pod-b").progress(40).build());
+
+        TestStatus status = podA.findStatus(runId).orElseThrow();
+
+        assertEquals("RUNNING", status.getStatus());
+        assertEquals(40, status.getProgress());
+        assertEquals(1, podA.findStatuses().size());
+    }
+
+    @Test
+    void requestCancel_VisibleToOwnerUntilDeleted() {
+        UUID runId = publish(podA);
+        podB.claim(runId);
+
+        podA.requestCancel(runId);
+
+        assertTrue(podB.isCancelRequested(runId));
+        podB.delete(runId);
+        assertFalse(podB.isCancelRequested(runId));
+        assertTrue(podA.owner(runId).isEmpty());
+    }
+
+    private void age(Path file) throws Exception {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+    }
+
+    @Test
+    void staleClaims_OwnerWithoutHeartbeat_TakenOverOnce() throws Exception {
+        UUID runId = publish(podA);
+        podB.claim(runId);
+        podB.heartbeat();
+
+        assertTrue(podA.staleClaims(Duration.ofMinutes(1)).isEmpty(), "fresh heartbeat");
+        assertFalse(podA.takeOver(runId, Duration.ofMinutes(1)));
+
+        age(clusterDir.resolve("heartbeats").resolve("pod-b"));
+        age(clusterDir.resolve("claims").resolve(runId.toString()));
+
+        assertEquals(List.of(runId), podA.staleClaims(Duration.ofMinutes(1)));
+        assertTrue(podB.staleClaims(Duration.ofMinutes(1)).isEmpty(), "own claims are never stale");
+        assertTrue(podA.takeOver(runId, Duration.ofMinutes(1)));
+        assertEquals("pod-a", podB.owner(runId).orElseThrow());
+        FileRunCoordinator podC = new FileRunCoordinator(clusterDir, "pod-c");
+        assertFalse(podC.takeOver(runId, Duration.ofMinutes(1)), "the new claim is fresh");
+    }
+
+    @Test
+    void prune_RemovesOnlyOldFinishedRuns() throws Exception {
+        UUID finished = publish(podA);
+        podA.claim(finished);
+        podA.saveStatus(TestStatus.builder().runId(finished).status("COMPLETED").build());
+        UUID running = publish(podA);
+        podA.claim(running);
+        podA.saveStatus(TestStatus.builder().runId(running).status("RUNNING").build());
+        UUID recent = publish(podA);
+        podA.claim(recent);
+        podA.saveStatus(TestStatus.builder().runId(recent).status("FAILED").build());
+        for (UUID runId : List.of(finished, running)) {
+            age(clusterDir.resolve("status").resolve(runId + ".json"));
+            age(clusterDir.resolve("claims").resolve(runId.toString()));
+        }
+
+        assertEquals(1, podB.prune(Duration.ofHours(1)));
+
+        assertTrue(podB.findStatus(finished).isEmpty());
+        assertTrue(podB.owner(finished).isEmpty());
+        assertTrue(podB.findStatus(running).isPresent());
+        assertTrue(podB.findStatus(recent).isPresent());
+    }
+
+    @Test
+    void findStatuses_UnchangedFilesServedFromCacheAsCopies() {
+        UUID runId = publish(podA);
+        podA.claim(runId);
+        podA.saveStatus(TestStatus.builder().runId(runId).status("RUNNING").progress(10).build());
+
+        podB.findStatuses().get(0).setProgress(99);
+
+        assertEquals(10, podB.findStatuses().get(0).getProgress());
+        podA.saveStatus(TestStatus.builder().runId(runId).status("RUNNING").progress(100).build());
+        assertEquals(100, podB.findStatuses().get(0).getProgress());
+        podA.delete(runId);
+        assertTrue(podB.findStatuses().isEmpty());
+    }
+
+    @Test
+    void claim_ConcurrentProcesses_EachRunClaimedExactlyOnce() throws Exception {
+        List<UUID> runIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            runIds.add(publish(podA));
+        }
+
+        List<Process> processes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            List<String> command = new ArrayList<>(List.of(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", System.getProperty("java.class.path"),
+                    ClaimingInstance.class.getName(), clusterDir.toString(), "child-" + i));
+            runIds.forEach(id -> command.add(id.toString()));
+            processes.add(new ProcessBuilder(command).redirectErrorStream(true).start());
+        }
+
+        Map<UUID, List<String>> claims = new HashMap<>();
+        for (Process process : processes) {
+            try (BufferedReader out = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    if (line.startsWith(ClaimingInstance.PREFIX)) {
+                        String[] parts = line.substring(ClaimingInstance.PREFIX.length()).split(" ");
+                        claims.computeIfAbsent(UUID.fromString(parts[1]), id -> new ArrayList<>()).add(parts[0]);
+                    }
+                }
+            }
+            assertTrue(process.waitFor(60, TimeUnit.SECONDS));
+            assertEquals(0, process.exitValue());
+        }
+
+        assertEquals(runIds.size(), claims.size());
+        claims.forEach((runId, owners) -> {
+            assertEquals(1, owners.size(), "run " + runId + " claimed by " + owners);
+            assertEquals(owners.get(0), podA.owner(runId).orElseThrow());
+        });
+    }
+
+    /** Separate JVM claiming the given runs, like a second pod on the shared volume. */
+    public static final class ClaimingInstance {
+
+        static final String PREFIX = "CLAIMED ";
+
+        public static void main(String[] args) {
+            FileRunCoordinator coordinator = new FileRunCoordinator(Path.of(args[0]), args[1]);
+            for (int i = 2; i < args.length; i++) {
+                if (coordinator.claim(UUID.fromString(args[i]))) {
+                    System.out.println(PREFIX + args[1] + " " + args[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.cucumber.context;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.TestResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunAllureResultsWriterTest {
+
+    @AfterEach
+    void cleanup() {
+        TestContext.clear();
+        System.clearProperty("test.results.path");
+    }
+
+    private static void writeTestCase(AllureLifecycle lifecycle, String name) {
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName(name));
+        lifecycle.startTestCase(uuid);
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+
+    private static long resultFiles(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.toString().endsWith("-result.json")).count();
+        }
+    }
+
+    @Test
+    void concurrentRuns_SharedLifecycle_WriteToOwnDirectories(@TempDir Path tempDir) throws Exception {
+        System.setProperty("test.results.path", tempDir.toString());
+        AllureLifecycle lifecycle = new AllureLifecycle(new RunAllureResultsWriter(tempDir.resolve("fallback")));
+        CyclicBarrier barrier = new CyclicBarrier(2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> run1 = executor.submit(() -> {
+                TestContext.init("run1");
+                barrier.await();
+                writeTestCase(lifecycle, "Test Run 1");
+                writeTestCase(lifecycle, "Test Run 1b");
+                TestContext.clear();
+                return null;
+            });
+            Future<?> run2 = executor.submit(() -> {
+                TestContext.init("run2");
+                barrier.await();
+                writeTestCase(lifecycle, "Test Run 2");
+                TestContext.clear();
+                return null;
+            });
+            run1.get();
+            run2.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, resultFiles(tempDir.resolve("run1").resolve("allure-results")));
+        assertEquals(1, resultFiles(tempDir.resolve("run2").resolve("allure-results")));
+        assertEquals(0, resultFiles(tempDir.resolve("fallback")));
+    }
+
+    @Test
+    void childThread_InheritsRunDirectory(@TempDir Path tempDir) throws Exception {
+        System.setProperty("test.results.path", tempDir.toString());
+        AllureLifecycle lifecycle = new AllureLifecycle(new RunAllureResultsWriter(tempDir.resolve("fallback")));
+        TestContext.init("run1");
+
+        Thread worker = new Thread(() -> writeTestCase(lifecycle, "From worker thread"));
+        worker.start();
+        worker.join();
+
+        assertEquals(1, resultFiles(tempDir.resolve("run1").resolve("allure-results")));
+    }
+
+    @Test
+    void outsideRun_WritesToFallbackDirectory(@TempDir Path tempDir) throws Exception {
+        AllureLifecycle lifecycle = new AllureLifecycle(new RunAllureResultsWriter(tempDir.resolve("fallback")));
+
+        writeTestCase(lifecycle, "Outside any run");
+
+        assertEquals(1, resultFiles(tempDir.resolve("fallback")));
+    }
+}
@@ -2,19 +2,39 @@ package org.example.cucumber.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.cucumber.model.BatchExecutionResponse;
+import org.example.cucumber.model.BatchStatus;
+import org.example.cucumber.model.FeatureResult;
+import org.example.cucumber.model.RunPage;
+import org.example.cucumber.model.RunSummary;
+import org.example.cucumber.model.ScenarioResult;
 import org.example.cucumber.model.TestExecutionResponse;
+import org.example.cucumber.model.TestStatistics;
 import org.example.cucumber.model.TestStatus;
+import org.example.cucumber.service.QueueFullException;
+import org.example.cucumber.service.RunEventStreams;
+import org.example.cucumber.service.RunIndex;
 import org.example.cucumber.service.TestExecutionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +43,7 @@ import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +56,12 @@ class TestExecutionControllerTest {
     @Mock
     private TestExecutionService testExecutionService;
 
+    @Mock
+    private RunEventStreams runEventStreams;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private TestExecutionController controller;
 
@@ -81,6 +108,44 @@ class TestExecutionControllerTest {
                 .andExpect(jsonPath("$.environment").value("dev"));
     }
 
+    @Test
+    void executeTests_QueueFull_Returns429WithRetryAfter() throws Exception {
+        when(testExecutionService.queueTestExecution(any()))
+                .thenThrow(new QueueFullException("dev", 20, Duration.ofSeconds(90)));
+
+        mockMvc.perform(post("/api/v1/test/execute")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "environment": "dev",
+                                    "tags": ["@smoke"]
+                                }
+                                """))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "90"))
+                .andExpect(jsonPath("$.status").value("REJECTED"))
+                .andExpect(jsonPath("$.environment").value("dev"));
+    }
+
+    @Test
+    void executeTests_InvalidTagExpression_Returns400() throws Exception {
+        when(testExecutionService.queueTestExecution(any()))
+                .thenThrow(new IllegalArgumentException("Invalid tag expression '@smoke and': unexpected end"));
+
+        mockMvc.perform(post("/api/v1/test/execute")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "environment": "dev",
+                                    "tags": ["@smoke and"],
+                                    "shards": 2
+                                }
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("REJECTED"))
+                .andExpect(jsonPath("$.environment").value("dev"));
+    }
+
     @Test
     void executeTests_EmptyBody_Returns400() throws Exception {
         mockMvc.perform(post("/api/v1/test/execute")
@@ -119,6 +184,26 @@ class TestExecutionControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    // --- GET /api/v1/test/status/{runId}/stream ---
+
+    @Test
+    void streamTestStatus_ExistingRun_StartsEventStream() throws Exception {
+        when(runEventStreams.subscribe(TEST_RUN_ID)).thenReturn(Optional.of(new SseEmitter()));
+
+        mockMvc.perform(get("/api/v1/test/status/" + TEST_RUN_ID + "/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void streamTestStatus_NonExistingRun_Returns404() throws Exception {
+        when(runEventStreams.subscribe(TEST_RUN_ID)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/test/status/" + TEST_RUN_ID + "/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound());
+    }
+
     // --- GET /api/v1/test/active ---
 
     @Test
@@ -149,12 +234,57 @@ class TestExecutionControllerTest {
     // --- GET /api/v1/test/report/{runId} ---
 
     @Test
-    void getTestReport_Existing_Returns200() throws Exception {
-        when(testExecutionService.getTestReport(TEST_RUN_ID))
-                .thenReturn(Optional.of("[{\"feature\":\"test\"}]"));
+    void getTestReport_Existing_StreamsFileWithETag(@TempDir Path tempDir) throws Exception {
+        Path report = Files.writeString(tempDir.resolve("Cucumber.json"), "[{\"feature\":\"test\"}]");
+        when(testExecutionService.getTestReport(TEST_RUN_ID)).thenReturn(Optional.of(report));
 
         mockMvc.perform(get("/api/v1/test/report/{runId}", TEST_RUN_ID))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(content().string("[{\"feature\":\"test\"}]"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void getTestReport_MatchingIfNoneMatch_Returns304(@TempDir Path tempDir) throws Exception {
+        Path report = Files.writeString(tempDir.resolve("Cucumber.json"), "[]");
+        when(testExecutionService.getTestReport(TEST_RUN_ID)).thenReturn(Optional.of(report));
+        String eTag = mockMvc.perform(get("/api/v1/test/report/{runId}", TEST_RUN_ID))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/test/report/{runId}", TEST_RUN_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getTestReport_Range_Returns206WithRequestedBytes(@TempDir Path tempDir) throws Exception {
+        Path report = Files.writeString(tempDir.resolve("Cucumber.json"), "[{\"feature\":\"test\"}]");
+        when(testExecutionService.getTestReport(TEST_RUN_ID)).thenReturn(Optional.of(report));
+
+        mockMvc.perform(get("/api/v1/test/report/{runId}", TEST_RUN_ID)
+                        .header(HttpHeaders.RANGE, "bytes=2-10"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("\"feature\""))
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-10/20"));
+    }
+
+    @Test
+    void getTestReport_AcceptsGzip_SendsCompressedCopy(@TempDir Path tempDir) throws Exception {
+        Path report = Files.writeString(tempDir.resolve("Cucumber.json"), "[]");
+        Path compressed = Files.write(tempDir.resolve("Cucumber.json.gz"), new byte[]{1, 2, 3});
+        when(testExecutionService.getTestReport(TEST_RUN_ID)).thenReturn(Optional.of(report));
+        when(testExecutionService.getCompressedTestReport(TEST_RUN_ID)).thenReturn(Optional.of(compressed));
+
+        mockMvc.perform(get("/api/v1/test/report/{runId}", TEST_RUN_ID)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(header().string(HttpHeaders.ETAG, matchesPattern("\".*-gzip\"")))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
     }
 
     @Test
@@ -269,27 +399,33 @@ class TestExecutionControllerTest {
 
     @Test
     void getStatistics_NoFilter_Returns200() throws Exception {
-        when(testExecutionService.getStatistics(null))
-                .thenReturn(Map.of(
-                        "totalRuns", 10L,
-                        "completedRuns", 8L,
-                        "failedRuns", 2L,
-                        "runningRuns", 0L,
-                        "queuedRuns", 0L,
-                        "successRate", 80.0,
-                        "maxConcurrentRuns", 5
-                ));
+        when(testExecutionService.getStatistics(null, null))
+                .thenReturn(TestStatistics.builder()
+                        .totalRuns(10L)
+                        .successfulRuns(8L)
+                        .failedRuns(2L)
+                        .runningRuns(0L)
+                        .queuedRuns(0L)
+                        .successRate(80.0)
+                        .peakConcurrentRuns(3L)
+                        .mostFrequentFailures(List.of("Login (2)"))
+                        .maxConcurrentRuns(5)
+                        .build());
 
         mockMvc.perform(get("/api/v1/test/statistics"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.totalRuns").value(10))
-                .andExpect(jsonPath("$.successRate").value(80.0));
+                .andExpect(jsonPath("$.successfulRuns").value(8))
+                .andExpect(jsonPath("$.completedRuns").value(8))
+                .andExpect(jsonPath("$.successRate").value(80.0))
+                .andExpect(jsonPath("$.peakConcurrentRuns").value(3))
+                .andExpect(jsonPath("$.mostFrequentFailures[0]").value("Login (2)"));
     }
 
     @Test
     void getStatistics_WithEnvironmentFilter_Returns200() throws Exception {
-        when(testExecutionService.getStatistics("dev"))
-                .thenReturn(Map.of("totalRuns", 5L));
+        when(testExecutionService.getStatistics("dev", null))
+                .thenReturn(TestStatistics.builder().environment("dev").totalRuns(5L).build());
 
         mockMvc.perform(get("/api/v1/test/statistics")
                         .param("environment", "dev"))
@@ -297,6 +433,24 @@ class TestExecutionControllerTest {
                 .andExpect(jsonPath("$.totalRuns").value(5));
     }
 
+    @Test
+    void getStatistics_WithHours_PassesWindow() throws Exception {
+        when(testExecutionService.getStatistics(null, Duration.ofHours(24)))
+                .thenReturn(TestStatistics.builder().totalRuns(3L).build());
+
+        mockMvc.perform(get("/api/v1/test/statistics")
+                        .param("hours", "24"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRuns").value(3));
+    }
+
+    @Test
+    void getStatistics_InvalidHours_Returns400() throws Exception {
+        mockMvc.perform(get("/api/v1/test/statistics")
+                        .param("hours", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
     // --- GET /api/v1/test/runs ---
 
     @Test
@@ -324,6 +478,107 @@ class TestExecutionControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    // --- GET /api/v1/test/runs/page ---
+
+    @Test
+    void listRuns_Returns200WithSummariesAndCursor() throws Exception {
+        UUID run1 = UUID.randomUUID();
+        UUID run2 = UUID.randomUUID();
+        RunIndex.Query all = new RunIndex.Query(null, null, null, null, null, null);
+
+        when(testExecutionService.listRuns(all, null, 50))
+                .thenReturn(RunPage.builder()
+                        .runs(List.of(
+                                RunSummary.builder().runId(run1).status("COMPLETED").environment("dev").build(),
+                                RunSummary.builder().runId(run2).status("FAILED").environment("dev").build()))
+                        .nextCursor("abc")
+                        .limit(50)
+                        .build());
+
+        mockMvc.perform(get("/api/v1/test/runs/page"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.runs", hasSize(2)))
+                .andExpect(jsonPath("$.runs[0].runId").value(run1.toString()))
+                .andExpect(jsonPath("$.runs[0].statusUrl").value(containsString("/api/v1/test/status/" + run1)))
+                .andExpect(jsonPath("$.runs[1].status").value("FAILED"))
+                .andExpect(jsonPath("$.nextCursor").value("abc"));
+    }
+
+    @Test
+    void listRuns_WithFilters_PassesQuery() throws Exception {
+        RunIndex.Query query = new RunIndex.Query("dev", List.of("FAILED", "TIMEOUT"), List.of("@smoke"), "jenkins",
+                LocalDateTime.of(2026, 3, 1, 0, 0), LocalDateTime.of(2026, 3, 2, 0, 0));
+        when(testExecutionService.listRuns(query, "abc", 10))
+                .thenReturn(RunPage.builder().runs(List.of()).limit(10).build());
+
+        mockMvc.perform(get("/api/v1/test/runs/page")
+                        .param("environment", "dev")
+                        .param("status", "FAILED,TIMEOUT")
+                        .param("tags", "@smoke")
+                        .param("initiator", "jenkins")
+                        .param("from", "2026-03-01T00:00:00")
+                        .param("to", "2026-03-02T00:00:00")
+                        .param("cursor", "abc")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.runs", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void listRuns_InvalidCursor_Returns400() throws Exception {
+        when(testExecutionService.listRuns(any(), eq("broken"), eq(50)))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: broken"));
+
+        mockMvc.perform(get("/api/v1/test/runs/page")
+                        .param("cursor", "broken"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listRuns_InvalidLimit_Returns400() throws Exception {
+        mockMvc.perform(get("/api/v1/test/runs/page")
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- GET /api/v1/test/runs/{runId}/features and /scenarios ---
+
+    @Test
+    void getFeatureResults_Returns200() throws Exception {
+        when(testExecutionService.getFeatureResults(TEST_RUN_ID, null))
+                .thenReturn(Optional.of(List.of(FeatureResult.builder()
+                        .featureName("Login").status("failed").failedScenarios(1).build())));
+
+        mockMvc.perform(get("/api/v1/test/runs/{runId}/features", TEST_RUN_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].featureName").value("Login"))
+                .andExpect(jsonPath("$[0].failedScenarios").value(1));
+    }
+
+    @Test
+    void getScenarioResults_WithStatusFilter_Returns200() throws Exception {
+        when(testExecutionService.getScenarioResults(TEST_RUN_ID, List.of("failed", "undefined")))
+                .thenReturn(Optional.of(List.of(ScenarioResult.builder()
+                        .scenarioName("Login wrong password").status("failed").errorMessage("boom").build())));
+
+        mockMvc.perform(get("/api/v1/test/runs/{runId}/scenarios", TEST_RUN_ID)
+                        .param("status", "failed,undefined"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].scenarioName").value("Login wrong password"))
+                .andExpect(jsonPath("$[0].errorMessage").value("boom"))
+                .andExpect(jsonPath("$[0].screenshotPath").doesNotExist());
+    }
+
+    @Test
+    void getScenarioResults_NoReport_Returns404() throws Exception {
+        when(testExecutionService.getScenarioResults(TEST_RUN_ID, null)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/test/runs/{runId}/scenarios", TEST_RUN_ID))
+                .andExpect(status().isNotFound());
+    }
+
     // --- POST /api/v1/test/report/combined/generate ---
 
     @Test
@@ -371,4 +626,139 @@ class TestExecutionControllerTest {
                         .content(requestJson))
                 .andExpect(status().isNotFound());
     }
+
+    // --- /api/v1/test/batches ---
+
+    @Test
+    void executeBatch_ValidMatrix_Returns202WithRuns() throws Exception {
+        UUID batchId = UUID.randomUUID();
+        when(testExecutionService.queueBatch(any())).thenReturn(BatchExecutionResponse.builder()
+                .batchId(batchId)
+                .status("QUEUED")
+                .statusUrl("/api/v1/test/batches/" + batchId)
+                .runs(List.of(TestExecutionResponse.builder().runId(TEST_RUN_ID).status("QUEUED").build()))
+                .build());
+
+        mockMvc.perform(post("/api/v1/test/batches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "environments": ["dev", "staging"],
+                                    "browsers": ["chromium", "firefox"],
+                                    "tagSets": [["@smoke"]],
+                                    "run": { "priority": "HIGH", "parallelCount": 2 }
+                                }
+                                """))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.batchId").value(batchId.toString()))
+                .andExpect(jsonPath("$.statusUrl").value(matchesPattern("http://.*/api/v1/test/batches/" + batchId)))
+                .andExpect(jsonPath("$.runs[0].statusUrl").value(matchesPattern("http://.*/api/v1/test/status/" + TEST_RUN_ID)));
+    }
+
+    @Test
+    void executeBatch_InvalidMatrix_Returns400() throws Exception {
+        mockMvc.perform(post("/api/v1/test/batches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "environments": ["qa"],
+                                    "tagSets": [[]]
+                                }
+                                """))
+                .andExpect(status().isBadRequest());
+
+        verify(testExecutionService, never()).queueBatch(any());
+    }
+
+    @Test
+    void executeBatch_InvalidRunSettings_Returns400() throws Exception {
+        mockMvc.perform(post("/api/v1/test/batches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "environments": ["dev"],
+                                    "tagSets": [["@smoke"]],
+                                    "run": { "parallelCount": 50 }
+                                }
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("REJECTED"))
+                .andExpect(jsonPath("$.message").value(containsString("run.parallelCount")));
+
+        verify(testExecutionService, never()).queueBatch(any());
+    }
+
+    @Test
+    void executeBatch_TooManyRuns_Returns400() throws Exception {
+        when(testExecutionService.queueBatch(any()))
+                .thenThrow(new IllegalArgumentException("Batch has 60 runs, at most 50 allowed"));
+
+        mockMvc.perform(post("/api/v1/test/batches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "environments": ["dev"],
+                                    "tagSets": [["@smoke"]]
+                                }
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Batch has 60 runs, at most 50 allowed"));
+    }
+
+    @Test
+    void executeBatch_QueueFull_Returns429WithRetryAfter() throws Exception {
+        when(testExecutionService.queueBatch(any()))
+                .thenThrow(new QueueFullException("staging", 10, Duration.ofSeconds(30)));
+
+        mockMvc.perform(post("/api/v1/test/batches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "environments": ["staging"],
+                                    "tagSets": [["@smoke"]]
+                                }
+                                """))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "30"))
+                .andExpect(jsonPath("$.status").value("REJECTED"));
+    }
+
+    @Test
+    void getBatchStatus_ExistingBatch_Returns200() throws Exception {
+        UUID batchId = UUID.randomUUID();
+        when(testExecutionService.getBatchStatus(batchId)).thenReturn(Optional.of(BatchStatus.builder()
+                .batchId(batchId)
+                .status("RUNNING")
+                .totalRuns(2)
+                .finishedRuns(1)
+                .reportUrl("/reports/batches/" + batchId + "/allure-report/index.html")
+                .runs(List.of(TestStatus.builder().runId(TEST_RUN_ID).status("COMPLETED").build()))
+                .build()));
+
+        mockMvc.perform(get("/api/v1/test/batches/" + batchId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.finishedRuns").value(1))
+                .andExpect(jsonPath("$.reportUrl").value(matchesPattern("http://.*/reports/batches/.*/index.html")))
+                .andExpect(jsonPath("$.runs[0].runId").value(TEST_RUN_ID.toString()));
+    }
+
+    @Test
+    void getBatchStatus_UnknownBatch_Returns404() throws Exception {
+        when(testExecutionService.getBatchStatus(any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/test/batches/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void generateBatchReport_Returns200() throws Exception {
+        UUID batchId = UUID.randomUUID();
+        when(testExecutionService.generateBatchReport(batchId))
+                .thenReturn(Optional.of("/reports/batches/" + batchId + "/allure-report/index.html"));
+
+        mockMvc.perform(post("/api/v1/test/batches/" + batchId + "/report/generate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reportUrl").value(containsString("/reports/batches/" + batchId)));
+    }
 }
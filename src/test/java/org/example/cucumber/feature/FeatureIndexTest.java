@@ -0,0 +1,133 @@
+package org.example.cucumber.feature;
+
+import org.example.cucumber.feature.FeatureIndex.FeatureScenario;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureIndexTest {
+
+    private static final String FEATURE = """
+            @Backend
+            Feature: Login
+
+              Background:
+                Given the app is running
+
+              @smoke
+              Scenario: Valid login
+                When I log in
+
+              @regression
+              Scenario Outline: Invalid login as <user>
+                When I log in as <user>
+
+                Examples:
+                  | user  |
+                  | alice |
+                  | bob   |
+
+              Rule: Lockout
+                @wip
+                Scenario: Locked account
+                  When I log in three times
+            """;
+
+    private static List<FeatureScenario> parse() {
+        return FeatureIndex.parse("classpath:features/login.feature", FEATURE.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void parse_ReturnsScenarioAndExampleRowLines() {
+        List<FeatureScenario> scenarios = parse();
+
+        assertEquals(List.of(8L, 17L, 18L, 22L), scenarios.stream().map(FeatureScenario::line).toList());
+        assertEquals("classpath:features/login.feature:17", scenarios.get(1).id());
+        assertEquals("Invalid login as bob", scenarios.get(2).name());
+        assertEquals(List.of("@Backend", "@smoke"), scenarios.get(0).tags());
+    }
+
+    @Test
+    void parse_SameContent_SameFeatureHash() {
+        String hash = parse().get(0).featureHash();
+
+        assertEquals(hash, parse().get(3).featureHash());
+        assertNotEquals(hash, FeatureIndex.parse("classpath:features/login.feature",
+                (FEATURE + "\n# changed").getBytes(StandardCharsets.UTF_8)).get(0).featureHash());
+    }
+
+    @Test
+    void select_EvaluatesTagExpression() {
+        FeatureIndex index = new FeatureIndex(parse());
+
+        assertEquals(4, index.select(null).size());
+        assertEquals(List.of(17L, 18L), index.select("@regression").stream().map(FeatureScenario::line).toList());
+        assertEquals(3, index.select("@Backend and not @wip").size());
+    }
+
+    @Test
+    void scanClasspath_FindsProjectFeatures() throws Exception {
+        FeatureIndex index = FeatureIndex.scanClasspath();
+
+        assertTrue(index.scenarios().stream()
+                .anyMatch(s -> s.uri().equals("classpath:features/API-Test.feature") && s.tags().contains("@T-3511")));
+    }
+
+    @Test
+    void count_AppliesTagExpressionAndFeatureSelectors() {
+        FeatureIndex index = new FeatureIndex(parse());
+
+        assertEquals(4, index.count(null));
+        assertEquals(2, index.count("@regression"));
+        assertEquals(0, index.count("@unknown"));
+        assertEquals(3, index.count("not @wip", List.of("classpath:features")));
+        assertEquals(4, index.count(null, List.of("login.feature")));
+        assertEquals(1, index.count("@regression", List.of("classpath:features/login.feature:18")));
+        assertEquals(0, index.count(null, List.of("classpath:features/other.feature")));
+    }
+
+    @Test
+    void count_InvalidTagExpression_Throws() {
+        FeatureIndex index = new FeatureIndex(parse());
+
+        assertThrows(IllegalArgumentException.class, () -> index.count("@smoke and"));
+        assertThrows(IllegalArgumentException.class, () -> index.select("@smoke and"));
+    }
+
+    @Test
+    void parse_GermanKeywords_CountsEveryExampleRow() {
+        String feature = """
+                # language: de
+                Funktionalität: Suche
+
+                  @smoketest
+                  Szenario: Suche ohne Treffer
+                    Wenn ich suche
+
+                  Szenariogrundriss: Suche nach <begriff>
+                    Wenn ich nach <begriff> suche
+
+                    Beispiele:
+                      | begriff |
+                      | UUID    |
+                      | Datum   |
+                """;
+        FeatureIndex index = new FeatureIndex(FeatureIndex.parse("classpath:features/suche.feature",
+                feature.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, index.count(null));
+        assertEquals(1, index.count("@smoketest"));
+    }
+
+    @Test
+    void current_ReturnsCachedIndexOfProjectFeatures() throws Exception {
+        FeatureIndex index = FeatureIndex.current();
+
+        assertSame(index, FeatureIndex.current());
+        assertEquals(FeatureIndex.scanClasspath().scenarios().size(), index.scenarios().size());
+        assertTrue(index.count("@smoketest") > 0);
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.cucumber.feature;
+
+import org.example.cucumber.feature.FeatureIndex.FeatureScenario;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioDurationsTest {
+
+    private static final String URI = "classpath:features/login.feature";
+    private static final long SECOND = 1_000_000_000L;
+
+    @TempDir
+    Path resultsBase;
+
+    private static FeatureScenario scenario(long line, String name) {
+        return new FeatureScenario(URI, line, name, List.of(), "hash");
+    }
+
+    private void writeReport(String runId, long validSeconds, long invalidSeconds, Instant modified) throws Exception {
+        Path report = resultsBase.resolve(runId).resolve("cucumber-reports").resolve("Cucumber.json");
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, """
+                [{"uri": "%s", "elements": [
+                  {"type": "background", "steps": [{"result": {"status": "passed", "duration": %d}}]},
+                  {"type": "scenario", "line": 8, "name": "Valid login",
+                   "before": [{"result": {"status": "passed", "duration": %d}}],
+                   "steps": [{"result": {"status": "passed", "duration": %d}}]},
+                  {"type": "scenario", "line": 12, "name": "Invalid login",
+                   "steps": [{"result": {"status": "passed", "duration": %d}}]},
+                  {"type": "scenario", "line": 20, "name": "Reused", "reusedFrom": "run-0",
+                   "steps": [{"result": {"status": "passed", "duration": %d}}]}
+                ]}]
+                """.formatted(URI, SECOND, SECOND, (validSeconds - 2) * SECOND, invalidSeconds * SECOND, 99 * SECOND));
+        Files.setLastModifiedTime(report, FileTime.from(modified));
+    }
+
+    @Test
+    void load_AveragesHooksStepsAndBackgroundAcrossRuns() throws Exception {
+        writeReport("run-1", 10, 4, Instant.now());
+        writeReport("run-2", 20, 6, Instant.now());
+
+        ScenarioDurations durations = ScenarioDurations.load(resultsBase);
+
+        assertEquals(15 * SECOND, durations.estimateNanos(URI, 8, "Valid login"));
+        assertEquals(5 * SECOND, durations.estimateNanos(URI, 12, "Invalid login"));
+        // Reused results were not executed and say nothing about the duration
+        assertEquals(durations.estimateNanos(URI, 99, "Unknown"), durations.estimateNanos(URI, 20, "Reused"));
+    }
+
+    @Test
+    void load_OnlyMostRecentReportsConsidered() throws Exception {
+        Instant now = Instant.now();
+        writeReport("old", 1000, 1000, now.minusSeconds(3600));
+        for (int i = 0; i < ScenarioDurations.MAX_REPORTS; i++) {
+            writeReport("run-" + i, 10, 4, now.minusSeconds(i));
+        }
+
+        assertEquals(10 * SECOND, ScenarioDurations.load(resultsBase).estimateNanos(URI, 8, "Valid login"));
+    }
+
+    @Test
+    void estimate_LineMoved_FallsBackToNameAndUnknownToMedian() throws Exception {
+        writeReport("run-1", 10, 4, Instant.now());
+        ScenarioDurations durations = ScenarioDurations.load(resultsBase);
+
+        assertEquals(10 * SECOND, durations.estimateNanos(URI, 9, "Valid login"));
+        assertEquals(10 * SECOND, durations.estimateNanos(URI, 30, "New scenario"));
+    }
+
+    @Test
+    void load_NoResults_Empty() {
+        ScenarioDurations durations = ScenarioDurations.load(resultsBase.resolve("missing"));
+
+        assertTrue(durations.isEmpty());
+        assertEquals(0, durations.estimateNanos(URI, 8, "Valid login"));
+    }
+
+    @Test
+    void load_CachedUntilInvalidated() throws Exception {
+        writeReport("run-1", 10, 4, Instant.now().minusSeconds(10));
+        assertEquals(10 * SECOND, ScenarioDurations.load(resultsBase).estimateNanos(URI, 8, "Valid login"));
+
+        writeReport("run-2", 20, 6, Instant.now());
+        assertEquals(10 * SECOND, ScenarioDurations.load(resultsBase).estimateNanos(URI, 8, "Valid login"));
+
+        ScenarioDurations.invalidate(resultsBase);
+        assertEquals(15 * SECOND, ScenarioDurations.load(resultsBase).estimateNanos(URI, 8, "Valid login"));
+    }
+
+    @Test
+    void load_SkipsEmbeddingsAndOutput() throws Exception {
+        Path report = resultsBase.resolve("run-1").resolve("cucumber-reports").resolve("Cucumber.json");
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, """
+                [{"uri": "%s", "elements": [
+                  {"type": "scenario", "line": 8, "name": "Valid login",
+                   "after": [{"embeddings": [{"data": "iVBORw0KGgo=", "mime_type": "image/png"}],
+                              "output": ["log"], "result": {"status": "passed", "duration": %d}}],
+                   "steps": [{"match": {"location": "LoginSteps.login()"}, "name": "login",
+                              "rows": [{"cells": ["a", "b"]}],
+                              "result": {"error_message": "none", "duration": %d, "status": "passed"}}],
+                   "tags": [{"name": "@smoke"}]}
+                ]}]
+                """.formatted(URI, SECOND, 2 * SECOND));
+
+        assertEquals(3 * SECOND, ScenarioDurations.load(resultsBase).estimateNanos(URI, 8, "Valid login"));
+    }
+
+    @Test
+    void longestFirst_OrdersByExpectedDuration() throws Exception {
+        writeReport("run-1", 10, 4, Instant.now());
+        FeatureScenario valid = scenario(8, "Valid login");
+        FeatureScenario invalid = scenario(12, "Invalid login");
+
+        assertEquals(List.of(valid, invalid), ScenarioDurations.load(resultsBase).longestFirst(List.of(invalid, valid)));
+    }
+
+    @Test
+    void shards_BalancesTotalDuration() {
+        ScenarioDurations durations = new ScenarioDurations(Map.of(
+                URI + ":1", 8L, URI + ":2", 7L, URI + ":3", 6L, URI + ":4", 5L, URI + ":5", 4L), Map.of());
+        List<FeatureScenario> scenarios = List.of(scenario(1, "a"), scenario(2, "b"), scenario(3, "c"),
+                scenario(4, "d"), scenario(5, "e"));
+
+        List<List<FeatureScenario>> shards = durations.shards(scenarios, 2);
+
+        assertEquals(List.of(1L, 4L, 5L), shards.get(0).stream().map(FeatureScenario::line).toList());
+        assertEquals(List.of(2L, 3L), shards.get(1).stream().map(FeatureScenario::line).toList());
+    }
+
+    @Test
+    void shards_MoreShardsThanScenarios_NoEmptyShards() {
+        List<List<FeatureScenario>> shards = ScenarioDurations.empty().shards(List.of(scenario(1, "a"), scenario(2, "b")), 5);
+
+        assertEquals(2, shards.size());
+        assertTrue(shards.stream().noneMatch(List::isEmpty));
+    }
+}
@@ -79,6 +79,73 @@ class TestExecutionRequestTest {
         }
     }
 
+    @Test
+    void lowerCasePriority_NoViolations() {
+        for (String priority : List.of("high", "Critical", " low ")) {
+            TestExecutionRequest request = TestExecutionRequest.builder()
+                    .environment("dev")
+                    .tags(List.of("@smoke"))
+                    .priority(priority)
+                    .build();
+
+            Set<ConstraintViolation<TestExecutionRequest>> violations = validator.validate(request);
+
+            assertTrue(violations.isEmpty(),
+                    "Expected no violations for priority '" + priority + "' but got: " + violations);
+        }
+    }
+
+    @Test
+    void invalidPriority_ViolatesPattern() {
+        TestExecutionRequest request = TestExecutionRequest.builder()
+                .environment("dev")
+                .tags(List.of("@smoke"))
+                .priority("URGENT")
+                .build();
+
+        Set<ConstraintViolation<TestExecutionRequest>> violations = validator.validate(request);
+
+        assertTrue(violations.stream()
+                .anyMatch(v -> v.getPropertyPath().toString().equals("priority")));
+    }
+
+    @Test
+    void webhookUrlWithoutHttpScheme_ViolatesPattern() {
+        TestExecutionRequest request = TestExecutionRequest.builder()
+                .environment("dev")
+                .tags(List.of("@smoke"))
+                .webhookUrl("ftp://ci.example.com/hook")
+                .build();
+        TestExecutionRequest valid = TestExecutionRequest.builder()
+                .environment("dev")
+                .tags(List.of("@smoke"))
+                .webhookUrl("https://ci.example.com/hook")
+                .build();
+
+        assertTrue(validator.validate(request).stream()
+                .anyMatch(v -> v.getPropertyPath().toString().equals("webhookUrl")));
+        assertTrue(validator.validate(valid).isEmpty());
+    }
+
+    @Test
+    void parallelCountOutOfRange_ViolatesMinMax() {
+        TestExecutionRequest tooLow = TestExecutionRequest.builder()
+                .environment("dev")
+                .tags(List.of("@smoke"))
+                .parallelCount(0)
+                .build();
+        TestExecutionRequest tooHigh = TestExecutionRequest.builder()
+                .environment("dev")
+                .tags(List.of("@smoke"))
+                .parallelCount(11)
+                .build();
+
+        assertTrue(validator.validate(tooLow).stream()
+                .anyMatch(v -> v.getPropertyPath().toString().equals("parallelCount")));
+        assertTrue(validator.validate(tooHigh).stream()
+                .anyMatch(v -> v.getPropertyPath().toString().equals("parallelCount")));
+    }
+
     @Test
     void emptyTags_ViolatesNotEmpty() {
         TestExecutionRequest request = TestExecutionRequest.builder()
@@ -114,7 +181,7 @@ class TestExecutionRequestTest {
                 .tags(List.of("@smoke"))
                 .build();
 
-        assertEquals(5, request.getParallelCount());
+        assertEquals(1, request.getParallelCount());
         assertTrue(request.getRetryFailedTests());
         assertEquals(2, request.getMaxRetries());
         assertEquals(30, request.getTimeoutMinutes());
@@ -0,0 +1,72 @@
+package org.example.cucumber.plugin;
+
+import io.cucumber.plugin.event.EventHandler;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import org.example.cucumber.context.RunControl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class FailFastPluginTest {
+
+    @AfterEach
+    void tearDown() {
+        RunControl.unregister("run-1");
+    }
+
+    private static FailFastPlugin plugin(int maxFailures, int maxConsecutiveFailures) {
+        return new FailFastPlugin(FailFastPlugin.argument("run-1", maxFailures, maxConsecutiveFailures));
+    }
+
+    @Test
+    void record_MaxFailuresReached_ReturnsReason() {
+        FailFastPlugin plugin = plugin(2, 0);
+
+        assertNull(plugin.record(Status.FAILED));
+        assertNull(plugin.record(Status.PASSED));
+        assertEquals("FAIL_FAST: 2 failed scenarios", plugin.record(Status.FAILED));
+    }
+
+    @Test
+    void record_PassedScenarioResetsConsecutiveFailures() {
+        FailFastPlugin plugin = plugin(0, 2);
+
+        assertNull(plugin.record(Status.FAILED));
+        assertNull(plugin.record(Status.PASSED));
+        assertNull(plugin.record(Status.FAILED));
+        assertNull(plugin.record(Status.SKIPPED), "skipped scenarios neither fail nor reset");
+        assertEquals("FAIL_FAST: 2 consecutive failed scenarios", plugin.record(Status.FAILED));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testCaseFinished_ThresholdReached_AbortsRun() {
+        RunControl control = RunControl.register("run-1");
+        EventHandler<TestCaseFinished>[] handler = new EventHandler[1];
+        plugin(0, 1).setEventPublisher(new EventPublisher() {
+            @Override
+            public <T> void registerHandlerFor(Class<T> eventType, EventHandler<T> eventHandler) {
+                handler[0] = (EventHandler<TestCaseFinished>) eventHandler;
+            }
+
+            @Override
+            public <T> void removeHandlerFor(Class<T> eventType, EventHandler<T> eventHandler) {
+            }
+        });
+
+        handler[0].receive(new TestCaseFinished(Instant.now(), mock(TestCase.class),
+                new Result(Status.FAILED, Duration.ofSeconds(1), new AssertionError("SUT down"))));
+
+        assertTrue(control.isAborted());
+        assertTrue(control.getAbortReason().startsWith(FailFastPlugin.ABORT_REASON_PREFIX));
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.cucumber.plugin;
+
+import io.cucumber.plugin.event.EventHandler;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.Location;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepStarted;
+import org.example.cucumber.context.RunControl;
+import org.example.cucumber.context.RunProgress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProgressPluginTest {
+
+    @AfterEach
+    void tearDown() {
+        RunControl.unregister("run-1");
+    }
+
+    private static TestCase testCase(String name, int steps) {
+        TestCase testCase = mock(TestCase.class);
+        when(testCase.getName()).thenReturn(name);
+        when(testCase.getUri()).thenReturn(URI.create("classpath:features/login.feature"));
+        when(testCase.getLocation()).thenReturn(new Location(8, 3));
+        List<TestStep> testSteps = new ArrayList<>();
+        testSteps.add(mock(HookTestStep.class));
+        for (int i = 0; i < steps; i++) {
+            testSteps.add(mock(PickleStepTestStep.class));
+        }
+        when(testCase.getTestSteps()).thenReturn(testSteps);
+        return testCase;
+    }
+
+    private static Result result(Status status) {
+        return new Result(status, Duration.ofMillis(10), null);
+    }
+
+    @Test
+    void finished_CountsScenariosByStatus() {
+        ProgressPlugin plugin = new ProgressPlugin("run-1");
+        TestCase testCase = testCase("Valid login", 2);
+
+        plugin.started(testCase);
+        plugin.finished(testCase, result(Status.PASSED));
+        plugin.started(testCase);
+        plugin.finished(testCase, result(Status.UNDEFINED));
+        plugin.started(testCase);
+        RunProgress progress = plugin.finished(testCase, result(Status.SKIPPED));
+
+        assertEquals(3, progress.startedScenarios());
+        assertEquals(1, progress.passedScenarios());
+        assertEquals(1, progress.failedScenarios());
+        assertEquals(1, progress.skippedScenarios());
+        assertEquals(3, progress.finishedScenarios());
+        assertEquals("Valid login", progress.finishedScenario().getScenarioName());
+        assertEquals("login.feature", progress.finishedScenario().getFeatureName());
+        assertEquals("skipped", progress.finishedScenario().getStatus());
+    }
+
+    @Test
+    void retry_ContinuesFromLastProgressAndReplacesFailures() {
+        RunControl control = RunControl.register("run-1");
+        control.reportProgress(new RunProgress(5, 3, 2, 0, "login.feature", "Invalid login", 2, 2, null));
+        ProgressPlugin plugin = new ProgressPlugin(ProgressPlugin.argument("run-1", true));
+        TestCase testCase = testCase("Invalid login", 2);
+
+        RunProgress started = plugin.started(testCase);
+        plugin.finished(testCase, result(Status.PASSED));
+        plugin.started(testCase);
+        RunProgress progress = plugin.finished(testCase, result(Status.FAILED));
+
+        assertEquals(5, started.startedScenarios(), "retried scenarios were already started");
+        assertEquals(5, progress.startedScenarios());
+        assertEquals(4, progress.passedScenarios());
+        assertEquals(1, progress.failedScenarios());
+        assertEquals(5, progress.finishedScenarios());
+    }
+
+    @Test
+    void stepStarted_OnlyCurrentScenarioCounted() {
+        ProgressPlugin plugin = new ProgressPlugin("run-1");
+        TestCase first = testCase("Valid login", 3);
+        TestCase second = testCase("Invalid login", 2);
+
+        plugin.started(first);
+        plugin.stepStarted(first);
+        plugin.started(second);
+
+        assertNull(plugin.stepStarted(first), "steps of a parallel scenario are not reported");
+        RunProgress progress = plugin.stepStarted(second);
+        assertEquals("Invalid login", progress.currentScenario());
+        assertEquals(1, progress.currentStep());
+        assertEquals(2, progress.currentScenarioSteps());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Test
+    void events_ReportedToRunControl() {
+        RunControl control = RunControl.register("run-1");
+        List<RunProgress> received = new ArrayList<>();
+        control.onProgress(received::add);
+        Map<Class<?>, EventHandler> handlers = new HashMap<>();
+        new ProgressPlugin("run-1").setEventPublisher(new EventPublisher() {
+            @Override
+            public <T> void registerHandlerFor(Class<T> eventType, EventHandler<T> eventHandler) {
+                handlers.put(eventType, eventHandler);
+            }
+
+            @Override
+            public <T> void removeHandlerFor(Class<T> eventType, EventHandler<T> eventHandler) {
+            }
+        });
+        TestCase testCase = testCase("Valid login", 1);
+
+        handlers.get(TestCaseStarted.class).receive(new TestCaseStarted(Instant.now(), testCase));
+        handlers.get(TestStepStarted.class).receive(new TestStepStarted(Instant.now(), testCase,
+                mock(HookTestStep.class)));
+        handlers.get(TestStepStarted.class).receive(new TestStepStarted(Instant.now(), testCase,
+                mock(PickleStepTestStep.class)));
+        handlers.get(TestCaseFinished.class).receive(new TestCaseFinished(Instant.now(), testCase,
+                new Result(Status.FAILED, Duration.ofSeconds(1), new AssertionError("boom"))));
+
+        assertEquals(3, received.size(), "hook steps are not reported");
+        assertEquals(new RunProgress(1, 0, 0, 0, "login.feature", "Valid login", 1, 1, null), received.get(1));
+        assertEquals(1, received.get(2).failedScenarios());
+        assertEquals("failed", received.get(2).finishedScenario().getStatus());
+        assertEquals("boom", received.get(2).finishedScenario().getErrorMessage());
+        assertEquals(8, received.get(2).finishedScenario().getLine());
+    }
+}
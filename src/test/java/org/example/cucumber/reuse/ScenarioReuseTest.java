@@ -0,0 +1,146 @@
+package org.example.cucumber.reuse;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.cucumber.feature.FeatureIndex;
+import org.example.cucumber.feature.FeatureIndex.FeatureScenario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioReuseTest {
+
+    private static final String URI = "classpath:features/login.feature";
+    private static final FeatureScenario VALID = new FeatureScenario(URI, 8, "Valid login", List.of("@smoke"), "hash-1");
+    private static final FeatureScenario INVALID = new FeatureScenario(URI, 12, "Invalid login", List.of("@smoke"), "hash-1");
+
+    @TempDir
+    Path resultsBase;
+
+    private ScenarioReuse reuse;
+
+    @BeforeEach
+    void setUp() {
+        reuse = new ScenarioReuse(resultsBase, "2.0.1", new FeatureIndex(List.of(VALID, INVALID)));
+    }
+
+    private Path writeReport(String runId, String validStatus, String invalidStatus) throws Exception {
+        Path report = resultsBase.resolve(runId).resolve("cucumber-reports").resolve("Cucumber.json");
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, """
+                [{"uri": "%s", "name": "Login", "elements": [
+                  {"type": "background", "line": 3, "steps": [{"keyword": "Given ", "name": "app", "result": {"status": "passed"}}]},
+                  {"type": "scenario", "line": 8, "name": "Valid login",
+                   "steps": [{"keyword": "When ", "name": "login", "result": {"status": "%s", "duration": 2000000}}]},
+                  {"type": "background", "line": 3, "steps": [{"keyword": "Given ", "name": "app", "result": {"status": "passed"}}]},
+                  {"type": "scenario", "line": 12, "name": "Invalid login",
+                   "steps": [{"keyword": "When ", "name": "login", "result": {"status": "%s"}}]}
+                ]}]
+                """.formatted(URI, validStatus, invalidStatus));
+        return report;
+    }
+
+    @Test
+    void plan_NothingRecorded_RunsAllScenarios() throws Exception {
+        ScenarioReuse.Plan plan = reuse.plan("@smoke");
+
+        assertFalse(plan.hasReused());
+        assertEquals(List.of(VALID, INVALID), plan.toRun());
+    }
+
+    @Test
+    void plan_PassedInEarlierRun_ReusesOnlyPassedScenario() throws Exception {
+        reuse.record("run-1", writeReport("run-1", "passed", "failed"));
+
+        ScenarioReuse.Plan plan = reuse.plan("@smoke");
+
+        assertEquals(1, plan.reused().size());
+        assertEquals("run-1", plan.reused().get(0).sourceRunId());
+        assertEquals(List.of(INVALID), plan.toRun());
+        assertEquals(List.of(URI + ":12"), plan.featureSelectors());
+    }
+
+    @Test
+    void plan_FeatureFileChanged_DoesNotReuse() throws Exception {
+        reuse.record("run-1", writeReport("run-1", "passed", "passed"));
+        FeatureScenario changed = new FeatureScenario(URI, 8, "Valid login", List.of("@smoke"), "hash-2");
+        ScenarioReuse changedReuse = new ScenarioReuse(resultsBase, "2.0.1", new FeatureIndex(List.of(changed)));
+
+        assertFalse(changedReuse.plan(null).hasReused());
+    }
+
+    @Test
+    void plan_OtherSutVersion_DoesNotReuse() throws Exception {
+        reuse.record("run-1", writeReport("run-1", "passed", "passed"));
+        ScenarioReuse otherVersion = new ScenarioReuse(resultsBase, "2.0.2", new FeatureIndex(List.of(VALID, INVALID)));
+
+        assertFalse(otherVersion.plan(null).hasReused());
+    }
+
+    @Test
+    void plan_SourceRunDeleted_DoesNotReuse() throws Exception {
+        Path report = writeReport("run-1", "passed", "passed");
+        reuse.record("run-1", report);
+        Files.delete(report);
+
+        assertFalse(reuse.plan(null).hasReused());
+    }
+
+    @Test
+    void record_LaterFailure_RemovesRecordedPass() throws Exception {
+        reuse.record("run-1", writeReport("run-1", "passed", "passed"));
+        reuse.record("run-2", writeReport("run-2", "failed", "passed"));
+
+        ScenarioReuse.Plan plan = reuse.plan(null);
+
+        assertEquals(List.of(VALID), plan.toRun());
+        assertEquals("run-2", plan.reused().get(0).sourceRunId());
+    }
+
+    @Test
+    void complete_MergesReusedResultsWithMarkerAndWritesAllureResult() throws Exception {
+        reuse.record("run-1", writeReport("run-1", "passed", "failed"));
+        ScenarioReuse.Plan plan = reuse.plan(null);
+        Path runDir = resultsBase.resolve("run-2");
+        Path cucumberJson = runDir.resolve("cucumber-reports").resolve("Cucumber.json");
+        Path allureResults = Files.createDirectories(runDir.resolve("allure-results"));
+        Files.createDirectories(cucumberJson.getParent());
+        Files.writeString(cucumberJson, """
+                [{"uri": "%s", "name": "Login", "elements": [
+                  {"type": "scenario", "line": 12, "name": "Invalid login",
+                   "steps": [{"keyword": "When ", "name": "login", "result": {"status": "passed"}}]}
+                ]}]
+                """.formatted(URI));
+
+        reuse.complete("run-2", cucumberJson, allureResults, plan);
+
+        JsonNode elements = new ObjectMapper().readTree(cucumberJson.toFile()).get(0).get("elements");
+        assertEquals(3, elements.size());
+        assertEquals("background", elements.get(1).get("type").asText());
+        JsonNode reused = elements.get(2);
+        assertEquals(8, reused.get("line").asInt());
+        assertEquals("run-1", reused.get(ScenarioReuse.REUSED_FROM_FIELD).asText());
+        assertEquals(ScenarioReuse.REUSED_TAG, reused.get("tags").get(0).get("name").asText());
+        assertEquals(1, ScenarioReuse.countReused(cucumberJson));
+
+        try (Stream<Path> files = Files.list(allureResults)) {
+            Path result = files.filter(p -> p.toString().endsWith("-result.json")).findFirst().orElseThrow();
+            String content = Files.readString(result);
+            assertTrue(content.contains("\"reused\""));
+            assertTrue(content.contains("run-1"));
+        }
+
+        // Executed scenario recorded for run-2, reused one still points to its source run
+        Map<String, ScenarioResultCache.Entry> entries = new ScenarioResultCache(resultsBase, "2.0.1").load();
+        assertEquals("run-2", entries.get(URI + ":12").runId());
+        assertEquals("run-1", entries.get(URI + ":8").runId());
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.cucumber.service;
+
+import org.example.cucumber.model.TestExecutionRequest;
+import org.example.cucumber.model.TestStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunAdmissionTest {
+
+    @TempDir
+    Path resultsDir;
+
+    private final RunScheduler scheduler = new RunScheduler(1, Duration.ofMinutes(10));
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        scheduler.shutdown();
+    }
+
+    private RunStatusStore statusStore() {
+        return new RunStatusStore(runId -> resultsDir.resolve(runId.toString()), 100, Duration.ofHours(1));
+    }
+
+    /** Occupies the only slot, so further runs stay queued. */
+    private void blockSlot() {
+        CountDownLatch started = new CountDownLatch(1);
+        scheduler.submit(UUID.randomUUID(), RunScheduler.Priority.NORMAL, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        await().atMost(Duration.ofSeconds(2)).until(() -> started.getCount() == 0);
+    }
+
+    @Test
+    void rejectIfQueueFull_EnvironmentLimitReached_RejectsOnlyThatEnvironment() {
+        RunAdmission admission = new RunAdmission(scheduler, statusStore());
+        admission.setQueueLimits("staging=1");
+        blockSlot();
+        scheduler.submit(UUID.randomUUID(), RunScheduler.Priority.NORMAL, "staging", Instant.now(), () -> { });
+
+        QueueFullException e = assertThrows(QueueFullException.class, () -> admission.rejectIfQueueFull("staging"));
+        assertEquals("staging", e.getEnvironment());
+        assertTrue(e.getRetryAfter().compareTo(Duration.ofSeconds(1)) >= 0);
+        assertDoesNotThrow(() -> admission.rejectIfQueueFull("dev", 20));
+        assertThrows(QueueFullException.class, () -> admission.rejectIfQueueFull("dev", 21));
+    }
+
+    @Test
+    void findCoalescableRun_OnlyWhileQueuedOrJustStarted() {
+        RunStatusStore statusStore = statusStore();
+        RunAdmission admission = new RunAdmission(scheduler, statusStore);
+        TestExecutionRequest request = TestExecutionRequest.builder().environment("dev")
+                .environmentVariables(Map.of("A", "1")).features(List.of("b.feature", "a.feature")).build();
+        String key = RunAdmission.coalesceKey(request, "@smoke");
+        UUID runId = UUID.randomUUID();
+        TestStatus status = TestStatus.builder().runId(runId).status("QUEUED").environment("dev").build();
+        statusStore.put(runId, status);
+        admission.registerCoalescable(key, runId);
+
+        assertSame(status, admission.findCoalescableRun(key));
+        status.setStatus("RUNNING");
+        status.setStartTime(LocalDateTime.now());
+        assertSame(status, admission.findCoalescableRun(key));
+
+        status.setStartTime(LocalDateTime.now().minus(RunAdmission.COALESCE_START_WINDOW).minusSeconds(1));
+        assertNull(admission.findCoalescableRun(key));
+        status.setStartTime(LocalDateTime.now());
+        assertNull(admission.findCoalescableRun(key), "a dropped run is not registered again");
+    }
+
+    @Test
+    void coalesceKey_IgnoresOrderOfFeaturesAndVariables() {
+        TestExecutionRequest first = TestExecutionRequest.builder().environment("dev")
+                .features(List.of("a.feature", "b.feature")).environmentVariables(Map.of("A", "1", "B", "2")).build();
+        TestExecutionRequest second = TestExecutionRequest.builder().environment("dev")
+                .features(List.of("b.feature", "a.feature")).environmentVariables(Map.of("B", "2", "A", "1"))
+                .priority("HIGH").build();
+
+        assertEquals(RunAdmission.coalesceKey(first, "@smoke"), RunAdmission.coalesceKey(second, "@smoke"));
+        assertNotEquals(RunAdmission.coalesceKey(first, "@smoke"), RunAdmission.coalesceKey(first, "@regression"));
+    }
+}
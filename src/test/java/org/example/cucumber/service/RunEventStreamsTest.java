@@ -0,0 +1,181 @@
+package org.example.cucumber.service;
+
+import org.example.cucumber.controller.TestExecutionController;
+import org.example.cucumber.model.BatchStatus;
+import org.example.cucumber.model.ScenarioResult;
+import org.example.cucumber.model.TestStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import jakarta.validation.Validation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class RunEventStreamsTest {
+
+    private static final UUID RUN_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    @Mock
+    private TestExecutionService testExecutionService;
+
+    private RunEventStreams streams;
+    private Consumer<RunEvent> listener;
+    private MockMvc mockMvc;
+
+    @SuppressWarnings("unchecked")
+    private void start(Duration refreshInterval) {
+        streams = new RunEventStreams(testExecutionService, Duration.ofMinutes(1), refreshInterval);
+        ArgumentCaptor<Consumer<RunEvent>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(testExecutionService).addRunListener(captor.capture());
+        listener = captor.getValue();
+        mockMvc = MockMvcBuilders.standaloneSetup(new TestExecutionController(testExecutionService, streams,
+                Validation.buildDefaultValidatorFactory().getValidator())).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (streams != null) {
+            streams.shutdown();
+        }
+    }
+
+    private MvcResult open(String path) throws Exception {
+        return mockMvc.perform(get(path).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static String content(MvcResult result) throws Exception {
+        return result.getResponse().getContentAsString();
+    }
+
+    @Test
+    void runStream_PushesStatusProgressAndScenarioEventsUntilFinalStatus() throws Exception {
+        start(Duration.ofMinutes(1));
+        TestStatus status = TestStatus.builder().runId(RUN_ID).status("RUNNING").progress(0).build();
+        when(testExecutionService.getTestStatus(RUN_ID)).thenReturn(Optional.of(status));
+        MvcResult result = open("/api/v1/test/status/" + RUN_ID + "/stream");
+
+        status.setProgress(50);
+        listener.accept(new RunEvent(RUN_ID, RunEvent.PROGRESS, status));
+        listener.accept(new RunEvent(RUN_ID, RunEvent.SCENARIO,
+                ScenarioResult.builder().scenarioName("Valid login").status("passed").build()));
+        status.setStatus("COMPLETED");
+        status.setProgress(100);
+        listener.accept(new RunEvent(RUN_ID, RunEvent.STATUS, status));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> content(result).contains("COMPLETED"));
+        String events = content(result);
+        int initial = events.indexOf("event:status");
+        int progress = events.indexOf("event:progress");
+        int scenario = events.indexOf("event:scenario");
+        int completed = events.lastIndexOf("event:status");
+        assertTrue(initial >= 0 && initial < progress && progress < scenario && scenario < completed, events);
+        assertTrue(events.contains("\"progress\":50"));
+        assertTrue(events.contains("\"scenarioName\":\"Valid login\""));
+
+        // Stream is closed after the final status: later events are not sent
+        listener.accept(new RunEvent(RUN_ID, RunEvent.PROGRESS, status));
+        Thread.sleep(200);
+        assertEquals(events, content(result));
+    }
+
+    @Test
+    void runStream_ChangeWithoutEvent_SentOnRefresh() throws Exception {
+        start(Duration.ofMillis(100));
+        TestStatus status = TestStatus.builder().runId(RUN_ID).status("QUEUED").queuePosition(2).build();
+        when(testExecutionService.getTestStatus(RUN_ID)).thenReturn(Optional.of(status));
+        MvcResult result = open("/api/v1/test/status/" + RUN_ID + "/stream");
+
+        // e.g. a run executed by another instance
+        status.setQueuePosition(null);
+        status.setStatus("RUNNING");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> content(result).contains("RUNNING"));
+    }
+
+    @Test
+    void runStream_AlreadyFinished_SendsStatusAndCompletes() throws Exception {
+        start(Duration.ofMinutes(1));
+        TestStatus status = TestStatus.builder().runId(RUN_ID).status("FAILED").build();
+        when(testExecutionService.getTestStatus(RUN_ID)).thenReturn(Optional.of(status));
+        MvcResult result = open("/api/v1/test/status/" + RUN_ID + "/stream");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> content(result).contains("FAILED"));
+        listener.accept(new RunEvent(RUN_ID, RunEvent.STATUS, status));
+        Thread.sleep(200);
+        assertEquals(1, content(result).split("event:", -1).length - 1);
+    }
+
+    @Test
+    void activeStream_SendsActiveRunsAndEventsOfAllRuns() throws Exception {
+        start(Duration.ofMinutes(1));
+        TestStatus status = TestStatus.builder().runId(RUN_ID).status("RUNNING").build();
+        when(testExecutionService.getActiveTests()).thenReturn(List.of(status));
+        MvcResult result = open("/api/v1/test/active/stream");
+
+        listener.accept(new RunEvent(RUN_ID, RunEvent.SCENARIO,
+                ScenarioResult.builder().scenarioName("Valid login").status("failed").build()));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> content(result).contains("event:scenario"));
+        String events = content(result);
+        assertTrue(events.startsWith("event:active"), events);
+        assertTrue(events.contains("\"runId\":\"" + RUN_ID + "\""));
+    }
+
+    @Test
+    void batchStream_SendsBatchStatusAndScenariosOfItsRunsUntilFinished() throws Exception {
+        start(Duration.ofMinutes(1));
+        UUID batchId = UUID.randomUUID();
+        UUID otherRun = UUID.randomUUID();
+        TestStatus status = TestStatus.builder().runId(RUN_ID).status("RUNNING").build();
+        BatchStatus running = BatchStatus.builder().batchId(batchId).status("RUNNING").runs(List.of(status)).build();
+        BatchStatus completed = BatchStatus.builder().batchId(batchId).status("COMPLETED").runs(List.of(status)).build();
+        when(testExecutionService.getBatchStatus(batchId)).thenReturn(Optional.of(running));
+        MvcResult result = open("/api/v1/test/batches/" + batchId + "/stream");
+
+        listener.accept(new RunEvent(otherRun, RunEvent.SCENARIO,
+                ScenarioResult.builder().scenarioName("Other run").status("passed").build()));
+        listener.accept(new RunEvent(RUN_ID, RunEvent.SCENARIO,
+                ScenarioResult.builder().scenarioName("Valid login").status("passed").build()));
+        when(testExecutionService.getBatchStatus(batchId)).thenReturn(Optional.of(completed));
+        listener.accept(new RunEvent(RUN_ID, RunEvent.STATUS, status));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> content(result).contains("COMPLETED"));
+        String events = content(result);
+        assertTrue(events.startsWith("event:batch"), events);
+        assertTrue(events.contains("\"scenarioName\":\"Valid login\""));
+        assertFalse(events.contains("Other run"));
+        assertEquals(3, events.split("event:", -1).length - 1);
+    }
+
+    @Test
+    void batchStream_UnknownBatch_Returns404() throws Exception {
+        start(Duration.ofMinutes(1));
+        UUID batchId = UUID.randomUUID();
+        when(testExecutionService.getBatchStatus(batchId)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/test/batches/" + batchId + "/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.cucumber.service;
+
+import org.example.cucumber.model.TestStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunIndexTest {
+
+    private static final LocalDateTime QUEUED_AT = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @TempDir
+    Path resultsDir;
+
+    private static TestStatus status(UUID runId, String value) {
+        return TestStatus.builder().runId(runId).status(value).environment("dev").priority("NORMAL").build();
+    }
+
+    @Test
+    void record_LaterEntriesUpdateRunAndKeepQueueFields() {
+        RunIndex index = RunIndex.load(resultsDir);
+        UUID runId = UUID.randomUUID();
+        index.record(RunIndex.Entry.of(status(runId, "QUEUED"), "@smoke", "jenkins", QUEUED_AT));
+        TestStatus finished = status(runId, "COMPLETED");
+        finished.setStartTime(QUEUED_AT.plusMinutes(1));
+        finished.setPassedTests(5);
+        index.record(RunIndex.Entry.of(finished, null, null, null));
+
+        RunIndex.Entry entry = index.find(runId).orElseThrow();
+        assertEquals("COMPLETED", entry.status());
+        assertEquals("@smoke", entry.tags());
+        assertEquals("jenkins", entry.initiator());
+        assertEquals(QUEUED_AT, entry.queuedAt());
+        assertEquals(5, entry.passedTests());
+        assertTrue(entry.executed());
+    }
+
+    @Test
+    void load_RestoresRunsInRecordedOrder() {
+        RunIndex index = RunIndex.load(resultsDir);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        index.record(RunIndex.Entry.of(status(first, "QUEUED"), null, null, QUEUED_AT));
+        index.record(RunIndex.Entry.of(status(second, "QUEUED"), null, null, QUEUED_AT));
+        index.record(RunIndex.Entry.of(status(first, "FAILED"), null, null, null));
+
+        List<RunIndex.Entry> entries = RunIndex.load(resultsDir).entries();
+
+        assertEquals(List.of(first, second), entries.stream().map(RunIndex.Entry::runId).toList());
+        assertEquals("FAILED", entries.get(0).status());
+    }
+
+    @Test
+    void delete_RemovesRunAlsoAfterReload() {
+        RunIndex index = RunIndex.load(resultsDir);
+        UUID runId = UUID.randomUUID();
+        index.record(RunIndex.Entry.of(status(runId, "COMPLETED"), null, null, QUEUED_AT));
+
+        index.delete(runId);
+
+        assertTrue(index.find(runId).isEmpty());
+        assertTrue(RunIndex.load(resultsDir).entries().isEmpty());
+    }
+
+    @Test
+    void find_PicksUpRunsRecordedByAnotherInstance() {
+        RunIndex index = RunIndex.load(resultsDir);
+        RunIndex other = RunIndex.load(resultsDir);
+        UUID runId = UUID.randomUUID();
+
+        other.record(RunIndex.Entry.of(status(runId, "RUNNING"), null, null, QUEUED_AT));
+
+        assertEquals("RUNNING", index.find(runId).orElseThrow().status());
+    }
+
+    @Test
+    void load_WithoutIndex_BuiltFromRunDirectories() throws Exception {
+        UUID runId = UUID.randomUUID();
+        Files.createDirectories(resultsDir.resolve(runId.toString()).resolve("allure-results"));
+        Files.createDirectories(resultsDir.resolve(UUID.randomUUID().toString()));
+        Files.createDirectories(resultsDir.resolve("combined").resolve("allure-results"));
+
+        RunIndex index = RunIndex.load(resultsDir);
+
+        assertEquals(List.of(runId), index.entries().stream().map(RunIndex.Entry::runId).toList());
+        assertTrue(index.entries().get(0).executed());
+        assertTrue(Files.exists(resultsDir.resolve(RunIndex.INDEX_FILE)));
+    }
+
+    @Test
+    void load_MostlyOutdatedLines_Compacted() throws Exception {
+        RunIndex index = RunIndex.load(resultsDir);
+        UUID runId = UUID.randomUUID();
+        for (int i = 0; i < 1100; i++) {
+            TestStatus status = status(runId, "RUNNING");
+            status.setPassedTests(i);
+            index.record(RunIndex.Entry.of(status, null, null, null));
+        }
+
+        RunIndex reloaded = RunIndex.load(resultsDir);
+
+        assertEquals(1, Files.readAllLines(resultsDir.resolve(RunIndex.INDEX_FILE)).size());
+        assertEquals(1099, reloaded.find(runId).orElseThrow().passedTests());
+    }
+
+    @Test
+    void compactIfOutdated_LoadedIndexGrowsWithUpdates_CompactedInPlace() throws Exception {
+        RunIndex index = RunIndex.load(resultsDir);
+        UUID runId = UUID.randomUUID();
+        index.record(RunIndex.Entry.of(status(runId, "QUEUED"), "@smoke", null, QUEUED_AT));
+
+        assertFalse(index.compactIfOutdated());
+        for (int i = 0; i < 1100; i++) {
+            TestStatus status = status(runId, "RUNNING");
+            status.setPassedTests(i);
+            index.record(RunIndex.Entry.of(status, null, null, null));
+        }
+
+        assertTrue(index.compactIfOutdated());
+        assertEquals(1, Files.readAllLines(resultsDir.resolve(RunIndex.INDEX_FILE)).size());
+        RunIndex.Entry entry = index.find(runId).orElseThrow();
+        assertEquals(1099, entry.passedTests());
+        assertEquals("@smoke", entry.tags());
+    }
+
+    @Test
+    void page_NewestFirstAndContinuesAfterCursor() {
+        RunIndex index = RunIndex.load(resultsDir);
+        UUID oldest = UUID.randomUUID();
+        UUID middle = UUID.randomUUID();
+        UUID newest = UUID.randomUUID();
+        index.record(RunIndex.Entry.of(status(middle, "QUEUED"), null, null, QUEUED_AT.plusMinutes(1)));
+        index.record(RunIndex.Entry.of(status(oldest, "QUEUED"), null, null, QUEUED_AT));
+        index.record(RunIndex.Entry.of(status(newest, "QUEUED"), null, null, QUEUED_AT.plusMinutes(2)));
+        TestStatus started = status(oldest, "RUNNING");
+        started.setStartTime(QUEUED_AT.plusMinutes(3));
+        index.record(RunIndex.Entry.of(started, null, null, null));
+
+        RunIndex.Query all = new RunIndex.Query(null, null, null, null, null, null);
+        List<RunIndex.Entry> first = index.page(all, null, 2);
+        RunIndex.Position cursor = RunIndex.Position.decode(first.get(1).position().encode());
+        List<RunIndex.Entry> second = index.page(all, cursor, 2);
+
+        assertEquals(List.of(oldest, newest), first.stream().map(RunIndex.Entry::runId).toList());
+        assertEquals(List.of(middle), second.stream().map(RunIndex.Entry::runId).toList());
+    }
+
+    @Test
+    void page_QueryFiltersByFieldsTagsAndTime() {
+        RunIndex index = RunIndex.load(resultsDir);
+        UUID match = UUID.randomUUID();
+        index.record(RunIndex.Entry.of(status(match, "FAILED"), "@smoke and not @wip", "jenkins", QUEUED_AT));
+        index.record(RunIndex.Entry.of(status(UUID.randomUUID(), "COMPLETED"), "@smoke", "jenkins", QUEUED_AT));
+        index.record(RunIndex.Entry.of(status(UUID.randomUUID(), "FAILED"), "@smoke-extended", "jenkins", QUEUED_AT));
+        index.record(RunIndex.Entry.of(status(UUID.randomUUID(), "FAILED"), "@smoke", "jenkins", QUEUED_AT.minusDays(1)));
+        index.delete(UUID.randomUUID());
+
+        RunIndex.Query query = new RunIndex.Query("dev", List.of("FAILED", "TIMEOUT"), List.of("smoke"), "jenkins",
+                QUEUED_AT.minusHours(1), QUEUED_AT.plusHours(1));
+
+        assertEquals(List.of(match), index.page(query, null, 10).stream().map(RunIndex.Entry::runId).toList());
+        assertTrue(index.page(new RunIndex.Query("prod", null, null, null, null, null), null, 10).isEmpty());
+    }
+
+    @Test
+    void decode_InvalidCursor_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> RunIndex.Position.decode("not-a-cursor"));
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.cucumber.service;
+
+import org.example.cucumber.model.FeatureResult;
+import org.example.cucumber.model.ScenarioResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunResultsTest {
+
+    private static final String REPORT = """
+            [
+              {
+                "uri": "classpath:features/Login.feature",
+                "elements": [
+                  {
+                    "type": "background", "name": "", "line": 3,
+                    "steps": [ { "name": "open page", "result": { "status": "passed", "duration": 1000000000 } } ]
+                  },
+                  {
+                    "type": "scenario", "name": "Login ok", "line": 6,
+                    "start_timestamp": "2026-03-01T12:00:00.000Z",
+                    "before": [ { "result": { "status": "passed", "duration": 500000000 } } ],
+                    "steps": [ { "name": "login", "result": { "status": "passed", "duration": 2000000000 } } ],
+                    "after": [ { "result": { "status": "passed", "duration": 0 },
+                                 "embeddings": [ { "data": "iVBORw0KGgoAAAANSUhEUgAA", "mime_type": "image/png" } ] } ]
+                  },
+                  {
+                    "type": "background", "name": "", "line": 3,
+                    "steps": [ { "name": "open page", "result": { "status": "passed", "duration": 1000000000 } } ]
+                  },
+                  {
+                    "type": "scenario", "name": "Login wrong password", "line": 10,
+                    "start_timestamp": "2026-03-01T12:00:05.000Z",
+                    "steps": [
+                      { "name": "login", "result": { "status": "failed", "duration": 3000000000,
+                        "error_message": "AssertionError: expected dashboard\\n\\tat LoginSteps.java:42" } },
+                      { "name": "logout", "result": { "status": "skipped" } }
+                    ]
+                  }
+                ],
+                "name": "Login",
+                "keyword": "Feature"
+              },
+              {
+                "uri": "classpath:features/Search.feature",
+                "name": "Search",
+                "elements": [
+                  { "type": "scenario", "name": "Search new", "line": 4,
+                    "steps": [ { "name": "search", "result": { "status": "undefined" } } ] }
+                ]
+              }
+            ]
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void parse_ExtractsScenariosWithBackgroundHooksAndErrors() throws Exception {
+        RunResults results = RunResults.parse(Files.writeString(dir.resolve("Cucumber.json"), REPORT));
+
+        List<ScenarioResult> scenarios = results.scenarios();
+        assertEquals(3, scenarios.size());
+
+        ScenarioResult ok = scenarios.get(0);
+        assertEquals("Login ok", ok.getScenarioName());
+        assertEquals("Login", ok.getFeatureName());
+        assertEquals(6, ok.getLine());
+        assertEquals("passed", ok.getStatus());
+        assertEquals(3500, ok.getDurationMs());
+        assertNull(ok.getErrorMessage());
+
+        ScenarioResult failed = scenarios.get(1);
+        assertEquals("failed", failed.getStatus());
+        assertEquals(4000, failed.getDurationMs());
+        assertEquals("AssertionError: expected dashboard", failed.getErrorMessage());
+        assertTrue(failed.getStackTrace().contains("LoginSteps.java:42"));
+
+        assertEquals("undefined", scenarios.get(2).getStatus());
+        assertEquals("Search", scenarios.get(2).getFeatureName());
+    }
+
+    @Test
+    void parse_SummarizesFeatures() throws Exception {
+        RunResults results = RunResults.parse(Files.writeString(dir.resolve("Cucumber.json"), REPORT));
+
+        FeatureResult login = results.features().get(0);
+        assertEquals("Login", login.getFeatureName());
+        assertEquals("classpath:features/Login.feature", login.getFeaturePath());
+        assertEquals(2, login.getTotalScenarios());
+        assertEquals(1, login.getPassedScenarios());
+        assertEquals(1, login.getFailedScenarios());
+        assertEquals(0, login.getSkippedScenarios());
+        assertEquals("failed", login.getStatus());
+        assertEquals(7500, login.getDurationMs());
+        assertEquals("AssertionError: expected dashboard", login.getErrorMessage());
+        assertEquals(login.getStartTime().plusSeconds(9), login.getEndTime());
+
+        assertEquals("failed", results.features().get(1).getStatus());
+        assertNull(results.features().get(1).getStartTime());
+    }
+
+    @Test
+    void parse_EmptyReport_NoResults() throws Exception {
+        RunResults results = RunResults.parse(Files.writeString(dir.resolve("Cucumber.json"), ""));
+
+        assertTrue(results.features().isEmpty());
+        assertTrue(results.scenarios().isEmpty());
+    }
+
+    @Test
+    void write_ReadBackEqualResults() throws Exception {
+        RunResults results = RunResults.parse(Files.writeString(dir.resolve("Cucumber.json"), REPORT));
+        Path file = dir.resolve(RunResults.RESULTS_FILE);
+
+        results.write(file);
+
+        assertEquals(results, RunResults.read(file));
+        assertFalse(Files.readString(file).contains("iVBORw0KGgo"));
+    }
+}
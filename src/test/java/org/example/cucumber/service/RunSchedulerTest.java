@@ -0,0 +1,282 @@
+package org.example.cucumber.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunSchedulerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T10:00:00Z"));
+    private RunScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    /** Occupies the only slot until the returned latch is counted down. */
+    private CountDownLatch blockSlot() {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        scheduler.submit(UUID.randomUUID(), RunScheduler.Priority.NORMAL, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        await().atMost(Duration.ofSeconds(2)).until(() -> started.getCount() == 0);
+        return release;
+    }
+
+    @Test
+    void dispatch_HigherPriorityFirst() {
+        scheduler = new RunScheduler(1, Duration.ofMinutes(10), clock);
+        CountDownLatch release = blockSlot();
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        scheduler.submit(UUID.randomUUID(), RunScheduler.Priority.LOW, () -> order.add("LOW"));
+        scheduler.submit(UUID.randomUUID(), RunScheduler.Priority.NORMAL, () -> order.add("NORMAL"));
+        scheduler.submit(UUID.randomUUID(), RunScheduler.Priority.CRITICAL, () -> order.add("CRITICAL"));
+
+        release.countDown();
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> order.size() == 3);
+        assertEquals(List.of("CRITICAL", "NORMAL", "LOW"), order);
+    }
+
+    @Test
+    void raisePriority_QueuedRunOvertakesAndIsNeverLowered() {
+        scheduler = new RunScheduler(1, Duration.ofMinutes(10), clock);
+        CountDownLatch release = blockSlot();
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        UUID low = UUID.randomUUID();
+        scheduler.submit(UUID.randomUUID(), RunScheduler.Priority.HIGH, () -> order.add("HIGH"));
+        scheduler.submit(low, RunScheduler.Priority.LOW, () -> order.add("raised"));
+
+        assertTrue(scheduler.raisePriority(low, RunScheduler.Priority.CRITICAL));
+        assertFalse(scheduler.raisePriority(low, RunScheduler.Priority.NORMAL));
+        assertFalse(scheduler.raisePriority(UUID.randomUUID(), RunScheduler.Priority.CRITICAL));
+        assertEquals(1, scheduler.positionOf(low));
+
+        release.countDown();
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> order.size() == 2);
+        assertEquals(List.of("raised", "HIGH"), order);
+    }
+
+    @Test
+    void dispatch_SamePriority_Fifo() {
+        scheduler = new RunScheduler(1, Duration.ofMinutes(10), clock);
+        CountDownLatch release = blockSlot();
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        scheduler.submit(UUID.randomUUID(), RunScheduler.Priority.HIGH, () -> order.add("first"));
+        scheduler.submit(UUID.randomUUID(), RunScheduler.Priority.HIGH, () -> order.add("second"));
+
+        release.countDown();
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> order.size() == 2);
+        assertEquals(List.of("first", "second"), order);
+    }
+
+    @Test
+    void dispatch_AgedLowRunOvertakesFreshHighRun() {
+        scheduler = new RunScheduler(1, Duration.ofMinutes(10), clock);
+        CountDownLatch release = blockSlot();
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        scheduler.submit(UUID.randomUUID(), RunScheduler.Priority.LOW, () -> order.add("LOW"));
+        clock.advance(Duration.ofMinutes(25));
+        scheduler.submit(UUID.randomUUID(), RunScheduler.Priority.HIGH, () -> order.add("HIGH"));
+
+        release.countDown();
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> order.size() == 2);
+        assertEquals(List.of("LOW", "HIGH"), order);
+    }
+
+    @Test
+    void positionOf_ReflectsPriorityOrder() {
+        scheduler = new RunScheduler(1, Duration.ofMinutes(10), clock);
+        CountDownLatch release = blockSlot();
+
+        UUID low = UUID.randomUUID();
+        UUID critical = UUID.randomUUID();
+        scheduler.submit(low, RunScheduler.Priority.LOW, () -> {});
+        scheduler.submit(critical, RunScheduler.Priority.CRITICAL, () -> {});
+
+        assertEquals(1, scheduler.positionOf(critical));
+        assertEquals(2, scheduler.positionOf(low));
+        assertEquals(0, scheduler.positionOf(UUID.randomUUID()));
+
+        release.countDown();
+    }
+
+    @Test
+    void queuedCount_CountsWaitingRunsPerGroup() {
+        scheduler = new RunScheduler(1, Duration.ofMinutes(10), clock);
+        CountDownLatch release = blockSlot();
+
+        UUID devLow = UUID.randomUUID();
+        scheduler.submit(devLow, RunScheduler.Priority.LOW, "dev", clock.instant(), () -> {});
+        scheduler.submit(UUID.randomUUID(), RunScheduler.Priority.CRITICAL, "staging", clock.instant(), () -> {});
+        scheduler.submit(UUID.randomUUID(), RunScheduler.Priority.NORMAL, "dev", clock.instant(), () -> {});
+
+        assertEquals(2, scheduler.queuedCount("dev"));
+        assertEquals(1, scheduler.queuedCount("staging"));
+        assertEquals(0, scheduler.queuedCount("prod"));
+        assertEquals(2, scheduler.firstPositionOf("dev"));
+        assertEquals(0, scheduler.firstPositionOf("prod"));
+        scheduler.remove(devLow);
+        assertEquals(1, scheduler.queuedCount("dev"));
+
+        release.countDown();
+    }
+
+    @Test
+    void estimateStartTime_AddsAverageRunDurationPerWave() {
+        scheduler = new RunScheduler(1, Duration.ofMinutes(10), clock);
+        CountDownLatch release = blockSlot();
+
+        Instant now = clock.instant();
+        Instant first = scheduler.estimateStartTime(1);
+        Instant second = scheduler.estimateStartTime(2);
+
+        assertEquals(now.plus(RunScheduler.DEFAULT_RUN_DURATION), first);
+        assertEquals(now.plus(RunScheduler.DEFAULT_RUN_DURATION.multipliedBy(2)), second);
+
+        release.countDown();
+    }
+
+    @Test
+    void remove_QueuedRun_IsNeverExecuted() throws InterruptedException {
+        scheduler = new RunScheduler(1, Duration.ofMinutes(10), clock);
+        CountDownLatch release = blockSlot();
+
+        CountDownLatch executed = new CountDownLatch(1);
+        UUID runId = UUID.randomUUID();
+        scheduler.submit(runId, RunScheduler.Priority.NORMAL, executed::countDown);
+
+        assertTrue(scheduler.remove(runId));
+        assertFalse(scheduler.remove(runId));
+
+        release.countDown();
+        assertFalse(executed.await(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void releaseSlot_EarlyRelease_StartsNextRunWhileTaskStillActive() {
+        scheduler = new RunScheduler(1, Duration.ofMinutes(10), clock);
+
+        UUID first = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.submit(first, RunScheduler.Priority.NORMAL, () -> {
+            scheduler.releaseSlot(first);
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        CountDownLatch second = new CountDownLatch(1);
+        scheduler.submit(UUID.randomUUID(), RunScheduler.Priority.NORMAL, second::countDown);
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> second.getCount() == 0);
+        release.countDown();
+    }
+
+    @Test
+    void cancelRunning_TaskIgnoresInterrupt_SlotHeldUntilTaskReturns() throws InterruptedException {
+        scheduler = new RunScheduler(1, Duration.ofMinutes(10), clock);
+
+        UUID stuck = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.submit(stuck, RunScheduler.Priority.NORMAL, () -> {
+            while (release.getCount() > 0) {
+                Thread.onSpinWait();
+            }
+        });
+        await().atMost(Duration.ofSeconds(2)).until(() -> scheduler.isRunning(stuck));
+
+        CountDownLatch next = new CountDownLatch(1);
+        scheduler.submit(UUID.randomUUID(), RunScheduler.Priority.NORMAL, next::countDown);
+        assertTrue(scheduler.cancelRunning(stuck));
+
+        assertTrue(scheduler.isRunning(stuck));
+        assertFalse(next.await(300, TimeUnit.MILLISECONDS), "the stuck run still holds the only slot");
+        assertEquals(1, scheduler.runningCount());
+
+        release.countDown();
+        await().atMost(Duration.ofSeconds(2)).until(() -> next.getCount() == 0);
+        assertFalse(scheduler.isRunning(stuck));
+    }
+
+    @Test
+    void cancelRunning_TaskStopsOnInterrupt_ReleasesSlot() {
+        scheduler = new RunScheduler(1, Duration.ofMinutes(10), clock);
+        UUID runId = UUID.randomUUID();
+        scheduler.submit(runId, RunScheduler.Priority.NORMAL, () -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.onSpinWait();
+            }
+        });
+        await().atMost(Duration.ofSeconds(2)).until(() -> scheduler.isRunning(runId));
+
+        assertTrue(scheduler.cancelRunning(runId));
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> !scheduler.isRunning(runId));
+        assertEquals(0, scheduler.runningCount());
+    }
+
+    @Test
+    void priorityParse_UnknownOrNull_FallsBackToNormal() {
+        assertEquals(RunScheduler.Priority.NORMAL, RunScheduler.Priority.parse(null));
+        assertEquals(RunScheduler.Priority.NORMAL, RunScheduler.Priority.parse("urgent"));
+        assertEquals(RunScheduler.Priority.CRITICAL, RunScheduler.Priority.parse("critical"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant start) {
+            this.now = start;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.cucumber.service;
+
+import org.example.cucumber.model.TestStatistics;
+import org.example.cucumber.model.TestStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunStatisticsTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 12, 30);
+
+    private final RunStatistics statistics = new RunStatistics(Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE));
+
+    private static RunIndex.Entry entry(UUID runId, String environment, String value, LocalDateTime queuedAt) {
+        TestStatus status = TestStatus.builder().runId(runId).status(value).environment(environment).build();
+        return RunIndex.Entry.of(status, null, null, queuedAt);
+    }
+
+    private static RunIndex.Entry finished(RunIndex.Entry queued, String value, int minutes, int passed, int failed) {
+        TestStatus status = queued.toStatus();
+        status.setStatus(value);
+        status.setStartTime(queued.queuedAt());
+        status.setEndTime(queued.queuedAt().plusMinutes(minutes));
+        status.setPassedTests(passed);
+        status.setFailedTests(failed);
+        status.setSkippedTests(0);
+        return RunIndex.Entry.of(status, null, null, queued.queuedAt());
+    }
+
+    @Test
+    void changed_TransitionsMoveRunBetweenCounters() {
+        RunIndex.Entry queued = entry(UUID.randomUUID(), "dev", "QUEUED", NOW.minusMinutes(20));
+        RunIndex.Entry running = queued.withStatus("RUNNING");
+        RunIndex.Entry completed = finished(queued, "COMPLETED", 10, 4, 1);
+
+        statistics.changed(null, queued);
+        assertEquals(1, statistics.snapshot(null, null).getQueuedRuns());
+
+        statistics.changed(queued, running);
+        TestStatistics whileRunning = statistics.snapshot(null, null);
+        assertEquals(0, whileRunning.getQueuedRuns());
+        assertEquals(1, whileRunning.getRunningRuns());
+
+        statistics.changed(running, completed);
+        TestStatistics done = statistics.snapshot(null, null);
+        assertEquals(1, done.getTotalRuns());
+        assertEquals(0, done.getRunningRuns());
+        assertEquals(1, done.getSuccessfulRuns());
+        assertEquals(100.0, done.getSuccessRate());
+        assertEquals(10.0, done.getAverageDurationMinutes());
+        assertEquals(5, done.getTotalTestsExecuted());
+        assertEquals(1, done.getTotalTestsFailed());
+    }
+
+    @Test
+    void changed_DeletedRunRemovedFromCounters() {
+        RunIndex.Entry completed = finished(entry(UUID.randomUUID(), "dev", "QUEUED", NOW.minusHours(1)),
+                "COMPLETED", 5, 1, 0);
+        statistics.changed(null, completed);
+
+        TestStatus deleted = completed.toStatus();
+        RunIndex.Entry tombstone = new RunIndex.Entry(deleted.getRunId(), null, null, null, null, null, null,
+                null, null, null, null, null, null, true);
+        statistics.changed(completed, tombstone);
+
+        TestStatistics stats = statistics.snapshot(null, null);
+        assertEquals(0, stats.getTotalRuns());
+        assertEquals(0, stats.getTotalTestsExecuted());
+        assertNull(stats.getAverageDurationMinutes());
+    }
+
+    @Test
+    void snapshot_EnvironmentAndWindow_CountOnlyMatchingRuns() {
+        statistics.changed(null, finished(entry(UUID.randomUUID(), "dev", "QUEUED", NOW.minusMinutes(30)),
+                "COMPLETED", 5, 1, 0));
+        statistics.changed(null, finished(entry(UUID.randomUUID(), "dev", "QUEUED", NOW.minusDays(2)),
+                "FAILED", 5, 0, 1));
+        statistics.changed(null, finished(entry(UUID.randomUUID(), "staging", "QUEUED", NOW.minusMinutes(10)),
+                "TIMEOUT", 5, 0, 0));
+
+        assertEquals(3, statistics.snapshot(null, null).getTotalRuns());
+        TestStatistics dev = statistics.snapshot("dev", null);
+        assertEquals(2, dev.getTotalRuns());
+        assertEquals(50.0, dev.getSuccessRate());
+
+        TestStatistics lastDay = statistics.snapshot(null, Duration.ofHours(24));
+        assertEquals(2, lastDay.getTotalRuns());
+        assertEquals(1, lastDay.getTimedOutRuns());
+        assertEquals(NOW.minusHours(24), lastDay.getPeriodStart());
+        assertEquals(NOW, lastDay.getPeriodEnd());
+        assertEquals(1, statistics.snapshot("dev", Duration.ofHours(24)).getTotalRuns());
+    }
+
+    @Test
+    void changed_RunsStarting_RecordsPeakConcurrency() {
+        RunIndex.Entry first = entry(UUID.randomUUID(), "dev", "QUEUED", NOW.minusMinutes(5));
+        RunIndex.Entry second = entry(UUID.randomUUID(), "staging", "QUEUED", NOW.minusMinutes(5));
+        statistics.changed(null, first);
+        statistics.changed(null, second);
+        statistics.changed(first, first.withStatus("RUNNING"));
+        statistics.changed(second, second.withStatus("RUNNING"));
+        statistics.changed(second.withStatus("RUNNING"), finished(second, "COMPLETED", 1, 1, 0));
+
+        assertEquals(2, statistics.snapshot(null, null).getPeakConcurrentRuns());
+        assertEquals(1, statistics.snapshot("dev", null).getPeakConcurrentRuns());
+        assertEquals(1, statistics.snapshot(null, null).getRunningRuns());
+    }
+
+    @Test
+    void recordFailure_ListsMostFrequentFailedScenarios() {
+        for (int i = 0; i < 3; i++) {
+            statistics.recordFailure("dev", "Login");
+        }
+        statistics.recordFailure("dev", "Checkout");
+        statistics.recordFailure("staging", "Search");
+
+        assertEquals(List.of("Login (3)", "Checkout (1)", "Search (1)"),
+                statistics.snapshot(null, null).getMostFrequentFailures());
+        assertEquals(List.of("Search (1)"), statistics.snapshot("staging", Duration.ofHours(1)).getMostFrequentFailures());
+    }
+
+    @Test
+    void snapshot_SuccessRate_CountsOnlyFinishedRuns() {
+        RunIndex.Entry first = entry(UUID.randomUUID(), "dev", "QUEUED", NOW.minusMinutes(30));
+        RunIndex.Entry second = entry(UUID.randomUUID(), "dev", "QUEUED", NOW.minusMinutes(30));
+        statistics.changed(null, finished(first, "COMPLETED", 5, 1, 0));
+        statistics.changed(null, finished(second, "FAILED", 5, 0, 1));
+        statistics.changed(null, finished(entry(UUID.randomUUID(), "dev", "QUEUED", NOW.minusMinutes(30)), "CANCELLED", 1, 0, 0));
+        statistics.changed(null, entry(UUID.randomUUID(), "dev", "QUEUED", NOW));
+        statistics.changed(null, entry(UUID.randomUUID(), "dev", "RUNNING", NOW));
+
+        TestStatistics snapshot = statistics.snapshot(null, null);
+        assertEquals(5, snapshot.getTotalRuns());
+        assertEquals(50.0, snapshot.getSuccessRate());
+    }
+
+    @Test
+    void cleared_ResetsRunCountersAndFailures() {
+        statistics.changed(null, entry(UUID.randomUUID(), "dev", "QUEUED", NOW));
+        statistics.recordFailure("dev", "Login");
+
+        statistics.cleared();
+
+        assertEquals(0, statistics.snapshot(null, null).getTotalRuns());
+        assertEquals(0, statistics.snapshot("dev", null).getQueuedRuns());
+        assertEquals(List.of(), statistics.snapshot("dev", null).getMostFrequentFailures());
+    }
+}
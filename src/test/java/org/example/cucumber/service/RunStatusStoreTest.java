@@ -0,0 +1,126 @@
+package org.example.cucumber.service;
+
+import org.example.cucumber.model.TestStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunStatusStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+
+    @TempDir
+    Path resultsDir;
+
+    private RunStatusStore store(int maxInMemory, Duration ttl) {
+        return new RunStatusStore(resultsDir::resolve, maxInMemory, ttl, Clock.fixed(NOW, ZONE));
+    }
+
+    private static TestStatus status(String value, Duration finishedAgo) {
+        Map<String, String> reportUrls = new HashMap<>();
+        reportUrls.put("allure", "/reports/x/allure-report/index.html");
+        return TestStatus.builder()
+                .runId(UUID.randomUUID())
+                .status(value)
+                .environment("dev")
+                .endTime(finishedAgo != null ? LocalDateTime.ofInstant(NOW.minus(finishedAgo), ZONE) : null)
+                .reportUrls(reportUrls)
+                .build();
+    }
+
+    private static void add(RunStatusStore store, TestStatus status) {
+        store.put(status.getRunId(), status);
+    }
+
+    @Test
+    void evict_OverCountLimit_MovesOldestFinishedRunsToDisk() {
+        RunStatusStore store = store(2, Duration.ofDays(1));
+        TestStatus oldest = status("COMPLETED", Duration.ofMinutes(30));
+        TestStatus older = status("FAILED", Duration.ofMinutes(20));
+        TestStatus recent = status("COMPLETED", Duration.ofMinutes(10));
+        TestStatus running = status("RUNNING", null);
+        add(store, oldest);
+        add(store, older);
+        add(store, recent);
+        add(store, running);
+
+        assertEquals(2, store.evict());
+
+        assertNull(store.get(oldest.getRunId()));
+        assertNull(store.get(older.getRunId()));
+        assertSame(recent, store.get(recent.getRunId()));
+        assertSame(running, store.get(running.getRunId()));
+        assertTrue(Files.exists(resultsDir.resolve(oldest.getRunId().toString()).resolve(RunStatusStore.STATUS_FILE)));
+    }
+
+    @Test
+    void evict_AfterTtl_EvictsEvenBelowCountLimit() {
+        RunStatusStore store = store(100, Duration.ofMinutes(60));
+        TestStatus expired = status("CANCELLED", Duration.ofMinutes(61));
+        TestStatus fresh = status("COMPLETED", Duration.ofMinutes(59));
+        add(store, expired);
+        add(store, fresh);
+
+        assertEquals(1, store.evict());
+        assertNull(store.get(expired.getRunId()));
+        assertSame(fresh, store.get(fresh.getRunId()));
+    }
+
+    @Test
+    void evict_NeverEvictsActiveOrJustFinishedRuns() {
+        RunStatusStore store = store(0, Duration.ZERO);
+        add(store, status("QUEUED", null));
+        add(store, status("POSTPROCESSING", null));
+        add(store, status("COMPLETED", Duration.ofSeconds(10)));
+
+        assertEquals(0, store.evict());
+        assertEquals(3, store.values().size());
+    }
+
+    @Test
+    void load_EvictedStatus_ReadBackFromDisk() {
+        RunStatusStore store = store(0, Duration.ZERO);
+        TestStatus status = status("TIMEOUT", Duration.ofMinutes(5));
+        status.setPassedTests(7);
+        add(store, status);
+        store.evict();
+
+        TestStatus loaded = store.load(status.getRunId()).orElseThrow();
+
+        assertEquals("TIMEOUT", loaded.getStatus());
+        assertEquals(7, loaded.getPassedTests());
+        assertEquals(status.getEndTime(), loaded.getEndTime());
+        assertEquals(status.getReportUrls(), loaded.getReportUrls());
+        assertTrue(store.load(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void saveIfEvicted_UpdatesHistoryOnlyForEvictedStatus() {
+        RunStatusStore store = store(0, Duration.ZERO);
+        TestStatus kept = status("RUNNING", null);
+        TestStatus evicted = status("TIMEOUT", Duration.ofMinutes(5));
+        add(store, kept);
+        add(store, evicted);
+        store.evict();
+
+        evicted.getReportUrls().put("accessibility", "/reports/x/axe-result/index.html");
+        store.saveIfEvicted(evicted);
+        store.saveIfEvicted(kept);
+
+        assertTrue(store.load(evicted.getRunId()).orElseThrow().getReportUrls().containsKey("accessibility"));
+        assertTrue(store.load(kept.getRunId()).isEmpty());
+    }
+}
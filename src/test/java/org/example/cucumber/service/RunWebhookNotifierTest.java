@@ -0,0 +1,179 @@
+package org.example.cucumber.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.example.cucumber.model.TestStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunWebhookNotifierTest {
+
+    private record Received(String event, String delivery, String timestamp, String signature, String body) {
+    }
+
+    private HttpServer server;
+    private String url;
+    private final List<Received> received = new CopyOnWriteArrayList<>();
+    /** Status codes to answer with, in order; 204 once exhausted. */
+    private final Queue<Integer> responses = new ConcurrentLinkedQueue<>();
+    private RunWebhookNotifier notifier;
+    private final UUID runId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hook", exchange -> {
+            received.add(new Received(
+                    exchange.getRequestHeaders().getFirst(RunWebhookNotifier.EVENT_HEADER),
+                    exchange.getRequestHeaders().getFirst(RunWebhookNotifier.DELIVERY_HEADER),
+                    exchange.getRequestHeaders().getFirst(RunWebhookNotifier.TIMESTAMP_HEADER),
+                    exchange.getRequestHeaders().getFirst(RunWebhookNotifier.SIGNATURE_HEADER),
+                    new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+            Integer code = responses.poll();
+            exchange.sendResponseHeaders(code != null ? code : 204, -1);
+            exchange.close();
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/hook";
+
+        notifier = new RunWebhookNotifier();
+        notifier.setInitialBackoff(Duration.ofMillis(10));
+        notifier.setProgressInterval(Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        notifier.shutdown();
+        server.stop(0);
+    }
+
+    private RunEvent status(String status) {
+        return new RunEvent(runId, RunEvent.STATUS, TestStatus.builder().runId(runId).status(status).build());
+    }
+
+    private RunEvent progress(int percent) {
+        return new RunEvent(runId, RunEvent.PROGRESS,
+                TestStatus.builder().runId(runId).status("RUNNING").progress(percent).build());
+    }
+
+    @Test
+    void lifecycleEvents_DeliveredInOrderAndSigned() throws Exception {
+        notifier.setSecret("s3cret");
+        notifier.register(runId, url);
+
+        notifier.onRunEvent(status("QUEUED"));
+        notifier.onRunEvent(status("RUNNING"));
+        notifier.onRunEvent(new RunEvent(runId, RunEvent.REPORT, Map.of("allure", "/allure/" + runId)));
+        notifier.onRunEvent(status("COMPLETED"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.size() == 4);
+        assertEquals(List.of(RunWebhookNotifier.QUEUED, RunWebhookNotifier.STARTED,
+                        RunWebhookNotifier.REPORT_READY, RunWebhookNotifier.FINISHED),
+                received.stream().map(Received::event).toList());
+
+        Received first = received.get(0);
+        assertTrue(first.body().contains("\"event\":\"run.queued\""));
+        assertTrue(first.body().contains(runId.toString()));
+        assertTrue(received.get(2).body().contains("\"reportUrls\""));
+        SecretKeySpec key = new SecretKeySpec("s3cret".getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        assertEquals("sha256=" + RunWebhookNotifier.sign(key, first.timestamp() + "." + first.body()),
+                first.signature());
+    }
+
+    @Test
+    void serverError_RetriedWithSameDeliveryId() {
+        responses.add(500);
+        responses.add(503);
+        notifier.register(runId, url);
+
+        notifier.onRunEvent(status("RUNNING"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.size() == 3);
+        assertEquals(1, received.stream().map(Received::delivery).distinct().count());
+        assertNull(received.get(0).signature());
+    }
+
+    @Test
+    void clientError_NotRetried() throws Exception {
+        responses.add(404);
+        notifier.register(runId, url);
+
+        notifier.onRunEvent(status("RUNNING"));
+        notifier.onRunEvent(status("FAILED"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.size() == 2);
+        Thread.sleep(200);
+        assertEquals(List.of(RunWebhookNotifier.STARTED, RunWebhookNotifier.FINISHED),
+                received.stream().map(Received::event).toList());
+    }
+
+    @Test
+    void progress_CoalescedToLatestPerInterval() throws Exception {
+        notifier.register(runId, url);
+
+        for (int percent = 10; percent <= 50; percent += 10) {
+            notifier.onRunEvent(progress(percent));
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.size() == 1);
+        Thread.sleep(400);
+        assertEquals(1, received.size());
+        assertEquals(RunWebhookNotifier.PROGRESS, received.get(0).event());
+        assertTrue(received.get(0).body().contains("\"progress\":50"));
+    }
+
+    @Test
+    void finished_DropsPendingProgress() throws Exception {
+        notifier.register(runId, url);
+
+        notifier.onRunEvent(progress(90));
+        notifier.onRunEvent(status("COMPLETED"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.size() == 1);
+        Thread.sleep(400);
+        assertEquals(List.of(RunWebhookNotifier.FINISHED), received.stream().map(Received::event).toList());
+    }
+
+    @Test
+    void severalWebhooks_EachReceivesEvents() throws Exception {
+        notifier.register(runId, url);
+        notifier.register(runId, url + "?caller=second");
+        // The same URL again (e.g. registered again when the run starts) is not a second webhook
+        notifier.register(runId, url);
+
+        notifier.onRunEvent(status("RUNNING"));
+        notifier.onRunEvent(status("COMPLETED"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.size() == 4);
+        Thread.sleep(200);
+        assertEquals(4, received.size());
+        assertEquals(2, received.stream().filter(r -> RunWebhookNotifier.STARTED.equals(r.event())).count());
+        assertEquals(2, received.stream().filter(r -> RunWebhookNotifier.FINISHED.equals(r.event())).count());
+    }
+
+    @Test
+    void unregisteredRun_NoDelivery() throws Exception {
+        notifier.register(runId, url);
+        notifier.unregister(runId);
+        notifier.register(UUID.randomUUID(), "ftp://example.com/hook");
+
+        notifier.onRunEvent(status("RUNNING"));
+
+        Thread.sleep(300);
+        assertTrue(received.isEmpty());
+    }
+}
@@ -1,30 +1,53 @@
 package org.example.cucumber.service;
 
 import org.example.CucumberRunnerService;
+import org.example.cucumber.cluster.FileRunCoordinator;
+import org.example.cucumber.cluster.RunCoordinator;
+import org.example.cucumber.context.RunControl;
+import org.example.cucumber.context.RunProgress;
+import org.example.cucumber.model.BatchExecutionRequest;
+import org.example.cucumber.model.BatchExecutionResponse;
+import org.example.cucumber.model.BatchStatus;
+import org.example.cucumber.model.RunPage;
+import org.example.cucumber.model.RunSummary;
+import org.example.cucumber.model.ScenarioResult;
 import org.example.cucumber.model.TestExecutionRequest;
 import org.example.cucumber.model.TestExecutionResponse;
+import org.example.cucumber.model.TestStatistics;
 import org.example.cucumber.model.TestStatus;
 import org.example.integration.zephyr.ZephyrScaleService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
 
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
@@ -55,6 +78,8 @@ class TestExecutionServiceTest {
         TestExecutionRequest request = new TestExecutionRequest();
         request.setEnvironment(environment);
         request.setTags(tags);
+        // Tests queue identical requests and expect separate runs unless they test coalescing
+        request.setCoalesce(false);
         return request;
     }
 
@@ -125,6 +150,20 @@ class TestExecutionServiceTest {
         assertTrue(response.getTags().contains("@regression"));
     }
 
+    @Test
+    void queueTestExecution_ReportsExpectedScenariosOfTagsAndFeatures() {
+        TestExecutionRequest request = createRequest("dev", List.of("@smoketest"));
+
+        TestExecutionResponse response = testExecutionService.queueTestExecution(request);
+
+        assertTrue(response.getExpectedScenarios() > 0);
+        assertEquals(response.getExpectedScenarios(),
+                testExecutionService.getTestStatus(response.getRunId()).orElseThrow().getTotalTests());
+
+        request.setFeatures(List.of("classpath:features/API-Test.feature"));
+        assertEquals(0, testExecutionService.queueTestExecution(request).getExpectedScenarios());
+    }
+
     @Test
     void queueTestExecution_GeneratesUniqueRunIds() {
         TestExecutionRequest request = createRequest("dev", List.of("@smoke"));
@@ -135,11 +174,219 @@ class TestExecutionServiceTest {
         assertNotEquals(r1.getRunId(), r2.getRunId());
     }
 
+    @Test
+    void queueTestExecution_Shards_QueuesOneRunPerShardWithDisjointScenarios() throws Exception {
+        TestExecutionRequest request = createRequest("dev", List.of("@regression"));
+        request.setShards(3);
+
+        TestExecutionResponse response = testExecutionService.queueTestExecution(request);
+
+        assertEquals(3, response.getShardRunIds().size());
+        assertEquals(response.getRunId(), response.getShardRunIds().get(0));
+        TestStatus last = testExecutionService.getTestStatus(response.getShardRunIds().get(2)).orElseThrow();
+        assertEquals("3/3", last.getMetadata().get("shard"));
+        assertEquals(response.getRunId().toString(), last.getMetadata().get("shardGroup"));
+
+        ArgumentCaptor<String> features = ArgumentCaptor.forClass(String.class);
+        verify(cucumberRunnerService, timeout(5000).times(3)).run(anyString(), anyString(), features.capture(), any());
+        List<String> selectors = features.getAllValues().stream()
+                .flatMap(f -> Arrays.stream(f.split(",")))
+                .toList();
+        assertEquals(selectors.size(), Set.copyOf(selectors).size());
+        assertTrue(selectors.stream().allMatch(s -> s.matches("classpath:features/.+\\.feature:\\d+")));
+    }
+
+    // --- Coalescing of equivalent requests ---
+
+    @Test
+    void queue_EquivalentRunQueued_AttachesToIt() throws Exception {
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    blockLatch.await(5, TimeUnit.SECONDS);
+                    return new CucumberRunnerService.RunResult("id", "@smoke", 0, "out");
+                });
+        // Occupy all execution slots so the coalescing candidate stays QUEUED
+        for (int i = 0; i < 5; i++) {
+            UUID runId = testExecutionService.queueTestExecution(createRequest("dev", List.of("@blocker"))).getRunId();
+            await().atMost(Duration.ofSeconds(2)).untilAsserted(() ->
+                    assertEquals("RUNNING", testExecutionService.getTestStatus(runId).orElseThrow().getStatus()));
+        }
+
+        TestExecutionRequest first = createRequest("staging", List.of("@smoke", "@checkout"));
+        first.setCoalesce(true);
+        first.setEnvironmentVariables(Map.of("A", "1", "B", "2"));
+        TestExecutionRequest second = createRequest("staging", List.of("@smoke", "@checkout"));
+        second.setCoalesce(true);
+        second.setEnvironmentVariables(Map.of("B", "2", "A", "1"));
+        second.setPriority("HIGH");
+
+        TestExecutionResponse r1 = testExecutionService.queueTestExecution(first);
+        TestExecutionResponse r2 = testExecutionService.queueTestExecution(second);
+
+        assertEquals(r1.getRunId(), r2.getRunId());
+        assertNull(r1.getCoalesced());
+        assertTrue(r2.getCoalesced());
+        assertEquals("QUEUED", r2.getStatus());
+        TestStatus status = testExecutionService.getTestStatus(r1.getRunId()).orElseThrow();
+        assertEquals(1, status.getMetadata().get("coalescedRequests"));
+        // The waiting run takes the higher priority of the attached request
+        assertEquals("HIGH", status.getPriority());
+
+        blockLatch.countDown();
+    }
+
+    @Test
+    void queue_DifferentSettings_DoesNotCoalesce() {
+        TestExecutionRequest first = createRequest("dev", List.of("@smoke"));
+        first.setCoalesce(true);
+        TestExecutionRequest otherBrowser = createRequest("dev", List.of("@smoke"));
+        otherBrowser.setCoalesce(true);
+        otherBrowser.setBrowser("firefox");
+        TestExecutionRequest optOut = createRequest("dev", List.of("@smoke"));
+
+        UUID runId = testExecutionService.queueTestExecution(first).getRunId();
+
+        assertNotEquals(runId, testExecutionService.queueTestExecution(otherBrowser).getRunId());
+        assertNotEquals(runId, testExecutionService.queueTestExecution(optOut).getRunId());
+    }
+
+    @Test
+    void queue_EquivalentRunFinished_StartsNewRun() throws Exception {
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
+                .thenReturn(new CucumberRunnerService.RunResult("id", "@smoke", 0, "out"));
+        TestExecutionRequest request = createRequest("dev", List.of("@smoke"));
+        request.setCoalesce(true);
+
+        UUID first = testExecutionService.queueTestExecution(request).getRunId();
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertEquals("COMPLETED", testExecutionService.getTestStatus(first).orElseThrow().getStatus()));
+
+        assertNotEquals(first, testExecutionService.queueTestExecution(request).getRunId());
+    }
+
+    // --- Backpressure: bounded queue per environment ---
+
+    @Test
+    void queue_EnvironmentLimitReached_ThrowsQueueFullWithRetryAfter() throws Exception {
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    blockLatch.await(5, TimeUnit.SECONDS);
+                    return new CucumberRunnerService.RunResult("id", "@smoke", 0, "out");
+                });
+        testExecutionService.setDefaultQueueLimit(1);
+
+        // Occupy all execution slots so further runs stay QUEUED
+        for (int i = 0; i < 5; i++) {
+            UUID runId = testExecutionService.queueTestExecution(createRequest("dev", List.of("@smoke"))).getRunId();
+            await().atMost(Duration.ofSeconds(2)).untilAsserted(() ->
+                    assertEquals("RUNNING", testExecutionService.getTestStatus(runId).orElseThrow().getStatus()));
+        }
+        testExecutionService.queueTestExecution(createRequest("dev", List.of("@smoke")));
+
+        QueueFullException e = assertThrows(QueueFullException.class,
+                () -> testExecutionService.queueTestExecution(createRequest("dev", List.of("@smoke"))));
+        assertEquals("dev", e.getEnvironment());
+        assertTrue(e.getRetryAfter().toSeconds() >= 1);
+
+        // Other environments have their own queue
+        assertEquals("QUEUED", testExecutionService.queueTestExecution(
+                createRequest("staging", List.of("@smoke"))).getStatus());
+
+        blockLatch.countDown();
+    }
+
+    // --- Batches: matrix of environments, browsers and tag sets ---
+
+    private BatchExecutionRequest createBatch(List<String> environments, List<String> browsers, List<List<String>> tagSets) {
+        return BatchExecutionRequest.builder()
+                .environments(environments)
+                .browsers(browsers)
+                .tagSets(tagSets)
+                .run(TestExecutionRequest.builder().coalesce(false).initiator("jenkins").build())
+                .build();
+    }
+
+    @Test
+    void queueBatch_QueuesOneRunPerMatrixCellAndAggregatesTheirStatus(@TempDir Path tempDir) {
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
+                .thenReturn(new CucumberRunnerService.RunResult("id", "@smoke", 0, "out"));
+        System.setProperty("test.results.path", tempDir.toString());
+        try {
+            BatchExecutionResponse response = testExecutionService.queueBatch(createBatch(
+                    List.of("dev", "staging"), List.of("chromium", "firefox"), List.of(List.of("@smoke"))));
+
+            assertEquals(4, response.getRuns().size());
+            assertEquals("/api/v1/test/batches/" + response.getBatchId(), response.getStatusUrl());
+            UUID batchId = response.getBatchId();
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                    assertEquals("COMPLETED", testExecutionService.getBatchStatus(batchId).orElseThrow().getStatus()));
+
+            BatchStatus status = testExecutionService.getBatchStatus(batchId).orElseThrow();
+            assertEquals(4, status.getTotalRuns());
+            assertEquals(4, status.getFinishedRuns());
+            assertEquals(100, status.getProgress());
+            assertEquals("jenkins", status.getInitiator());
+            assertEquals(List.of("dev", "dev", "staging", "staging"),
+                    status.getRuns().stream().map(TestStatus::getEnvironment).toList());
+            assertEquals(List.of("chromium", "firefox", "chromium", "firefox"),
+                    status.getRuns().stream().map(run -> run.getMetadata().get("browser")).toList());
+            assertEquals(batchId.toString(), status.getRuns().get(0).getMetadata().get("batch"));
+
+            // Stored on the results volume, so other instances and restarts find the batch
+            assertTrue(Files.exists(tempDir.resolve("batches").resolve(batchId.toString()).resolve(RunBatch.BATCH_FILE)));
+            TestExecutionService restarted = new TestExecutionService(cucumberRunnerService, zephyrScaleService);
+            try {
+                assertEquals(4, restarted.getBatchStatus(batchId).orElseThrow().getTotalRuns());
+            } finally {
+                restarted.shutdown();
+            }
+        } finally {
+            System.clearProperty("test.results.path");
+        }
+    }
+
+    @Test
+    void queueBatch_MatrixTooLarge_ThrowsWithoutQueueing() {
+        List<String> browsers = List.of("chromium", "firefox", "webkit", "chrome");
+        List<List<String>> tagSets = List.of(List.of("@a"), List.of("@b"), List.of("@c"), List.of("@d"));
+
+        assertThrows(IllegalArgumentException.class, () -> testExecutionService.queueBatch(
+                createBatch(List.of("dev", "staging", "prod", "performance"), browsers, tagSets)));
+        assertTrue(testExecutionService.getActiveTests().isEmpty());
+    }
+
+    @Test
+    void queueBatch_QueueLimitOfOneEnvironmentReached_RejectsWholeBatch() {
+        testExecutionService.setQueueLimits("staging=1");
+
+        assertThrows(QueueFullException.class, () -> testExecutionService.queueBatch(createBatch(
+                List.of("dev", "staging"), null, List.of(List.of("@smoke"), List.of("@regression")))));
+        assertTrue(testExecutionService.getActiveTests().isEmpty());
+    }
+
+    @Test
+    void getBatchStatus_UnknownBatch_ReturnsEmpty() {
+        assertTrue(testExecutionService.getBatchStatus(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void setQueueLimits_ParsesEnvironmentOverridesAndSkipsInvalidEntries() throws Exception {
+        testExecutionService.setQueueLimits("staging=10, prod = 5,broken,dev=x");
+
+        java.lang.reflect.Field admissionField = TestExecutionService.class.getDeclaredField("admission");
+        admissionField.setAccessible(true);
+        java.lang.reflect.Field field = RunAdmission.class.getDeclaredField("queueLimits");
+        field.setAccessible(true);
+        assertEquals(Map.of("staging", 10, "prod", 5), field.get(admissionField.get(testExecutionService)));
+    }
+
     // --- Execution lifecycle tests ---
 
     @Test
     void execution_SuccessfulRun_StatusCompleted() throws Exception {
-        when(cucumberRunnerService.run(anyString(), anyString(), isNull()))
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
                 .thenReturn(new CucumberRunnerService.RunResult("id", "@smoke", 0, "target/runs/id"));
 
         TestExecutionRequest request = createRequest("dev", List.of("@smoke"));
@@ -158,9 +405,38 @@ class TestExecutionServiceTest {
         assertNotNull(finalStatus.getEndTime());
     }
 
+    @Test
+    void execution_ParallelCount_PassedAsThreads() throws Exception {
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
+                .thenReturn(new CucumberRunnerService.RunResult("id", "@smoke", 0, "target/runs/id"));
+
+        TestExecutionRequest request = createRequest("dev", List.of("@smoke"));
+        request.setParallelCount(3);
+        request.setRetryFailedTests(false);
+        testExecutionService.queueTestExecution(request);
+
+        verify(cucumberRunnerService, timeout(5000))
+                .run(anyString(), eq("@smoke"), isNull(), eq(new CucumberRunnerService.RunOptions(3)));
+    }
+
+    @Test
+    void execution_RetryFailedTests_PassesMaxRetries() throws Exception {
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
+                .thenReturn(new CucumberRunnerService.RunResult("id", "@smoke", 0, "target/runs/id"));
+
+        TestExecutionRequest request = createRequest("dev", List.of("@smoke"));
+        request.setParallelCount(1);
+        request.setRetryFailedTests(true);
+        request.setMaxRetries(2);
+        testExecutionService.queueTestExecution(request);
+
+        verify(cucumberRunnerService, timeout(5000))
+                .run(anyString(), eq("@smoke"), isNull(), eq(new CucumberRunnerService.RunOptions(1, 2)));
+    }
+
     @Test
     void execution_FailedExitCode_StatusFailed() throws Exception {
-        when(cucumberRunnerService.run(anyString(), anyString(), isNull()))
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
                 .thenReturn(new CucumberRunnerService.RunResult("id", "@smoke", 1, "target/runs/id"));
 
         TestExecutionRequest request = createRequest("dev", List.of("@smoke"));
@@ -178,9 +454,59 @@ class TestExecutionServiceTest {
         assertTrue(finalStatus.getErrorMessage().contains("exit code: 1"));
     }
 
+    @Test
+    void execution_ProgressReported_UpdatesRunningStatus() throws Exception {
+        CountDownLatch finish = new CountDownLatch(1);
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    String runId = invocation.getArgument(0);
+                    RunControl.forRun(runId).orElseThrow().reportProgress(
+                            new RunProgress(3, 1, 1, 0, "login.feature", "Invalid login", 2, 5, null));
+                    finish.await(5, TimeUnit.SECONDS);
+                    return new CucumberRunnerService.RunResult(runId, "@smoke", 1, "out");
+                });
+
+        UUID runId = testExecutionService.queueTestExecution(createRequest("dev", List.of("@smoke"))).getRunId();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertEquals("Invalid login", testExecutionService.getTestStatus(runId).orElseThrow().getCurrentScenario()));
+        TestStatus running = testExecutionService.getTestStatus(runId).orElseThrow();
+        assertEquals("RUNNING", running.getStatus());
+        assertEquals(1, running.getPassedTests());
+        assertEquals(1, running.getFailedTests());
+        assertEquals("login.feature", running.getCurrentFeature());
+        assertEquals("2/5", running.getCurrentStep());
+        assertTrue(running.getTotalTests() >= 3);
+        assertTrue(running.getProgress() < 100);
+        finish.countDown();
+    }
+
+    @Test
+    void execution_FailFast_PassesThresholdsAndReportsAbort() throws Exception {
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
+                .thenReturn(new CucumberRunnerService.RunResult("id", "@smoke", 1, "target/runs/id",
+                        "FAIL_FAST: 3 consecutive failed scenarios"));
+
+        TestExecutionRequest request = createRequest("dev", List.of("@smoke"));
+        request.setParallelCount(1);
+        request.setRetryFailedTests(false);
+        request.setMaxConsecutiveFailures(3);
+        UUID runId = testExecutionService.queueTestExecution(request).getRunId();
+
+        verify(cucumberRunnerService, timeout(5000)).run(anyString(), eq("@smoke"), isNull(),
+                eq(new CucumberRunnerService.RunOptions(1, 0, null, false, 0, 3)));
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertEquals("FAILED", testExecutionService.getTestStatus(runId).orElseThrow().getStatus()));
+
+        TestStatus finalStatus = testExecutionService.getTestStatus(runId).orElseThrow();
+        assertTrue(finalStatus.getErrorMessage().contains("fail-fast"));
+        assertEquals("FAIL_FAST: 3 consecutive failed scenarios", finalStatus.getMetadata().get("failFast"));
+        verify(zephyrScaleService).uploadRunResults(eq(runId), any(), eq(1), any());
+    }
+
     @Test
     void execution_ExceptionThrown_StatusFailed() throws Exception {
-        when(cucumberRunnerService.run(anyString(), anyString(), isNull()))
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
                 .thenThrow(new RuntimeException("Cucumber crashed"));
 
         TestExecutionRequest request = createRequest("dev", List.of("@smoke"));
@@ -197,6 +523,103 @@ class TestExecutionServiceTest {
         assertTrue(finalStatus.getErrorMessage().contains("Cucumber crashed"));
     }
 
+    @Test
+    void execution_ExceptionThrown_ReportsFromPartialResults(@TempDir Path tempDir) throws Exception {
+        System.setProperty("test.results.path", tempDir.toString());
+        try {
+            when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any())).thenAnswer(invocation -> {
+                Path reports = tempDir.resolve(invocation.getArgument(0, String.class)).resolve("cucumber-reports");
+                Files.createDirectories(reports);
+                Files.writeString(reports.resolve("Cucumber.html"), "<html></html>");
+                Files.writeString(reports.resolve("Cucumber.json"), "[]");
+                throw new RuntimeException("Worker died");
+            });
+            List<RunEvent> reportEvents = new CopyOnWriteArrayList<>();
+            testExecutionService.addRunListener(event -> {
+                if (RunEvent.REPORT.equals(event.type())) {
+                    reportEvents.add(event);
+                }
+            });
+
+            UUID runId = testExecutionService.queueTestExecution(createRequest("dev", List.of("@API-Test")))
+                    .getRunId();
+
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                    assertEquals("FAILED", testExecutionService.getTestStatus(runId).orElseThrow().getStatus()));
+            TestStatus finalStatus = testExecutionService.getTestStatus(runId).orElseThrow();
+            assertEquals("Worker died", finalStatus.getErrorMessage());
+            assertNotNull(finalStatus.getEndTime());
+            assertEquals(Set.of("cucumber-report"), finalStatus.getReportUrls().keySet());
+            verify(zephyrScaleService).uploadRunResults(eq(runId), any(), eq(1), any());
+            await().atMost(Duration.ofSeconds(5)).until(() -> reportEvents.size() == 1);
+            assertTrue(Files.exists(tempDir.resolve(runId.toString()).resolve(RunResults.RESULTS_FILE)));
+        } finally {
+            System.clearProperty("test.results.path");
+        }
+    }
+
+    // --- Post-processing ---
+
+    @Test
+    void execution_PostProcessing_ReleasesSlotBeforeUploadFinishes() throws Exception {
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
+                .thenReturn(new CucumberRunnerService.RunResult("id", "@smoke", 0, "out"));
+        CountDownLatch uploadLatch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            uploadLatch.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(zephyrScaleService).uploadRunResults(any(), any(), anyInt(), any());
+
+        UUID runId = testExecutionService.queueTestExecution(createRequest("dev", List.of("@smoke"))).getRunId();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            TestStatus status = testExecutionService.getTestStatus(runId).orElseThrow();
+            assertEquals("POSTPROCESSING", status.getStatus());
+            assertEquals("POSTPROCESSING", status.getCurrentPhase());
+        });
+        java.lang.reflect.Field schedulerField = TestExecutionService.class.getDeclaredField("runScheduler");
+        schedulerField.setAccessible(true);
+        assertEquals(0, ((RunScheduler) schedulerField.get(testExecutionService)).runningCount());
+        assertTrue(testExecutionService.getActiveTests().stream().anyMatch(s -> runId.equals(s.getRunId())));
+
+        uploadLatch.countDown();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertEquals("COMPLETED", testExecutionService.getTestStatus(runId).orElseThrow().getStatus()));
+    }
+
+    // --- Timeout watchdog ---
+
+    @Test
+    void execution_WatchdogTimeout_RecordsTimeoutAndKeepsItAfterRunReturns() throws Exception {
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    blockLatch.await(5, TimeUnit.SECONDS);
+                    return new CucumberRunnerService.RunResult("id", "@smoke", 0, "out");
+                });
+
+        UUID runId = testExecutionService.queueTestExecution(createRequest("dev", List.of("@smoke"))).getRunId();
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() ->
+                assertEquals("RUNNING", testExecutionService.getTestStatus(runId).orElseThrow().getStatus()));
+
+        Method onRunTimeout = TestExecutionService.class.getDeclaredMethod("onRunTimeout", UUID.class, int.class);
+        onRunTimeout.setAccessible(true);
+        onRunTimeout.invoke(testExecutionService, runId, 1);
+
+        TestStatus status = testExecutionService.getTestStatus(runId).orElseThrow();
+        assertEquals("TIMEOUT", status.getStatus());
+        assertNotNull(status.getEndTime());
+        assertTrue(status.getErrorMessage().contains("timeout"));
+        assertTrue(RunControl.forRun(runId.toString()).orElseThrow().isAborted());
+
+        blockLatch.countDown();
+
+        // Returning run must not overwrite TIMEOUT; the upload reports the run as failed
+        verify(zephyrScaleService, timeout(2000)).uploadRunResults(eq(runId), any(), eq(1), any());
+        assertEquals("TIMEOUT", testExecutionService.getTestStatus(runId).orElseThrow().getStatus());
+    }
+
     // --- getTestStatus tests ---
 
     @Test
@@ -223,7 +646,7 @@ class TestExecutionServiceTest {
     void getActiveTests_ReturnsOnlyActiveStatuses() throws Exception {
         // Make the run block so it stays in RUNNING state
         CountDownLatch blockLatch = new CountDownLatch(1);
-        when(cucumberRunnerService.run(anyString(), anyString(), isNull()))
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
                 .thenAnswer(invocation -> {
                     blockLatch.await(5, TimeUnit.SECONDS);
                     return new CucumberRunnerService.RunResult("id", "@smoke", 0, "out");
@@ -254,7 +677,7 @@ class TestExecutionServiceTest {
     @Test
     void cancelTestExecution_RunningTest_CancelsSuccessfully() throws Exception {
         CountDownLatch blockLatch = new CountDownLatch(1);
-        when(cucumberRunnerService.run(anyString(), anyString(), isNull()))
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
                 .thenAnswer(invocation -> {
                     blockLatch.await(10, TimeUnit.SECONDS);
                     return new CucumberRunnerService.RunResult("id", "@smoke", 0, "out");
@@ -273,13 +696,159 @@ class TestExecutionServiceTest {
         Optional<TestStatus> cancelled = testExecutionService.cancelTestExecution(response.getRunId());
 
         if (cancelled.isPresent()) {
-            assertEquals("CANCELLED", cancelled.get().getStatus());
+            // Queued runs are cancelled immediately, running ones once they have stopped
+            assertTrue(List.of("CANCELLED", "CANCELLING").contains(cancelled.get().getStatus()));
             assertEquals(response.getRunId(), cancelled.get().getRunId());
         }
 
         blockLatch.countDown();
     }
 
+    @Test
+    void cancelTestExecution_RunningTest_CancelledOnceRunHasStopped() throws Exception {
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    // Stops cooperatively like the hooks do once the run has been aborted
+                    String runId = invocation.getArgument(0);
+                    await().atMost(Duration.ofSeconds(5)).until(() ->
+                            RunControl.forRun(runId).map(RunControl::isAborted).orElse(false));
+                    Thread.sleep(200);
+                    return new CucumberRunnerService.RunResult(runId, "@smoke", 1, "out");
+                });
+
+        TestExecutionRequest request = createRequest("dev", List.of("@smoke"));
+        request.setRetryFailedTests(false);
+        UUID runId = testExecutionService.queueTestExecution(request).getRunId();
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() ->
+                assertEquals("RUNNING", testExecutionService.getTestStatus(runId).orElseThrow().getStatus()));
+
+        TestStatus cancelling = testExecutionService.cancelTestExecution(runId).orElseThrow();
+
+        assertEquals("CANCELLING", cancelling.getStatus());
+        assertTrue(testExecutionService.getActiveTests().stream().anyMatch(s -> s.getRunId().equals(runId)));
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertEquals("CANCELLED", testExecutionService.getTestStatus(runId).orElseThrow().getStatus()));
+        TestStatus cancelled = testExecutionService.getTestStatus(runId).orElseThrow();
+        assertNotNull(cancelled.getEndTime());
+        assertTrue(((Number) cancelled.getMetadata().get("shutdownMillis")).longValue() >= 200);
+        // A cancelled run is no test result
+        verify(zephyrScaleService, after(500).never()).uploadRunResults(eq(runId), any(), anyInt(), any());
+    }
+
+    @Test
+    void cancelTestExecution_RunIgnoresCancellation_ForcedAfterClosingResourcesAndSlotKept() throws Exception {
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    // Ignores the abort flag and interrupts, like a step stuck in native code
+                    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                    while (blockLatch.getCount() > 0 && System.nanoTime() < deadline) {
+                        Thread.onSpinWait();
+                    }
+                    return new CucumberRunnerService.RunResult(invocation.getArgument(0), "@smoke", 1, "out");
+                });
+
+        UUID runId = testExecutionService.queueTestExecution(createRequest("dev", List.of("@smoke"))).getRunId();
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() ->
+                assertEquals("RUNNING", testExecutionService.getTestStatus(runId).orElseThrow().getStatus()));
+        testExecutionService.cancelTestExecution(runId);
+        // Opened after the cancellation had closed the run's resources
+        AtomicBoolean browserClosed = new AtomicBoolean();
+        RunControl.forRun(runId.toString()).orElseThrow().registerResource(() -> browserClosed.set(true));
+
+        Method forceCancellation = TestExecutionService.class.getDeclaredMethod("forceCancellation", UUID.class);
+        forceCancellation.setAccessible(true);
+        forceCancellation.invoke(testExecutionService, runId);
+
+        TestStatus status = testExecutionService.getTestStatus(runId).orElseThrow();
+        assertEquals("CANCELLED", status.getStatus());
+        assertEquals(true, status.getMetadata().get("forcedCancel"));
+        assertTrue(browserClosed.get());
+        Field schedulerField = TestExecutionService.class.getDeclaredField("runScheduler");
+        schedulerField.setAccessible(true);
+        RunScheduler scheduler = (RunScheduler) schedulerField.get(testExecutionService);
+        assertTrue(scheduler.isRunning(runId), "slot is held until the thread has returned");
+
+        blockLatch.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> !scheduler.isRunning(runId));
+        assertEquals("CANCELLED", testExecutionService.getTestStatus(runId).orElseThrow().getStatus());
+    }
+
+    // --- cluster coordination tests ---
+
+    @Test
+    void cluster_RunPublishedByOtherInstance_AdoptedAndExecuted(@TempDir Path clusterDir) {
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
+                .thenReturn(new CucumberRunnerService.RunResult("id", "@smoke", 0, "target/runs/id"));
+        FileRunCoordinator otherPod = new FileRunCoordinator(clusterDir, "pod-b");
+        TestExecutionService service = new TestExecutionService(cucumberRunnerService, zephyrScaleService,
+                Optional.empty(), Optional.of(new FileRunCoordinator(clusterDir, "pod-a")));
+        try {
+            UUID runId = UUID.randomUUID();
+            otherPod.publish(new RunCoordinator.ClusterRun(runId, createRequest("dev", List.of("@smoke")),
+                    "NORMAL", Instant.now(), "pod-b"));
+
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+                TestStatus shared = otherPod.findStatus(runId).orElseThrow();
+                assertEquals("COMPLETED", shared.getStatus());
+                assertEquals("pod-a", shared.getPodName());
+            });
+            assertEquals("pod-a", otherPod.owner(runId).orElseThrow());
+            assertEquals("COMPLETED", service.getTestStatus(runId).orElseThrow().getStatus());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void cluster_CancelRunOwnedByOtherInstance_RequestsCancelFromOwner(@TempDir Path clusterDir) {
+        FileRunCoordinator otherPod = new FileRunCoordinator(clusterDir, "pod-b");
+        TestExecutionService service = new TestExecutionService(cucumberRunnerService, zephyrScaleService,
+                Optional.empty(), Optional.of(new FileRunCoordinator(clusterDir, "pod-a")));
+        try {
+            UUID runId = UUID.randomUUID();
+            otherPod.publish(new RunCoordinator.ClusterRun(runId, createRequest("dev", List.of("@smoke")),
+                    "NORMAL", Instant.now(), "pod-b"));
+            assertTrue(otherPod.claim(runId));
+            otherPod.saveStatus(TestStatus.builder().runId(runId).status("RUNNING").podName("pod-b").build());
+
+            Optional<TestStatus> result = service.cancelTestExecution(runId);
+
+            assertEquals("RUNNING", result.orElseThrow().getStatus());
+            assertTrue(otherPod.isCancelRequested(runId));
+            verifyNoInteractions(cucumberRunnerService);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void cluster_RunOfInstanceWithoutHeartbeat_TakenOverAndFailed(@TempDir Path clusterDir) throws Exception {
+        FileRunCoordinator otherPod = new FileRunCoordinator(clusterDir, "pod-b");
+        UUID runId = UUID.randomUUID();
+        otherPod.publish(new RunCoordinator.ClusterRun(runId, createRequest("dev", List.of("@smoke")),
+                "NORMAL", Instant.now(), "pod-b"));
+        assertTrue(otherPod.claim(runId));
+        otherPod.saveStatus(TestStatus.builder().runId(runId).status("RUNNING").podName("pod-b").build());
+        FileTime longAgo = FileTime.from(Instant.now().minus(Duration.ofMinutes(10)));
+        Files.setLastModifiedTime(clusterDir.resolve("claims").resolve(runId.toString()), longAgo);
+
+        TestExecutionService service = new TestExecutionService(cucumberRunnerService, zephyrScaleService,
+                Optional.empty(), Optional.of(new FileRunCoordinator(clusterDir, "pod-a")));
+        try {
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+                TestStatus shared = otherPod.findStatus(runId).orElseThrow();
+                assertEquals("FAILED", shared.getStatus());
+                assertEquals("Instance pod-b stopped responding", shared.getErrorMessage());
+                assertTrue(shared.getVersion() > 0);
+            });
+            assertEquals("pod-a", otherPod.owner(runId).orElseThrow());
+            verifyNoInteractions(cucumberRunnerService);
+        } finally {
+            service.shutdown();
+        }
+    }
+
     // --- deleteTestExecution tests ---
 
     @Test
@@ -289,7 +858,7 @@ class TestExecutionServiceTest {
 
     @Test
     void deleteTestExecution_CompletedRun_ReturnsTrue() throws Exception {
-        when(cucumberRunnerService.run(anyString(), anyString(), isNull()))
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
                 .thenReturn(new CucumberRunnerService.RunResult("id", "@smoke", 0, "target/runs/id"));
 
         TestExecutionRequest request = createRequest("dev", List.of("@smoke"));
@@ -309,7 +878,7 @@ class TestExecutionServiceTest {
     @Test
     void deleteTestExecution_RunningTest_ReturnsFalse() throws Exception {
         CountDownLatch blockLatch = new CountDownLatch(1);
-        when(cucumberRunnerService.run(anyString(), anyString(), isNull()))
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
                 .thenAnswer(invocation -> {
                     blockLatch.await(10, TimeUnit.SECONDS);
                     return new CucumberRunnerService.RunResult("id", "@smoke", 0, "out");
@@ -332,47 +901,46 @@ class TestExecutionServiceTest {
     // --- getStatistics tests ---
 
     @Test
-    void getStatistics_NoFilter_ReturnsAllKeys() {
+    void getStatistics_NoFilter_ReturnsStatisticsOfAllRuns() {
         testExecutionService.queueTestExecution(createRequest("dev", List.of("@smoke")));
 
-        Object stats = testExecutionService.getStatistics(null);
+        TestStatistics stats = testExecutionService.getStatistics(null, null);
 
         assertNotNull(stats);
-        @SuppressWarnings("unchecked")
-        Map<String, Object> statsMap = (Map<String, Object>) stats;
-        assertTrue(statsMap.containsKey("totalRuns"));
-        assertTrue(statsMap.containsKey("completedRuns"));
-        assertTrue(statsMap.containsKey("failedRuns"));
-        assertTrue(statsMap.containsKey("runningRuns"));
-        assertTrue(statsMap.containsKey("queuedRuns"));
-        assertTrue(statsMap.containsKey("successRate"));
-        assertTrue(statsMap.containsKey("maxConcurrentRuns"));
+        assertNull(stats.getEnvironment());
+        assertTrue(stats.getTotalRuns() >= 1);
+        assertNotNull(stats.getSuccessfulRuns());
+        assertNotNull(stats.getFailedRuns());
+        assertNotNull(stats.getRunningRuns());
+        assertNotNull(stats.getQueuedRuns());
+        assertNotNull(stats.getSuccessRate());
+        assertEquals(5, stats.getMaxConcurrentRuns());
     }
 
     @Test
-    void getStatistics_WithEnvironmentFilter_FiltersByEnvironment() throws Exception {
-        when(cucumberRunnerService.run(anyString(), anyString(), isNull()))
-                .thenReturn(new CucumberRunnerService.RunResult("id", "@smoke", 0, "out"));
-
-        testExecutionService.queueTestExecution(createRequest("dev", List.of("@smoke")));
-        testExecutionService.queueTestExecution(createRequest("staging", List.of("@smoke")));
-
-        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> allStats = (Map<String, Object>) testExecutionService.getStatistics(null);
-            assertTrue((Long) allStats.get("totalRuns") >= 2);
-        });
-
-        @SuppressWarnings("unchecked")
-        Map<String, Object> devStats = (Map<String, Object>) testExecutionService.getStatistics("dev");
-        long devTotal = (Long) devStats.get("totalRuns");
-
-        @SuppressWarnings("unchecked")
-        Map<String, Object> stagingStats = (Map<String, Object>) testExecutionService.getStatistics("staging");
-        long stagingTotal = (Long) stagingStats.get("totalRuns");
-
-        assertTrue(devTotal >= 1);
-        assertTrue(stagingTotal >= 1);
+    void getStatistics_WithEnvironmentFilter_FiltersByEnvironment(@TempDir Path tempDir) throws Exception {
+        System.setProperty("test.results.path", tempDir.toString());
+        try {
+            when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
+                    .thenReturn(new CucumberRunnerService.RunResult("id", "@smoke", 0, "out"));
+
+            testExecutionService.queueTestExecution(createRequest("dev", List.of("@smoke")));
+            testExecutionService.queueTestExecution(createRequest("staging", List.of("@smoke")));
+
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                    assertEquals(2, testExecutionService.getStatistics(null, null).getSuccessfulRuns()));
+
+            TestStatistics devStats = testExecutionService.getStatistics("dev", null);
+            assertEquals("dev", devStats.getEnvironment());
+            assertEquals(1, devStats.getTotalRuns());
+            assertEquals(1, devStats.getSuccessfulRuns());
+            assertEquals(100.0, devStats.getSuccessRate());
+            assertNotNull(devStats.getAverageDurationMinutes());
+            assertEquals(1, testExecutionService.getStatistics("staging", Duration.ofHours(1)).getTotalRuns());
+            assertEquals(0, testExecutionService.getStatistics("prod", null).getTotalRuns());
+        } finally {
+            System.clearProperty("test.results.path");
+        }
     }
 
     // --- getTestReport / generateAllureReport / getReportUrl (non-existing) ---
@@ -380,6 +948,65 @@ class TestExecutionServiceTest {
     @Test
     void getTestReport_NonExistingRun_ReturnsEmpty() {
         assertFalse(testExecutionService.getTestReport(UUID.randomUUID()).isPresent());
+        assertFalse(testExecutionService.getCompressedTestReport(UUID.randomUUID()).isPresent());
+    }
+
+    @Test
+    void getCompressedTestReport_CompressesOnceAndAgainWhenReportChanges(@TempDir Path tempDir) throws Exception {
+        UUID runId = UUID.randomUUID();
+        Path reportDir = Files.createDirectories(tempDir.resolve(runId.toString()).resolve("cucumber-reports"));
+        Path report = Files.writeString(reportDir.resolve("Cucumber.json"), "[{\"feature\":\"test\"}]");
+
+        System.setProperty("test.results.path", tempDir.toString());
+        try {
+            assertEquals(report, testExecutionService.getTestReport(runId).orElseThrow());
+            Path compressed = testExecutionService.getCompressedTestReport(runId).orElseThrow();
+            assertEquals("[{\"feature\":\"test\"}]", gunzip(compressed));
+            FileTime compressedAt = Files.getLastModifiedTime(compressed);
+            assertEquals(compressed, testExecutionService.getCompressedTestReport(runId).orElseThrow());
+            assertEquals(compressedAt, Files.getLastModifiedTime(compressed));
+
+            Files.writeString(report, "[]");
+            Files.setLastModifiedTime(report, FileTime.fromMillis(compressedAt.toMillis() + 1000));
+            assertEquals("[]", gunzip(testExecutionService.getCompressedTestReport(runId).orElseThrow()));
+        } finally {
+            System.clearProperty("test.results.path");
+        }
+    }
+
+    @Test
+    void getScenarioResults_ExtractedFromReportAndFilteredByStatus(@TempDir Path tempDir) throws Exception {
+        UUID runId = UUID.randomUUID();
+        Path reportDir = Files.createDirectories(tempDir.resolve(runId.toString()).resolve("cucumber-reports"));
+        Files.writeString(reportDir.resolve("Cucumber.json"), """
+                [{"uri": "features/Login.feature", "name": "Login", "elements": [
+                  {"type": "scenario", "name": "ok", "line": 3, "steps": [{"result": {"status": "passed"}}]},
+                  {"type": "scenario", "name": "broken", "line": 7,
+                   "steps": [{"result": {"status": "failed", "error_message": "boom"}}]}
+                ]}]
+                """);
+
+        System.setProperty("test.results.path", tempDir.toString());
+        try {
+            List<ScenarioResult> failed = testExecutionService.getScenarioResults(runId, List.of("FAILED")).orElseThrow();
+            assertEquals(1, failed.size());
+            assertEquals("broken", failed.get(0).getScenarioName());
+            assertEquals("boom", failed.get(0).getErrorMessage());
+            assertTrue(Files.exists(tempDir.resolve(runId.toString()).resolve(RunResults.RESULTS_FILE)));
+
+            assertEquals(2, testExecutionService.getScenarioResults(runId, null).orElseThrow().size());
+            assertEquals(1, testExecutionService.getFeatureResults(runId, List.of("failed")).orElseThrow().size());
+            assertTrue(testExecutionService.getFeatureResults(runId, List.of("passed")).orElseThrow().isEmpty());
+            assertTrue(testExecutionService.getScenarioResults(UUID.randomUUID(), null).isEmpty());
+        } finally {
+            System.clearProperty("test.results.path");
+        }
+    }
+
+    private static String gunzip(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
     }
 
     @Test
@@ -432,6 +1059,32 @@ class TestExecutionServiceTest {
         }
     }
 
+    @Test
+    void restart_RunsOfEarlierProcessAnsweredFromRunIndex(@TempDir Path tempDir) {
+        UUID finished = UUID.randomUUID();
+        UUID interrupted = UUID.randomUUID();
+        RunIndex index = RunIndex.load(tempDir);
+        TestStatus completed = TestStatus.builder().runId(finished).status("COMPLETED").environment("dev")
+                .startTime(LocalDateTime.now().minusMinutes(5)).passedTests(3).build();
+        index.record(RunIndex.Entry.of(completed, "@smoke", null, LocalDateTime.now().minusMinutes(6)));
+        index.record(RunIndex.Entry.of(TestStatus.builder().runId(interrupted).status("RUNNING")
+                .startTime(LocalDateTime.now()).build(), null, null, LocalDateTime.now()));
+
+        System.setProperty("test.results.path", tempDir.toString());
+        TestExecutionService restarted = new TestExecutionService(cucumberRunnerService, zephyrScaleService);
+        try {
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                    assertEquals("FAILED", restarted.getTestStatus(interrupted).orElseThrow().getStatus()));
+            TestStatus status = restarted.getTestStatus(finished).orElseThrow();
+            assertEquals("COMPLETED", status.getStatus());
+            assertEquals(3, status.getPassedTests());
+            assertEquals(List.of(finished, interrupted), restarted.listAvailableRuns());
+        } finally {
+            restarted.shutdown();
+            System.clearProperty("test.results.path");
+        }
+    }
+
     @Test
     void listAvailableRuns_WithValidRuns_ReturnsUUIDs(@TempDir Path tempDir) throws IOException {
         UUID run1 = UUID.randomUUID();
@@ -456,6 +1109,63 @@ class TestExecutionServiceTest {
         }
     }
 
+    // --- listRuns tests ---
+
+    @Test
+    void listRuns_RunJustQueued_ListedWithQueueFields(@TempDir Path tempDir) throws Exception {
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    blockLatch.await(5, TimeUnit.SECONDS);
+                    return new CucumberRunnerService.RunResult("id", "@smoke", 0, "out");
+                });
+        System.setProperty("test.results.path", tempDir.toString());
+        try {
+            TestExecutionRequest request = createRequest("dev", List.of("@smoke"));
+            request.setInitiator("jenkins");
+            UUID runId = testExecutionService.queueTestExecution(request).getRunId();
+
+            // Index writes happen on the index writer; a reader still sees the run right away
+            RunPage page = testExecutionService.listRuns(new RunIndex.Query(null, null, null, null, null, null), null, 10);
+
+            assertEquals(List.of(runId), page.getRuns().stream().map(RunSummary::getRunId).toList());
+            assertEquals("jenkins", page.getRuns().get(0).getInitiator());
+            assertEquals("@smoke", page.getRuns().get(0).getTags());
+        } finally {
+            blockLatch.countDown();
+            System.clearProperty("test.results.path");
+        }
+    }
+
+    @Test
+    void listRuns_PagesThroughIndexedRunsNewestFirst(@TempDir Path tempDir) {
+        RunIndex index = RunIndex.load(tempDir);
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 12, 0);
+        List<UUID> runIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        for (int i = 0; i < runIds.size(); i++) {
+            TestStatus status = TestStatus.builder().runId(runIds.get(i)).status("COMPLETED").environment("dev")
+                    .startTime(start.plusMinutes(i)).passedTests(i).build();
+            index.record(RunIndex.Entry.of(status, "@smoke", "jenkins", start.plusMinutes(i)));
+        }
+        RunIndex.Query all = new RunIndex.Query(null, null, null, null, null, null);
+
+        System.setProperty("test.results.path", tempDir.toString());
+        try {
+            RunPage first = testExecutionService.listRuns(all, null, 2);
+            RunPage second = testExecutionService.listRuns(all, first.getNextCursor(), 2);
+
+            assertEquals(List.of(runIds.get(2), runIds.get(1)),
+                    first.getRuns().stream().map(RunSummary::getRunId).toList());
+            assertEquals("jenkins", first.getRuns().get(0).getInitiator());
+            assertEquals(2, first.getRuns().get(0).getPassedTests());
+            assertEquals(List.of(runIds.get(0)), second.getRuns().stream().map(RunSummary::getRunId).toList());
+            assertNull(second.getNextCursor());
+            assertThrows(IllegalArgumentException.class, () -> testExecutionService.listRuns(all, "broken", 2));
+        } finally {
+            System.clearProperty("test.results.path");
+        }
+    }
+
     // --- generateCombinedAllureReport tests ---
 
     @Test
@@ -550,7 +1260,7 @@ class TestExecutionServiceTest {
 
     @Test
     void execution_BackendOnlyTags_NoAccessibilityUrl() throws Exception {
-        when(cucumberRunnerService.run(anyString(), anyString(), isNull()))
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
                 .thenReturn(new CucumberRunnerService.RunResult("id", "@Backend", 0, "out"));
 
         TestExecutionRequest request = createRequest("dev", List.of("@Backend"));
@@ -570,7 +1280,7 @@ class TestExecutionServiceTest {
 
     @Test
     void execution_ApiTestOnlyTag_NoAccessibilityUrl() throws Exception {
-        when(cucumberRunnerService.run(anyString(), anyString(), isNull()))
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
                 .thenReturn(new CucumberRunnerService.RunResult("id", "@API-Test", 0, "out"));
 
         TestExecutionRequest request = createRequest("dev", List.of("@API-Test"));
@@ -587,7 +1297,7 @@ class TestExecutionServiceTest {
 
     @Test
     void execution_BackendAndApiTestTags_NoAccessibilityUrl() throws Exception {
-        when(cucumberRunnerService.run(anyString(), anyString(), isNull()))
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
                 .thenReturn(new CucumberRunnerService.RunResult("id", "@Backend", 0, "out"));
 
         TestExecutionRequest request = createRequest("dev", List.of("@Backend", "@API-Test"));
@@ -604,7 +1314,7 @@ class TestExecutionServiceTest {
 
     @Test
     void execution_FrontendTag_HasAccessibilityUrl() throws Exception {
-        when(cucumberRunnerService.run(anyString(), anyString(), isNull()))
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
                 .thenReturn(new CucumberRunnerService.RunResult("id", "@Frontend", 0, "out"));
 
         TestExecutionRequest request = createRequest("dev", List.of("@Frontend"));
@@ -622,7 +1332,7 @@ class TestExecutionServiceTest {
 
     @Test
     void execution_SmokeTestTag_HasAccessibilityUrl() throws Exception {
-        when(cucumberRunnerService.run(anyString(), anyString(), isNull()))
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
                 .thenReturn(new CucumberRunnerService.RunResult("id", "@SmokeTest", 0, "out"));
 
         // @SmokeTest includes both UI and API tests → accessibility URL expected
@@ -642,7 +1352,7 @@ class TestExecutionServiceTest {
 
     @Test
     void execution_CompletedRun_AllReportUrlsUseReportsPrefix() throws Exception {
-        when(cucumberRunnerService.run(anyString(), anyString(), isNull()))
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
                 .thenReturn(new CucumberRunnerService.RunResult("id", "@smoke", 0, "out"));
 
         TestExecutionRequest request = createRequest("dev", List.of("@smoke"));
@@ -684,7 +1394,7 @@ class TestExecutionServiceTest {
 
     @Test
     void execution_CompletedRun_DurationFormattedAsMinSec() throws Exception {
-        when(cucumberRunnerService.run(anyString(), anyString(), isNull()))
+        when(cucumberRunnerService.run(anyString(), anyString(), isNull(), any()))
                 .thenReturn(new CucumberRunnerService.RunResult("id", "@smoke", 0, "out"));
 
         TestExecutionRequest request = createRequest("dev", List.of("@smoke"));
@@ -0,0 +1,183 @@
+package org.example.cucumber.worker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.CucumberRunnerService;
+import org.example.cucumber.context.RunControl;
+import org.example.cucumber.context.RunProgress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunWorkerPoolTest {
+
+    private RunWorkerPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+        RunControl.unregister("run-1");
+    }
+
+    private static List<String> fakeWorkerCommand() {
+        return List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                FakeWorker.class.getName());
+    }
+
+    private static RunWorkerPool.WorkerJob job(Map<String, String> properties) {
+        return new RunWorkerPool.WorkerJob("run-1", "@smoke", null, new CucumberRunnerService.RunOptions(1), properties);
+    }
+
+    @Test
+    void start_PrewarmsConfiguredNumberOfWorkers() {
+        pool = new RunWorkerPool(2, fakeWorkerCommand(), Duration.ofSeconds(30));
+        pool.start();
+
+        await().atMost(Duration.ofSeconds(30)).until(() -> pool.idleCount() == 2);
+    }
+
+    @Test
+    void execute_ReturnsResultReportedByWorker() throws Exception {
+        pool = new RunWorkerPool(1, fakeWorkerCommand(), Duration.ofSeconds(30));
+        pool.start();
+
+        CucumberRunnerService.RunResult result = pool.execute(job(Map.of("fake.exitCode", "1")), null);
+
+        assertEquals("run-1", result.runId());
+        assertEquals("@smoke", result.label());
+        assertEquals(1, result.exitCode());
+        assertEquals("out/run-1", result.outputDir());
+    }
+
+    @Test
+    void execute_ProgressReportedByWorker_PassedToRunControl() throws Exception {
+        pool = new RunWorkerPool(1, fakeWorkerCommand(), Duration.ofSeconds(30));
+        pool.start();
+        RunControl control = RunControl.register("run-1");
+        List<RunProgress> received = new CopyOnWriteArrayList<>();
+        control.onProgress(received::add);
+
+        pool.execute(job(Map.of()), control);
+
+        assertEquals(List.of(new RunProgress(1, 1, 0, 0, "login.feature", "Valid login", 3, 3, null)), received);
+    }
+
+    @Test
+    void execute_EmptyPool_StartsColdWorker() throws Exception {
+        pool = new RunWorkerPool(0, fakeWorkerCommand(), Duration.ofSeconds(30));
+
+        CucumberRunnerService.RunResult result = pool.execute(job(Map.of()), null);
+
+        assertEquals(0, result.exitCode());
+    }
+
+    @Test
+    void execute_ResourcesClosed_KillsWorkerAndReturnsNonZeroExitCode() {
+        pool = new RunWorkerPool(1, fakeWorkerCommand(), Duration.ofSeconds(30));
+        pool.start();
+        RunControl control = RunControl.register("run-1");
+
+        CompletableFuture<CucumberRunnerService.RunResult> run = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.execute(job(Map.of("fake.hang", "true")), control);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        await().atMost(Duration.ofSeconds(30)).until(() -> control.closeResources() > 0);
+
+        CucumberRunnerService.RunResult result = run.join();
+        assertNotEquals(0, result.exitCode());
+    }
+
+    @Test
+    void workerCommand_PassesJvmArgsAndDisablesNestedPool() {
+        List<String> command = RunWorkerPool.workerCommand("-Xmx1g, -Dfoo=bar", "/app/classes", "prod");
+
+        assertTrue(command.get(0).endsWith("java"));
+        assertEquals("-Xmx1g", command.get(1));
+        assertEquals("-Dfoo=bar", command.get(2));
+        assertTrue(command.containsAll(List.of("-cp", "/app/classes")));
+        assertTrue(command.contains("-Dtest.execution.worker.enabled=false"));
+        assertTrue(command.contains("-Dspring.profiles.active=prod"));
+        assertEquals(RunWorkerMain.class.getName(), command.get(command.size() - 1));
+    }
+
+    @Test
+    void workerCommand_SpringBootJar_StartsWorkerThroughPropertiesLauncher(@TempDir Path tempDir) throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Spring-Boot-Classes", "BOOT-INF/classes/");
+        Path jar = tempDir.resolve("app.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar), manifest)) {
+            out.putNextEntry(new JarEntry("BOOT-INF/classes/"));
+            out.closeEntry();
+        }
+
+        List<String> command = RunWorkerPool.workerCommand(null, jar.toString(), null);
+
+        assertTrue(command.containsAll(List.of("-cp", jar.toString())));
+        assertTrue(command.contains("-Dloader.main=" + RunWorkerMain.class.getName()));
+        assertEquals(RunWorkerPool.PROPERTIES_LAUNCHER, command.get(command.size() - 1));
+        assertFalse(RunWorkerPool.isExecutableJar(tempDir.resolve("missing.jar").toString()));
+    }
+
+    @Test
+    void runWorkerMain_ChildJvm_WarmsUpReportsReadyAndExitsWithoutJob() throws Exception {
+        Process process = new ProcessBuilder(RunWorkerPool.workerCommand(null, null, null))
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try (RunWorker worker = new RunWorker(1, process, new ObjectMapper())) {
+            worker.awaitReady(Duration.ofMinutes(2));
+
+            // Closing stdin without a job is how the pool releases an idle worker
+            process.getOutputStream().close();
+
+            assertEquals(0, worker.exitCode());
+        }
+    }
+
+    /** Minimal worker speaking the {@link RunWorkerMain} protocol without starting Cucumber. */
+    public static final class FakeWorker {
+
+        public static void main(String[] args) throws Exception {
+            ObjectMapper objectMapper = new ObjectMapper();
+            System.out.println(RunWorkerMain.PROTOCOL_PREFIX
+                    + objectMapper.writeValueAsString(RunWorkerPool.WorkerMessage.ready()));
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            RunWorkerPool.WorkerJob job = objectMapper.readValue(in.readLine(), RunWorkerPool.WorkerJob.class);
+            if (job.systemProperties().containsKey("fake.hang")) {
+                Thread.sleep(Duration.ofMinutes(5));
+            }
+            int exitCode = Integer.parseInt(job.systemProperties().getOrDefault("fake.exitCode", "0"));
+            System.out.println("some cucumber output");
+            System.out.println(RunWorkerMain.PROTOCOL_PREFIX + objectMapper.writeValueAsString(
+                    RunWorkerPool.WorkerMessage.progress(new RunProgress(1, 1, 0, 0, "login.feature", "Valid login", 3, 3, null))));
+            System.out.println(RunWorkerMain.PROTOCOL_PREFIX + objectMapper.writeValueAsString(
+                    RunWorkerPool.WorkerMessage.result(new CucumberRunnerService.RunResult(
+                            job.runId(), job.tags(), exitCode, "out/" + job.runId()))));
+        }
+    }
+}
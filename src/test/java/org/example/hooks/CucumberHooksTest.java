@@ -1,10 +1,13 @@
 package org.example.hooks;
 
 import io.cucumber.java.Scenario;
+import org.example.cucumber.context.RunControl;
+import org.example.cucumber.context.TestContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.opentest4j.TestAbortedException;
 
 import java.lang.reflect.Field;
 import java.time.LocalDateTime;
@@ -182,4 +185,45 @@ class CucumberHooksTest {
         assertEquals("Second Scenario", getScenarioNameField().get());
         hooks.afterScenario(s2);
     }
+
+    // --- aborted runs ---
+
+    @Test
+    void beforeScenario_AbortedRun_ThrowsTestAborted() {
+        Scenario scenario = mockScenario("Login Test");
+        TestContext.init("aborted-run");
+        RunControl.register("aborted-run").abort("TIMEOUT");
+        try {
+            TestAbortedException e = assertThrows(TestAbortedException.class,
+                    () -> hooks.beforeScenario(scenario));
+            assertTrue(e.getMessage().contains("TIMEOUT"));
+        } finally {
+            RunControl.unregister("aborted-run");
+            TestContext.clear();
+        }
+    }
+
+    @Test
+    void beforeStep_AbortedRun_ThrowsTestAborted() {
+        TestContext.init("aborted-step-run");
+        RunControl.register("aborted-step-run").abort("CANCELLED");
+        try {
+            assertThrows(TestAbortedException.class, () -> hooks.beforeStep());
+        } finally {
+            RunControl.unregister("aborted-step-run");
+            TestContext.clear();
+        }
+    }
+
+    @Test
+    void beforeStep_ActiveRun_DoesNotThrow() {
+        TestContext.init("active-run");
+        RunControl.register("active-run");
+        try {
+            assertDoesNotThrow(() -> hooks.beforeStep());
+        } finally {
+            RunControl.unregister("active-run");
+            TestContext.clear();
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package org.example.utils;
 
+import org.example.cucumber.context.RunConfig;
+import org.example.cucumber.context.TestContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -7,6 +9,7 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.File;
 import java.io.FileWriter;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.Properties;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,6 +21,21 @@ class ConfigReaderTest {
         System.clearProperty("testKey");
         System.clearProperty("baseUrl");
         System.clearProperty("app.test.key");
+        RunConfig.unregister("run-overlay");
+        TestContext.clear();
+    }
+
+    @Test
+    void get_RunOverlay_OverridesSystemPropertyForCurrentRunOnly() {
+        System.setProperty("testKey", "systemPropertyValue");
+        RunConfig.register("run-overlay", Map.of("testKey", "runValue", "BASE_URL", "https://run.example.com"));
+
+        TestContext.init("run-overlay");
+        assertEquals("runValue", ConfigReader.get("testKey", "default"));
+        assertEquals("https://run.example.com", ConfigReader.get("base.url", "default"));
+
+        TestContext.init("other-run");
+        assertEquals("systemPropertyValue", ConfigReader.get("testKey", "default"));
     }
 
     @Test